@@ -0,0 +1,155 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.reactive.converters.BridgeConverter;
+import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.converters.Registry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Compares the conversions done by the {@link BridgeConverter}s with the conversions going through a
+ * {@link org.reactivestreams.Publisher}, for each bridged pair of types. The converted instances are consumed. With a
+ * single item, the sources are scalar sources ({@code just}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BridgesBenchmark {
+
+    @Param({
+            "Flowable-Flux",
+            "Flux-Flowable",
+            "Flowable-Multi",
+            "Flux-Multi",
+            "Single-Mono",
+            "Mono-Single",
+            "Single-Uni",
+            "Uni-Single",
+            "Uni-Mono"
+    })
+    public String pair;
+
+    @Param({ "1", "100" })
+    public int items;
+
+    private Object source;
+    private BridgeConverter<Object, Object> bridge;
+    private ReactiveTypeConverter<Object> from;
+    private ReactiveTypeConverter<Object> to;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setup() {
+        String[] types = pair.split("-");
+        source = source(types[0]);
+        Class<Object> sourceType = (Class<Object>) type(types[0]);
+        Class<Object> targetType = (Class<Object>) type(types[1]);
+        bridge = Registry.lookupBridge(sourceType, targetType)
+                .orElseThrow(() -> new IllegalStateException("No bridge found for " + pair));
+        from = Registry.lookup(sourceType).orElseThrow(() -> new IllegalStateException("No converter for " + pair));
+        to = Registry.lookup(targetType).orElseThrow(() -> new IllegalStateException("No converter for " + pair));
+    }
+
+    private Object source(String type) {
+        switch (type) {
+            case "Flowable":
+                return items == 1 ? Flowable.just(0) : Flowable.range(0, items);
+            case "Flux":
+                return items == 1 ? Flux.just(0) : Flux.range(0, items);
+            case "Single":
+                return Single.just(0);
+            case "Mono":
+                return Mono.just(0);
+            case "Uni":
+                return Uni.createFrom().item(0);
+            default:
+                throw new IllegalArgumentException("Unknown source type " + type);
+        }
+    }
+
+    private static Class<?> type(String type) {
+        switch (type) {
+            case "Flowable":
+                return Flowable.class;
+            case "Flux":
+                return Flux.class;
+            case "Multi":
+                return Multi.class;
+            case "Single":
+                return Single.class;
+            case "Mono":
+                return Mono.class;
+            case "Uni":
+                return Uni.class;
+            default:
+                throw new IllegalArgumentException("Unknown type " + type);
+        }
+    }
+
+    @Benchmark
+    public void bridge(Blackhole blackhole) {
+        consume(bridge.convert(source), blackhole);
+    }
+
+    @Benchmark
+    public void publisher(Blackhole blackhole) {
+        consume(to.fromPublisher(from.toRSPublisher(source)), blackhole);
+    }
+
+    private void consume(Object converted, Blackhole blackhole) {
+        to.toRSPublisher(converted).subscribe(new ConsumingSubscriber(blackhole));
+    }
+
+    private static class ConsumingSubscriber implements Subscriber<Object> {
+        private final Blackhole blackhole;
+
+        ConsumingSubscriber(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            s.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Object item) {
+            blackhole.consume(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            blackhole.consume(t);
+        }
+
+        @Override
+        public void onComplete() {
+            blackhole.consume(true);
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.processors.AsyncProcessor;
+import io.smallrye.reactive.streams.utils.CompletionStageToPublisher;
+
+/**
+ * Compares {@link CompletionStageToPublisher#fromCompletionStage(CompletionStage, boolean)} with the
+ * {@link AsyncProcessor} based conversion it replaced, for completed and pending futures. Run it with
+ * {@code -prof gc} to get the allocation per conversion ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompletionStageToPublisherBenchmark {
+
+    private CompletableFuture<Integer> completed;
+
+    @Setup
+    public void setup() {
+        completed = CompletableFuture.completedFuture(1);
+    }
+
+    @Benchmark
+    public void completedWithAsyncProcessor(Blackhole blackhole) {
+        asyncProcessor(completed).subscribe(new ConsumingSubscriber(blackhole));
+    }
+
+    @Benchmark
+    public void completedWithScalarPublisher(Blackhole blackhole) {
+        CompletionStageToPublisher.fromCompletionStage(completed, false)
+                .subscribe(new ConsumingSubscriber(blackhole));
+    }
+
+    @Benchmark
+    public void pendingWithAsyncProcessor(Blackhole blackhole) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        asyncProcessor(future).subscribe(new ConsumingSubscriber(blackhole));
+        future.complete(1);
+    }
+
+    @Benchmark
+    public void pendingWithScalarPublisher(Blackhole blackhole) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        CompletionStageToPublisher.fromCompletionStage(future, false).subscribe(new ConsumingSubscriber(blackhole));
+        future.complete(1);
+    }
+
+    /**
+     * The conversion used before the scalar publisher.
+     */
+    private static <T> AsyncProcessor<T> asyncProcessor(CompletionStage<T> future) {
+        AsyncProcessor<T> processor = AsyncProcessor.create();
+        future.whenComplete((T v, Throwable e) -> {
+            if (e != null) {
+                processor.onError(e);
+            } else if (v != null) {
+                processor.onNext(v);
+                processor.onComplete();
+            } else {
+                processor.onError(new NullPointerException("Redeemed value is `null`"));
+            }
+        });
+        return processor;
+    }
+
+    private static class ConsumingSubscriber implements FlowableSubscriber<Object> {
+        private final Blackhole blackhole;
+
+        ConsumingSubscriber(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            s.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Object item) {
+            blackhole.consume(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            blackhole.consume(t);
+        }
+
+        @Override
+        public void onComplete() {
+            blackhole.consume(true);
+        }
+    }
+
+}
@@ -0,0 +1,126 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Processor;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.smallrye.reactive.streams.utils.ConnectableProcessor;
+
+/**
+ * Compares the {@link ConnectableProcessor} with the implementation it replaced, based on four atomic references and
+ * a synchronized block ({@link LegacyConnectableProcessor}).
+ * <p>
+ * {@code connect} measures a full lifecycle on a single thread: subscription, items and completion. {@code race}
+ * measures contended connections: one thread creates processors and subscribes to them, while another thread races to
+ * pass them their upstream subscription.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConnectableProcessorBenchmark {
+
+    private static final Subscription UPSTREAM = new Subscription() {
+        @Override
+        public void request(long n) {
+            // Ignored.
+        }
+
+        @Override
+        public void cancel() {
+            // Ignored.
+        }
+    };
+
+    @Param({ "state-word", "legacy" })
+    public String implementation;
+
+    @Param({ "16" })
+    public int items;
+
+    @State(Scope.Group)
+    public static class Handoff {
+        final AtomicReference<Processor<Object, Object>> slot = new AtomicReference<>();
+    }
+
+    @Benchmark
+    public void connect(Blackhole blackhole) {
+        Processor<Object, Object> processor = create();
+        processor.subscribe(new ConsumingSubscriber(blackhole));
+        processor.onSubscribe(UPSTREAM);
+        for (int i = 0; i < items; i++) {
+            processor.onNext(i);
+        }
+        processor.onComplete();
+    }
+
+    @Benchmark
+    @Group("race")
+    @GroupThreads(1)
+    public void subscribe(Handoff handoff, Blackhole blackhole) {
+        Processor<Object, Object> processor = create();
+        handoff.slot.lazySet(processor);
+        processor.subscribe(new ConsumingSubscriber(blackhole));
+    }
+
+    @Benchmark
+    @Group("race")
+    @GroupThreads(1)
+    public void onSubscribe(Handoff handoff) {
+        Processor<Object, Object> processor = handoff.slot.getAndSet(null);
+        if (processor != null) {
+            processor.onSubscribe(UPSTREAM);
+        }
+    }
+
+    private Processor<Object, Object> create() {
+        return "legacy".equals(implementation) ? new LegacyConnectableProcessor<>() : new ConnectableProcessor<>();
+    }
+
+    private static class ConsumingSubscriber implements Subscriber<Object> {
+        private final Blackhole blackhole;
+
+        ConsumingSubscriber(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            blackhole.consume(s);
+        }
+
+        @Override
+        public void onNext(Object item) {
+            blackhole.consume(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            blackhole.consume(t);
+        }
+
+        @Override
+        public void onComplete() {
+            blackhole.consume(true);
+        }
+    }
+
+}
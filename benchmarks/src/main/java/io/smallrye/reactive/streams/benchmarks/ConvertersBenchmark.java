@@ -0,0 +1,147 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.converters.Registry;
+
+/**
+ * Measures the {@link ReactiveTypeConverter}s found by the {@link Registry}, for each reactive type.
+ * <p>
+ * {@code toRSPublisher}, {@code fromPublisher} and {@code fromCompletionStage} measure the conversion itself (the
+ * returned instances are not subscribed), {@code toCompletionStage} waits for the returned stage. {@code roundTrip}
+ * converts a RxJava 2 {@link Flowable} of {@code items} elements to the reactive type and back, and consumes the
+ * result. Run with {@code -prof gc} to report the bytes allocated per conversion ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConvertersBenchmark {
+
+    @Param({
+            "io.reactivex.Flowable",
+            "io.reactivex.Observable",
+            "io.reactivex.Single",
+            "io.reactivex.Maybe",
+            "io.reactivex.Completable",
+            "reactor.core.publisher.Flux",
+            "reactor.core.publisher.Mono",
+            "io.smallrye.mutiny.Multi",
+            "io.smallrye.mutiny.Uni",
+            "rx.Observable",
+            "rx.Single",
+            "rx.Completable",
+            "org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder"
+    })
+    public String type;
+
+    @Param({ "1", "100" })
+    public int items;
+
+    private Class<Object> clazz;
+    private ReactiveTypeConverter<Object> converter;
+    private ReactiveTypeConverter<Object> flowables;
+    private Flowable<Integer> flowable;
+    private Object instance;
+    private CompletionStage<Integer> stage;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setup() throws ClassNotFoundException {
+        clazz = (Class<Object>) Class.forName(type);
+        converter = lookup(clazz);
+        flowables = lookup((Class<Object>) (Class<?>) Flowable.class);
+        flowable = Flowable.range(0, items);
+        instance = converter.fromPublisher(flowable);
+        stage = CompletableFuture.completedFuture(1);
+    }
+
+    private static ReactiveTypeConverter<Object> lookup(Class<Object> clazz) {
+        return Registry.lookup(clazz)
+                .orElseThrow(() -> new IllegalStateException("No converter found for " + clazz.getName()));
+    }
+
+    @Benchmark
+    public Optional<ReactiveTypeConverter<Object>> registryLookup() {
+        return Registry.lookup(clazz);
+    }
+
+    @Benchmark
+    public Publisher<Object> toRSPublisher() {
+        return converter.toRSPublisher(instance);
+    }
+
+    @Benchmark
+    public Object fromPublisher() {
+        return converter.fromPublisher(flowable);
+    }
+
+    @Benchmark
+    public Object toCompletionStage() {
+        return converter.toCompletionStage(instance).toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public Object fromCompletionStage() {
+        return converter.fromCompletionStage(stage);
+    }
+
+    @Benchmark
+    public void roundTrip(Blackhole blackhole) {
+        Object converted = converter.fromPublisher(flowable);
+        Object back = flowables.fromPublisher(converter.toRSPublisher(converted));
+        flowables.toRSPublisher(back).subscribe(new ConsumingSubscriber(blackhole));
+    }
+
+    private static class ConsumingSubscriber implements Subscriber<Object> {
+        private final Blackhole blackhole;
+
+        ConsumingSubscriber(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            s.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Object item) {
+            blackhole.consume(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            blackhole.consume(t);
+        }
+
+        @Override
+        public void onComplete() {
+            blackhole.consume(true);
+        }
+    }
+
+}
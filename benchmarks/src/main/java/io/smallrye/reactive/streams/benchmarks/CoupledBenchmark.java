@@ -0,0 +1,69 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.reactive.streams.Engine;
+
+/**
+ * Measures the throughput of coupled request/response pipelines ({@code ReactiveStreams.coupled}): the requests are
+ * consumed by the coupled subscriber while the responses flow downstream, and the completion of the responses
+ * terminates the requests. {@code contended} runs the pipelines from several threads at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CoupledBenchmark {
+
+    @Param({ "1", "64" })
+    public int items;
+
+    private Engine engine;
+
+    @Setup
+    public void setup() {
+        engine = new Engine();
+    }
+
+    @Benchmark
+    public List<Integer> coupled() {
+        return run();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<Integer> contended() {
+        return run();
+    }
+
+    private List<Integer> run() {
+        // The requests never complete, the coupling is terminated by the completion of the responses.
+        return ReactiveStreams.concat(ReactiveStreams.iterate(0, i -> i + 1).limit(items),
+                ReactiveStreams.fromCompletionStage(new CompletableFuture<Integer>()))
+                .via(ReactiveStreams.coupled(ReactiveStreams.<Integer> builder().ignore(),
+                        ReactiveStreams.iterate(0, i -> i + 1).limit(items)))
+                .toList()
+                .run(engine)
+                .toCompletableFuture()
+                .join();
+    }
+
+}
@@ -0,0 +1,90 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Graph;
+import org.eclipse.microprofile.reactive.streams.operators.spi.SubscriberWithCompletionStage;
+import org.eclipse.microprofile.reactive.streams.operators.spi.ToGraphable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Processor;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.streams.Engine;
+
+/**
+ * Measures the cost of assembling a graph with {@link Engine#buildPublisher(Graph)},
+ * {@link Engine#buildSubscriber(Graph)}, {@link Engine#buildProcessor(Graph)} and
+ * {@link Engine#buildCompletion(Graph)}, without running it: the source never emits. Run with {@code -prof gc} to
+ * report the allocations per assembly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineAssemblyBenchmark {
+
+    private Engine engine;
+    private Graph publisher;
+    private Graph subscriber;
+    private Graph processor;
+    private Graph completion;
+
+    @Setup
+    public void setup() {
+        engine = new Engine();
+        publisher = graph(ReactiveStreams.<Integer> fromPublisher(Flowable.never())
+                .map(i -> i + 1)
+                .filter(i -> i > 0)
+                .limit(10));
+        subscriber = graph(ReactiveStreams.<Integer> builder()
+                .map(i -> i + 1)
+                .filter(i -> i > 0)
+                .toList());
+        processor = graph(ReactiveStreams.<Integer> builder()
+                .map(i -> i + 1)
+                .filter(i -> i > 0)
+                .limit(10));
+        completion = graph(ReactiveStreams.<Integer> fromPublisher(Flowable.never())
+                .map(i -> i + 1)
+                .filter(i -> i > 0)
+                .toList());
+    }
+
+    private static Graph graph(Object builder) {
+        return ((ToGraphable) builder).toGraph();
+    }
+
+    @Benchmark
+    public Publisher<Integer> buildPublisher() {
+        return engine.buildPublisher(publisher);
+    }
+
+    @Benchmark
+    public SubscriberWithCompletionStage<Integer, Object> buildSubscriber() {
+        return engine.buildSubscriber(subscriber);
+    }
+
+    @Benchmark
+    public Processor<Integer, Integer> buildProcessor() {
+        return engine.buildProcessor(processor);
+    }
+
+    @Benchmark
+    public Object buildCompletion() {
+        return engine.buildCompletion(completion);
+    }
+
+}
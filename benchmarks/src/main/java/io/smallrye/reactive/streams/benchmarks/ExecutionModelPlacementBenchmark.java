@@ -0,0 +1,88 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.GraphPlanCache;
+import io.smallrye.reactive.streams.spi.ExecutionModelPlacement;
+import io.vertx.reactivex.core.Vertx;
+
+/**
+ * Measures the throughput of a 10-stage pipeline materialized on a Vert.x event loop, with the Vert.x execution
+ * model applied at the asynchronous boundaries only or after every stage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutionModelPlacementBenchmark {
+
+    @Param({ "ASYNC_BOUNDARIES", "EVERY_STAGE" })
+    public ExecutionModelPlacement placement;
+
+    @Param({ "1000" })
+    public int size;
+
+    private Vertx vertx;
+    private Engine engine;
+    private List<Integer> items;
+
+    @Setup
+    public void setup() {
+        vertx = Vertx.vertx();
+        engine = new Engine(new GraphPlanCache(), placement);
+        items = IntStream.range(0, size).boxed().collect(Collectors.toList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        vertx.rxClose().blockingAwait();
+    }
+
+    @Benchmark
+    public Integer pipelineOnEventLoop() {
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        vertx.runOnContext(x -> ReactiveStreams.fromIterable(items)
+                .map(i -> i + 1)
+                .limit(Long.MAX_VALUE)
+                .map(i -> i * 2)
+                .skip(1)
+                .filter(i -> i % 3 != 0)
+                .peek(i -> {
+                })
+                .limit(Long.MAX_VALUE)
+                .map(i -> i - 1)
+                .skip(1)
+                .collect(Collectors.summingInt(i -> i))
+                .run(engine)
+                .whenComplete((sum, failure) -> {
+                    if (failure != null) {
+                        result.completeExceptionally(failure);
+                    } else {
+                        result.complete(sum);
+                    }
+                }));
+        return result.join();
+    }
+
+}
@@ -0,0 +1,78 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.reactive.streams.Engine;
+
+/**
+ * Measures a pipeline calling an asynchronous client for each item: each of the {@code items} items is mapped to a
+ * completion stage completing after {@code latency} milliseconds, with up to {@code maxInFlight} calls in flight.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlatMapCompletionStageBenchmark {
+
+    @Param({ "1", "4", "16", "64" })
+    public int maxInFlight;
+
+    @Param({ "64" })
+    public int items;
+
+    @Param({ "1" })
+    public int latency;
+
+    private Engine engine;
+    private ScheduledExecutorService executor;
+
+    @Setup
+    public void setup() {
+        engine = new Engine().withFlatMapCompletionStageMaxInFlight(maxInFlight);
+        executor = Executors.newScheduledThreadPool(4);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public List<Integer> call() {
+        return ReactiveStreams.iterate(0, i -> i + 1)
+                .limit(items)
+                .flatMapCompletionStage(this::call)
+                .toList()
+                .run(engine)
+                .toCompletableFuture()
+                .join();
+    }
+
+    private CompletionStage<Integer> call(int i) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        executor.schedule(() -> future.complete(i), latency, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+}
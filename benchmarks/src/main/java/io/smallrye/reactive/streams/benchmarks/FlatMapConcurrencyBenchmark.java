@@ -0,0 +1,91 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.FlatMapConcurrency;
+
+/**
+ * Measures a fan-out of I/O-bound inner streams: each of the {@code streams} items is mapped to an inner stream
+ * completing after {@code latency} milliseconds. With a concurrency of {@code 1}, the inner streams are consumed
+ * sequentially (the default {@code concatMap} behavior).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlatMapConcurrencyBenchmark {
+
+    @Param({ "ORDERED", "UNORDERED" })
+    public FlatMapConcurrency.Mode mode;
+
+    @Param({ "1", "4", "16", "64" })
+    public int concurrency;
+
+    @Param({ "64" })
+    public int streams;
+
+    @Param({ "1" })
+    public int latency;
+
+    private Engine engine;
+    private ScheduledExecutorService executor;
+
+    @Setup
+    public void setup() {
+        FlatMapConcurrency configuration;
+        if (concurrency == 1) {
+            configuration = FlatMapConcurrency.sequential();
+        } else if (mode == FlatMapConcurrency.Mode.ORDERED) {
+            configuration = FlatMapConcurrency.ordered(concurrency);
+        } else {
+            configuration = FlatMapConcurrency.unordered(concurrency);
+        }
+        engine = new Engine().withFlatMapConcurrency(configuration);
+        executor = Executors.newScheduledThreadPool(4);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public List<Integer> fanOut() {
+        return ReactiveStreams.iterate(0, i -> i + 1)
+                .limit(streams)
+                .flatMap(i -> ReactiveStreams.fromCompletionStage(call(i)))
+                .toList()
+                .run(engine)
+                .toCompletableFuture()
+                .join();
+    }
+
+    private CompletionStage<Integer> call(int i) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        executor.schedule(() -> future.complete(i), latency, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+}
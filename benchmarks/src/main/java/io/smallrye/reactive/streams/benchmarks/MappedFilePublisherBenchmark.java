@@ -0,0 +1,98 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.reactive.streams.utils.MappedFilePublisher;
+
+/**
+ * Counts the lines of a file of {@code lines} lines, with {@code Files.lines} wrapped in
+ * {@code ReactiveStreams.fromIterable}, and with the {@link MappedFilePublisher}, counting the line feeds of the
+ * chunks, of {@code chunkSize} bytes.
+ * <p>
+ * {@code Files.lines} reads the file with blocking calls, copies its bytes to the heap and decodes them, while the
+ * mapped publisher reads the bytes in place. The file is in the page cache after the first iteration, so the
+ * benchmark measures the cost of the stream, not of the disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappedFilePublisherBenchmark {
+
+    @Param({ "1000000" })
+    public int lines;
+
+    @Param({ "8192", "65536", "1048576" })
+    public int chunkSize;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("mapped-file-benchmark", ".txt");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < lines; i++) {
+                writer.write("line number " + i + " of the benchmark file\n");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Long filesLines() throws IOException {
+        try (Stream<String> stream = Files.lines(file, StandardCharsets.UTF_8)) {
+            Iterable<String> iterable = stream::iterator;
+            return ReactiveStreams.fromIterable(iterable)
+                    .collect(() -> new long[1], (count, line) -> count[0]++)
+                    .run()
+                    .toCompletableFuture().join()[0];
+        }
+    }
+
+    @Benchmark
+    public Long mapped() {
+        return ReactiveStreams.fromPublisher(new MappedFilePublisher(file, chunkSize))
+                .map(MappedFilePublisherBenchmark::countLineFeeds)
+                .collect(() -> new long[1], (count, feeds) -> count[0] += feeds)
+                .run()
+                .toCompletableFuture().join()[0];
+    }
+
+    private static long countLineFeeds(ByteBuffer chunk) {
+        long count = 0;
+        for (int i = chunk.position(); i < chunk.limit(); i++) {
+            if (chunk.get(i) == '\n') {
+                count++;
+            }
+        }
+        return count;
+    }
+}
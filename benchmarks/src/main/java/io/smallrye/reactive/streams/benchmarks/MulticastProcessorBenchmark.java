@@ -0,0 +1,83 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.smallrye.reactive.streams.utils.MulticastProcessor;
+
+/**
+ * Compares {@code subscribers} consumers sharing an expensive upstream through a {@link MulticastProcessor} with
+ * {@code subscribers} independent pipelines, each building and running its own upstream. Each item of the upstream
+ * costs {@code work} tokens of {@link Blackhole#consumeCPU(long)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MulticastProcessorBenchmark {
+
+    @Param({ "1", "2", "4", "8" })
+    public int subscribers;
+
+    @Param({ "10000" })
+    public int size;
+
+    @Param({ "0", "100" })
+    public long work;
+
+    @Param({ "MIN_DEMAND", "DROP_SLOWEST" })
+    public MulticastProcessor.Policy policy;
+
+    private PublisherBuilder<Integer> upstream() {
+        return ReactiveStreams.iterate(0, i -> i + 1)
+                .limit(size)
+                .map(i -> {
+                    Blackhole.consumeCPU(work);
+                    return i;
+                });
+    }
+
+    @Benchmark
+    public List<Integer> independent() {
+        List<CompletionStage<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < subscribers; i++) {
+            results.add(upstream().collect(Collectors.summingInt(x -> x)).run());
+        }
+        return join(results);
+    }
+
+    @Benchmark
+    public List<Integer> multicast() {
+        MulticastProcessor<Integer> processor = new MulticastProcessor<>(128, policy, subscribers);
+        List<CompletionStage<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < subscribers; i++) {
+            results.add(ReactiveStreams.fromPublisher(processor).collect(Collectors.summingInt(x -> x)).run());
+        }
+        upstream().to(processor).run();
+        return join(results);
+    }
+
+    private static List<Integer> join(List<CompletionStage<Integer>> results) {
+        return results.stream().map(stage -> stage.toCompletableFuture().join()).collect(Collectors.toList());
+    }
+
+}
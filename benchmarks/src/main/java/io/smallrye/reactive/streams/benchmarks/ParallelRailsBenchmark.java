@@ -0,0 +1,85 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.ParallelRails;
+
+/**
+ * Measures the scaling of a CPU-bound {@code map} / {@code filter} pipeline run on {@code parallelism} parallel rails
+ * ({@link ParallelRails}), in {@code ordered} and {@code unordered} modes, against the {@code sequential} execution.
+ * Each item costs {@code work} tokens of {@link Blackhole#consumeCPU(long)}. The parallelism of the
+ * {@code sequential} mode is ignored, and the rails run on the RX computation scheduler, so the parallelism is capped
+ * by the number of available processors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelRailsBenchmark {
+
+    @Param({ "sequential", "ordered", "unordered" })
+    public String mode;
+
+    @Param({ "1", "2", "4", "8", "16" })
+    public int parallelism;
+
+    @Param({ "10000" })
+    public int size;
+
+    @Param({ "100", "1000" })
+    public long work;
+
+    private Engine engine;
+    private List<Integer> items;
+
+    @Setup
+    public void setup() {
+        ParallelRails rails;
+        switch (mode) {
+            case "ordered":
+                rails = ParallelRails.ordered(parallelism);
+                break;
+            case "unordered":
+                rails = ParallelRails.unordered(parallelism);
+                break;
+            default:
+                rails = ParallelRails.sequential();
+        }
+        engine = new Engine().withParallelRails(rails);
+        items = IntStream.range(0, size).boxed().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Integer> mapFilter() {
+        return ReactiveStreams.fromIterable(items)
+                .map(i -> {
+                    Blackhole.consumeCPU(work);
+                    return i + 1;
+                })
+                .filter(i -> (i & 1) == 0)
+                .toList()
+                .run(engine)
+                .toCompletableFuture().join();
+    }
+
+}
@@ -0,0 +1,73 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.converters.Registry;
+
+/**
+ * Compares the cached {@link Registry#lookup(Class)} with the linear scan over the converters it replaced, for a class
+ * handled by a converter ({@code hit}), a class not handled by any converter ({@code miss}), and a subclass of a class
+ * handled by a converter ({@code subclass}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryLookupBenchmark {
+
+    @Param({ "hit", "miss", "subclass" })
+    public String lookup;
+
+    private List<ReactiveTypeConverter> linear;
+    private Class<?> type;
+
+    @Setup
+    public void setup() {
+        linear = new CopyOnWriteArrayList<>();
+        ServiceLoader.load(ReactiveTypeConverter.class).forEach(linear::add);
+        switch (lookup) {
+            case "hit":
+                type = Flowable.class;
+                break;
+            case "miss":
+                type = String.class;
+                break;
+            default:
+                // FlowableJust
+                type = Flowable.just(1).getClass();
+        }
+    }
+
+    @Benchmark
+    public Optional<ReactiveTypeConverter> linearLookup() {
+        return linear.stream().filter(entry -> entry.type().isAssignableFrom(Objects.requireNonNull(type)))
+                .findAny();
+    }
+
+    @Benchmark
+    public Optional<? extends ReactiveTypeConverter<?>> cachedLookup() {
+        return Registry.lookup(type);
+    }
+
+}
@@ -0,0 +1,73 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.reactive.streams.utils.ReplayPolicy;
+import io.smallrye.reactive.streams.utils.ReplayPublisher;
+
+/**
+ * Compares re-subscribing to a reference-data stream by rebuilding its graph ({@code rebuild}) with replaying it from
+ * a {@link ReplayPublisher} filled once ({@code replay}), for various chunk sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReplayPublisherBenchmark {
+
+    @Param({ "10000" })
+    public int size;
+
+    @Param({ "16", "128", "1024" })
+    public int chunkSize;
+
+    private List<Integer> items;
+    private ReplayPublisher<Integer> replay;
+
+    @Setup
+    public void setup() {
+        items = IntStream.range(0, size).boxed().collect(Collectors.toList());
+        replay = new ReplayPublisher<>(referenceData().buildRs(), ReplayPolicy.unbounded().withChunkSize(chunkSize));
+        // Fills the cache.
+        ReactiveStreams.fromPublisher(replay).ignore().run().toCompletableFuture().join();
+    }
+
+    private PublisherBuilder<Integer> referenceData() {
+        return ReactiveStreams.fromIterable(items)
+                .map(i -> i * 31)
+                .filter(i -> i % 7 != 0)
+                .map(i -> "ref-" + i)
+                .map(String::length);
+    }
+
+    @Benchmark
+    public Integer rebuild() {
+        return referenceData().collect(Collectors.summingInt(i -> i)).run().toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public Integer replay() {
+        return ReactiveStreams.fromPublisher(replay).collect(Collectors.summingInt(i -> i)).run()
+                .toCompletableFuture().join();
+    }
+
+}
@@ -0,0 +1,91 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import io.smallrye.reactive.streams.utils.RingBufferProcessor;
+
+/**
+ * Compares the {@link RingBufferProcessor} with the RX {@code observeOn} queue, moving {@code size} items from a
+ * producer thread (the RX single scheduler) to a consumer thread (the RX computation scheduler), with the same buffer
+ * size.
+ * <p>
+ * {@code references} moves boxed integers. {@code records} moves fixed-size binary records: the ring copies them to
+ * its direct buffer, so the producer reuses a single record, while {@code observeOn} needs a copy of each record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RingBufferProcessorBenchmark {
+
+    @Param({ "observe-on", "ring" })
+    public String buffer;
+
+    @Param({ "128", "1024" })
+    public int capacity;
+
+    @Param({ "100000" })
+    public int size;
+
+    @Param({ "64" })
+    public int recordSize;
+
+    @Benchmark
+    public Long references() {
+        Flowable<Integer> source = Flowable.range(0, size).subscribeOn(Schedulers.single());
+        Flowable<Integer> consumed;
+        if ("ring".equals(buffer)) {
+            RingBufferProcessor<Integer> processor = RingBufferProcessor.create(capacity, Schedulers.computation());
+            source.subscribe(processor);
+            consumed = Flowable.fromPublisher(processor);
+        } else {
+            consumed = source.observeOn(Schedulers.computation(), false, capacity);
+        }
+        return consumed.reduce(0L, (sum, i) -> sum + i).blockingGet();
+    }
+
+    @Benchmark
+    public Long records() {
+        Flowable<ByteBuffer> consumed;
+        if ("ring".equals(buffer)) {
+            ByteBuffer record = ByteBuffer.allocate(recordSize);
+            RingBufferProcessor<ByteBuffer> processor = RingBufferProcessor.binary(capacity, recordSize,
+                    Schedulers.computation());
+            Flowable.range(0, size)
+                    .map(i -> {
+                        record.putInt(0, i);
+                        return record;
+                    })
+                    .subscribeOn(Schedulers.single())
+                    .subscribe(processor);
+            consumed = Flowable.fromPublisher(processor);
+        } else {
+            consumed = Flowable.range(0, size)
+                    .map(i -> {
+                        ByteBuffer record = ByteBuffer.allocate(recordSize);
+                        record.putInt(0, i);
+                        return record;
+                    })
+                    .subscribeOn(Schedulers.single())
+                    .observeOn(Schedulers.computation(), false, capacity);
+        }
+        return consumed.reduce(0L, (sum, record) -> sum + record.getInt(record.position())).blockingGet();
+    }
+
+}
@@ -0,0 +1,112 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import io.smallrye.reactive.streams.utils.SpillBufferProcessor;
+import io.smallrye.reactive.streams.utils.SpillDirectory;
+import io.smallrye.reactive.streams.utils.SpillSerializer;
+
+/**
+ * Measures the {@link SpillBufferProcessor} when the upstream emits {@code size} items before the subscriber requests
+ * any of them, so the items are buffered, then read back.
+ * <p>
+ * In the {@code in-memory} regime, the memory capacity is larger than the stream, so nothing is spilled. In the
+ * {@code spilled} regime, only {@code 1024} items are kept in memory, and the others are written to, and read from,
+ * segment files of {@code segmentSize} bytes. {@code on-backpressure-buffer} is the RX unbounded buffer, as a
+ * reference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpillBufferProcessorBenchmark {
+
+    private static final SpillSerializer<Integer> INTEGERS = new SpillSerializer<Integer>() {
+        @Override
+        public byte[] serialize(Integer item) {
+            int i = item;
+            return new byte[] { (byte) (i >>> 24), (byte) (i >>> 16), (byte) (i >>> 8), (byte) i };
+        }
+
+        @Override
+        public Integer deserialize(ByteBuffer bytes) {
+            return bytes.getInt(bytes.position());
+        }
+    };
+
+    @Param({ "on-backpressure-buffer", "in-memory", "spilled" })
+    public String regime;
+
+    @Param({ "100000" })
+    public int size;
+
+    @Param({ "65536", "1048576" })
+    public int segmentSize;
+
+    private SpillDirectory directory;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        directory = SpillDirectory.create();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        directory.close();
+    }
+
+    @Benchmark
+    public long buffer() {
+        Flowable<Integer> source = Flowable.range(0, size);
+        Flowable<Integer> buffered;
+        if ("on-backpressure-buffer".equals(regime)) {
+            buffered = source.onBackpressureBuffer();
+        } else {
+            int capacity = "in-memory".equals(regime) ? size : 1024;
+            SpillBufferProcessor<Integer> processor = new SpillBufferProcessor<>(capacity, segmentSize, directory,
+                    INTEGERS);
+            source.subscribe(processor);
+            buffered = Flowable.fromPublisher(processor);
+        }
+        SumSubscriber subscriber = new SumSubscriber();
+        buffered.subscribe(subscriber);
+        subscriber.request(Long.MAX_VALUE);
+        return subscriber.sum;
+    }
+
+    /**
+     * Requests nothing on subscription, and sums the items, without storing them.
+     */
+    private static final class SumSubscriber extends TestSubscriber<Integer> {
+
+        private long sum;
+
+        SumSubscriber() {
+            super(0);
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            sum += item;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.GraphPlanCache;
+import io.smallrye.reactive.streams.optimizer.GraphOptimizer;
+import io.smallrye.reactive.streams.spi.ExecutionModelPlacement;
+import io.smallrye.reactive.streams.stages.Stages;
+
+/**
+ * Runs a pipeline through each stage factory registered in {@link Stages}, for a small, medium and large number of
+ * elements. The graph optimizer and the synchronous execution are disabled, so each pipeline is materialized with the
+ * factory under test.
+ * <p>
+ * The processor and publisher stages are followed by an {@code ignore} stage (a {@code Collect} stage), the terminal
+ * stages are preceded by a {@code fromIterable} stage (an {@code Of} stage). Besides the pipelines per second
+ * ({@code thrpt}) and the time per pipeline ({@code avgt}), the {@code elements} secondary result reports the
+ * elements emitted by the source per second, or the time per element. The {@code findFirst} and {@code cancel}
+ * pipelines count a single element. Run with {@code -prof gc} to report the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StageFactoriesBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    public int size;
+
+    private Engine engine;
+    private List<Integer> items;
+    private PublisherBuilder<Integer> inner;
+
+    /**
+     * Counts the elements emitted by the sources.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Elements {
+        public long elements;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            elements = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        System.setProperty(Engine.SYNCHRONOUS_EXECUTION_PROPERTY, "false");
+        engine = new Engine(new GraphPlanCache(), ExecutionModelPlacement.fromSystemProperty(),
+                GraphOptimizer.disabled());
+        System.clearProperty(Engine.SYNCHRONOUS_EXECUTION_PROPERTY);
+        items = IntStream.range(0, size).boxed().collect(Collectors.toList());
+        inner = ReactiveStreams.of(1, 2);
+    }
+
+    // Publisher stages
+
+    @Benchmark
+    public Void of(Elements counter) {
+        return ignore(source(), counter);
+    }
+
+    @Benchmark
+    public Void concat(Elements counter) {
+        int half = size / 2;
+        return ignore(ReactiveStreams.concat(ReactiveStreams.fromIterable(items.subList(0, half)),
+                ReactiveStreams.fromIterable(items.subList(half, size))), counter);
+    }
+
+    @Benchmark
+    public Void failed(Elements counter) {
+        return ignore(ReactiveStreams.<Integer> failed(new Exception("boom"))
+                .onErrorResumeWith(t -> source()), counter);
+    }
+
+    @Benchmark
+    public Void fromPublisher(Elements counter) {
+        return ignore(ReactiveStreams.fromPublisher(source().buildRs(engine)), counter);
+    }
+
+    @Benchmark
+    public Void fromCompletionStage(Elements counter) {
+        counter.elements++;
+        return run(ReactiveStreams.fromCompletionStage(CompletableFuture.completedFuture(size)).ignore().run(engine));
+    }
+
+    @Benchmark
+    public Void fromCompletionStageNullable(Elements counter) {
+        counter.elements++;
+        return run(ReactiveStreams.fromCompletionStageNullable(CompletableFuture.completedFuture(size)).ignore()
+                .run(engine));
+    }
+
+    // Processor stages
+
+    @Benchmark
+    public Void distinct(Elements counter) {
+        return ignore(source().distinct(), counter);
+    }
+
+    @Benchmark
+    public Void filter(Elements counter) {
+        return ignore(source().filter(i -> (i & 1) == 0), counter);
+    }
+
+    @Benchmark
+    public Void flatMap(Elements counter) {
+        return ignore(source().flatMap(i -> inner), counter);
+    }
+
+    @Benchmark
+    public Void flatMapCompletionStage(Elements counter) {
+        return ignore(source().flatMapCompletionStage(CompletableFuture::completedFuture), counter);
+    }
+
+    @Benchmark
+    public Void flatMapIterable(Elements counter) {
+        return ignore(source().flatMapIterable(i -> items.subList(0, 2)), counter);
+    }
+
+    @Benchmark
+    public Void map(Elements counter) {
+        return ignore(source().map(i -> i + 1), counter);
+    }
+
+    @Benchmark
+    public Void peek(Blackhole blackhole, Elements counter) {
+        return ignore(source().peek(blackhole::consume), counter);
+    }
+
+    @Benchmark
+    public Void onComplete(Blackhole blackhole, Elements counter) {
+        return ignore(source().onComplete(() -> blackhole.consume(true)), counter);
+    }
+
+    @Benchmark
+    public Void onTerminate(Blackhole blackhole, Elements counter) {
+        return ignore(source().onTerminate(() -> blackhole.consume(true)), counter);
+    }
+
+    @Benchmark
+    public Void onError(Blackhole blackhole, Elements counter) {
+        return ignore(source().onError(blackhole::consume), counter);
+    }
+
+    @Benchmark
+    public Void onErrorResume(Elements counter) {
+        return ignore(source().onErrorResume(t -> -1), counter);
+    }
+
+    @Benchmark
+    public Void onErrorResumeWith(Elements counter) {
+        return ignore(source().onErrorResumeWith(t -> inner), counter);
+    }
+
+    @Benchmark
+    public Void processor(Elements counter) {
+        return ignore(source().via(ReactiveStreams.<Integer> builder().buildRs(engine)), counter);
+    }
+
+    @Benchmark
+    public Void takeWhile(Elements counter) {
+        return ignore(source().takeWhile(i -> true), counter);
+    }
+
+    @Benchmark
+    public Void dropWhile(Elements counter) {
+        return ignore(source().dropWhile(i -> false), counter);
+    }
+
+    @Benchmark
+    public Void limit(Elements counter) {
+        return ignore(source().limit(size), counter);
+    }
+
+    @Benchmark
+    public Void skip(Elements counter) {
+        return ignore(source().skip(1), counter);
+    }
+
+    @Benchmark
+    public Void coupled(Elements counter) {
+        // The coupled subscriber never completes the pipeline, the completion of the coupled publisher does.
+        return ignore(ReactiveStreams.fromCompletionStage(new CompletableFuture<Integer>())
+                .via(ReactiveStreams.coupled(ReactiveStreams.<Integer> builder().ignore(), source())), counter);
+    }
+
+    // Terminal stages
+
+    @Benchmark
+    public List<Integer> collect(Elements counter) {
+        counter.elements += size;
+        return run(source().toList().run(engine));
+    }
+
+    @Benchmark
+    public Optional<Integer> findFirst(Elements counter) {
+        counter.elements++;
+        return run(source().findFirst().run(engine));
+    }
+
+    @Benchmark
+    public Void cancel(Elements counter) {
+        counter.elements++;
+        return run(source().cancel().run(engine));
+    }
+
+    @Benchmark
+    public Void subscriber(Blackhole blackhole, Elements counter) {
+        counter.elements += size;
+        return run(source().to(new ConsumingSubscriber(blackhole)).run(engine));
+    }
+
+    private PublisherBuilder<Integer> source() {
+        return ReactiveStreams.fromIterable(items);
+    }
+
+    private Void ignore(PublisherBuilder<Integer> pipeline, Elements counter) {
+        counter.elements += size;
+        return run(pipeline.ignore().run(engine));
+    }
+
+    private static <T> T run(CompletionStage<T> result) {
+        return result.toCompletableFuture().join();
+    }
+
+    private static class ConsumingSubscriber implements Subscriber<Integer> {
+        private final Blackhole blackhole;
+
+        ConsumingSubscriber(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            s.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            blackhole.consume(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            blackhole.consume(t);
+        }
+
+        @Override
+        public void onComplete() {
+            blackhole.consume(true);
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.eclipse.microprofile.reactive.streams.operators.spi.ToGraphable;
+import org.eclipse.microprofile.reactive.streams.operators.spi.UnsupportedStageException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.smallrye.reactive.streams.operators.Operator;
+import io.smallrye.reactive.streams.operators.ProcessorOperator;
+import io.smallrye.reactive.streams.operators.PublisherOperator;
+import io.smallrye.reactive.streams.operators.TerminalOperator;
+import io.smallrye.reactive.streams.stages.*;
+
+/**
+ * Compares the {@link Stages#lookup(Stage)} dispatch table with the linear scan over the operators it replaced.
+ * <p>
+ * The resolved stages are the stages of a typical graph, spread over the beginning, the middle and the end of the
+ * operator list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StagesLookupBenchmark {
+
+    private List<Operator> linear;
+    private Stage[] stages;
+
+    @Setup
+    public void setup() {
+        linear = new ArrayList<>();
+        linear.add(new ProcessorOperator<>(Stage.Distinct.class, new DistinctStageFactory()));
+        linear.add(new ProcessorOperator<>(Stage.Filter.class, new FilterStageFactory()));
+        linear.add(new ProcessorOperator<>(Stage.FlatMap.class, new FlatMapStageFactory()));
+        linear.add(new ProcessorOperator<>(Stage.FlatMapCompletionStage.class, new FlatMapCompletionStageFactory()));
+        linear.add(new ProcessorOperator<>(Stage.FlatMapIterable.class, new FlatMapIterableStageFactory()));
+        linear.add(new ProcessorOperator<>(Stage.Map.class, new MapStageFactory()));
+        linear.add(new ProcessorOperator<>(Stage.Peek.class, new PeekStageFactory()));
+        linear.add(new ProcessorOperator<>(Stage.OnComplete.class, new OnCompleteStageFactory()));
+        linear.add(new ProcessorOperator<>(Stage.OnTerminate.class, new OnTerminateStageFactory()));
+        linear.add(new ProcessorOperator<>(Stage.OnError.class, new OnErrorStageFactory()));
+        linear.add(new ProcessorOperator<>(Stage.OnErrorResume.class, new OnErrorResumeStageFactory()));
+        linear.add(new ProcessorOperator<>(Stage.OnErrorResumeWith.class, new OnErrorResumeWithStageFactory()));
+        linear.add(new ProcessorOperator<>(Stage.ProcessorStage.class, new ProcessorStageFactory()));
+        linear.add(new ProcessorOperator<>(Stage.TakeWhile.class, new TakeWhileStageFactory()));
+        linear.add(new ProcessorOperator<>(Stage.DropWhile.class, new DropWhileStageFactory()));
+        linear.add(new ProcessorOperator<>(Stage.Limit.class, new LimitStageFactory()));
+        linear.add(new ProcessorOperator<>(Stage.Skip.class, new SkipStageFactory()));
+        linear.add(new ProcessorOperator<>(Stage.Coupled.class, new CoupledStageFactory()));
+        linear.add(new PublisherOperator<>(Stage.Concat.class, new ConcatStageFactory()));
+        linear.add(new PublisherOperator<>(Stage.Failed.class, new FailedPublisherStageFactory()));
+        linear.add(new PublisherOperator<>(Stage.Of.class, new FromIterableStageFactory()));
+        linear.add(new PublisherOperator<>(Stage.PublisherStage.class, new FromPublisherStageFactory()));
+        linear.add(new PublisherOperator<>(Stage.FromCompletionStage.class, new FromCompletionStageFactory()));
+        linear.add(new PublisherOperator<>(Stage.FromCompletionStageNullable.class,
+                new FromCompletionStageNullableFactory()));
+        linear.add(new TerminalOperator<>(Stage.Cancel.class, new CancelStageFactory()));
+        linear.add(new TerminalOperator<>(Stage.Collect.class, new CollectStageFactory()));
+        linear.add(new TerminalOperator<>(Stage.FindFirst.class, new FindFirstStageFactory()));
+        linear.add(new TerminalOperator<>(Stage.SubscriberStage.class, new SubscriberStageFactory()));
+
+        stages = ((ToGraphable) ReactiveStreams.fromCompletionStage(CompletableFuture.completedFuture(1))
+                .distinct()
+                .map(i -> i + 1)
+                .flatMapCompletionStage(CompletableFuture::completedFuture)
+                .filter(i -> i > 0)
+                .limit(10)
+                .skip(1)
+                .toList())
+                        .toGraph().getStages().toArray(new Stage[0]);
+    }
+
+    @Benchmark
+    public void linearLookup(Blackhole blackhole) {
+        for (Stage stage : stages) {
+            blackhole.consume(linear.stream().filter(p -> p.test(stage)).findAny()
+                    .orElseThrow(() -> new UnsupportedStageException(stage)));
+        }
+    }
+
+    @Benchmark
+    public void dispatchTableLookup(Blackhole blackhole) {
+        for (Stage stage : stages) {
+            blackhole.consume(Stages.lookup(stage));
+        }
+    }
+
+}
@@ -0,0 +1,62 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.reactive.streams.Engine;
+
+/**
+ * Measures a small "transform a list" pipeline, evaluated synchronously or by the reactive operators.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SynchronousExecutionBenchmark {
+
+    @Param({ "true", "false" })
+    public boolean synchronous;
+
+    @Param({ "10" })
+    public int size;
+
+    private Engine engine;
+    private List<Integer> items;
+
+    @Setup
+    public void setup() {
+        System.setProperty(Engine.SYNCHRONOUS_EXECUTION_PROPERTY, Boolean.toString(synchronous));
+        engine = new Engine();
+        System.clearProperty(Engine.SYNCHRONOUS_EXECUTION_PROPERTY);
+        items = IntStream.range(0, size).boxed().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> transformList() {
+        return ReactiveStreams.fromIterable(items)
+                .filter(i -> i % 2 == 0)
+                .map(i -> "item-" + i)
+                .toList()
+                .run(engine)
+                .toCompletableFuture()
+                .join();
+    }
+
+}
@@ -0,0 +1,80 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import io.smallrye.reactive.streams.vertx.Batching;
+import io.smallrye.reactive.streams.vertx.VertxExecutionModel;
+import io.vertx.reactivex.core.Vertx;
+
+/**
+ * Measures the throughput of a stream emitted on the RX computation scheduler and moved to a Vert.x event loop by the
+ * {@link VertxExecutionModel}, for various {@link Batching} configurations and element sizes (in bytes).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VertxBatchingBenchmark {
+
+    @Param({ "1", "16", "128" })
+    public int maxBatchSize;
+
+    @Param({ "0", "1" })
+    public long maxBatchLatency;
+
+    @Param({ "16", "1024", "65536" })
+    public int elementSize;
+
+    @Param({ "1000" })
+    public int size;
+
+    private Vertx vertx;
+    private VertxExecutionModel model;
+    private byte[][] elements;
+
+    @Setup
+    public void setup() {
+        vertx = Vertx.vertx();
+        model = new VertxExecutionModel(Batching.of(maxBatchSize, maxBatchLatency));
+        elements = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            elements[i] = new byte[elementSize];
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        vertx.rxClose().blockingAwait();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Benchmark
+    public Long crossContext() {
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        vertx.runOnContext(x -> {
+            Flowable<byte[]> flowable = model.apply(Flowable.fromArray(elements).subscribeOn(Schedulers.computation()));
+            flowable.reduce(0L, (sum, bytes) -> sum + bytes.length)
+                    .subscribe(result::complete, result::completeExceptionally);
+        });
+        return result.join();
+    }
+
+}
@@ -0,0 +1,82 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import io.smallrye.reactive.streams.vertx.VertxExecutionModel;
+import io.vertx.reactivex.core.RxHelper;
+import io.vertx.reactivex.core.Vertx;
+
+/**
+ * Compares the {@link VertxExecutionModel}, passing through the signals emitted on the event loop thread of the
+ * context ({@code fast-path}), with the {@code observeOn} it replaced ({@code observe-on}), for a stream emitted on
+ * the event loop ({@code same-context}) and a stream emitted on the RX computation scheduler
+ * ({@code cross-context}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VertxExecutionModelBenchmark {
+
+    @Param({ "fast-path", "observe-on" })
+    public String model;
+
+    @Param({ "same-context", "cross-context" })
+    public String emission;
+
+    @Param({ "1000" })
+    public int size;
+
+    private Vertx vertx;
+    private VertxExecutionModel executionModel;
+
+    @Setup
+    public void setup() {
+        vertx = Vertx.vertx();
+        executionModel = new VertxExecutionModel();
+    }
+
+    @TearDown
+    public void tearDown() {
+        vertx.rxClose().blockingAwait();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Benchmark
+    public Integer pipelineOnEventLoop() {
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        vertx.runOnContext(x -> {
+            Flowable<Integer> source = Flowable.range(0, size);
+            if ("cross-context".equals(emission)) {
+                source = source.subscribeOn(Schedulers.computation());
+            }
+            Flowable<Integer> flowable;
+            if ("fast-path".equals(model)) {
+                flowable = executionModel.apply(source);
+            } else {
+                flowable = source.observeOn(RxHelper.scheduler(vertx.getOrCreateContext()));
+            }
+            flowable.reduce(0, Integer::sum).subscribe(result::complete, result::completeExceptionally);
+        });
+        return result.join();
+    }
+
+}
@@ -0,0 +1,105 @@
+package io.smallrye.reactive.streams.benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import io.smallrye.reactive.streams.spi.ExecutionModel;
+import io.smallrye.reactive.streams.virtualthreads.ThreadCreation;
+import io.smallrye.reactive.streams.virtualthreads.VirtualThreadExecutionModel;
+
+/**
+ * Runs {@code pipelines} concurrent pipelines with a blocking {@code map} function, on virtual threads (one per
+ * pipeline or one per subscriber, see {@link ThreadCreation}) and on a fixed pool of {@code poolSize} platform threads
+ * ({@code platform-pool}). Each pipeline applies the execution model to a source of {@code items} elements, blocks
+ * {@code blockingMillis} milliseconds per element in a {@code map} function, and applies the execution model again
+ * before consuming the elements, as the engine does for a {@code fromPublisher().map().ignore()} pipeline.
+ * <p>
+ * The execution models are applied directly: the engine uses the single model found by the
+ * {@link java.util.ServiceLoader}. This benchmark is only built on Java 21+.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class VirtualThreadExecutionModelBenchmark {
+
+    @Param({ "virtual-per-pipeline", "virtual-per-subscriber", "platform-pool" })
+    public String model;
+
+    @Param({ "10000" })
+    public int pipelines;
+
+    @Param({ "10" })
+    public int items;
+
+    @Param({ "0", "1" })
+    public int blockingMillis;
+
+    @Param({ "200" })
+    public int poolSize;
+
+    private ExecutionModel executionModel;
+    private ExecutorService pool;
+
+    @Setup
+    public void setup() {
+        switch (model) {
+            case "virtual-per-pipeline":
+                executionModel = new VirtualThreadExecutionModel(ThreadCreation.PER_PIPELINE);
+                break;
+            case "virtual-per-subscriber":
+                executionModel = new VirtualThreadExecutionModel(ThreadCreation.PER_SUBSCRIBER);
+                break;
+            default:
+                pool = Executors.newFixedThreadPool(poolSize);
+                executionModel = f -> f.observeOn(Schedulers.from(pool));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Benchmark
+    public void run() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(pipelines);
+        for (int i = 0; i < pipelines; i++) {
+            Flowable<Integer> source = executionModel.apply(Flowable.range(0, items));
+            Flowable<Integer> mapped = executionModel.apply(source.map(this::block));
+            mapped.subscribe(x -> {
+            }, t -> done.countDown(), done::countDown);
+        }
+        done.await();
+    }
+
+    private Integer block(Integer item) throws InterruptedException {
+        if (blockingMillis > 0) {
+            Thread.sleep(blockingMillis);
+        }
+        return item;
+    }
+
+}
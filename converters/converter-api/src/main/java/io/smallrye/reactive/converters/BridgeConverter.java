@@ -0,0 +1,38 @@
+package io.smallrye.reactive.converters;
+
+/**
+ * Converts instances of a reactive type {@code S} directly to another reactive type {@code T}.
+ * <p>
+ * Without a bridge, {@link Registry#convert(Object, Class)} goes through a {@link org.reactivestreams.Publisher}:
+ * the {@link ReactiveTypeConverter} of {@code S} creates the publisher, and the one of {@code T} wraps it. A bridge
+ * avoids the intermediate publisher, and can preserve the optimizations of the libraries, for example by recognizing
+ * scalar sources. The conversion must follow the same rules as going through the publisher.
+ * <p>
+ * Bridges are loaded from the {@link java.util.ServiceLoader}, or registered with
+ * {@link Registry#registerBridges(BridgeConverter[])}.
+ *
+ * @param <S> the source type
+ * @param <T> the target type
+ */
+public interface BridgeConverter<S, T> {
+
+    /**
+     * Converts the given instance.
+     *
+     * @param instance the instance to convert, must not be {@code null}
+     * @return the converted instance, never {@code null}
+     */
+    T convert(S instance);
+
+    /**
+     * @return the source type. Must not be {@code null}. Notice that sub-classes of the returned class are also
+     *         handled by the bridge.
+     */
+    Class<S> source();
+
+    /**
+     * @return the target type. Must not be {@code null}.
+     */
+    Class<T> target();
+
+}
@@ -26,6 +26,11 @@ import org.reactivestreams.Publisher;
  */
 public interface ReactiveTypeConverter<T> {
 
+    /**
+     * The default {@link #priority()} of the converters.
+     */
+    int DEFAULT_PRIORITY = 100;
+
     /**
      * Transforms an instance of {@code T} to a {@link CompletionStage} completed with a potential value.
      * Each converter instances can use specific rules, however the following set of rules are mandatory:
@@ -176,4 +181,13 @@ public interface ReactiveTypeConverter<T> {
         return false;
     }
 
+    /**
+     * @return the priority of the converter, used when several converters handle the same class. A converter whose
+     *         {@link #type()} is exactly the converted class always wins, otherwise the converter with the highest
+     *         priority is used. Defaults to {@link #DEFAULT_PRIORITY}.
+     */
+    default int priority() {
+        return DEFAULT_PRIORITY;
+    }
+
 }
@@ -1,32 +1,187 @@
 package io.smallrye.reactive.converters;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.StreamSupport;
 
+import org.reactivestreams.Publisher;
+
+/**
+ * Gives access to the {@link ReactiveTypeConverter}s and {@link BridgeConverter}s.
+ * <p>
+ * The converter handling a class is resolved once, and then cached per class. When several converters handle a class,
+ * a converter whose {@link ReactiveTypeConverter#type()} is the class itself wins, then the converter with the highest
+ * {@link ReactiveTypeConverter#priority()}, then the converter handling the most specific type. Registering a
+ * converter invalidates the cache. The bridges are resolved and cached the same way, per source class and target
+ * class.
+ */
 public class Registry {
 
     private static final List<ReactiveTypeConverter> converters;
 
+    private static final List<BridgeConverter> bridges;
+
+    /**
+     * The resolved converters, replaced when a converter is registered.
+     */
+    private static volatile ClassValue<Optional<ReactiveTypeConverter>> resolved = newCache();
+
+    /**
+     * The resolved bridges per source class and target class, replaced when a bridge is registered.
+     */
+    private static volatile ClassValue<ConcurrentMap<Class<?>, Optional<BridgeConverter>>> resolvedBridges = newBridgeCache();
+
     static {
         converters = new CopyOnWriteArrayList<>();
         // Load the converters from the service loader.
         StreamSupport.stream(ServiceLoader.load(ReactiveTypeConverter.class).spliterator(), false)
                 .forEach(converters::add);
+
+        bridges = new CopyOnWriteArrayList<>();
+        // Load the bridges from the service loader, skipping the ones whose libraries are not available.
+        Iterator<BridgeConverter> iterator = ServiceLoader.load(BridgeConverter.class).iterator();
+        while (iterator.hasNext()) {
+            try {
+                BridgeConverter bridge = iterator.next();
+                // Fails if the source or target library is not available.
+                Objects.requireNonNull(bridge.source());
+                Objects.requireNonNull(bridge.target());
+                bridges.add(bridge);
+            } catch (ServiceConfigurationError | LinkageError e) {
+                // Ignore the bridge.
+            }
+        }
     }
 
     private Registry() {
         // Avoid direct instantiation.
     }
 
+    @SuppressWarnings("unchecked")
     public static <T> Optional<ReactiveTypeConverter<T>> lookup(Class<T> input) {
-        return converters.stream().filter(entry -> entry.type().isAssignableFrom(Objects.requireNonNull(input)))
-                .map(fc -> (ReactiveTypeConverter<T>) fc)
-                .findAny();
+        Objects.requireNonNull(input);
+        return (Optional) resolved.get(input);
     }
 
     public static void register(ReactiveTypeConverter... fcs) {
         Collections.addAll(converters, fcs);
+        // The converters are added before replacing the cache, so the new cache cannot miss them.
+        resolved = newCache();
+    }
+
+    /**
+     * Looks for the {@link BridgeConverter} converting instances of {@code source} to {@code target}.
+     *
+     * @param source the source class
+     * @param target the target class
+     * @param <S> the source type
+     * @param <T> the target type
+     * @return the bridge, empty if none handles these types
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> Optional<BridgeConverter<S, T>> lookupBridge(Class<S> source, Class<T> target) {
+        Objects.requireNonNull(target);
+        return (Optional) resolvedBridges.get(Objects.requireNonNull(source))
+                .computeIfAbsent(target, t -> resolveBridge(source, t));
+    }
+
+    public static void registerBridges(BridgeConverter... bcs) {
+        Collections.addAll(bridges, bcs);
+        // The bridges are added before replacing the cache, so the new cache cannot miss them.
+        resolvedBridges = newBridgeCache();
+    }
+
+    /**
+     * Converts the given instance to the {@code target} type. A {@link BridgeConverter} is used if one handles the
+     * types, otherwise the instance is converted to a {@link Publisher} by the {@link ReactiveTypeConverter} of its
+     * type, and the publisher is converted to {@code target} by the {@link ReactiveTypeConverter} of {@code target}.
+     *
+     * @param instance the instance to convert, must not be {@code null}
+     * @param target the target type, must not be {@code null}
+     * @param <T> the target type
+     * @return the converted instance
+     * @throws IllegalArgumentException if no bridge or converters can convert the instance
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T convert(Object instance, Class<T> target) {
+        Objects.requireNonNull(instance);
+        Objects.requireNonNull(target);
+        if (target.isInstance(instance)) {
+            return (T) instance;
+        }
+        Class<Object> source = (Class<Object>) instance.getClass();
+        Optional<BridgeConverter<Object, T>> bridge = lookupBridge(source, target);
+        if (bridge.isPresent()) {
+            return bridge.get().convert(instance);
+        }
+        ReactiveTypeConverter<Object> from = lookup(source).orElseThrow(
+                () -> new IllegalArgumentException("No converter found for " + source.getName()));
+        ReactiveTypeConverter<T> to = lookup(target).orElseThrow(
+                () -> new IllegalArgumentException("No converter found for " + target.getName()));
+        Publisher<Object> publisher = from.toRSPublisher(instance);
+        return to.fromPublisher(publisher);
+    }
+
+    private static ClassValue<Optional<ReactiveTypeConverter>> newCache() {
+        return new ClassValue<Optional<ReactiveTypeConverter>>() {
+            @Override
+            protected Optional<ReactiveTypeConverter> computeValue(Class<?> type) {
+                return resolve(type);
+            }
+        };
+    }
+
+    private static ClassValue<ConcurrentMap<Class<?>, Optional<BridgeConverter>>> newBridgeCache() {
+        return new ClassValue<ConcurrentMap<Class<?>, Optional<BridgeConverter>>>() {
+            @Override
+            protected ConcurrentMap<Class<?>, Optional<BridgeConverter>> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+    }
+
+    private static Optional<ReactiveTypeConverter> resolve(Class<?> type) {
+        ReactiveTypeConverter selected = null;
+        for (ReactiveTypeConverter candidate : converters) {
+            if (candidate.type().isAssignableFrom(type)
+                    && (selected == null || isPreferred(candidate, selected, type))) {
+                selected = candidate;
+            }
+        }
+        return Optional.ofNullable(selected);
+    }
+
+    /**
+     * Checks whether the candidate converter should be used instead of the selected one. On a tie, the first registered
+     * converter is kept.
+     */
+    private static boolean isPreferred(ReactiveTypeConverter candidate, ReactiveTypeConverter selected, Class<?> type) {
+        boolean exact = candidate.type() == type;
+        if (exact != (selected.type() == type)) {
+            return exact;
+        }
+        if (candidate.priority() != selected.priority()) {
+            return candidate.priority() > selected.priority();
+        }
+        return candidate.type() != selected.type() && selected.type().isAssignableFrom(candidate.type());
+    }
+
+    /**
+     * Selects the bridge handling the most specific source type, among the bridges producing instances of the target.
+     * On a tie, the first registered bridge is kept.
+     */
+    private static Optional<BridgeConverter> resolveBridge(Class<?> source, Class<?> target) {
+        BridgeConverter selected = null;
+        for (BridgeConverter candidate : bridges) {
+            if (candidate.source().isAssignableFrom(source) && target.isAssignableFrom(candidate.target())
+                    && (selected == null || (candidate.source() != selected.source()
+                            && selected.source().isAssignableFrom(candidate.source())))) {
+                selected = candidate;
+            }
+        }
+        return Optional.ofNullable(selected);
     }
 
 }
@@ -1,7 +1,9 @@
 package io.smallrye.reactive.converters;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.Locale;
 import java.util.concurrent.CompletionStage;
 
 import org.junit.Test;
@@ -16,6 +18,124 @@ public class RegistryTest {
         assertThat(Registry.lookup(CompletionStage.class)).isNotEmpty().containsInstanceOf(Myconverter.class);
     }
 
+    @Test
+    public void testThatTheExactTypeConverterWins() {
+        TypedConverter<Base> base = new TypedConverter<>(Base.class, ReactiveTypeConverter.DEFAULT_PRIORITY + 1);
+        TypedConverter<Sub> sub = new TypedConverter<>(Sub.class, ReactiveTypeConverter.DEFAULT_PRIORITY);
+        Registry.register(base, sub);
+        assertThat(Registry.lookup(Base.class).get()).isSameAs(base);
+        assertThat(Registry.lookup(Sub.class).get()).isSameAs(sub);
+        // Neither converter handles the exact type, the highest priority wins.
+        assertThat(Registry.lookup(SubSub.class).get()).isSameAs(base);
+    }
+
+    @Test
+    public void testThatTheMostSpecificConverterWinsWithTheSamePriority() {
+        TypedConverter<Parent> parent = new TypedConverter<>(Parent.class, ReactiveTypeConverter.DEFAULT_PRIORITY);
+        TypedConverter<Child> child = new TypedConverter<>(Child.class, ReactiveTypeConverter.DEFAULT_PRIORITY);
+        Registry.register(parent, child);
+        assertThat(Registry.lookup(GrandChild.class).get()).isSameAs(child);
+        assertThat(Registry.lookup(Parent.class).get()).isSameAs(parent);
+    }
+
+    @Test
+    public void testConvertWithABridge() {
+        Registry.registerBridges(new BridgeConverter<StringBuilder, String>() {
+            @Override
+            public String convert(StringBuilder instance) {
+                return instance.toString();
+            }
+
+            @Override
+            public Class<StringBuilder> source() {
+                return StringBuilder.class;
+            }
+
+            @Override
+            public Class<String> target() {
+                return String.class;
+            }
+        });
+        assertThat(Registry.convert(new StringBuilder("hello"), String.class)).isEqualTo("hello");
+        // Instances of the target type are not converted.
+        assertThat(Registry.convert("hello", CharSequence.class)).isEqualTo("hello");
+        assertThatThrownBy(() -> Registry.convert(1, Locale.class)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private interface Base {
+    }
+
+    private interface Sub extends Base {
+    }
+
+    private interface SubSub extends Sub {
+    }
+
+    private interface Parent {
+    }
+
+    private interface Child extends Parent {
+    }
+
+    private interface GrandChild extends Child {
+    }
+
+    private static class TypedConverter<T> implements ReactiveTypeConverter<T> {
+
+        private final Class<T> type;
+        private final int priority;
+
+        TypedConverter(Class<T> type, int priority) {
+            this.type = type;
+            this.priority = priority;
+        }
+
+        @Override
+        public <X> CompletionStage<X> toCompletionStage(T instance) {
+            return null;
+        }
+
+        @Override
+        public <X> T fromCompletionStage(CompletionStage<X> cs) {
+            return null;
+        }
+
+        @Override
+        public <X> Publisher<X> toRSPublisher(T instance) {
+            return null;
+        }
+
+        @Override
+        public <X> T fromPublisher(Publisher<X> publisher) {
+            return null;
+        }
+
+        @Override
+        public Class<T> type() {
+            return type;
+        }
+
+        @Override
+        public boolean emitItems() {
+            return true;
+        }
+
+        @Override
+        public boolean emitAtMostOneItem() {
+            return false;
+        }
+
+        @Override
+        public boolean supportNullValue() {
+            return false;
+        }
+
+        @Override
+        public int priority() {
+            return priority;
+        }
+    }
+
     private static class Myconverter implements ReactiveTypeConverter<CompletionStage> {
 
         @Override
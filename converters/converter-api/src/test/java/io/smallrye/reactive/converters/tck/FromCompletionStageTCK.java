@@ -5,6 +5,11 @@ import static org.assertj.core.api.Assertions.fail;
 
 import java.util.UUID;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.junit.Test;
 
@@ -18,6 +23,14 @@ public abstract class FromCompletionStageTCK<T> {
 
     protected abstract Exception getFailure(T instance);
 
+    /**
+     * @return the number of callbacks the converter registers on an already completed {@link CompletableFuture}, per
+     *         subscriber, {@code 0} if the value is read without callback
+     */
+    protected int registrationsOnACompletedFuture() {
+        return 1;
+    }
+
     @Test
     public void testWithImmediateValue() {
         String uuid = UUID.randomUUID().toString();
@@ -44,6 +57,29 @@ public abstract class FromCompletionStageTCK<T> {
         }
     }
 
+    @Test
+    public void testThatASingleCallbackIsRegisteredWithAnImmediateValue() {
+        String uuid = UUID.randomUUID().toString();
+        CountingFuture<String> future = new CountingFuture<>(uuid);
+        future.complete(uuid);
+        String res = getOne(converter().fromCompletionStage(future));
+        if (converter().emitItems()) {
+            assertThat(res).isEqualTo(uuid);
+        }
+        assertThat(future.registrations()).isEqualTo(registrationsOnACompletedFuture());
+    }
+
+    @Test
+    public void testThatASingleCallbackIsRegisteredWithAnAsynchronousValue() {
+        String uuid = UUID.randomUUID().toString();
+        CountingFuture<String> future = new CountingFuture<>(uuid);
+        String res = getOne(converter().fromCompletionStage(future));
+        if (converter().emitItems()) {
+            assertThat(res).isEqualTo(uuid);
+        }
+        assertThat(future.registrations()).isEqualTo(1);
+    }
+
     @Test
     public void testWithImmediateFailure() {
         CompletableFuture<String> future = new CompletableFuture<>();
@@ -124,4 +160,69 @@ public abstract class FromCompletionStageTCK<T> {
         assertThat(terminated).isFalse();
     }
 
+    /**
+     * A future counting the callbacks registered on it. The future is completed asynchronously with the given value
+     * once the first callback is registered.
+     */
+    private static class CountingFuture<X> extends CompletableFuture<X> {
+        private final AtomicInteger registrations = new AtomicInteger();
+        private final X value;
+
+        private CountingFuture(X value) {
+            this.value = value;
+        }
+
+        int registrations() {
+            return registrations.get();
+        }
+
+        private void registered() {
+            if (registrations.incrementAndGet() == 1 && !isDone()) {
+                ForkJoinPool.commonPool().execute(() -> complete(value));
+            }
+        }
+
+        @Override
+        public CompletableFuture<X> whenComplete(BiConsumer<? super X, ? super Throwable> action) {
+            registered();
+            return super.whenComplete(action);
+        }
+
+        @Override
+        public CompletableFuture<X> whenCompleteAsync(BiConsumer<? super X, ? super Throwable> action) {
+            registered();
+            return super.whenCompleteAsync(action);
+        }
+
+        @Override
+        public <U> CompletableFuture<U> handle(BiFunction<? super X, Throwable, ? extends U> fn) {
+            registered();
+            return super.handle(fn);
+        }
+
+        @Override
+        public <U> CompletableFuture<U> handleAsync(BiFunction<? super X, Throwable, ? extends U> fn) {
+            registered();
+            return super.handleAsync(fn);
+        }
+
+        @Override
+        public <U> CompletableFuture<U> thenApply(Function<? super X, ? extends U> fn) {
+            registered();
+            return super.thenApply(fn);
+        }
+
+        @Override
+        public CompletableFuture<Void> thenAccept(Consumer<? super X> action) {
+            registered();
+            return super.thenAccept(action);
+        }
+
+        @Override
+        public CompletableFuture<X> exceptionally(Function<Throwable, ? extends X> fn) {
+            registered();
+            return super.exceptionally(fn);
+        }
+    }
+
 }
@@ -0,0 +1,35 @@
+package io.smallrye.reactive.converters.bridges;
+
+import io.reactivex.Flowable;
+import io.reactivex.internal.fuseable.ScalarCallable;
+import io.smallrye.reactive.converters.BridgeConverter;
+import reactor.core.publisher.Flux;
+
+/**
+ * Bridge converting RX Java 2 {@link Flowable} instances to Reactor {@link Flux} instances. Scalar sources (such as
+ * {@code Flowable.just} or {@code Flowable.empty}) are converted to their Reactor counterpart, so the Reactor operators
+ * can optimize them.
+ */
+@SuppressWarnings("rawtypes")
+public class FlowableToFluxBridge implements BridgeConverter<Flowable, Flux> {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Flux convert(Flowable instance) {
+        if (instance instanceof ScalarCallable) {
+            Object value = ((ScalarCallable) instance).call();
+            return value == null ? Flux.empty() : Flux.just(value);
+        }
+        return Flux.from(instance);
+    }
+
+    @Override
+    public Class<Flowable> source() {
+        return Flowable.class;
+    }
+
+    @Override
+    public Class<Flux> target() {
+        return Flux.class;
+    }
+}
@@ -0,0 +1,34 @@
+package io.smallrye.reactive.converters.bridges;
+
+import io.reactivex.Flowable;
+import io.reactivex.internal.fuseable.ScalarCallable;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.reactive.converters.BridgeConverter;
+
+/**
+ * Bridge converting RX Java 2 {@link Flowable} instances to Mutiny {@link Multi} instances. Scalar sources (such as
+ * {@code Flowable.just} or {@code Flowable.empty}) are converted to their Mutiny counterpart.
+ */
+@SuppressWarnings("rawtypes")
+public class FlowableToMultiBridge implements BridgeConverter<Flowable, Multi> {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Multi convert(Flowable instance) {
+        if (instance instanceof ScalarCallable) {
+            Object value = ((ScalarCallable) instance).call();
+            return value == null ? Multi.createFrom().empty() : Multi.createFrom().item(value);
+        }
+        return Multi.createFrom().publisher(instance);
+    }
+
+    @Override
+    public Class<Flowable> source() {
+        return Flowable.class;
+    }
+
+    @Override
+    public Class<Multi> target() {
+        return Multi.class;
+    }
+}
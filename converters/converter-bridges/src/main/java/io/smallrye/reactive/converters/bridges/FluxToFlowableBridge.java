@@ -0,0 +1,42 @@
+package io.smallrye.reactive.converters.bridges;
+
+import java.util.concurrent.Callable;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.converters.BridgeConverter;
+import reactor.core.Fuseable;
+import reactor.core.publisher.Flux;
+
+/**
+ * Bridge converting Reactor {@link Flux} instances to RX Java 2 {@link Flowable} instances. Scalar sources (such as
+ * {@code Flux.just} or {@code Flux.empty}) are converted to their RX Java counterpart, so the RX Java operators can
+ * optimize them.
+ */
+@SuppressWarnings("rawtypes")
+public class FluxToFlowableBridge implements BridgeConverter<Flux, Flowable> {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Flowable convert(Flux instance) {
+        if (instance instanceof Fuseable.ScalarCallable) {
+            Object value;
+            try {
+                value = ((Callable) instance).call();
+            } catch (Exception e) {
+                return Flowable.error(e);
+            }
+            return value == null ? Flowable.empty() : Flowable.just(value);
+        }
+        return Flowable.fromPublisher(instance);
+    }
+
+    @Override
+    public Class<Flux> source() {
+        return Flux.class;
+    }
+
+    @Override
+    public Class<Flowable> target() {
+        return Flowable.class;
+    }
+}
@@ -0,0 +1,41 @@
+package io.smallrye.reactive.converters.bridges;
+
+import java.util.concurrent.Callable;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.reactive.converters.BridgeConverter;
+import reactor.core.Fuseable;
+import reactor.core.publisher.Flux;
+
+/**
+ * Bridge converting Reactor {@link Flux} instances to Mutiny {@link Multi} instances. Scalar sources (such as
+ * {@code Flux.just} or {@code Flux.empty}) are converted to their Mutiny counterpart.
+ */
+@SuppressWarnings("rawtypes")
+public class FluxToMultiBridge implements BridgeConverter<Flux, Multi> {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Multi convert(Flux instance) {
+        if (instance instanceof Fuseable.ScalarCallable) {
+            Object value;
+            try {
+                value = ((Callable) instance).call();
+            } catch (Exception e) {
+                return Multi.createFrom().failure(e);
+            }
+            return value == null ? Multi.createFrom().empty() : Multi.createFrom().item(value);
+        }
+        return Multi.createFrom().publisher(instance);
+    }
+
+    @Override
+    public Class<Flux> source() {
+        return Flux.class;
+    }
+
+    @Override
+    public Class<Multi> target() {
+        return Multi.class;
+    }
+}
@@ -0,0 +1,44 @@
+package io.smallrye.reactive.converters.bridges;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+
+import io.reactivex.Single;
+import io.smallrye.reactive.converters.BridgeConverter;
+import reactor.core.Fuseable;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bridge converting Reactor {@link Mono} instances to RX Java 2 {@link Single} instances, without converting the
+ * {@link Mono} to a {@link io.reactivex.Flowable}. As when going through a {@link org.reactivestreams.Publisher}, an
+ * empty {@link Mono} is converted to a {@link Single} failing with a {@link NoSuchElementException}. Scalar sources
+ * (such as {@code Mono.just}) are converted to their RX Java counterpart.
+ */
+@SuppressWarnings("rawtypes")
+public class MonoToSingleBridge implements BridgeConverter<Mono, Single> {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Single convert(Mono instance) {
+        if (instance instanceof Fuseable.ScalarCallable) {
+            Object value;
+            try {
+                value = ((Callable) instance).call();
+            } catch (Exception e) {
+                return Single.error(e);
+            }
+            return value == null ? Single.error(new NoSuchElementException()) : Single.just(value);
+        }
+        return Single.fromPublisher(instance);
+    }
+
+    @Override
+    public Class<Mono> source() {
+        return Mono.class;
+    }
+
+    @Override
+    public Class<Single> target() {
+        return Single.class;
+    }
+}
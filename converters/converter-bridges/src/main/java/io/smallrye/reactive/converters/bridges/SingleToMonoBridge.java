@@ -0,0 +1,35 @@
+package io.smallrye.reactive.converters.bridges;
+
+import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
+import io.smallrye.reactive.converters.BridgeConverter;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bridge converting RX Java 2 {@link Single} instances to Reactor {@link Mono} instances, without converting the
+ * {@link Single} to a {@link io.reactivex.Flowable}. Disposing the {@link Mono} subscription disposes the
+ * {@link Single} subscription.
+ */
+@SuppressWarnings("rawtypes")
+public class SingleToMonoBridge implements BridgeConverter<Single, Mono> {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Mono convert(Single instance) {
+        Single<Object> single = instance;
+        return Mono.create(sink -> {
+            Disposable disposable = single.subscribe(sink::success, sink::error);
+            sink.onDispose(disposable::dispose);
+        });
+    }
+
+    @Override
+    public Class<Single> source() {
+        return Single.class;
+    }
+
+    @Override
+    public Class<Mono> target() {
+        return Mono.class;
+    }
+}
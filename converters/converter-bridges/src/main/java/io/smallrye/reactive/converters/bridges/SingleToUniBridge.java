@@ -0,0 +1,35 @@
+package io.smallrye.reactive.converters.bridges;
+
+import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.reactive.converters.BridgeConverter;
+
+/**
+ * Bridge converting RX Java 2 {@link Single} instances to Mutiny {@link Uni} instances, without converting the
+ * {@link Single} to a {@link io.reactivex.Flowable}. Cancelling the {@link Uni} subscription disposes the
+ * {@link Single} subscription.
+ */
+@SuppressWarnings("rawtypes")
+public class SingleToUniBridge implements BridgeConverter<Single, Uni> {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Uni convert(Single instance) {
+        Single<Object> single = instance;
+        return Uni.createFrom().emitter(emitter -> {
+            Disposable disposable = single.subscribe(emitter::complete, emitter::fail);
+            emitter.onTermination(disposable::dispose);
+        });
+    }
+
+    @Override
+    public Class<Single> source() {
+        return Single.class;
+    }
+
+    @Override
+    public Class<Uni> target() {
+        return Uni.class;
+    }
+}
@@ -0,0 +1,41 @@
+package io.smallrye.reactive.converters.bridges;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.smallrye.reactive.converters.BridgeConverter;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bridge converting Mutiny {@link Uni} instances to Reactor {@link Mono} instances, without converting the
+ * {@link Uni} to a {@link io.smallrye.mutiny.Multi}. As when going through a {@link org.reactivestreams.Publisher}, a
+ * {@link Uni} emitting {@code null} is converted to an empty {@link Mono}.
+ */
+@SuppressWarnings("rawtypes")
+public class UniToMonoBridge implements BridgeConverter<Uni, Mono> {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Mono convert(Uni instance) {
+        Uni<Object> uni = instance;
+        return Mono.create(sink -> {
+            Cancellable cancellable = uni.subscribe().with(item -> {
+                if (item == null) {
+                    sink.success();
+                } else {
+                    sink.success(item);
+                }
+            }, sink::error);
+            sink.onCancel(cancellable::cancel);
+        });
+    }
+
+    @Override
+    public Class<Uni> source() {
+        return Uni.class;
+    }
+
+    @Override
+    public Class<Mono> target() {
+        return Mono.class;
+    }
+}
@@ -0,0 +1,43 @@
+package io.smallrye.reactive.converters.bridges;
+
+import java.util.NoSuchElementException;
+
+import io.reactivex.Single;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.smallrye.reactive.converters.BridgeConverter;
+
+/**
+ * Bridge converting Mutiny {@link Uni} instances to RX Java 2 {@link Single} instances, without converting the
+ * {@link Uni} to a {@link io.smallrye.mutiny.Multi}. As when going through a {@link org.reactivestreams.Publisher}, a
+ * {@link Uni} emitting {@code null} is converted to a {@link Single} failing with a {@link NoSuchElementException}.
+ */
+@SuppressWarnings("rawtypes")
+public class UniToSingleBridge implements BridgeConverter<Uni, Single> {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Single convert(Uni instance) {
+        Uni<Object> uni = instance;
+        return Single.create(emitter -> {
+            Cancellable cancellable = uni.subscribe().with(item -> {
+                if (item == null) {
+                    emitter.onError(new NoSuchElementException());
+                } else {
+                    emitter.onSuccess(item);
+                }
+            }, emitter::onError);
+            emitter.setCancellable(cancellable::cancel);
+        });
+    }
+
+    @Override
+    public Class<Uni> source() {
+        return Uni.class;
+    }
+
+    @Override
+    public Class<Single> target() {
+        return Single.class;
+    }
+}
@@ -0,0 +1,105 @@
+package io.smallrye.reactive.converters.bridges;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.reactive.converters.Registry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Checks the bridges loaded by the {@link Registry}.
+ */
+@SuppressWarnings("unchecked")
+public class BridgesTest {
+
+    @Test
+    public void testThatTheBridgesAreLoaded() {
+        assertThat(Registry.lookupBridge(Flowable.class, Flux.class)).isNotEmpty();
+        assertThat(Registry.lookupBridge(Flux.class, Multi.class)).isNotEmpty();
+        assertThat(Registry.lookupBridge(Uni.class, Mono.class)).isNotEmpty();
+        // Subclasses of the source type are handled by the bridge.
+        assertThat(Registry.lookupBridge(Flowable.range(0, 2).getClass(), Flux.class)).isNotEmpty();
+        assertThat(Registry.lookupBridge(Flux.class, Flowable.class).get()).isInstanceOf(FluxToFlowableBridge.class);
+        assertThat(Registry.lookupBridge(Multi.class, Flux.class)).isEmpty();
+    }
+
+    @Test
+    public void testFlowableToFlux() {
+        assertThat(flux(Flowable.range(0, 3)).collectList().block()).containsExactly(0, 1, 2);
+        assertThat(flux(Flowable.just(1)).collectList().block()).containsExactly(1);
+        assertThat(flux(Flowable.empty()).collectList().block()).isEmpty();
+    }
+
+    @Test
+    public void testFluxToFlowable() {
+        assertThat(flowable(Flux.range(0, 3)).toList().blockingGet()).containsExactly(0, 1, 2);
+        assertThat(flowable(Flux.just(1)).toList().blockingGet()).containsExactly(1);
+        assertThat(flowable(Flux.empty()).toList().blockingGet()).isEmpty();
+    }
+
+    @Test
+    public void testFlowableAndFluxToMulti() {
+        assertThat(multi(Flowable.range(0, 3)).subscribe().asIterable()).containsExactly(0, 1, 2);
+        assertThat(multi(Flowable.just(1)).subscribe().asIterable()).containsExactly(1);
+        assertThat(multi(Flux.range(0, 3)).subscribe().asIterable()).containsExactly(0, 1, 2);
+        assertThat(multi(Flux.empty()).subscribe().asIterable()).isEmpty();
+    }
+
+    @Test
+    public void testSingleAndMono() {
+        assertThat(mono(Single.just(1)).block()).isEqualTo(1);
+        assertThatThrownBy(() -> mono(Single.error(new IllegalStateException("boom"))).block())
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(single(Mono.just(1)).blockingGet()).isEqualTo(1);
+        assertThat(single(Mono.fromCallable(() -> 2)).blockingGet()).isEqualTo(2);
+        assertThatThrownBy(() -> single(Mono.empty()).blockingGet()).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    public void testSingleAndUni() {
+        assertThat(uni(Single.just(1)).await().indefinitely()).isEqualTo(1);
+        assertThat(single(Uni.createFrom().item(1)).blockingGet()).isEqualTo(1);
+        assertThatThrownBy(() -> single(Uni.createFrom().item((Integer) null)).blockingGet())
+                .isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    public void testUniToMono() {
+        assertThat(mono(Uni.createFrom().item(1)).block()).isEqualTo(1);
+        assertThat(mono(Uni.createFrom().item((Integer) null)).block()).isNull();
+    }
+
+    private static <T> Flux<T> flux(Object instance) {
+        return Registry.convert(instance, Flux.class);
+    }
+
+    private static <T> Flowable<T> flowable(Object instance) {
+        return Registry.convert(instance, Flowable.class);
+    }
+
+    private static <T> Multi<T> multi(Object instance) {
+        return Registry.convert(instance, Multi.class);
+    }
+
+    private static <T> Mono<T> mono(Object instance) {
+        return Registry.convert(instance, Mono.class);
+    }
+
+    private static <T> Single<T> single(Object instance) {
+        return Registry.convert(instance, Single.class);
+    }
+
+    private static <T> Uni<T> uni(Object instance) {
+        return Registry.convert(instance, Uni.class);
+    }
+
+}
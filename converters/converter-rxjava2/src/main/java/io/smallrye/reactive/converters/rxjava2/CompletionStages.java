@@ -0,0 +1,27 @@
+package io.smallrye.reactive.converters.rxjava2;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * Helpers shared by the sources emitting the outcome of a {@link java.util.concurrent.CompletionStage}.
+ */
+final class CompletionStages {
+
+    private CompletionStages() {
+        // Avoid direct instantiation.
+    }
+
+    /**
+     * Gets the failure to propagate from the failure passed to a {@code whenComplete} callback. Dependent stages
+     * receive the failure wrapped in a {@link CompletionException}, which is unwrapped unless it has no cause.
+     *
+     * @param failure the failure received by the callback, must not be {@code null}
+     * @return the failure to propagate
+     */
+    static Throwable unwrap(Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            return failure.getCause();
+        }
+        return failure;
+    }
+}
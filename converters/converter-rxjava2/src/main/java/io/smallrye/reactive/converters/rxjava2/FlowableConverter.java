@@ -6,6 +6,7 @@ import java.util.concurrent.CompletionStage;
 import org.reactivestreams.Publisher;
 
 import io.reactivex.Flowable;
+import io.reactivex.plugins.RxJavaPlugins;
 import io.smallrye.reactive.converters.ReactiveTypeConverter;
 
 /**
@@ -23,8 +24,10 @@ import io.smallrye.reactive.converters.ReactiveTypeConverter;
  * <strong>fromCompletionStage</strong><br>
  * The {@link #fromCompletionStage(CompletionStage)} method returns a {@link Flowable} instance completed or failed
  * according to the passed {@link CompletionStage} completion. Note that if the future emits a {@code null} value,
- * the {@link Flowable} fails. If the future completes with a value, the observable emits the value and then completes.
- * If the future completes with a failure, the stream emits the failure.
+ * the {@link Flowable} completes without emitting a value. If the future completes with a value, the stream emits the
+ * value and then completes. If the future completes with a failure, the stream emits the failure. A single callback
+ * is registered on the {@link CompletionStage} per subscriber, and the value of an already completed
+ * {@link CompletableFuture} is emitted synchronously.
  *
  *
  * <strong>fromPublisher</strong><br>
@@ -71,7 +74,7 @@ public class FlowableConverter implements ReactiveTypeConverter<Flowable> {
 
     @Override
     public <X> Flowable fromCompletionStage(CompletionStage<X> cs) {
-        return Flowable.generate(emitter -> ObservableConverter.toStreamEvents(cs, emitter));
+        return RxJavaPlugins.onAssembly(new FlowableFromCompletionStage<>(cs));
     }
 
     @Override
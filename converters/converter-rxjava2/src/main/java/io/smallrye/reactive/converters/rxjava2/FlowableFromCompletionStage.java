@@ -0,0 +1,76 @@
+package io.smallrye.reactive.converters.rxjava2;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+
+import org.reactivestreams.Subscriber;
+
+import io.reactivex.Flowable;
+import io.reactivex.internal.subscriptions.DeferredScalarSubscription;
+import io.reactivex.internal.subscriptions.EmptySubscription;
+import io.reactivex.internal.subscriptions.ScalarSubscription;
+
+/**
+ * A {@link Flowable} emitting the outcome of a {@link CompletionStage}: its value followed by the completion signal,
+ * the completion signal only if the value is {@code null}, or its failure.
+ * <p>
+ * If the completion stage is a {@link CompletableFuture} already completed with a value, the value is emitted
+ * synchronously, on request, without registering a callback. Otherwise, a single callback is registered on the
+ * completion stage per subscriber, the callback being the subscription itself.
+ *
+ * @param <T> the value type
+ */
+final class FlowableFromCompletionStage<T> extends Flowable<T> {
+
+    private final CompletionStage<T> stage;
+
+    FlowableFromCompletionStage(CompletionStage<T> stage) {
+        this.stage = stage;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super T> s) {
+        if (stage instanceof CompletableFuture) {
+            CompletableFuture<T> future = (CompletableFuture<T>) stage;
+            // Only a value is emitted without callback, a failed future is left to the subscription, which
+            // unwraps its failure.
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                T value = future.getNow(null);
+                if (value != null) {
+                    s.onSubscribe(new ScalarSubscription<>(s, value));
+                } else {
+                    EmptySubscription.complete(s);
+                }
+                return;
+            }
+        }
+        CompletionStageSubscription<T> subscription = new CompletionStageSubscription<>(s);
+        s.onSubscribe(subscription);
+        stage.whenComplete(subscription);
+    }
+
+    private static final class CompletionStageSubscription<T> extends DeferredScalarSubscription<T>
+            implements BiConsumer<T, Throwable> {
+
+        private static final long serialVersionUID = 1L;
+
+        CompletionStageSubscription(Subscriber<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        public void accept(T value, Throwable failure) {
+            if (isCancelled()) {
+                return;
+            }
+            if (failure != null) {
+                downstream.onError(CompletionStages.unwrap(failure));
+            } else if (value != null) {
+                complete(value);
+            } else {
+                downstream.onComplete();
+            }
+        }
+    }
+}
@@ -1,14 +1,13 @@
 package io.smallrye.reactive.converters.rxjava2;
 
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 
 import org.reactivestreams.Publisher;
 
 import io.reactivex.BackpressureStrategy;
-import io.reactivex.Emitter;
 import io.reactivex.Observable;
+import io.reactivex.plugins.RxJavaPlugins;
 import io.smallrye.reactive.converters.ReactiveTypeConverter;
 
 /**
@@ -28,8 +27,10 @@ import io.smallrye.reactive.converters.ReactiveTypeConverter;
  * <strong>fromCompletionStage</strong><br>
  * The {@link #fromCompletionStage(CompletionStage)} method returns a {@link Observable} instance completed or failed
  * according to the passed {@link CompletionStage} completion. Note that if the future emits a {@code null} value,
- * the {@link Observable} fails. If the future completes with a value, the observable emits the value and then completes.
- * If the future completes with a failure, the stream emits the failure.
+ * the {@link Observable} completes without emitting a value. If the future completes with a value, the stream emits the
+ * value and then completes. If the future completes with a failure, the stream emits the failure. A single callback
+ * is registered on the {@link CompletionStage} per subscriber, and the value of an already completed
+ * {@link CompletableFuture} is emitted synchronously.
  *
  *
  * <strong>fromPublisher</strong><br>
@@ -48,21 +49,6 @@ import io.smallrye.reactive.converters.ReactiveTypeConverter;
  */
 public class ObservableConverter implements ReactiveTypeConverter<Observable> {
 
-    static <X> void toStreamEvents(CompletionStage<X> cs, Emitter<Object> emitter) {
-        cs.whenComplete((X res, Throwable err) -> {
-            if (res != null) {
-                emitter.onNext(res);
-                emitter.onComplete();
-            } else {
-                if (err != null) {
-                    emitter.onError(err instanceof CompletionException ? err.getCause() : err);
-                } else {
-                    emitter.onComplete();
-                }
-            }
-        });
-    }
-
     @SuppressWarnings("unchecked")
     @Override
     public <T> Publisher<T> toRSPublisher(Observable instance) {
@@ -88,8 +74,7 @@ public class ObservableConverter implements ReactiveTypeConverter<Observable> {
 
     @Override
     public <X> Observable fromCompletionStage(CompletionStage<X> cs) {
-        return Observable.generate(emitter -> toStreamEvents(cs, emitter));
-
+        return RxJavaPlugins.onAssembly(new ObservableFromCompletionStage<>(cs));
     }
 
     @Override
@@ -0,0 +1,76 @@
+package io.smallrye.reactive.converters.rxjava2;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+
+import io.reactivex.Observable;
+import io.reactivex.Observer;
+import io.reactivex.internal.disposables.EmptyDisposable;
+import io.reactivex.internal.observers.DeferredScalarDisposable;
+import io.reactivex.internal.operators.observable.ObservableScalarXMap.ScalarDisposable;
+
+/**
+ * An {@link Observable} emitting the outcome of a {@link CompletionStage}: its value followed by the completion
+ * signal, the completion signal only if the value is {@code null}, or its failure.
+ * <p>
+ * If the completion stage is a {@link CompletableFuture} already completed with a value, the value is emitted
+ * synchronously, without registering a callback. Otherwise, a single callback is registered on the completion stage
+ * per observer, the callback being the disposable itself.
+ *
+ * @param <T> the value type
+ */
+final class ObservableFromCompletionStage<T> extends Observable<T> {
+
+    private final CompletionStage<T> stage;
+
+    ObservableFromCompletionStage(CompletionStage<T> stage) {
+        this.stage = stage;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super T> observer) {
+        if (stage instanceof CompletableFuture) {
+            CompletableFuture<T> future = (CompletableFuture<T>) stage;
+            // A failed future is not read here, its failure reaches the observer through the disposable callback.
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                T value = future.getNow(null);
+                if (value != null) {
+                    ScalarDisposable<T> disposable = new ScalarDisposable<>(observer, value);
+                    observer.onSubscribe(disposable);
+                    disposable.run();
+                } else {
+                    EmptyDisposable.complete(observer);
+                }
+                return;
+            }
+        }
+        CompletionStageDisposable<T> disposable = new CompletionStageDisposable<>(observer);
+        observer.onSubscribe(disposable);
+        stage.whenComplete(disposable);
+    }
+
+    private static final class CompletionStageDisposable<T> extends DeferredScalarDisposable<T>
+            implements BiConsumer<T, Throwable> {
+
+        private static final long serialVersionUID = 1L;
+
+        CompletionStageDisposable(Observer<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        public void accept(T value, Throwable failure) {
+            if (isDisposed()) {
+                return;
+            }
+            if (failure != null) {
+                error(CompletionStages.unwrap(failure));
+            } else if (value != null) {
+                complete(value);
+            } else {
+                complete();
+            }
+        }
+    }
+}
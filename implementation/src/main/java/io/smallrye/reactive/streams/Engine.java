@@ -1,6 +1,8 @@
 package io.smallrye.reactive.streams;
 
+import java.util.Objects;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 
 import org.eclipse.microprofile.reactive.streams.operators.spi.Graph;
 import org.eclipse.microprofile.reactive.streams.operators.spi.ReactiveStreamsEngine;
@@ -11,48 +13,287 @@ import org.reactivestreams.Processor;
 import org.reactivestreams.Publisher;
 
 import io.reactivex.Flowable;
+import io.reactivex.plugins.RxJavaPlugins;
 import io.smallrye.reactive.streams.operators.*;
+import io.smallrye.reactive.streams.optimizer.GraphOptimizer;
+import io.smallrye.reactive.streams.spi.ExecutionModel;
+import io.smallrye.reactive.streams.spi.ExecutionModelPlacement;
 import io.smallrye.reactive.streams.spi.Transformer;
-import io.smallrye.reactive.streams.stages.Stages;
+import io.smallrye.reactive.streams.stages.StageKind;
 import io.smallrye.reactive.streams.utils.ConnectableProcessor;
 import io.smallrye.reactive.streams.utils.DefaultSubscriberWithCompletionStage;
+import io.smallrye.reactive.streams.utils.FlatMapCompletionStageMetrics;
+import io.smallrye.reactive.streams.utils.FlowableFused;
+import io.smallrye.reactive.streams.utils.FlowableParallelRails;
 import io.smallrye.reactive.streams.utils.WrappedProcessor;
 
 public class Engine implements ReactiveStreamsEngine {
 
+    /**
+     * System property enabling ({@code true}, default) or disabling ({@code false}) the synchronous evaluation of
+     * the graphs that only contain synchronous stages, see {@link GraphPlan#isSynchronous()}. The graphs are never
+     * evaluated synchronously when an {@link ExecutionModel} is registered, as their stages would not run on the
+     * threads of the model.
+     */
+    public static final String SYNCHRONOUS_EXECUTION_PROPERTY = "smallrye.reactive-streams.synchronous-execution";
+
+    /**
+     * System property configuring the default maximum number of completion stages in flight in a
+     * {@code flatMapCompletionStage} stage, {@code 1} by default.
+     */
+    public static final String FLAT_MAP_COMPLETION_STAGE_MAX_IN_FLIGHT_PROPERTY = "smallrye.reactive-streams.flat-map-completion-stage.max-in-flight";
+
+    /**
+     * The execution model registered using the service loader.
+     */
+    private static final ExecutionModel REGISTERED = Transformer::apply;
+
+    private final GraphPlanCache plans;
+    private final ExecutionModelPlacement placement;
+    private final GraphOptimizer optimizer;
+    private final FlatMapConcurrency flatMapConcurrency;
+    private final int flatMapCompletionStageMaxInFlight;
+    private final FlatMapCompletionStageMetrics flatMapCompletionStageMetrics;
+    private final ParallelRails parallelRails;
+    private final ExecutionModel model;
+    private final boolean synchronousExecution;
+
+    public Engine() {
+        this(new GraphPlanCache());
+    }
+
+    /**
+     * Creates an engine using the given plan cache.
+     *
+     * @param plans the cache of compiled graphs, must not be {@code null}
+     */
+    public Engine(GraphPlanCache plans) {
+        this(plans, ExecutionModelPlacement.fromSystemProperty());
+    }
+
+    /**
+     * Creates an engine using the given plan cache and execution model placement.
+     *
+     * @param plans the cache of compiled graphs, must not be {@code null}
+     * @param placement where the {@link io.smallrye.reactive.streams.spi.ExecutionModel} is applied, must not be
+     *        {@code null}
+     */
+    public Engine(GraphPlanCache plans, ExecutionModelPlacement placement) {
+        this(plans, placement, new GraphOptimizer());
+    }
+
+    /**
+     * Creates an engine using the given plan cache, execution model placement and graph optimizer.
+     *
+     * @param plans the cache of compiled graphs, must not be {@code null}
+     * @param placement where the {@link io.smallrye.reactive.streams.spi.ExecutionModel} is applied, must not be
+     *        {@code null}
+     * @param optimizer the optimizer rewriting the graphs before their materialization, must not be {@code null}
+     */
+    public Engine(GraphPlanCache plans, ExecutionModelPlacement placement, GraphOptimizer optimizer) {
+        this(plans, placement, optimizer, FlatMapConcurrency.fromSystemProperties());
+    }
+
+    /**
+     * Creates an engine using the given plan cache, execution model placement, graph optimizer and flatMap
+     * concurrency.
+     *
+     * @param plans the cache of compiled graphs, must not be {@code null}
+     * @param placement where the {@link io.smallrye.reactive.streams.spi.ExecutionModel} is applied, must not be
+     *        {@code null}
+     * @param optimizer the optimizer rewriting the graphs before their materialization, must not be {@code null}
+     * @param flatMapConcurrency how the inner streams of the {@code flatMap} stages are consumed, must not be
+     *        {@code null}
+     */
+    public Engine(GraphPlanCache plans, ExecutionModelPlacement placement, GraphOptimizer optimizer,
+            FlatMapConcurrency flatMapConcurrency) {
+        this(plans, placement, optimizer, flatMapConcurrency,
+                Integer.getInteger(FLAT_MAP_COMPLETION_STAGE_MAX_IN_FLIGHT_PROPERTY, 1),
+                new FlatMapCompletionStageMetrics(), ParallelRails.fromSystemProperties(), REGISTERED);
+    }
+
+    /**
+     * Creates an engine using the given execution model instead of the one registered using the service loader.
+     *
+     * @param plans the cache of compiled graphs, must not be {@code null}
+     * @param placement where the execution model is applied, must not be {@code null}
+     * @param model the execution model, must not be {@code null}
+     */
+    Engine(GraphPlanCache plans, ExecutionModelPlacement placement, ExecutionModel model) {
+        this(plans, placement, new GraphOptimizer(), FlatMapConcurrency.fromSystemProperties(),
+                Integer.getInteger(FLAT_MAP_COMPLETION_STAGE_MAX_IN_FLIGHT_PROPERTY, 1),
+                new FlatMapCompletionStageMetrics(), ParallelRails.fromSystemProperties(), model);
+    }
+
+    private Engine(GraphPlanCache plans, ExecutionModelPlacement placement, GraphOptimizer optimizer,
+            FlatMapConcurrency flatMapConcurrency, int flatMapCompletionStageMaxInFlight,
+            FlatMapCompletionStageMetrics flatMapCompletionStageMetrics, ParallelRails parallelRails,
+            ExecutionModel model) {
+        if (flatMapCompletionStageMaxInFlight <= 0) {
+            throw new IllegalArgumentException("The maximum number of in-flight completion stages must be strictly "
+                    + "positive");
+        }
+        this.plans = Objects.requireNonNull(plans);
+        this.placement = Objects.requireNonNull(placement);
+        this.optimizer = Objects.requireNonNull(optimizer);
+        this.flatMapConcurrency = Objects.requireNonNull(flatMapConcurrency);
+        this.flatMapCompletionStageMaxInFlight = flatMapCompletionStageMaxInFlight;
+        this.flatMapCompletionStageMetrics = flatMapCompletionStageMetrics;
+        this.parallelRails = Objects.requireNonNull(parallelRails);
+        this.model = Objects.requireNonNull(model);
+        this.synchronousExecution = model == REGISTERED && Transformer.isIdentity()
+                && !"false".equalsIgnoreCase(System.getProperty(SYNCHRONOUS_EXECUTION_PROPERTY, "true").trim());
+    }
+
+    /**
+     * Creates an engine sharing the configuration and plan cache of this engine, but consuming the inner streams of
+     * the {@code flatMap} stages as configured by the given {@link FlatMapConcurrency}. This allows configuring the
+     * concurrency of a single pipeline, for example: {@code builder.run(engine.withFlatMapConcurrency(ordered(8)))}.
+     *
+     * @param flatMapConcurrency how the inner streams of the {@code flatMap} stages are consumed, must not be
+     *        {@code null}
+     * @return the new engine, or this engine if it already uses the given configuration
+     */
+    public Engine withFlatMapConcurrency(FlatMapConcurrency flatMapConcurrency) {
+        if (this.flatMapConcurrency.equals(flatMapConcurrency)) {
+            return this;
+        }
+        return new Engine(plans, placement, optimizer, flatMapConcurrency, flatMapCompletionStageMaxInFlight,
+                flatMapCompletionStageMetrics, parallelRails, model);
+    }
+
+    /**
+     * Creates an engine sharing the configuration, plan cache and metrics of this engine, but allowing up to
+     * {@code maxInFlight} completion stages in flight in the {@code flatMapCompletionStage} stages. The results are
+     * still emitted in order.
+     *
+     * @param maxInFlight the maximum number of completion stages in flight, must be strictly positive
+     * @return the new engine, or this engine if it already uses the given value
+     */
+    public Engine withFlatMapCompletionStageMaxInFlight(int maxInFlight) {
+        if (this.flatMapCompletionStageMaxInFlight == maxInFlight) {
+            return this;
+        }
+        return new Engine(plans, placement, optimizer, flatMapConcurrency, maxInFlight,
+                flatMapCompletionStageMetrics, parallelRails, model);
+    }
+
+    /**
+     * Creates an engine sharing the configuration, plan cache and metrics of this engine, but running the
+     * {@code map} and {@code filter} stages as configured by the given {@link ParallelRails}. This allows running the
+     * CPU-bound stages of a single pipeline in parallel, for example:
+     * {@code builder.run(engine.withParallelRails(ordered(4)))}.
+     *
+     * @param parallelRails how the {@code map} and {@code filter} stages are run, must not be {@code null}
+     * @return the new engine, or this engine if it already uses the given configuration
+     */
+    public Engine withParallelRails(ParallelRails parallelRails) {
+        if (this.parallelRails.equals(parallelRails)) {
+            return this;
+        }
+        return new Engine(plans, placement, optimizer, flatMapConcurrency, flatMapCompletionStageMaxInFlight,
+                flatMapCompletionStageMetrics, parallelRails, model);
+    }
+
+    /**
+     * @return the cache of compiled graphs used by this engine
+     */
+    public GraphPlanCache getPlanCache() {
+        return plans;
+    }
+
+    /**
+     * @return where the {@link io.smallrye.reactive.streams.spi.ExecutionModel} is applied
+     */
+    public ExecutionModelPlacement getExecutionModelPlacement() {
+        return placement;
+    }
+
+    /**
+     * @return the optimizer rewriting the graphs before their materialization
+     */
+    public GraphOptimizer getOptimizer() {
+        return optimizer;
+    }
+
+    /**
+     * @return how the inner streams of the {@code flatMap} stages are consumed
+     */
+    public FlatMapConcurrency getFlatMapConcurrency() {
+        return flatMapConcurrency;
+    }
+
+    /**
+     * @return the maximum number of completion stages in flight in a {@code flatMapCompletionStage} stage
+     */
+    public int getFlatMapCompletionStageMaxInFlight() {
+        return flatMapCompletionStageMaxInFlight;
+    }
+
+    /**
+     * @return the metrics of the {@code flatMapCompletionStage} stages materialized by this engine, shared with the
+     *         engines derived from it
+     */
+    public FlatMapCompletionStageMetrics getFlatMapCompletionStageMetrics() {
+        return flatMapCompletionStageMetrics;
+    }
+
+    /**
+     * @return how the {@code map} and {@code filter} stages are run
+     */
+    public ParallelRails getParallelRails() {
+        return parallelRails;
+    }
+
     @Override
     public <T> Publisher<T> buildPublisher(Graph graph) {
+        GraphPlan plan = plans.lookup(graph, optimizer);
+        Stage[] stages = plan.stages();
         Flowable<T> flowable = null;
-        for (Stage stage : graph.getStages()) {
-            Operator operator = Stages.lookup(stage);
+        boolean pending = false;
+        int index = 0;
+        while (index < stages.length) {
+            Stage stage = stages[index];
+            Operator operator = plan.operator(index);
             if (flowable == null) {
                 if (operator instanceof PublisherOperator) {
                     flowable = createPublisher(stage, (PublisherOperator) operator);
+                    index++;
                 } else {
                     throw new IllegalArgumentException("Expecting a publisher stage, got a " + stage);
                 }
             } else {
                 if (operator instanceof ProcessorOperator) {
-                    flowable = applyProcessors(flowable, stage, (ProcessorOperator) operator);
+                    int end = plan.fusionEnd(index);
+                    flowable = applyProcessors(flowable, stages, index, end, plan);
+                    pending = !appliesExecutionModel(plan, stages, end - 1);
+                    index = end;
                 } else {
                     throw new IllegalArgumentException("Expecting a processor stage, got a " + stage);
                 }
             }
         }
-        return flowable;
+        return pending ? applyExecutionModel(flowable) : flowable;
     }
 
     @Override
     public <T, R> SubscriberWithCompletionStage<T, R> buildSubscriber(Graph graph) {
         Processor<T, T> processor = new ConnectableProcessor<>();
-        Flowable<T> flowable = Flowable.fromPublisher(processor);
-        for (Stage stage : graph.getStages()) {
-            Operator operator = Stages.lookup(stage);
+        GraphPlan plan = plans.lookup(graph, optimizer);
+        Stage[] stages = plan.stages();
+        Flowable<T> flowable = createSource(processor);
+        boolean pending = false;
+        int index = 0;
+        while (index < stages.length) {
+            Stage stage = stages[index];
+            Operator operator = plan.operator(index);
             if (operator instanceof ProcessorOperator) {
-                flowable = applyProcessors(flowable, stage, (ProcessorOperator) operator);
+                int end = plan.fusionEnd(index);
+                flowable = applyProcessors(flowable, stages, index, end, plan);
+                pending = !appliesExecutionModel(plan, stages, end - 1);
+                index = end;
             } else if (operator instanceof TerminalOperator) {
-                CompletionStage<R> result = applySubscriber(Transformer.apply(flowable), stage,
-                        (TerminalOperator) operator);
+                CompletionStage<R> result = applySubscriber(flowable, stage, (TerminalOperator) operator, pending);
                 return new DefaultSubscriberWithCompletionStage<>(processor, result);
             } else {
                 throw new UnsupportedStageException(stage);
@@ -66,10 +307,23 @@ public class Engine implements ReactiveStreamsEngine {
     public <T, R> Processor<T, R> buildProcessor(Graph graph) {
         Processor<T, T> processor = new ConnectableProcessor<>();
 
-        Flowable<T> flowable = Flowable.fromPublisher(processor);
-        for (Stage stage : graph.getStages()) {
-            Operator operator = Stages.lookup(stage);
-            flowable = applyProcessors(flowable, stage, (ProcessorOperator) operator);
+        GraphPlan plan = plans.lookup(graph, optimizer);
+        Stage[] stages = plan.stages();
+        Flowable<T> flowable = createSource(processor);
+        boolean pending = false;
+        int index = 0;
+        while (index < stages.length) {
+            Operator operator = plan.operator(index);
+            if (!(operator instanceof ProcessorOperator)) {
+                throw new IllegalArgumentException("Expecting a processor stage, got a " + stages[index]);
+            }
+            int end = plan.fusionEnd(index);
+            flowable = applyProcessors(flowable, stages, index, end, plan);
+            pending = !appliesExecutionModel(plan, stages, end - 1);
+            index = end;
+        }
+        if (pending) {
+            flowable = applyExecutionModel(flowable);
         }
 
         //noinspection unchecked
@@ -78,37 +332,157 @@ public class Engine implements ReactiveStreamsEngine {
 
     @Override
     public <T> CompletionStage<T> buildCompletion(Graph graph) {
+        GraphPlan plan = plans.lookup(graph, optimizer);
+        Stage[] stages = plan.stages();
+        if (synchronousExecution && plan.isSynchronous() && parallelRails.getMode() == ParallelRails.Mode.SEQUENTIAL) {
+            CompletionStage<T> result = SynchronousExecutor.execute(this, stages, plan);
+            if (result != null) {
+                return result;
+            }
+        }
         Flowable<?> flowable = null;
-        for (Stage stage : graph.getStages()) {
-            Operator operator = Stages.lookup(stage);
+        boolean pending = false;
+        int index = 0;
+        while (index < stages.length) {
+            Stage stage = stages[index];
+            Operator operator = plan.operator(index);
             if (operator instanceof PublisherOperator) {
                 flowable = createPublisher(stage, (PublisherOperator) operator);
+                pending = false;
+                index++;
             } else if (operator instanceof ProcessorOperator) {
-                flowable = applyProcessors(flowable, stage, (ProcessorOperator) operator);
+                int end = plan.fusionEnd(index);
+                flowable = applyProcessors(flowable, stages, index, end, plan);
+                pending = !appliesExecutionModel(plan, stages, end - 1);
+                index = end;
             } else {
-                return applySubscriber(flowable, stage, (TerminalOperator) operator);
+                return applySubscriber(flowable, stage, (TerminalOperator) operator, pending);
             }
         }
 
         throw new IllegalArgumentException("Graph did not have terminal stage");
     }
 
-    private <I, O> Flowable<O> applyProcessors(Flowable<I> flowable, Stage stage, ProcessorOperator operator) {
-        @SuppressWarnings("unchecked")
-        ProcessingStage<I, O> ps = operator.create(this, stage);
-        return Transformer.apply(ps.apply(flowable));
+    @SuppressWarnings("unchecked")
+    private <T> Flowable<T> applyExecutionModel(Flowable<T> flowable) {
+        return model.apply(flowable);
+    }
+
+    /**
+     * Checks whether the {@link io.smallrye.reactive.streams.spi.ExecutionModel} is applied after the stage at the
+     * given position. The stages running on parallel rails emit from the threads of the rails scheduler, so they are
+     * handled as asynchronous boundaries.
+     */
+    private boolean appliesExecutionModel(GraphPlan plan, Stage[] stages, int index) {
+        return placement == ExecutionModelPlacement.EVERY_STAGE || plan.isAsynchronousBoundary(index)
+                || (parallelRails.getMode() != ParallelRails.Mode.SEQUENTIAL
+                        && runsOnRails(stages[index], plan.operator(index)));
+    }
+
+    /**
+     * Applies the processor stages from {@code from} (inclusive) to {@code to} (exclusive). A single stage is
+     * materialized as its own operator, while a run of fusable stages is executed by a single fused operator. The
+     * execution model is applied to the result if the last stage is an asynchronous boundary or runs on parallel
+     * rails, or if it is applied after every stage.
+     */
+    @SuppressWarnings("unchecked")
+    private <I, O> Flowable<O> applyProcessors(Flowable<I> flowable, Stage[] stages, int from, int to,
+            GraphPlan plan) {
+        Flowable<O> result;
+        if (parallelRails.getMode() == ParallelRails.Mode.SEQUENTIAL) {
+            result = fuse(flowable, stages, from, to, plan);
+        } else {
+            // Split the run into the sections running on parallel rails and the sections running sequentially. The
+            // rails emit from the threads of their scheduler, so the execution model is applied after them. After the
+            // last section, it is applied below, as the end of the run.
+            Flowable<?> current = flowable;
+            int start = from;
+            while (start < to) {
+                boolean parallel = runsOnRails(stages[start], plan.operator(start));
+                int end = start + 1;
+                while (end < to && runsOnRails(stages[end], plan.operator(end)) == parallel) {
+                    end++;
+                }
+                if (parallel) {
+                    current = rails(current, stages, start, end, plan);
+                    if (end < to) {
+                        current = applyExecutionModel(current);
+                    }
+                } else {
+                    current = fuse(current, stages, start, end, plan);
+                }
+                start = end;
+            }
+            result = (Flowable<O>) current;
+        }
+        return appliesExecutionModel(plan, stages, to - 1) ? applyExecutionModel(result) : result;
+    }
+
+    /**
+     * Applies the processor stages from {@code from} (inclusive) to {@code to} (exclusive), which are either a single
+     * stage or a run of fusable stages.
+     */
+    @SuppressWarnings("unchecked")
+    private <I, O> Flowable<O> fuse(Flowable<I> flowable, Stage[] stages, int from, int to, GraphPlan plan) {
+        if (to - from == 1) {
+            ProcessingStage<I, O> ps = ((ProcessorOperator) plan.operator(from)).create(this, stages[from]);
+            return ps.apply(flowable);
+        }
+        return RxJavaPlugins.onAssembly(new FlowableFused<I, O>(flowable, steps(stages, from, to, plan)));
+    }
+
+    /**
+     * Applies the {@code map} and {@code filter} stages from {@code from} (inclusive) to {@code to} (exclusive) on
+     * parallel rails.
+     */
+    private <I, O> Flowable<O> rails(Flowable<I> flowable, Stage[] stages, int from, int to, GraphPlan plan) {
+        return RxJavaPlugins.onAssembly(new FlowableParallelRails<I, O>(flowable, steps(stages, from, to, plan),
+                parallelRails.getMode() == ParallelRails.Mode.ORDERED, parallelRails.getParallelism(),
+                parallelRails.getPrefetch(), parallelRails.getScheduler()));
     }
 
-    private <T, R> CompletionStage<R> applySubscriber(Flowable<T> flowable, Stage stage, TerminalOperator operator) {
+    @SuppressWarnings("unchecked")
+    private Supplier<FusedStep>[] steps(Stage[] stages, int from, int to, GraphPlan plan) {
+        Supplier<FusedStep>[] steps = new Supplier[to - from];
+        for (int i = from; i < to; i++) {
+            steps[i - from] = ((ProcessorOperator) plan.operator(i)).createStep(this, stages[i]);
+        }
+        return steps;
+    }
+
+    /**
+     * Only the stateless {@code map} and {@code filter} stages run on parallel rails, the other fusable stages (such
+     * as {@code peek} or {@code takeWhile}) expect to be called sequentially.
+     */
+    private static boolean runsOnRails(Stage stage, Operator operator) {
+        StageKind kind = StageKind.of(stage);
+        return (kind == StageKind.MAP || kind == StageKind.FILTER) && operator instanceof ProcessorOperator
+                && ((ProcessorOperator) operator).isFusable();
+    }
+
+    /**
+     * Applies the terminal stage. In {@link ExecutionModelPlacement#ASYNC_BOUNDARIES} mode, the execution model is only
+     * applied if synchronous stages have been applied since the last asynchronous boundary.
+     */
+    private <T, R> CompletionStage<R> applySubscriber(Flowable<T> flowable, Stage stage, TerminalOperator operator,
+            boolean pending) {
         @SuppressWarnings("unchecked")
         TerminalStage<T, R> ps = operator.create(this, stage);
-        return ps.apply(Transformer.apply(flowable));
+        if (pending || placement == ExecutionModelPlacement.EVERY_STAGE) {
+            return ps.apply(applyExecutionModel(flowable));
+        }
+        return ps.apply(flowable);
     }
 
     private <O> Flowable<O> createPublisher(Stage stage, PublisherOperator operator) {
         @SuppressWarnings("unchecked")
         PublisherStage<O> ps = operator.create(this, stage);
-        return Transformer.apply(ps.get());
+        return applyExecutionModel(ps.get());
+    }
+
+    private <T> Flowable<T> createSource(Processor<T, T> processor) {
+        Flowable<T> flowable = Flowable.fromPublisher(processor);
+        return placement == ExecutionModelPlacement.ASYNC_BOUNDARIES ? applyExecutionModel(flowable) : flowable;
     }
 
 }
@@ -0,0 +1,157 @@
+package io.smallrye.reactive.streams;
+
+import java.util.Locale;
+
+/**
+ * Configures how the engine subscribes to the inner streams of a
+ * {@link org.eclipse.microprofile.reactive.streams.operators.spi.Stage.FlatMap} stage.
+ * <p>
+ * By default, the inner streams are consumed one at a time, in order (as RX {@code concatMap}). With the
+ * {@link Mode#ORDERED ordered} and {@link Mode#UNORDERED unordered} modes, up to {@link #getMaxConcurrency()} inner
+ * streams are subscribed concurrently. The ordered mode buffers the items of the inner streams that are not at the
+ * head of the queue, so the output order is preserved. The unordered mode emits the items as soon as they are
+ * available.
+ * <p>
+ * The default configuration can be set globally using the {@value #MODE_PROPERTY} ({@code sequential},
+ * {@code ordered} or {@code unordered}) and {@value #MAX_CONCURRENCY_PROPERTY} system properties. It can be set per
+ * engine using {@link Engine#Engine(GraphPlanCache, io.smallrye.reactive.streams.spi.ExecutionModelPlacement,
+ * io.smallrye.reactive.streams.optimizer.GraphOptimizer, FlatMapConcurrency)}, and per pipeline by running it with
+ * {@link Engine#withFlatMapConcurrency(FlatMapConcurrency)}.
+ */
+public final class FlatMapConcurrency {
+
+    /**
+     * System property configuring the default mode.
+     */
+    public static final String MODE_PROPERTY = "smallrye.reactive-streams.flat-map.mode";
+
+    /**
+     * System property configuring the default maximum number of concurrent inner streams, used by the
+     * {@link Mode#ORDERED ordered} and {@link Mode#UNORDERED unordered} modes.
+     */
+    public static final String MAX_CONCURRENCY_PROPERTY = "smallrye.reactive-streams.flat-map.max-concurrency";
+
+    /**
+     * The default maximum number of concurrent inner streams.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 16;
+
+    private static final FlatMapConcurrency SEQUENTIAL = new FlatMapConcurrency(Mode.SEQUENTIAL, 1);
+
+    /**
+     * The flatMap modes.
+     */
+    public enum Mode {
+        /**
+         * The inner streams are consumed one at a time (RX {@code concatMap}).
+         */
+        SEQUENTIAL,
+        /**
+         * The inner streams are consumed concurrently, and their items are emitted in order (RX
+         * {@code concatMapEager}).
+         */
+        ORDERED,
+        /**
+         * The inner streams are consumed concurrently, and their items are emitted as soon as they are available (RX
+         * {@code flatMap}).
+         */
+        UNORDERED
+    }
+
+    private final Mode mode;
+    private final int maxConcurrency;
+
+    private FlatMapConcurrency(Mode mode, int maxConcurrency) {
+        this.mode = mode;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * @return the configuration consuming the inner streams one at a time, in order
+     */
+    public static FlatMapConcurrency sequential() {
+        return SEQUENTIAL;
+    }
+
+    /**
+     * @param maxConcurrency the maximum number of concurrent inner streams, must be strictly positive
+     * @return the configuration consuming the inner streams concurrently and preserving the order of the items
+     */
+    public static FlatMapConcurrency ordered(int maxConcurrency) {
+        return of(Mode.ORDERED, maxConcurrency);
+    }
+
+    /**
+     * @param maxConcurrency the maximum number of concurrent inner streams, must be strictly positive
+     * @return the configuration consuming the inner streams concurrently and emitting the items as soon as they are
+     *         available
+     */
+    public static FlatMapConcurrency unordered(int maxConcurrency) {
+        return of(Mode.UNORDERED, maxConcurrency);
+    }
+
+    /**
+     * @return the configuration set by the {@value #MODE_PROPERTY} and {@value #MAX_CONCURRENCY_PROPERTY} system
+     *         properties, {@link #sequential()} if not set
+     */
+    public static FlatMapConcurrency fromSystemProperties() {
+        String value = System.getProperty(MODE_PROPERTY);
+        if (value == null || value.trim().isEmpty()) {
+            return SEQUENTIAL;
+        }
+        Mode mode;
+        try {
+            mode = Mode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value for " + MODE_PROPERTY + ": " + value, e);
+        }
+        if (mode == Mode.SEQUENTIAL) {
+            return SEQUENTIAL;
+        }
+        return of(mode, Integer.getInteger(MAX_CONCURRENCY_PROPERTY, DEFAULT_MAX_CONCURRENCY));
+    }
+
+    private static FlatMapConcurrency of(Mode mode, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("The maximum concurrency must be strictly positive");
+        }
+        return new FlatMapConcurrency(mode, maxConcurrency);
+    }
+
+    /**
+     * @return the mode
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return the maximum number of concurrent inner streams, {@code 1} in {@link Mode#SEQUENTIAL sequential} mode
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FlatMapConcurrency)) {
+            return false;
+        }
+        FlatMapConcurrency that = (FlatMapConcurrency) o;
+        return mode == that.mode && maxConcurrency == that.maxConcurrency;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * mode.hashCode() + maxConcurrency;
+    }
+
+    @Override
+    public String toString() {
+        return mode == Mode.SEQUENTIAL ? "sequential" : mode.name().toLowerCase(Locale.ROOT) + "(" + maxConcurrency + ")";
+    }
+
+}
@@ -0,0 +1,149 @@
+package io.smallrye.reactive.streams;
+
+import java.util.Collection;
+import java.util.Objects;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Graph;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+
+import io.smallrye.reactive.streams.operators.Operator;
+import io.smallrye.reactive.streams.operators.ProcessorOperator;
+import io.smallrye.reactive.streams.stages.Stages;
+
+/**
+ * A compiled {@link Graph}: the {@link Operator} resolved for each stage of the graph, in order.
+ * <p>
+ * As the resolution only depends on the type of each stage, a plan can be instantiated with any graph having the same
+ * structure (same stage types in the same order). The plan also keeps the stages it has been compiled from, so the
+ * engine can materialize a graph cached by identity without rewriting it again; the plans shared by fingerprint do not
+ * keep them, see {@link GraphPlanCache}. Plans are immutable and can be shared between threads.
+ * <p>
+ * The plan also records the runs of consecutive fusable processor stages (see
+ * {@link io.smallrye.reactive.streams.operators.FusableStageFactory}), which the engine executes as a single fused
+ * operator.
+ */
+public final class GraphPlan {
+
+    private final Operator[] operators;
+    private final int[] fusionEnds;
+    private final boolean[] boundaries;
+    private final boolean synchronous;
+    private final Stage[] stages;
+
+    private GraphPlan(Operator[] operators, boolean synchronous, Stage[] stages) {
+        this.operators = operators;
+        this.synchronous = synchronous;
+        this.stages = stages;
+        this.fusionEnds = new int[operators.length];
+        this.boundaries = new boolean[operators.length];
+        for (int i = 0; i < operators.length; i++) {
+            boundaries[i] = !(operators[i] instanceof ProcessorOperator)
+                    || ((ProcessorOperator) operators[i]).isAsynchronousBoundary();
+        }
+        int end = operators.length;
+        for (int i = operators.length - 1; i >= 0; i--) {
+            if (isFusable(operators[i])) {
+                fusionEnds[i] = end;
+            } else {
+                fusionEnds[i] = i + 1;
+                end = i;
+            }
+        }
+    }
+
+    private GraphPlan(GraphPlan plan, Stage[] stages) {
+        this.operators = plan.operators;
+        this.fusionEnds = plan.fusionEnds;
+        this.boundaries = plan.boundaries;
+        this.synchronous = plan.synchronous;
+        this.stages = stages;
+    }
+
+    private static boolean isFusable(Operator operator) {
+        return operator instanceof ProcessorOperator && ((ProcessorOperator) operator).isFusable();
+    }
+
+    /**
+     * Compiles the given graph, resolving the {@link Operator} of each stage.
+     *
+     * @param graph the graph, must not be {@code null}
+     * @return the plan
+     * @throws org.eclipse.microprofile.reactive.streams.operators.spi.UnsupportedStageException if one of the stage
+     *         is not supported
+     */
+    public static GraphPlan compile(Graph graph) {
+        Collection<Stage> stages = Objects.requireNonNull(graph, "The graph must not be `null`").getStages();
+        Stage[] array = stages.toArray(new Stage[0]);
+        Operator[] operators = new Operator[array.length];
+        for (int i = 0; i < array.length; i++) {
+            operators[i] = Stages.lookup(array[i]);
+        }
+        return new GraphPlan(operators, SynchronousExecutor.supports(array, operators), array);
+    }
+
+    /**
+     * @param stages the stages of a graph having the structure of this plan, {@code null} to not keep any stage
+     * @return a plan sharing the operators of this plan, and keeping the given stages
+     */
+    GraphPlan withStages(Stage[] stages) {
+        return new GraphPlan(this, stages);
+    }
+
+    /**
+     * @return the stages the plan has been compiled from, {@code null} if not kept; the array must not be modified
+     */
+    Stage[] stages() {
+        return stages;
+    }
+
+    /**
+     * @return the number of stages of the plan
+     */
+    public int size() {
+        return operators.length;
+    }
+
+    /**
+     * Gets the operator resolved for the stage at the given position.
+     *
+     * @param index the position of the stage in the graph
+     * @return the operator
+     */
+    public Operator<?> operator(int index) {
+        return operators[index];
+    }
+
+    /**
+     * Gets the end of the run of fusable stages starting at the given position.
+     *
+     * @param index the position of the stage in the graph
+     * @return the position following the last stage of the run, {@code index + 1} if the stage is not fusable
+     */
+    public int fusionEnd(int index) {
+        return fusionEnds[index];
+    }
+
+    /**
+     * Checks whether the stage at the given position is an asynchronous boundary. Publisher and terminal stages are
+     * always boundaries.
+     *
+     * @param index the position of the stage in the graph
+     * @return {@code true} if the stage is an asynchronous boundary
+     * @see io.smallrye.reactive.streams.operators.ProcessingStageFactory#isAsynchronousBoundary()
+     */
+    public boolean isAsynchronousBoundary(int index) {
+        return boundaries[index];
+    }
+
+    /**
+     * Checks whether the graph only contains stages that can be evaluated synchronously, without materializing a
+     * stream: an in-memory source, synchronous per-element stages and a {@code collect}, {@code findFirst} or
+     * {@code cancel} terminal stage.
+     *
+     * @return {@code true} if the graph can be evaluated synchronously
+     */
+    public boolean isSynchronous() {
+        return synchronous;
+    }
+
+}
@@ -0,0 +1,334 @@
+package io.smallrye.reactive.streams;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Graph;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+
+import io.smallrye.reactive.streams.optimizer.GraphOptimizer;
+
+/**
+ * A bounded cache of {@link GraphPlan}, used by the {@link Engine} to avoid resolving the operators of a graph every
+ * time it is materialized.
+ * <p>
+ * By default, plans are keyed by graph identity: materializing the same {@link Graph} instance several times only
+ * compiles it once. The graph is weakly referenced by the cache. When the structural fingerprint is enabled, plans are
+ * keyed by the sequence of stage types instead, so two distinct graphs with the same structure share the same plan
+ * (this is typically the case of the graphs returned by {@code flatMap} mappers).
+ * <p>
+ * The plans keyed by identity keep the stages of their graph. The plans of the collected graphs are removed when the
+ * next plan is added, so they do not retain the stages until they are evicted.
+ * <p>
+ * Lookups do not lock the cache. When the cache exceeds its maximum size, it evicts the least recently used plan among
+ * a sample of the cached plans, so the evicted plan is not always the least recently used one. A maximum size of
+ * {@code 0} disables the cache. The default size and keying strategy can be configured using the
+ * {@value #MAX_SIZE_PROPERTY} and {@value #FINGERPRINT_PROPERTY} system properties.
+ * <p>
+ * Graphs must not be modified once materialized.
+ */
+public class GraphPlanCache {
+
+    /**
+     * System property configuring the default maximum number of cached plans.
+     */
+    public static final String MAX_SIZE_PROPERTY = "smallrye.reactive-streams.plan-cache.max-size";
+
+    /**
+     * System property enabling the structural fingerprint by default.
+     */
+    public static final String FINGERPRINT_PROPERTY = "smallrye.reactive-streams.plan-cache.fingerprint";
+
+    /**
+     * The default maximum number of cached plans.
+     */
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    /**
+     * The number of plans compared when evicting one.
+     */
+    private static final int EVICTION_SAMPLES = 16;
+
+    private final int maxSize;
+    private final boolean fingerprint;
+    private final Map<Object, Entry> plans = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Graph> collected = new ReferenceQueue<>();
+
+    /**
+     * The logical time of the cache, incremented when a plan is added, so the lookups do not write a shared counter.
+     */
+    private final AtomicLong clock = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache configured from the system properties.
+     */
+    public GraphPlanCache() {
+        this(Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE), Boolean.getBoolean(FINGERPRINT_PROPERTY));
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxSize the maximum number of cached plans, {@code 0} to disable the cache
+     * @param fingerprint {@code true} to key the plans by structural fingerprint, {@code false} to key them by graph
+     *        identity
+     */
+    public GraphPlanCache(int maxSize, boolean fingerprint) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("The maximum size must be positive or zero");
+        }
+        this.maxSize = maxSize;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Gets the plan of the given graph, compiling it if not already cached.
+     *
+     * @param graph the graph, must not be {@code null}
+     * @return the plan
+     */
+    public GraphPlan lookup(Graph graph) {
+        return lookup(graph, graph);
+    }
+
+    /**
+     * Gets the plan of a graph rewritten by the {@link io.smallrye.reactive.streams.optimizer.GraphOptimizer},
+     * compiling it if not already cached. When keyed by identity, the plan is keyed by the original graph, as the
+     * rewritten graph is a new instance every time; when keyed by fingerprint, it is keyed by the structure of the
+     * rewritten graph.
+     *
+     * @param original the graph as written, must not be {@code null}
+     * @param rewritten the graph rewritten from {@code original}, must not be {@code null}
+     * @return the plan of the rewritten graph
+     */
+    public GraphPlan lookup(Graph original, Graph rewritten) {
+        if (maxSize == 0) {
+            misses.increment();
+            return GraphPlan.compile(rewritten);
+        }
+
+        Object key = fingerprint ? new Fingerprint(rewritten.getStages()) : new IdentityKey(original, null);
+        GraphPlan plan = get(key);
+        if (plan != null) {
+            return plan;
+        }
+
+        misses.increment();
+        plan = GraphPlan.compile(rewritten);
+        if (fingerprint) {
+            // Shared by the graphs having the same structure, so the stages of this one are not retained.
+            plan = plan.withStages(null);
+            put(key, plan);
+        } else {
+            put(new IdentityKey(original, collected), plan);
+        }
+        return plan;
+    }
+
+    /**
+     * Gets the plan of the given graph, rewritten by the given optimizer. The {@link GraphPlan#stages() stages} of the
+     * returned plan are the rewritten stages of the graph.
+     * <p>
+     * When keyed by identity, the plan keeps the rewritten stages, so the optimizer only runs when the graph is not
+     * cached. When keyed by fingerprint, the graph is rewritten to compute its key, and the returned plan shares the
+     * operators of the cached one.
+     *
+     * @param graph the graph as written, must not be {@code null}
+     * @param optimizer the optimizer rewriting the graph, must not be {@code null}
+     * @return the plan of the rewritten graph
+     */
+    GraphPlan lookup(Graph graph, GraphOptimizer optimizer) {
+        if (maxSize == 0 || fingerprint) {
+            Graph rewritten = optimizer.optimize(graph);
+            GraphPlan plan = lookup(graph, rewritten);
+            return fingerprint ? plan.withStages(rewritten.getStages().toArray(new Stage[0])) : plan;
+        }
+
+        Object key = new IdentityKey(graph, null);
+        GraphPlan plan = get(key);
+        if (plan != null) {
+            return plan;
+        }
+
+        misses.increment();
+        plan = GraphPlan.compile(optimizer.optimize(graph));
+        put(new IdentityKey(graph, collected), plan);
+        return plan;
+    }
+
+    private GraphPlan get(Object key) {
+        Entry entry = plans.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long now = clock.get();
+        if (entry.lastAccess != now) {
+            entry.lastAccess = now;
+        }
+        hits.increment();
+        return entry.plan;
+    }
+
+    private void put(Object key, GraphPlan plan) {
+        expunge();
+        plans.put(key, new Entry(plan, clock.incrementAndGet()));
+        while (plans.size() > maxSize) {
+            evict();
+        }
+    }
+
+    /**
+     * Evicts the least recently used plan among the first {@link #EVICTION_SAMPLES} plans of the map.
+     */
+    private void evict() {
+        Map.Entry<Object, Entry> eldest = null;
+        int sampled = 0;
+        for (Map.Entry<Object, Entry> candidate : plans.entrySet()) {
+            if (eldest == null || candidate.getValue().lastAccess < eldest.getValue().lastAccess) {
+                eldest = candidate;
+            }
+            if (++sampled == EVICTION_SAMPLES) {
+                break;
+            }
+        }
+        if (eldest != null && plans.remove(eldest.getKey(), eldest.getValue())) {
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Removes the plans of the collected graphs, which would otherwise retain their stages until evicted.
+     */
+    private void expunge() {
+        Object key;
+        while ((key = collected.poll()) != null) {
+            plans.remove(key);
+        }
+    }
+
+    /**
+     * @return the number of lookups served from the cache
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that required compiling the graph
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of plans evicted from the cache
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of cached plans
+     */
+    public int size() {
+        return plans.size();
+    }
+
+    /**
+     * @return whether the plans are keyed by structural fingerprint
+     */
+    public boolean isFingerprintEnabled() {
+        return fingerprint;
+    }
+
+    /**
+     * Removes all the cached plans. Counters are not reset.
+     */
+    public void clear() {
+        plans.clear();
+    }
+
+    /**
+     * A cached plan, with the logical time of its last lookup.
+     */
+    private static final class Entry {
+        final GraphPlan plan;
+        volatile long lastAccess;
+
+        Entry(GraphPlan plan, long lastAccess) {
+            this.plan = plan;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    /**
+     * Key identifying a graph by identity, without preventing its collection. The keys stored in the cache are
+     * enqueued once their graph is collected.
+     */
+    private static final class IdentityKey extends WeakReference<Graph> {
+        private final int hash;
+
+        IdentityKey(Graph graph, ReferenceQueue<Graph> queue) {
+            super(graph, queue);
+            this.hash = System.identityHashCode(graph);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof IdentityKey)) {
+                return false;
+            }
+            Graph referent = get();
+            return referent != null && referent == ((IdentityKey) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Key identifying a graph by the sequence of its stage types.
+     */
+    private static final class Fingerprint {
+        private final Class<?>[] types;
+        private final int hash;
+
+        Fingerprint(Collection<Stage> stages) {
+            this.types = new Class<?>[stages.size()];
+            int index = 0;
+            for (Stage stage : stages) {
+                types[index++] = stage.getClass();
+            }
+            this.hash = Arrays.hashCode(types);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            return o instanceof Fingerprint && Arrays.equals(types, ((Fingerprint) o).types);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
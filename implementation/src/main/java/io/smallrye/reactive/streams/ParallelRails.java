@@ -0,0 +1,237 @@
+package io.smallrye.reactive.streams;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Configures the parallel execution of the {@link org.eclipse.microprofile.reactive.streams.operators.spi.Stage.Map}
+ * and {@link org.eclipse.microprofile.reactive.streams.operators.spi.Stage.Filter} stages.
+ * <p>
+ * By default, all the stages of a pipeline run sequentially. With the {@link Mode#ORDERED ordered} and
+ * {@link Mode#UNORDERED unordered} modes, each run of consecutive {@code map} and {@code filter} stages is split
+ * across {@link #getParallelism()} rails (as RX {@code ParallelFlowable}) running on the {@link #getScheduler()
+ * scheduler}, and the rails are merged back before the next stage. Each rail requests {@link #getPrefetch()} items at
+ * a time. The ordered mode numbers the items before splitting them, and emits the results in sequence. The unordered
+ * mode emits the results as soon as they are available. The functions passed to these stages must be thread-safe.
+ * <p>
+ * Enabling the parallel execution disables the synchronous evaluation of the graphs, so CPU-bound stages are not run
+ * on the caller thread.
+ * <p>
+ * The default configuration can be set globally using the {@value #MODE_PROPERTY} ({@code sequential},
+ * {@code ordered} or {@code unordered}), {@value #PARALLELISM_PROPERTY}, {@value #PREFETCH_PROPERTY} and
+ * {@value #POOL_PROPERTY} ({@code computation} or {@code fork-join}) system properties. It can be set per pipeline by
+ * running it with {@link Engine#withParallelRails(ParallelRails)}.
+ */
+public final class ParallelRails {
+
+    /**
+     * System property configuring the default mode.
+     */
+    public static final String MODE_PROPERTY = "smallrye.reactive-streams.parallel.mode";
+
+    /**
+     * System property configuring the default number of rails, the number of available processors by default.
+     */
+    public static final String PARALLELISM_PROPERTY = "smallrye.reactive-streams.parallel.parallelism";
+
+    /**
+     * System property configuring the default number of items requested at a time by each rail, the RX buffer size
+     * ({@code 128}) by default.
+     */
+    public static final String PREFETCH_PROPERTY = "smallrye.reactive-streams.parallel.prefetch";
+
+    /**
+     * System property configuring the default pool running the rails: {@code computation} (default) for the RX
+     * computation scheduler, a pool bounded to the number of available processors, or {@code fork-join} for the
+     * common fork-join pool.
+     */
+    public static final String POOL_PROPERTY = "smallrye.reactive-streams.parallel.pool";
+
+    private static final Scheduler FORK_JOIN = Schedulers.from(ForkJoinPool.commonPool());
+
+    private static final ParallelRails SEQUENTIAL = new ParallelRails(Mode.SEQUENTIAL, 1, Flowable.bufferSize(),
+            null);
+
+    /**
+     * The parallel modes.
+     */
+    public enum Mode {
+        /**
+         * The stages run sequentially.
+         */
+        SEQUENTIAL,
+        /**
+         * The stages run on parallel rails, and the results are emitted in order.
+         */
+        ORDERED,
+        /**
+         * The stages run on parallel rails, and the results are emitted as soon as they are available.
+         */
+        UNORDERED
+    }
+
+    private final Mode mode;
+    private final int parallelism;
+    private final int prefetch;
+    private final Scheduler scheduler;
+
+    private ParallelRails(Mode mode, int parallelism, int prefetch, Scheduler scheduler) {
+        this.mode = mode;
+        this.parallelism = parallelism;
+        this.prefetch = prefetch;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @return the configuration running the stages sequentially
+     */
+    public static ParallelRails sequential() {
+        return SEQUENTIAL;
+    }
+
+    /**
+     * @param parallelism the number of rails, must be strictly positive
+     * @return the configuration running the {@code map} and {@code filter} stages on parallel rails and emitting the
+     *         results in order, on the RX computation scheduler
+     */
+    public static ParallelRails ordered(int parallelism) {
+        return of(Mode.ORDERED, parallelism, Flowable.bufferSize(), Schedulers.computation());
+    }
+
+    /**
+     * @param parallelism the number of rails, must be strictly positive
+     * @return the configuration running the {@code map} and {@code filter} stages on parallel rails and emitting the
+     *         results as soon as they are available, on the RX computation scheduler
+     */
+    public static ParallelRails unordered(int parallelism) {
+        return of(Mode.UNORDERED, parallelism, Flowable.bufferSize(), Schedulers.computation());
+    }
+
+    /**
+     * @param prefetch the number of items requested at a time by each rail, must be strictly positive
+     * @return a configuration using the given prefetch, or this configuration in {@link Mode#SEQUENTIAL sequential}
+     *         mode
+     */
+    public ParallelRails withPrefetch(int prefetch) {
+        if (mode == Mode.SEQUENTIAL) {
+            return this;
+        }
+        return of(mode, parallelism, prefetch, scheduler);
+    }
+
+    /**
+     * @param scheduler the scheduler running the rails, must not be {@code null}
+     * @return a configuration using the given scheduler, or this configuration in {@link Mode#SEQUENTIAL sequential}
+     *         mode
+     */
+    public ParallelRails runOn(Scheduler scheduler) {
+        Objects.requireNonNull(scheduler, "The scheduler must not be null");
+        if (mode == Mode.SEQUENTIAL) {
+            return this;
+        }
+        return of(mode, parallelism, prefetch, scheduler);
+    }
+
+    /**
+     * @return the configuration set by the {@value #MODE_PROPERTY}, {@value #PARALLELISM_PROPERTY},
+     *         {@value #PREFETCH_PROPERTY} and {@value #POOL_PROPERTY} system properties, {@link #sequential()} if not
+     *         set
+     */
+    public static ParallelRails fromSystemProperties() {
+        String value = System.getProperty(MODE_PROPERTY);
+        if (value == null || value.trim().isEmpty()) {
+            return SEQUENTIAL;
+        }
+        Mode mode;
+        try {
+            mode = Mode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value for " + MODE_PROPERTY + ": " + value, e);
+        }
+        if (mode == Mode.SEQUENTIAL) {
+            return SEQUENTIAL;
+        }
+        return of(mode, Integer.getInteger(PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors()),
+                Integer.getInteger(PREFETCH_PROPERTY, Flowable.bufferSize()), poolFromSystemProperty());
+    }
+
+    private static Scheduler poolFromSystemProperty() {
+        String value = System.getProperty(POOL_PROPERTY, "computation").trim().toLowerCase(Locale.ROOT);
+        switch (value) {
+            case "computation":
+                return Schedulers.computation();
+            case "fork-join":
+                return FORK_JOIN;
+            default:
+                throw new IllegalArgumentException("Invalid value for " + POOL_PROPERTY + ": " + value);
+        }
+    }
+
+    private static ParallelRails of(Mode mode, int parallelism, int prefetch, Scheduler scheduler) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism must be strictly positive");
+        }
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("The prefetch must be strictly positive");
+        }
+        return new ParallelRails(mode, parallelism, prefetch, scheduler);
+    }
+
+    /**
+     * @return the mode
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return the number of rails, {@code 1} in {@link Mode#SEQUENTIAL sequential} mode
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @return the number of items requested at a time by each rail
+     */
+    public int getPrefetch() {
+        return prefetch;
+    }
+
+    /**
+     * @return the scheduler running the rails, {@code null} in {@link Mode#SEQUENTIAL sequential} mode
+     */
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ParallelRails)) {
+            return false;
+        }
+        ParallelRails that = (ParallelRails) o;
+        return mode == that.mode && parallelism == that.parallelism && prefetch == that.prefetch
+                && Objects.equals(scheduler, that.scheduler);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mode, parallelism, prefetch, scheduler);
+    }
+
+    @Override
+    public String toString() {
+        return mode == Mode.SEQUENTIAL ? "sequential"
+                : mode.name().toLowerCase(Locale.ROOT) + "(" + parallelism + ", prefetch=" + prefetch + ")";
+    }
+
+}
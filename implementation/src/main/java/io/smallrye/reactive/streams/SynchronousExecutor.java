@@ -0,0 +1,304 @@
+package io.smallrye.reactive.streams;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+
+import io.reactivex.exceptions.Exceptions;
+import io.smallrye.reactive.streams.operators.FusedStep;
+import io.smallrye.reactive.streams.operators.Operator;
+import io.smallrye.reactive.streams.operators.ProcessorOperator;
+import io.smallrye.reactive.streams.stages.StageKind;
+import io.smallrye.reactive.streams.stages.Stages;
+
+/**
+ * Evaluates fully synchronous graphs with a loop pulling the elements from the source, without materializing a
+ * stream. A graph is synchronous if:
+ * <ul>
+ * <li>it starts with a {@link Stage.Of} stage, or a {@link Stage.FromCompletionStage} /
+ * {@link Stage.FromCompletionStageNullable} stage whose completion stage is an already completed
+ * {@link CompletableFuture},</li>
+ * <li>it only contains fusable stages, {@link Stage.Limit}, {@link Stage.Skip} and {@link Stage.Distinct} stages,</li>
+ * <li>it ends with a {@link Stage.Collect}, {@link Stage.FindFirst} or {@link Stage.Cancel} stage,</li>
+ * <li>all these stages are handled by the built-in operators.</li>
+ * </ul>
+ * The elements are pulled exactly as the built-in operators would request them, so the source iterator is not
+ * consulted once the stream is done (limit reached, first element found...). The result is an already completed
+ * {@link CompletionStage}.
+ */
+final class SynchronousExecutor {
+
+    private SynchronousExecutor() {
+        // Avoid direct instantiation.
+    }
+
+    /**
+     * Checks whether the graph made of the given stages, resolved to the given operators, can be evaluated
+     * synchronously. Only the stage types are considered.
+     */
+    static boolean supports(Stage[] stages, Operator[] operators) {
+        int last = stages.length - 1;
+        if (last < 1) {
+            return false;
+        }
+        for (Operator operator : operators) {
+            if (!Stages.isBuiltIn(operator)) {
+                return false;
+            }
+        }
+        StageKind source = StageKind.of(stages[0]);
+        if (source != StageKind.OF && source != StageKind.FROM_COMPLETION_STAGE
+                && source != StageKind.FROM_COMPLETION_STAGE_NULLABLE) {
+            return false;
+        }
+        for (int i = 1; i < last; i++) {
+            boolean fusable = operators[i] instanceof ProcessorOperator
+                    && ((ProcessorOperator) operators[i]).isFusable();
+            StageKind kind = StageKind.of(stages[i]);
+            if (!fusable && kind != StageKind.LIMIT && kind != StageKind.SKIP && kind != StageKind.DISTINCT) {
+                return false;
+            }
+        }
+        StageKind terminal = StageKind.of(stages[last]);
+        return terminal == StageKind.COLLECT || terminal == StageKind.FIND_FIRST || terminal == StageKind.CANCEL;
+    }
+
+    /**
+     * Evaluates the given graph, which must be {@link GraphPlan#isSynchronous() synchronous}.
+     *
+     * @return the completed result, or {@code null} if the graph cannot be evaluated synchronously (the completion
+     *         stage of the source is not completed yet, invalid limit or skip...)
+     */
+    @SuppressWarnings("unchecked")
+    static <T> CompletionStage<T> execute(Engine engine, Stage[] stages, GraphPlan plan) {
+        Source source = source(stages[0]);
+        if (source == null) {
+            return null;
+        }
+
+        int last = stages.length - 1;
+        FusedStep[] steps = new FusedStep[last - 1];
+        List<Limit> limits = new ArrayList<>(1);
+        for (int i = 1; i < last; i++) {
+            Stage stage = stages[i];
+            switch (StageKind.of(stage)) {
+                case LIMIT:
+                    long limit = ((Stage.Limit) stage).getLimit();
+                    if (limit < 0) {
+                        return null;
+                    }
+                    Limit step = new Limit(limit);
+                    limits.add(step);
+                    steps[i - 1] = step;
+                    break;
+                case SKIP:
+                    long skip = ((Stage.Skip) stage).getSkip();
+                    if (skip < 0) {
+                        return null;
+                    }
+                    steps[i - 1] = new Skip(skip);
+                    break;
+                case DISTINCT:
+                    steps[i - 1] = new Distinct();
+                    break;
+                default:
+                    steps[i - 1] = ((ProcessorOperator<Stage>) plan.operator(i)).createStep(engine, stage).get();
+            }
+        }
+
+        Stage terminal = stages[last];
+        switch (StageKind.of(terminal)) {
+            case CANCEL:
+                return (CompletionStage<T>) cancel(source);
+            case FIND_FIRST:
+                return (CompletionStage<T>) findFirst(source, steps, limits);
+            default:
+                Collector<Object, Object, T> collector = (Collector<Object, Object, T>) Objects
+                        .requireNonNull(((Stage.Collect) terminal).getCollector());
+                return collect(source, steps, limits, collector);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Source source(Stage stage) {
+        StageKind kind = StageKind.of(stage);
+        if (kind == StageKind.OF) {
+            return new Source((Iterable<Object>) Objects.requireNonNull(((Stage.Of) stage).getElements()), null);
+        }
+        boolean nullable = kind == StageKind.FROM_COMPLETION_STAGE_NULLABLE;
+        CompletionStage<?> future = Objects.requireNonNull(nullable
+                ? ((Stage.FromCompletionStageNullable) stage).getCompletionStage()
+                : ((Stage.FromCompletionStage) stage).getCompletionStage());
+        if (!(future instanceof CompletableFuture) || !((CompletableFuture<?>) future).isDone()) {
+            return null;
+        }
+        // The future is completed, so the callback is invoked immediately.
+        Object[] outcome = new Object[2];
+        future.whenComplete((value, failure) -> {
+            outcome[0] = value;
+            outcome[1] = failure;
+        });
+        if (outcome[1] != null) {
+            return new Source(Collections.emptyList(), (Throwable) outcome[1]);
+        } else if (outcome[0] != null) {
+            return new Source(Collections.singletonList(outcome[0]), null);
+        } else if (nullable) {
+            return new Source(Collections.emptyList(), null);
+        } else {
+            return new Source(Collections.emptyList(), new NullPointerException("Redeemed value is `null`"));
+        }
+    }
+
+    private static CompletionStage<Void> cancel(Source source) {
+        // The stream is subscribed and immediately cancelled, failures are ignored.
+        try {
+            source.elements.iterator().hasNext();
+        } catch (Throwable e) {
+            Exceptions.throwIfFatal(e);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static CompletionStage<Optional<Object>> findFirst(Source source, FusedStep[] steps,
+            List<Limit> limits) {
+        if (source.failure != null) {
+            return failed(source.failure);
+        }
+        try {
+            Iterator<Object> iterator = source.elements.iterator();
+            boolean hasNext = iterator.hasNext() && !isLimitReached(limits);
+            while (hasNext) {
+                Object item = apply(steps, iterator.next());
+                if (item == FusedStep.COMPLETE) {
+                    break;
+                } else if (item != FusedStep.DROP) {
+                    return CompletableFuture.completedFuture(Optional.of(item));
+                }
+                hasNext = !isLimitReached(limits) && iterator.hasNext();
+            }
+            return CompletableFuture.completedFuture(Optional.empty());
+        } catch (Throwable e) {
+            return failed(e);
+        }
+    }
+
+    private static <T> CompletionStage<T> collect(Source source, FusedStep[] steps, List<Limit> limits,
+            Collector<Object, Object, T> collector) {
+        try {
+            Object container = collector.supplier().get();
+            BiConsumer<Object, Object> accumulator = collector.accumulator();
+            Function<Object, T> finisher = collector.finisher();
+            if (source.failure != null) {
+                return failed(source.failure);
+            }
+
+            Iterator<Object> iterator = source.elements.iterator();
+            boolean hasNext = iterator.hasNext() && !isLimitReached(limits);
+            while (hasNext) {
+                Object item = apply(steps, iterator.next());
+                if (item == FusedStep.COMPLETE) {
+                    break;
+                } else if (item != FusedStep.DROP) {
+                    accumulator.accept(container, item);
+                }
+                hasNext = !isLimitReached(limits) && iterator.hasNext();
+            }
+            return CompletableFuture.completedFuture(finisher.apply(container));
+        } catch (Throwable e) {
+            return failed(e);
+        }
+    }
+
+    private static Object apply(FusedStep[] steps, Object element) throws Exception {
+        Object item = Objects.requireNonNull(element, "Iterator.next() returned a null value");
+        for (FusedStep step : steps) {
+            item = step.apply(item);
+            if (item == FusedStep.DROP || item == FusedStep.COMPLETE) {
+                return item;
+            }
+        }
+        return item;
+    }
+
+    private static boolean isLimitReached(List<Limit> limits) {
+        for (int i = 0; i < limits.size(); i++) {
+            if (limits.get(i).remaining <= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> CompletionStage<T> failed(Throwable failure) {
+        Exceptions.throwIfFatal(failure);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(failure);
+        return future;
+    }
+
+    private static class Limit implements FusedStep {
+        private long remaining;
+
+        Limit(long limit) {
+            this.remaining = limit;
+        }
+
+        @Override
+        public Object apply(Object item) {
+            remaining--;
+            return item;
+        }
+    }
+
+    private static class Skip implements FusedStep {
+        private long remaining;
+
+        Skip(long skip) {
+            this.remaining = skip;
+        }
+
+        @Override
+        public Object apply(Object item) {
+            if (remaining > 0) {
+                remaining--;
+                return DROP;
+            }
+            return item;
+        }
+    }
+
+    private static class Distinct implements FusedStep {
+        private final Set<Object> seen = new HashSet<>();
+
+        @Override
+        public Object apply(Object item) {
+            return seen.add(item) ? item : DROP;
+        }
+    }
+
+    /**
+     * The elements emitted by the source, followed by its failure if any.
+     */
+    private static class Source {
+        private final Iterable<Object> elements;
+        private final Throwable failure;
+
+        Source(Iterable<Object> elements, Throwable failure) {
+            this.elements = elements;
+            this.failure = failure;
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+package io.smallrye.reactive.streams.operators;
+
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+
+import io.smallrye.reactive.streams.Engine;
+
+/**
+ * A {@link ProcessingStageFactory} whose stages can be fused with the adjacent fusable stages. The engine executes
+ * runs of fusable stages with a single subscriber calling the {@link FusedStep} of each stage in sequence.
+ *
+ * @param <T> the type of stage
+ */
+public interface FusableStageFactory<T extends Stage> extends ProcessingStageFactory<T> {
+
+    /**
+     * Creates the step implementing the given stage.
+     *
+     * @param engine the reactive engine
+     * @param stage the stage
+     * @return a supplier of step, called for every subscription so steps can keep a per-subscription state. Must not
+     *         be {@code null}.
+     */
+    Supplier<FusedStep> createStep(Engine engine, T stage);
+
+    /**
+     * Fusable stages are synchronous.
+     *
+     * @return {@code false}
+     */
+    @Override
+    default boolean isAsynchronousBoundary() {
+        return false;
+    }
+
+}
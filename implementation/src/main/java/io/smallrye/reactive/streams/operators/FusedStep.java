@@ -0,0 +1,33 @@
+package io.smallrye.reactive.streams.operators;
+
+/**
+ * A per-element step of a fused processing stage. Consecutive stateless stages (such as {@code map}, {@code filter}
+ * or {@code peek}) are executed as a sequence of steps by a single subscriber, instead of being materialized as one
+ * operator each.
+ * <p>
+ * A step receives an item and returns the item to pass to the next step, {@link #DROP} to discard the item, or
+ * {@link #COMPLETE} to discard the item and complete the stream.
+ */
+@FunctionalInterface
+public interface FusedStep {
+
+    /**
+     * Returned by {@link #apply(Object)} to discard the item.
+     */
+    Object DROP = new Object();
+
+    /**
+     * Returned by {@link #apply(Object)} to discard the item and complete the stream.
+     */
+    Object COMPLETE = new Object();
+
+    /**
+     * Processes an item.
+     *
+     * @param item the item, never {@code null}
+     * @return the item to pass downstream, {@link #DROP} or {@link #COMPLETE}. Must not be {@code null}.
+     * @throws Exception if the processing failed, the stream is failed with the thrown exception
+     */
+    Object apply(Object item) throws Exception;
+
+}
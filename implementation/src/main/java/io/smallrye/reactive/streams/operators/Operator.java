@@ -13,6 +13,16 @@ public class Operator<T extends Stage> implements Predicate<Stage> {
     }
 
     public boolean test(Stage s) {
-        return clazz.isAssignableFrom(s.getClass());
+        return test(s.getClass());
+    }
+
+    /**
+     * Checks whether this operator handles the stages of the given type.
+     *
+     * @param type the stage type
+     * @return {@code true} if the stages of the given type are handled by this operator
+     */
+    public boolean test(Class<?> type) {
+        return clazz.isAssignableFrom(type);
     }
 }
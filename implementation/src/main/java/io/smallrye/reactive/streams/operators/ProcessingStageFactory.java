@@ -23,4 +23,16 @@ public interface ProcessingStageFactory<T extends Stage> {
      */
     <I, O> ProcessingStage<I, O> create(Engine engine, T stage);
 
+    /**
+     * Indicates whether the created stages may emit their signals from a different thread than the one delivering
+     * the upstream signals (for example, because they subscribe to another publisher). The engine applies the
+     * {@link io.smallrye.reactive.streams.spi.ExecutionModel} after these stages. Synchronous stages, which emit
+     * from the thread delivering the upstream signals, should return {@code false}.
+     *
+     * @return {@code true} by default
+     */
+    default boolean isAsynchronousBoundary() {
+        return true;
+    }
+
 }
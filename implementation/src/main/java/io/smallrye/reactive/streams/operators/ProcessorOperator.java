@@ -1,5 +1,7 @@
 package io.smallrye.reactive.streams.operators;
 
+import java.util.function.Supplier;
+
 import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
 
 import io.smallrye.reactive.streams.Engine;
@@ -16,4 +18,31 @@ public class ProcessorOperator<T extends Stage> extends Operator<T> {
     public <I, O> ProcessingStage<I, O> create(Engine engine, T stage) {
         return factory.create(engine, stage);
     }
+
+    /**
+     * @return whether the stages created by this operator are asynchronous boundaries
+     * @see ProcessingStageFactory#isAsynchronousBoundary()
+     */
+    public boolean isAsynchronousBoundary() {
+        return factory.isAsynchronousBoundary();
+    }
+
+    /**
+     * @return whether the stages created by this operator can be fused with the adjacent fusable stages
+     */
+    public boolean isFusable() {
+        return factory instanceof FusableStageFactory;
+    }
+
+    /**
+     * Creates the fused step implementing the given stage. Must only be called if {@link #isFusable()} returns
+     * {@code true}.
+     *
+     * @param engine the reactive engine
+     * @param stage the stage
+     * @return the supplier of step
+     */
+    public Supplier<FusedStep> createStep(Engine engine, T stage) {
+        return ((FusableStageFactory<T>) factory).createStep(engine, stage);
+    }
 }
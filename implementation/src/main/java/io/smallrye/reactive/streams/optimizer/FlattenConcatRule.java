@@ -0,0 +1,79 @@
+package io.smallrye.reactive.streams.optimizer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Graph;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+
+import io.smallrye.reactive.streams.stages.StageKind;
+import io.smallrye.reactive.streams.stages.Stages;
+
+/**
+ * Replaces nested {@link Stage.Concat} stages, such as {@code concat(concat(a, b), c)}, by a single
+ * {@link FlattenedConcat} stage concatenating all the graphs. A graph is only flattened if it is made of a single
+ * concat stage. The concat stages handled by a contributed operator are left untouched.
+ */
+public class FlattenConcatRule implements OptimizationRule {
+
+    public static final String NAME = "flatten-concat";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean apply(List<Stage> stages) {
+        boolean rewritten = false;
+        for (int i = 0; i < stages.size(); i++) {
+            Stage stage = stages.get(i);
+            if (!isConcat(stage)) {
+                continue;
+            }
+            List<Graph> graphs = graphs(stage);
+            List<Graph> flattened = new ArrayList<>();
+            for (Graph graph : graphs) {
+                flatten(graph, flattened);
+            }
+            if (flattened.size() > graphs.size()) {
+                List<Graph> result = Collections.unmodifiableList(flattened);
+                stages.set(i, (FlattenedConcat) () -> result);
+                rewritten = true;
+            }
+        }
+        return rewritten;
+    }
+
+    private static boolean isConcat(Stage stage) {
+        StageKind kind = StageKind.of(stage);
+        return (kind == StageKind.CONCAT || kind == StageKind.FLATTENED_CONCAT) && Stages.isBuiltIn(stage);
+    }
+
+    private static List<Graph> graphs(Stage stage) {
+        if (StageKind.of(stage) == StageKind.FLATTENED_CONCAT) {
+            return ((FlattenedConcat) stage).getGraphs();
+        }
+        Stage.Concat concat = (Stage.Concat) stage;
+        List<Graph> graphs = new ArrayList<>(2);
+        graphs.add(concat.getFirst());
+        graphs.add(concat.getSecond());
+        return graphs;
+    }
+
+    private static void flatten(Graph graph, List<Graph> result) {
+        Collection<Stage> stages = graph == null ? null : graph.getStages();
+        if (stages != null && stages.size() == 1) {
+            Stage stage = stages.iterator().next();
+            if (isConcat(stage)) {
+                for (Graph nested : graphs(stage)) {
+                    flatten(nested, result);
+                }
+                return;
+            }
+        }
+        result.add(graph);
+    }
+}
@@ -0,0 +1,20 @@
+package io.smallrye.reactive.streams.optimizer;
+
+import java.util.List;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Graph;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+
+/**
+ * A publisher stage concatenating the streams of several graphs, in order. It is produced by the
+ * {@link FlattenConcatRule} to replace nested {@link Stage.Concat} stages.
+ */
+@FunctionalInterface
+public interface FlattenedConcat extends Stage {
+
+    /**
+     * @return the graphs to concatenate, containing at least two graphs
+     */
+    List<Graph> getGraphs();
+
+}
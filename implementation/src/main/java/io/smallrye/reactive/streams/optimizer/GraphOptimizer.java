@@ -0,0 +1,155 @@
+package io.smallrye.reactive.streams.optimizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Graph;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+
+/**
+ * Rewrites the stages of a {@link Graph} before its materialization, using a set of semantics-preserving
+ * {@link OptimizationRule rules}. The rules are applied in order, until none of them rewrites the graph anymore.
+ * <p>
+ * The optimizer is enabled by default with the {@link #defaultRules() default rules}. It can be disabled using the
+ * {@value #ENABLED_PROPERTY} system property, and specific rules can be disabled by listing their names, separated by
+ * commas, in the {@value #DISABLED_RULES_PROPERTY} system property. The applied rewrites are logged at the
+ * {@code FINE} level.
+ */
+public class GraphOptimizer {
+
+    /**
+     * System property enabling or disabling the optimizer.
+     */
+    public static final String ENABLED_PROPERTY = "smallrye.reactive-streams.optimizer.enabled";
+
+    /**
+     * System property listing the names of the disabled rules.
+     */
+    public static final String DISABLED_RULES_PROPERTY = "smallrye.reactive-streams.optimizer.disabled-rules";
+
+    private static final Logger LOGGER = Logger.getLogger(GraphOptimizer.class.getName());
+
+    /**
+     * Bounds the number of passes, in case of rules undoing each other.
+     */
+    private static final int MAX_PASSES = 16;
+
+    private final List<OptimizationRule> rules;
+
+    /**
+     * Creates an optimizer configured from the system properties.
+     */
+    public GraphOptimizer() {
+        this(configuredRules());
+    }
+
+    /**
+     * Creates an optimizer using the given rules.
+     *
+     * @param rules the rules, in order, must not be {@code null}. An empty list disables the optimizer.
+     */
+    public GraphOptimizer(List<OptimizationRule> rules) {
+        this.rules = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(rules)));
+    }
+
+    /**
+     * @return the default rules, in order
+     */
+    public static List<OptimizationRule> defaultRules() {
+        return Arrays.asList(new SkipLimitRule(), new LimitedOfRule(), new MergeFiltersRule(),
+                new FlattenConcatRule());
+    }
+
+    /**
+     * @return an optimizer not applying any rule
+     */
+    public static GraphOptimizer disabled() {
+        return new GraphOptimizer(Collections.emptyList());
+    }
+
+    private static List<OptimizationRule> configuredRules() {
+        String enabled = System.getProperty(ENABLED_PROPERTY);
+        if (enabled != null && !Boolean.parseBoolean(enabled.trim())) {
+            return Collections.emptyList();
+        }
+        String disabled = System.getProperty(DISABLED_RULES_PROPERTY, "");
+        Set<String> names = new HashSet<>();
+        for (String name : disabled.split(",")) {
+            names.add(name.trim());
+        }
+        return without(defaultRules(), names);
+    }
+
+    private static List<OptimizationRule> without(List<OptimizationRule> rules, Collection<String> names) {
+        List<OptimizationRule> result = new ArrayList<>();
+        for (OptimizationRule rule : rules) {
+            if (!names.contains(rule.name())) {
+                result.add(rule);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the applied rules, in order
+     */
+    public List<OptimizationRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * Creates a new optimizer without the given rules.
+     *
+     * @param names the names of the rules to disable
+     * @return the new optimizer
+     */
+    public GraphOptimizer without(String... names) {
+        return new GraphOptimizer(without(rules, Arrays.asList(names)));
+    }
+
+    /**
+     * Optimizes the given graph. The given graph is not modified.
+     *
+     * @param graph the graph, must not be {@code null}
+     * @return the optimized graph, or the given graph if no rule applies
+     */
+    public Graph optimize(Graph graph) {
+        Objects.requireNonNull(graph, "The graph must not be `null`");
+        if (rules.isEmpty()) {
+            return graph;
+        }
+        List<Stage> stages = new ArrayList<>(graph.getStages());
+        boolean rewritten = false;
+        for (int pass = 0; pass < MAX_PASSES; pass++) {
+            boolean changed = false;
+            for (OptimizationRule rule : rules) {
+                int size = stages.size();
+                if (rule.apply(stages)) {
+                    changed = true;
+                    if (LOGGER.isLoggable(Level.FINE)) {
+                        LOGGER.log(Level.FINE, "Optimization rule ''{0}'' applied, {1} stage(s) rewritten into {2}",
+                                new Object[] { rule.name(), size, stages.size() });
+                    }
+                }
+            }
+            if (!changed) {
+                break;
+            }
+            rewritten = true;
+        }
+        if (!rewritten) {
+            return graph;
+        }
+        Collection<Stage> result = Collections.unmodifiableList(stages);
+        return () -> result;
+    }
+
+}
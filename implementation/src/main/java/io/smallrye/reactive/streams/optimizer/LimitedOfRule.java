@@ -0,0 +1,76 @@
+package io.smallrye.reactive.streams.optimizer;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+
+import io.smallrye.reactive.streams.stages.StageKind;
+import io.smallrye.reactive.streams.stages.Stages;
+import io.smallrye.reactive.streams.utils.Casts;
+
+/**
+ * Replaces a {@link Stage.Of} stage directly followed by a {@link Stage.Limit} stage by a single {@link Stage.Of}
+ * stage, whose iterator stops after the limit. As with the limit stage, the underlying iterator is not consulted once
+ * the limit has been reached.
+ * <p>
+ * {@code limit(0)} is left untouched, as it must not iterate over the elements at all. So are the stages handled by a
+ * contributed operator.
+ */
+public class LimitedOfRule implements OptimizationRule {
+
+    public static final String NAME = "limited-of";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean apply(List<Stage> stages) {
+        boolean rewritten = false;
+        int i = 0;
+        while (i < stages.size() - 1) {
+            Stage current = stages.get(i);
+            Stage next = stages.get(i + 1);
+            if (StageKind.of(current) == StageKind.OF && ((Stage.Of) current).getElements() != null
+                    && StageKind.of(next) == StageKind.LIMIT && ((Stage.Limit) next).getLimit() > 0
+                    && Stages.isBuiltIn(current) && Stages.isBuiltIn(next)) {
+                Iterable<Object> elements = Casts.cast(((Stage.Of) current).getElements());
+                long limit = ((Stage.Limit) next).getLimit();
+                Iterable<Object> limited = () -> new LimitedIterator<>(elements.iterator(), limit);
+                stages.set(i, (Stage.Of) () -> limited);
+                stages.remove(i + 1);
+                rewritten = true;
+            } else {
+                i++;
+            }
+        }
+        return rewritten;
+    }
+
+    private static class LimitedIterator<T> implements Iterator<T> {
+        private final Iterator<T> iterator;
+        private long remaining;
+
+        LimitedIterator(Iterator<T> iterator, long limit) {
+            this.iterator = iterator;
+            this.remaining = limit;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0 && iterator.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (remaining <= 0) {
+                throw new NoSuchElementException();
+            }
+            remaining--;
+            return iterator.next();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.smallrye.reactive.streams.optimizer;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+
+import io.smallrye.reactive.streams.stages.StageKind;
+import io.smallrye.reactive.streams.stages.Stages;
+import io.smallrye.reactive.streams.utils.Casts;
+
+/**
+ * Merges consecutive {@link Stage.Filter} stages into a single one, testing the predicates in order. The filters handled
+ * by a contributed operator are left untouched.
+ */
+public class MergeFiltersRule implements OptimizationRule {
+
+    public static final String NAME = "merge-filters";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean apply(List<Stage> stages) {
+        boolean rewritten = false;
+        int i = 0;
+        while (i < stages.size() - 1) {
+            Stage current = stages.get(i);
+            Stage next = stages.get(i + 1);
+            if (isMergeable(current) && isMergeable(next)) {
+                Predicate<Object> first = Casts.cast(((Stage.Filter) current).getPredicate());
+                Predicate<Object> second = Casts.cast(((Stage.Filter) next).getPredicate());
+                Predicate<Object> merged = item -> first.test(item) && second.test(item);
+                stages.set(i, (Stage.Filter) () -> merged);
+                stages.remove(i + 1);
+                rewritten = true;
+            } else {
+                i++;
+            }
+        }
+        return rewritten;
+    }
+
+    private static boolean isMergeable(Stage stage) {
+        return StageKind.of(stage) == StageKind.FILTER && ((Stage.Filter) stage).getPredicate() != null
+                && Stages.isBuiltIn(stage);
+    }
+}
@@ -0,0 +1,28 @@
+package io.smallrye.reactive.streams.optimizer;
+
+import java.util.List;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+
+/**
+ * A rewrite rule applied by the {@link GraphOptimizer} to the stages of a graph before its materialization.
+ * <p>
+ * Rules must preserve the semantics of the graph. They must not modify the rewritten stages, but replace them with
+ * new stages.
+ */
+public interface OptimizationRule {
+
+    /**
+     * @return the name of the rule, used to enable or disable it
+     */
+    String name();
+
+    /**
+     * Rewrites the given stages.
+     *
+     * @param stages the stages of the graph, can be modified in place
+     * @return {@code true} if the stages have been rewritten, {@code false} otherwise
+     */
+    boolean apply(List<Stage> stages);
+
+}
@@ -0,0 +1,72 @@
+package io.smallrye.reactive.streams.optimizer;
+
+import java.util.List;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+
+import io.smallrye.reactive.streams.stages.StageKind;
+import io.smallrye.reactive.streams.stages.Stages;
+
+/**
+ * Simplifies {@link Stage.Skip} and {@link Stage.Limit} stages:
+ * <ul>
+ * <li>{@code skip(0)} and {@code limit(Long.MAX_VALUE)} are removed,</li>
+ * <li>{@code skip(a).skip(b)} is replaced by {@code skip(a + b)},</li>
+ * <li>{@code limit(a).limit(b)} is replaced by {@code limit(min(a, b))}.</li>
+ * </ul>
+ * Stages with a negative value are left untouched, so they still fail at materialization. So are the stages handled by
+ * a contributed operator.
+ */
+public class SkipLimitRule implements OptimizationRule {
+
+    public static final String NAME = "skip-limit";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean apply(List<Stage> stages) {
+        boolean rewritten = false;
+        int i = 0;
+        while (i < stages.size()) {
+            Stage current = stages.get(i);
+            if (isNoop(current)) {
+                stages.remove(i);
+                rewritten = true;
+                continue;
+            }
+            Stage next = i < stages.size() - 1 ? stages.get(i + 1) : null;
+            if (!Stages.isBuiltIn(current) || !Stages.isBuiltIn(next)) {
+                i++;
+            } else if (StageKind.of(current) == StageKind.SKIP && StageKind.of(next) == StageKind.SKIP
+                    && ((Stage.Skip) current).getSkip() >= 0 && ((Stage.Skip) next).getSkip() >= 0) {
+                long skip = saturatedAdd(((Stage.Skip) current).getSkip(), ((Stage.Skip) next).getSkip());
+                stages.set(i, (Stage.Skip) () -> skip);
+                stages.remove(i + 1);
+                rewritten = true;
+            } else if (StageKind.of(current) == StageKind.LIMIT && StageKind.of(next) == StageKind.LIMIT
+                    && ((Stage.Limit) current).getLimit() >= 0 && ((Stage.Limit) next).getLimit() >= 0) {
+                long limit = Math.min(((Stage.Limit) current).getLimit(), ((Stage.Limit) next).getLimit());
+                stages.set(i, (Stage.Limit) () -> limit);
+                stages.remove(i + 1);
+                rewritten = true;
+            } else {
+                i++;
+            }
+        }
+        return rewritten;
+    }
+
+    private static boolean isNoop(Stage stage) {
+        return (StageKind.of(stage) == StageKind.SKIP && ((Stage.Skip) stage).getSkip() == 0
+                || StageKind.of(stage) == StageKind.LIMIT && ((Stage.Limit) stage).getLimit() == Long.MAX_VALUE)
+                && Stages.isBuiltIn(stage);
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+}
@@ -0,0 +1,45 @@
+package io.smallrye.reactive.streams.spi;
+
+import java.util.Locale;
+
+/**
+ * Defines where the engine applies the {@link ExecutionModel} in a pipeline.
+ * <p>
+ * The default placement can be configured using the {@value #PLACEMENT_PROPERTY} system property, with either
+ * {@code async-boundaries} (default) or {@code every-stage}.
+ */
+public enum ExecutionModelPlacement {
+
+    /**
+     * The execution model is applied to the source, after each stage that is an asynchronous boundary (such as
+     * {@code flatMap} or {@code via}), and before the terminal stage.
+     */
+    ASYNC_BOUNDARIES,
+
+    /**
+     * The execution model is applied after every stage.
+     */
+    EVERY_STAGE;
+
+    /**
+     * System property configuring the default placement.
+     */
+    public static final String PLACEMENT_PROPERTY = "smallrye.reactive-streams.execution-model.placement";
+
+    /**
+     * @return the placement configured by the {@value #PLACEMENT_PROPERTY} system property, {@link #ASYNC_BOUNDARIES}
+     *         if not set
+     */
+    public static ExecutionModelPlacement fromSystemProperty() {
+        String value = System.getProperty(PLACEMENT_PROPERTY);
+        if (value == null || value.trim().isEmpty()) {
+            return ASYNC_BOUNDARIES;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value for " + PLACEMENT_PROPERTY + ": " + value, e);
+        }
+    }
+
+}
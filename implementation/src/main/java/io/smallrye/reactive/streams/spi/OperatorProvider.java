@@ -0,0 +1,23 @@
+package io.smallrye.reactive.streams.spi;
+
+import java.util.Collection;
+
+import io.smallrye.reactive.streams.operators.Operator;
+
+/**
+ * SPI allowing to contribute {@link Operator operators} to the engine. Implementations are discovered using the
+ * {@link java.util.ServiceLoader} mechanism.
+ * <p>
+ * Operators contributed by a provider take precedence over the built-in ones, so a provider can replace the
+ * implementation of an existing stage (for example, by registering a
+ * {@link io.smallrye.reactive.streams.operators.ProcessorOperator} for
+ * {@link org.eclipse.microprofile.reactive.streams.operators.spi.Stage.Map}) or support new stage types.
+ */
+public interface OperatorProvider {
+
+    /**
+     * @return the contributed operators, must not be {@code null}
+     */
+    Collection<Operator<?>> operators();
+
+}
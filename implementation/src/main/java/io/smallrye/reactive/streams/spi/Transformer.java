@@ -9,6 +9,8 @@ public class Transformer {
 
     private final ExecutionModel model;
 
+    private final boolean identity;
+
     private static final Transformer INSTANCE;
 
     static {
@@ -20,11 +22,20 @@ public class Transformer {
         Iterator<ExecutionModel> iterator = loader.iterator();
         if (iterator.hasNext()) {
             model = iterator.next();
+            identity = false;
         } else {
             model = i -> i;
+            identity = true;
         }
     }
 
+    /**
+     * @return {@code true} if no model has been registered, so {@link #apply(Flowable)} returns the given flowable
+     */
+    public static boolean isIdentity() {
+        return INSTANCE.identity;
+    }
+
     /**
      * Calls the model.
      *
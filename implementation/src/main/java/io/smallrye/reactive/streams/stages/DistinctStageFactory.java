@@ -22,4 +22,9 @@ public class DistinctStageFactory implements ProcessingStageFactory<Stage.Distin
         Objects.requireNonNull(stage);
         return source -> (Flowable<O>) source.distinct();
     }
+
+    @Override
+    public boolean isAsynchronousBoundary() {
+        return false;
+    }
 }
@@ -2,13 +2,15 @@ package io.smallrye.reactive.streams.stages;
 
 import java.util.Objects;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
 
 import io.reactivex.Flowable;
 import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.operators.FusableStageFactory;
+import io.smallrye.reactive.streams.operators.FusedStep;
 import io.smallrye.reactive.streams.operators.ProcessingStage;
-import io.smallrye.reactive.streams.operators.ProcessingStageFactory;
 import io.smallrye.reactive.streams.utils.Casts;
 
 /**
@@ -16,7 +18,7 @@ import io.smallrye.reactive.streams.utils.Casts;
  *
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
  */
-public class DropWhileStageFactory implements ProcessingStageFactory<Stage.DropWhile> {
+public class DropWhileStageFactory implements FusableStageFactory<Stage.DropWhile> {
 
     @Override
     public <I, O> ProcessingStage<I, O> create(Engine engine, Stage.DropWhile stage) {
@@ -24,6 +26,34 @@ public class DropWhileStageFactory implements ProcessingStageFactory<Stage.DropW
         return Casts.cast(new TakeWhile<>(predicate));
     }
 
+    @Override
+    public Supplier<FusedStep> createStep(Engine engine, Stage.DropWhile stage) {
+        Predicate<Object> predicate = Casts.cast(stage.getPredicate());
+        Objects.requireNonNull(predicate);
+        // The step is stateful, so each subscription gets its own.
+        return () -> new DropWhileStep(predicate);
+    }
+
+    private static class DropWhileStep implements FusedStep {
+        private final Predicate<Object> predicate;
+        private boolean dropping = true;
+
+        DropWhileStep(Predicate<Object> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        public Object apply(Object item) {
+            if (dropping) {
+                if (predicate.test(item)) {
+                    return DROP;
+                }
+                dropping = false;
+            }
+            return item;
+        }
+    }
+
     private static class TakeWhile<I> implements ProcessingStage<I, I> {
         private final Predicate<I> predicate;
 
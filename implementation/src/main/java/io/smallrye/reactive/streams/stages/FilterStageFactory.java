@@ -2,20 +2,22 @@ package io.smallrye.reactive.streams.stages;
 
 import java.util.Objects;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
 
 import io.reactivex.Flowable;
 import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.operators.FusableStageFactory;
+import io.smallrye.reactive.streams.operators.FusedStep;
 import io.smallrye.reactive.streams.operators.ProcessingStage;
-import io.smallrye.reactive.streams.operators.ProcessingStageFactory;
 
 /**
  * Implementation of {@link Stage.Filter} stage.
  *
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
  */
-public class FilterStageFactory implements ProcessingStageFactory<Stage.Filter> {
+public class FilterStageFactory implements FusableStageFactory<Stage.Filter> {
 
     @SuppressWarnings("unchecked")
     @Override
@@ -24,4 +26,13 @@ public class FilterStageFactory implements ProcessingStageFactory<Stage.Filter>
         Predicate predicate = Objects.requireNonNull(stage.getPredicate());
         return source -> (Flowable<O>) source.filter(predicate::test);
     }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Supplier<FusedStep> createStep(Engine engine, Stage.Filter stage) {
+        Objects.requireNonNull(stage);
+        Predicate predicate = Objects.requireNonNull(stage.getPredicate());
+        FusedStep step = item -> predicate.test(item) ? item : FusedStep.DROP;
+        return () -> step;
+    }
 }
@@ -1,7 +1,5 @@
 package io.smallrye.reactive.streams.stages;
 
-import static io.smallrye.reactive.streams.utils.CompletionStageToPublisher.fromCompletionStage;
-
 import java.util.Objects;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
@@ -9,13 +7,18 @@ import java.util.function.Function;
 import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
 
 import io.reactivex.Flowable;
+import io.reactivex.plugins.RxJavaPlugins;
 import io.smallrye.reactive.streams.Engine;
 import io.smallrye.reactive.streams.operators.ProcessingStage;
 import io.smallrye.reactive.streams.operators.ProcessingStageFactory;
 import io.smallrye.reactive.streams.utils.Casts;
+import io.smallrye.reactive.streams.utils.FlatMapCompletionStageMetrics;
+import io.smallrye.reactive.streams.utils.FlowableFlatMapCompletionStage;
 
 /**
- * Implementation of the {@link Stage.FlatMapCompletionStage} stage.
+ * Implementation of the {@link Stage.FlatMapCompletionStage} stage. Up to
+ * {@link Engine#getFlatMapCompletionStageMaxInFlight()} completion stages are in flight at the same time (one by
+ * default), and the results are emitted in the upstream order.
  *
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
  */
@@ -27,30 +30,25 @@ public class FlatMapCompletionStageFactory
             Stage.FlatMapCompletionStage stage) {
         Function<I, CompletionStage<O>> mapper = Casts.cast(
                 Objects.requireNonNull(stage).getMapper());
-        return new FlatMapCompletionStage<>(mapper);
+        return new FlatMapCompletionStage<>(mapper, engine.getFlatMapCompletionStageMaxInFlight(),
+                engine.getFlatMapCompletionStageMetrics());
     }
 
     private static class FlatMapCompletionStage<I, O> implements ProcessingStage<I, O> {
         private final Function<I, CompletionStage<O>> mapper;
+        private final int maxInFlight;
+        private final FlatMapCompletionStageMetrics metrics;
 
-        private FlatMapCompletionStage(Function<I, CompletionStage<O>> mapper) {
+        private FlatMapCompletionStage(Function<I, CompletionStage<O>> mapper, int maxInFlight,
+                FlatMapCompletionStageMetrics metrics) {
             this.mapper = Objects.requireNonNull(mapper);
+            this.maxInFlight = maxInFlight;
+            this.metrics = metrics;
         }
 
         @Override
         public Flowable<O> apply(Flowable<I> source) {
-            return source.flatMap((I item) -> {
-                if (item == null) {
-                    // Throw an NPE to be compliant with the reactive stream spec.
-                    throw new NullPointerException();
-                }
-                CompletionStage<O> result = mapper.apply(item);
-                if (result == null) {
-                    // Throw an NPE to be compliant with the reactive stream spec.
-                    throw new NullPointerException();
-                }
-                return fromCompletionStage(result, false);
-            }, 1);
+            return RxJavaPlugins.onAssembly(new FlowableFlatMapCompletionStage<>(source, mapper, maxInFlight, metrics));
         }
     }
 
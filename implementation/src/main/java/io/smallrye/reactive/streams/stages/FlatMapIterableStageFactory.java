@@ -22,6 +22,11 @@ public class FlatMapIterableStageFactory implements ProcessingStageFactory<Stage
         return new FlatMapIterable<>(mapper);
     }
 
+    @Override
+    public boolean isAsynchronousBoundary() {
+        return false;
+    }
+
     private static class FlatMapIterable<I, O> implements ProcessingStage<I, O> {
         private final Function<I, Iterable<O>> mapper;
 
@@ -34,5 +39,4 @@ public class FlatMapIterableStageFactory implements ProcessingStageFactory<Stage
             return source.concatMapIterable(mapper::apply);
         }
     }
-
 }
@@ -5,17 +5,21 @@ import java.util.function.Function;
 
 import org.eclipse.microprofile.reactive.streams.operators.spi.Graph;
 import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 
 import io.reactivex.Flowable;
 import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.FlatMapConcurrency;
 import io.smallrye.reactive.streams.operators.ProcessingStage;
 import io.smallrye.reactive.streams.operators.ProcessingStageFactory;
 import io.smallrye.reactive.streams.utils.Casts;
 import io.smallrye.reactive.streams.utils.DelegatingSubscriber;
 
 /**
- * Implementation of the {@link Stage.FlatMap} stage. Be aware it behaves as a RX `concatMap`.
+ * Implementation of the {@link Stage.FlatMap} stage. By default, it behaves as a RX `concatMap`. The engine
+ * {@link FlatMapConcurrency} allows consuming several inner streams concurrently, preserving the order of the items
+ * (RX `concatMapEager`) or not (RX `flatMap`).
  *
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
  */
@@ -24,33 +28,42 @@ public class FlatMapStageFactory implements ProcessingStageFactory<Stage.FlatMap
     @Override
     public <I, O> ProcessingStage<I, O> create(Engine engine, Stage.FlatMap stage) {
         Function<I, Graph> mapper = Casts.cast(stage.getMapper());
-        return new FlatMapStage<>(engine, mapper);
+        return new FlatMapStage<>(engine, mapper, engine.getFlatMapConcurrency());
     }
 
     private static class FlatMapStage<I, O> implements ProcessingStage<I, O> {
         private final Engine engine;
         private final Function<I, Graph> mapper;
+        private final FlatMapConcurrency concurrency;
 
-        private FlatMapStage(Engine engine, Function<I, Graph> mapper) {
+        private FlatMapStage(Engine engine, Function<I, Graph> mapper, FlatMapConcurrency concurrency) {
             this.mapper = Objects.requireNonNull(mapper);
             this.engine = engine;
+            this.concurrency = concurrency;
         }
 
         @Override
         public Flowable<O> apply(Flowable<I> source) {
-            return source
-                    .concatMap((I item) -> {
-                        Graph graph = mapper.apply(item);
-                        Flowable<O> publisher = Flowable.fromPublisher(
-                                Objects.requireNonNull(engine.buildPublisher(Objects.requireNonNull(graph))));
-
-                        return (Subscriber<? super O> delegate) -> {
-                            // Required because RX FlatMap subscriber does not enforce the reactive stream spec.
-                            Subscriber<O> facade = new DelegatingSubscriber<>(delegate);
-                            publisher.subscribe(facade);
-                        };
-
-                    });
+            switch (concurrency.getMode()) {
+                case ORDERED:
+                    return source.concatMapEager(this::inner, concurrency.getMaxConcurrency(), Flowable.bufferSize());
+                case UNORDERED:
+                    return source.flatMap(this::inner, concurrency.getMaxConcurrency());
+                default:
+                    return source.concatMap(this::inner);
+            }
+        }
+
+        private Publisher<O> inner(I item) {
+            Graph graph = mapper.apply(item);
+            Flowable<O> publisher = Flowable.fromPublisher(
+                    Objects.requireNonNull(engine.buildPublisher(Objects.requireNonNull(graph))));
+
+            return (Subscriber<? super O> delegate) -> {
+                // Required because RX FlatMap subscriber does not enforce the reactive stream spec.
+                Subscriber<O> facade = new DelegatingSubscriber<>(delegate);
+                publisher.subscribe(facade);
+            };
         }
     }
 }
@@ -0,0 +1,43 @@
+package io.smallrye.reactive.streams.stages;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Graph;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.operators.PublisherStage;
+import io.smallrye.reactive.streams.operators.PublisherStageFactory;
+import io.smallrye.reactive.streams.optimizer.FlattenedConcat;
+import io.smallrye.reactive.streams.utils.CancellablePublisher;
+
+/**
+ * Implementation of the {@link FlattenedConcat} stage. Like {@link ConcatStageFactory}, the streams that have not
+ * been subscribed are cancelled when the resulting stream is cancelled or terminated.
+ */
+public class FlattenedConcatStageFactory implements PublisherStageFactory<FlattenedConcat> {
+
+    @Override
+    public <O> PublisherStage<O> create(Engine engine, FlattenedConcat stage) {
+        Objects.requireNonNull(engine);
+        List<Graph> graphs = Objects.requireNonNull(Objects.requireNonNull(stage).getGraphs());
+        return () -> {
+            List<Publisher<O>> publishers = new ArrayList<>(graphs.size());
+            List<CancellablePublisher<O>> cancellables = new ArrayList<>(graphs.size() - 1);
+            publishers.add(engine.buildPublisher(Objects.requireNonNull(graphs.get(0))));
+            for (int i = 1; i < graphs.size(); i++) {
+                CancellablePublisher<O> cancellable = new CancellablePublisher<>(
+                        engine.buildPublisher(Objects.requireNonNull(graphs.get(i))));
+                cancellables.add(cancellable);
+                publishers.add(cancellable);
+            }
+            Runnable cancelRemaining = () -> cancellables.forEach(CancellablePublisher::cancelIfNotSubscribed);
+            return Flowable.concat(publishers)
+                    .doOnCancel(cancelRemaining::run)
+                    .doOnTerminate(cancelRemaining::run);
+        };
+    }
+}
@@ -19,4 +19,9 @@ public class LimitStageFactory implements ProcessingStageFactory<Stage.Limit> {
         long limit = stage.getLimit();
         return source -> (Flowable<O>) source.limit(limit);
     }
+
+    @Override
+    public boolean isAsynchronousBoundary() {
+        return false;
+    }
 }
@@ -2,12 +2,14 @@ package io.smallrye.reactive.streams.stages;
 
 import java.util.Objects;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
 
 import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.operators.FusableStageFactory;
+import io.smallrye.reactive.streams.operators.FusedStep;
 import io.smallrye.reactive.streams.operators.ProcessingStage;
-import io.smallrye.reactive.streams.operators.ProcessingStageFactory;
 import io.smallrye.reactive.streams.utils.Casts;
 
 /**
@@ -15,7 +17,7 @@ import io.smallrye.reactive.streams.utils.Casts;
  *
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
  */
-public class MapStageFactory implements ProcessingStageFactory<Stage.Map> {
+public class MapStageFactory implements FusableStageFactory<Stage.Map> {
 
     @Override
     public <I, O> ProcessingStage<I, O> create(Engine engine, Stage.Map stage) {
@@ -23,4 +25,12 @@ public class MapStageFactory implements ProcessingStageFactory<Stage.Map> {
         Objects.requireNonNull(mapper);
         return source -> source.map(mapper::apply);
     }
+
+    @Override
+    public Supplier<FusedStep> createStep(Engine engine, Stage.Map stage) {
+        Function<Object, Object> mapper = Casts.cast(stage.getMapper());
+        Objects.requireNonNull(mapper);
+        FusedStep step = item -> Objects.requireNonNull(mapper.apply(item), "The mapper function returned a null value.");
+        return () -> step;
+    }
 }
@@ -23,4 +23,9 @@ public class OnCompleteStageFactory implements ProcessingStageFactory<Stage.OnCo
         Objects.requireNonNull(runnable);
         return source -> (Flowable<O>) source.doOnComplete(runnable::run);
     }
+
+    @Override
+    public boolean isAsynchronousBoundary() {
+        return false;
+    }
 }
@@ -26,4 +26,9 @@ public class OnErrorResumeStageFactory implements ProcessingStageFactory<Stage.O
         Objects.requireNonNull(function);
         return source -> (Flowable<O>) RxJavaPlugins.onAssembly(new OnErrorReturn<>(source, function));
     }
+
+    @Override
+    public boolean isAsynchronousBoundary() {
+        return false;
+    }
 }
@@ -24,4 +24,9 @@ public class OnErrorStageFactory implements ProcessingStageFactory<Stage.OnError
         Objects.requireNonNull(consumer);
         return source -> (Flowable<O>) source.doOnError(consumer::accept);
     }
+
+    @Override
+    public boolean isAsynchronousBoundary() {
+        return false;
+    }
 }
@@ -30,4 +30,9 @@ public class OnTerminateStageFactory implements ProcessingStageFactory<Stage.OnT
                 .doOnComplete(runnable::run)
                 .doOnCancel(runnable::run);
     }
+
+    @Override
+    public boolean isAsynchronousBoundary() {
+        return false;
+    }
 }
@@ -2,20 +2,22 @@ package io.smallrye.reactive.streams.stages;
 
 import java.util.Objects;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
 
 import io.reactivex.Flowable;
 import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.operators.FusableStageFactory;
+import io.smallrye.reactive.streams.operators.FusedStep;
 import io.smallrye.reactive.streams.operators.ProcessingStage;
-import io.smallrye.reactive.streams.operators.ProcessingStageFactory;
 
 /**
  * Implementation of the {@link Stage.Peek} stage.
  *
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
  */
-public class PeekStageFactory implements ProcessingStageFactory<Stage.Peek> {
+public class PeekStageFactory implements FusableStageFactory<Stage.Peek> {
 
     @SuppressWarnings("unchecked")
     @Override
@@ -25,4 +27,17 @@ public class PeekStageFactory implements ProcessingStageFactory<Stage.Peek> {
         Objects.requireNonNull(consumer);
         return source -> (Flowable<O>) source.doOnNext(consumer::accept);
     }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Supplier<FusedStep> createStep(Engine engine, Stage.Peek stage) {
+        Consumer<Object> consumer = (Consumer<Object>) Objects.requireNonNull(stage)
+                .getConsumer();
+        Objects.requireNonNull(consumer);
+        FusedStep step = item -> {
+            consumer.accept(item);
+            return item;
+        };
+        return () -> step;
+    }
 }
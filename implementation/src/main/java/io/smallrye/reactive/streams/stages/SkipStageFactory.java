@@ -19,4 +19,9 @@ public class SkipStageFactory implements ProcessingStageFactory<Stage.Skip> {
         long skip = stage.getSkip();
         return source -> (Flowable<O>) source.skip(skip);
     }
+
+    @Override
+    public boolean isAsynchronousBoundary() {
+        return false;
+    }
 }
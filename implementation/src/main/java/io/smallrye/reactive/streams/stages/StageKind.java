@@ -0,0 +1,79 @@
+package io.smallrye.reactive.streams.stages;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+
+import io.smallrye.reactive.streams.optimizer.FlattenedConcat;
+
+/**
+ * The kind of a {@link Stage}, i.e. the stage interface it implements.
+ * <p>
+ * The kind of a stage type is computed once and then cached, which is cheaper than repeated {@code instanceof} checks
+ * against the stage interfaces when a graph is inspected on every materialization.
+ */
+public enum StageKind {
+
+    CANCEL(Stage.Cancel.class),
+    COLLECT(Stage.Collect.class),
+    CONCAT(Stage.Concat.class),
+    COUPLED(Stage.Coupled.class),
+    DISTINCT(Stage.Distinct.class),
+    DROP_WHILE(Stage.DropWhile.class),
+    FAILED(Stage.Failed.class),
+    FILTER(Stage.Filter.class),
+    FIND_FIRST(Stage.FindFirst.class),
+    FLAT_MAP(Stage.FlatMap.class),
+    FLAT_MAP_COMPLETION_STAGE(Stage.FlatMapCompletionStage.class),
+    FLAT_MAP_ITERABLE(Stage.FlatMapIterable.class),
+    FLATTENED_CONCAT(FlattenedConcat.class),
+    FROM_COMPLETION_STAGE(Stage.FromCompletionStage.class),
+    FROM_COMPLETION_STAGE_NULLABLE(Stage.FromCompletionStageNullable.class),
+    LIMIT(Stage.Limit.class),
+    MAP(Stage.Map.class),
+    OF(Stage.Of.class),
+    ON_COMPLETE(Stage.OnComplete.class),
+    ON_ERROR(Stage.OnError.class),
+    ON_ERROR_RESUME(Stage.OnErrorResume.class),
+    ON_ERROR_RESUME_WITH(Stage.OnErrorResumeWith.class),
+    ON_TERMINATE(Stage.OnTerminate.class),
+    PEEK(Stage.Peek.class),
+    PROCESSOR(Stage.ProcessorStage.class),
+    PUBLISHER(Stage.PublisherStage.class),
+    SKIP(Stage.Skip.class),
+    SUBSCRIBER(Stage.SubscriberStage.class),
+    TAKE_WHILE(Stage.TakeWhile.class),
+    /**
+     * A stage not implementing any of the known stage interfaces.
+     */
+    OTHER(Stage.class);
+
+    private static final StageKind[] VALUES = values();
+
+    private static final ClassValue<StageKind> KINDS = new ClassValue<StageKind>() {
+        @Override
+        protected StageKind computeValue(Class<?> type) {
+            for (StageKind kind : VALUES) {
+                if (kind.type.isAssignableFrom(type)) {
+                    return kind;
+                }
+            }
+            return OTHER;
+        }
+    };
+
+    private final Class<? extends Stage> type;
+
+    StageKind(Class<? extends Stage> type) {
+        this.type = type;
+    }
+
+    /**
+     * Gets the kind of the given stage.
+     *
+     * @param stage the stage, can be {@code null}
+     * @return the kind, {@link #OTHER} if the stage is {@code null} or does not implement a known stage interface
+     */
+    public static StageKind of(Stage stage) {
+        return stage == null ? OTHER : KINDS.get(stage.getClass());
+    }
+
+}
@@ -1,8 +1,12 @@
 package io.smallrye.reactive.streams.stages;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.Set;
 
 import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
 import org.eclipse.microprofile.reactive.streams.operators.spi.UnsupportedStageException;
@@ -11,55 +15,110 @@ import io.smallrye.reactive.streams.operators.Operator;
 import io.smallrye.reactive.streams.operators.ProcessorOperator;
 import io.smallrye.reactive.streams.operators.PublisherOperator;
 import io.smallrye.reactive.streams.operators.TerminalOperator;
+import io.smallrye.reactive.streams.optimizer.FlattenedConcat;
+import io.smallrye.reactive.streams.spi.OperatorProvider;
 
 /**
  * Allows looking for the {@link Operator} for a given {@link Stage}.
+ * <p>
+ * The operator handling a stage type is resolved once and then kept in a dispatch table, so subsequent lookups do not
+ * iterate over the operators. Operators contributed by {@link OperatorProvider} implementations take precedence over
+ * the built-in ones.
  */
 public class Stages {
 
     private static final List<Operator> ALL;
 
+    private static final Set<Operator> BUILT_IN = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private static final ClassValue<Operator> DISPATCH = new ClassValue<Operator>() {
+        @Override
+        protected Operator computeValue(Class<?> type) {
+            for (Operator operator : ALL) {
+                if (operator.test(type)) {
+                    return operator;
+                }
+            }
+            return null;
+        }
+    };
+
     static {
         ALL = new ArrayList<>();
 
-        ALL.add(new ProcessorOperator<>(Stage.Distinct.class, new DistinctStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.Filter.class, new FilterStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.FlatMap.class, new FlatMapStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.FlatMapCompletionStage.class, new FlatMapCompletionStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.FlatMapIterable.class, new FlatMapIterableStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.Map.class, new MapStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.Peek.class, new PeekStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.OnComplete.class, new OnCompleteStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.OnTerminate.class, new OnTerminateStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.OnError.class, new OnErrorStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.OnErrorResume.class, new OnErrorResumeStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.OnErrorResumeWith.class, new OnErrorResumeWithStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.ProcessorStage.class, new ProcessorStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.TakeWhile.class, new TakeWhileStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.DropWhile.class, new DropWhileStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.Limit.class, new LimitStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.Skip.class, new SkipStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.Coupled.class, new CoupledStageFactory()));
-
-        ALL.add(new PublisherOperator<>(Stage.Concat.class, new ConcatStageFactory()));
-        ALL.add(new PublisherOperator<>(Stage.Failed.class, new FailedPublisherStageFactory()));
-        ALL.add(new PublisherOperator<>(Stage.Of.class, new FromIterableStageFactory()));
-        ALL.add(new PublisherOperator<>(Stage.PublisherStage.class, new FromPublisherStageFactory()));
-        ALL.add(new PublisherOperator<>(Stage.FromCompletionStage.class, new FromCompletionStageFactory()));
-        ALL.add(new PublisherOperator<>(Stage.FromCompletionStageNullable.class,
+        for (OperatorProvider provider : ServiceLoader.load(OperatorProvider.class)) {
+            ALL.addAll(Objects.requireNonNull(provider.operators()));
+        }
+
+        List<Operator> builtIn = new ArrayList<>();
+        builtIn.add(new ProcessorOperator<>(Stage.Distinct.class, new DistinctStageFactory()));
+        builtIn.add(new ProcessorOperator<>(Stage.Filter.class, new FilterStageFactory()));
+        builtIn.add(new ProcessorOperator<>(Stage.FlatMap.class, new FlatMapStageFactory()));
+        builtIn.add(new ProcessorOperator<>(Stage.FlatMapCompletionStage.class, new FlatMapCompletionStageFactory()));
+        builtIn.add(new ProcessorOperator<>(Stage.FlatMapIterable.class, new FlatMapIterableStageFactory()));
+        builtIn.add(new ProcessorOperator<>(Stage.Map.class, new MapStageFactory()));
+        builtIn.add(new ProcessorOperator<>(Stage.Peek.class, new PeekStageFactory()));
+        builtIn.add(new ProcessorOperator<>(Stage.OnComplete.class, new OnCompleteStageFactory()));
+        builtIn.add(new ProcessorOperator<>(Stage.OnTerminate.class, new OnTerminateStageFactory()));
+        builtIn.add(new ProcessorOperator<>(Stage.OnError.class, new OnErrorStageFactory()));
+        builtIn.add(new ProcessorOperator<>(Stage.OnErrorResume.class, new OnErrorResumeStageFactory()));
+        builtIn.add(new ProcessorOperator<>(Stage.OnErrorResumeWith.class, new OnErrorResumeWithStageFactory()));
+        builtIn.add(new ProcessorOperator<>(Stage.ProcessorStage.class, new ProcessorStageFactory()));
+        builtIn.add(new ProcessorOperator<>(Stage.TakeWhile.class, new TakeWhileStageFactory()));
+        builtIn.add(new ProcessorOperator<>(Stage.DropWhile.class, new DropWhileStageFactory()));
+        builtIn.add(new ProcessorOperator<>(Stage.Limit.class, new LimitStageFactory()));
+        builtIn.add(new ProcessorOperator<>(Stage.Skip.class, new SkipStageFactory()));
+        builtIn.add(new ProcessorOperator<>(Stage.Coupled.class, new CoupledStageFactory()));
+
+        builtIn.add(new PublisherOperator<>(Stage.Concat.class, new ConcatStageFactory()));
+        builtIn.add(new PublisherOperator<>(FlattenedConcat.class, new FlattenedConcatStageFactory()));
+        builtIn.add(new PublisherOperator<>(Stage.Failed.class, new FailedPublisherStageFactory()));
+        builtIn.add(new PublisherOperator<>(Stage.Of.class, new FromIterableStageFactory()));
+        builtIn.add(new PublisherOperator<>(Stage.PublisherStage.class, new FromPublisherStageFactory()));
+        builtIn.add(new PublisherOperator<>(Stage.FromCompletionStage.class, new FromCompletionStageFactory()));
+        builtIn.add(new PublisherOperator<>(Stage.FromCompletionStageNullable.class,
                 new FromCompletionStageNullableFactory()));
 
-        ALL.add(new TerminalOperator<>(Stage.Cancel.class, new CancelStageFactory()));
-        ALL.add(new TerminalOperator<>(Stage.Collect.class, new CollectStageFactory()));
-        ALL.add(new TerminalOperator<>(Stage.FindFirst.class, new FindFirstStageFactory()));
-        ALL.add(new TerminalOperator<>(Stage.SubscriberStage.class, new SubscriberStageFactory()));
+        builtIn.add(new TerminalOperator<>(Stage.Cancel.class, new CancelStageFactory()));
+        builtIn.add(new TerminalOperator<>(Stage.Collect.class, new CollectStageFactory()));
+        builtIn.add(new TerminalOperator<>(Stage.FindFirst.class, new FindFirstStageFactory()));
+        builtIn.add(new TerminalOperator<>(Stage.SubscriberStage.class, new SubscriberStageFactory()));
+
+        ALL.addAll(builtIn);
+        BUILT_IN.addAll(builtIn);
     }
 
     @SuppressWarnings("unchecked")
     public static <T extends Stage> Operator<T> lookup(T stage) {
         Objects.requireNonNull(stage, "The stage must not be `null`");
-        return ALL.stream().filter(p -> p.test(stage)).findAny()
-                .orElseThrow(() -> new UnsupportedStageException(stage));
+        Operator operator = DISPATCH.get(stage.getClass());
+        if (operator == null) {
+            throw new UnsupportedStageException(stage);
+        }
+        return operator;
+    }
+
+    /**
+     * Checks whether the given operator is one of the built-in operators, and so implements the behavior of the
+     * stage type it handles as defined by this implementation.
+     *
+     * @param operator the operator
+     * @return {@code true} if the operator is a built-in operator
+     */
+    public static boolean isBuiltIn(Operator<?> operator) {
+        return BUILT_IN.contains(operator);
+    }
+
+    /**
+     * Checks whether the given stage is handled by one of the built-in operators, and not by an operator contributed
+     * by an {@link OperatorProvider}.
+     *
+     * @param stage the stage, can be {@code null}
+     * @return {@code true} if the stage is handled by a built-in operator, {@code false} if it is handled by a
+     *         contributed operator, or not supported
+     */
+    public static boolean isBuiltIn(Stage stage) {
+        return stage != null && BUILT_IN.contains(DISPATCH.get(stage.getClass()));
     }
 
     private Stages() {
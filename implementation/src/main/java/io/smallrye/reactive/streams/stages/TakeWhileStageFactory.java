@@ -2,20 +2,22 @@ package io.smallrye.reactive.streams.stages;
 
 import java.util.Objects;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
 
 import io.reactivex.Flowable;
 import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.operators.FusableStageFactory;
+import io.smallrye.reactive.streams.operators.FusedStep;
 import io.smallrye.reactive.streams.operators.ProcessingStage;
-import io.smallrye.reactive.streams.operators.ProcessingStageFactory;
 
 /**
  * Implementation of the {@link Stage.TakeWhile} stage.
  *
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
  */
-public class TakeWhileStageFactory implements ProcessingStageFactory<Stage.TakeWhile> {
+public class TakeWhileStageFactory implements FusableStageFactory<Stage.TakeWhile> {
 
     @SuppressWarnings("unchecked")
     @Override
@@ -23,4 +25,12 @@ public class TakeWhileStageFactory implements ProcessingStageFactory<Stage.TakeW
         Predicate<I> predicate = (Predicate<I>) Objects.requireNonNull(stage.getPredicate());
         return source -> (Flowable<O>) source.takeWhile(predicate::test);
     }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Supplier<FusedStep> createStep(Engine engine, Stage.TakeWhile stage) {
+        Predicate<Object> predicate = (Predicate<Object>) Objects.requireNonNull(stage.getPredicate());
+        FusedStep step = item -> predicate.test(item) ? item : FusedStep.COMPLETE;
+        return () -> step;
+    }
 }
@@ -0,0 +1,43 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * Moves the position and the limit of byte buffers.
+ * <p>
+ * The calls go through {@link Buffer}: since Java 9, {@link ByteBuffer} overrides {@code position(int)} and
+ * {@code limit(int)} with covariant return types, so calling them on a {@code ByteBuffer} compiled with a more recent
+ * JDK fails with a {@link NoSuchMethodError} on Java 8.
+ */
+final class Buffers {
+
+    private Buffers() {
+        // Avoid direct instantiation.
+    }
+
+    /**
+     * Restricts the buffer to the bytes between {@code position} and {@code limit}. Unlike {@link ByteBuffer#slice()},
+     * the buffer itself is moved, so its capacity, and the bytes outside of the range, are still reachable.
+     *
+     * @param buffer the buffer
+     * @param position the new position
+     * @param limit the new limit, at least the position, and at most the capacity
+     * @return the buffer
+     */
+    static ByteBuffer restrict(ByteBuffer buffer, int position, int limit) {
+        // The limit first, as the position must not exceed it.
+        ((Buffer) buffer).limit(limit).position(position);
+        return buffer;
+    }
+
+    /**
+     * @param buffer the buffer
+     * @param position the new position, at most the limit
+     * @return the buffer
+     */
+    static ByteBuffer position(ByteBuffer buffer, int position) {
+        ((Buffer) buffer).position(position);
+        return buffer;
+    }
+}
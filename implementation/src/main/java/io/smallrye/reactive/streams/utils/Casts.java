@@ -42,4 +42,8 @@ public class Casts {
         return (CompletionStage<O>) cs;
     }
 
+    public static <O> Iterable<O> cast(Iterable<?> iterable) {
+        return (Iterable<O>) iterable;
+    }
+
 }
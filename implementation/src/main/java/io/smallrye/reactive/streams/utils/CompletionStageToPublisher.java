@@ -4,7 +4,7 @@ import java.util.Objects;
 import java.util.concurrent.CompletionStage;
 
 import io.reactivex.Flowable;
-import io.reactivex.processors.AsyncProcessor;
+import io.reactivex.plugins.RxJavaPlugins;
 
 public class CompletionStageToPublisher {
 
@@ -12,25 +12,18 @@ public class CompletionStageToPublisher {
         // Avoid direct instantiation.
     }
 
+    /**
+     * Creates a publisher emitting the outcome of the given completion stage, see
+     * {@link FlowableFromCompletionStage}.
+     *
+     * @param future the completion stage, must not be {@code null}
+     * @param acceptNullValue {@code true} if a {@code null} value completes the stream without emitting a value,
+     *        {@code false} if it fails the stream with a {@link NullPointerException}
+     * @return the publisher
+     */
     public static <T> Flowable<T> fromCompletionStage(CompletionStage<T> future, boolean acceptNullValue) {
-        AsyncProcessor<T> processor = AsyncProcessor.create();
-
-        Objects.requireNonNull(future).whenComplete((T v, Throwable e) -> {
-            if (e != null) {
-                processor.onError(e);
-            } else if (v != null) {
-                processor.onNext(v);
-                processor.onComplete();
-            } else {
-                if (acceptNullValue) {
-                    processor.onComplete();
-                } else {
-                    processor.onError(new NullPointerException("Redeemed value is `null`"));
-                }
-            }
-        });
-
-        return processor;
+        return RxJavaPlugins.onAssembly(new FlowableFromCompletionStage<>(Objects.requireNonNull(future),
+                acceptNullValue));
     }
 
 }
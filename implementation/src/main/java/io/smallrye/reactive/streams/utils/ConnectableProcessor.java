@@ -1,7 +1,7 @@
 package io.smallrye.reactive.streams.utils;
 
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.reactivestreams.Processor;
 import org.reactivestreams.Subscriber;
@@ -9,113 +9,141 @@ import org.reactivestreams.Subscription;
 
 /**
  * A processor forwarding to a subscriber. This is used to connect a "next to be" producer.
+ * <p>
+ * The subscriber, the subscription and the terminal signal are held by a single immutable {@link State}, replaced
+ * atomically on each transition, so the subscriber and the upstream can race without locking. The subscriber is
+ * connected to the subscription by the thread completing the pair, in the {@link Kind#SUBSCRIBING} state; a terminal
+ * signal received meanwhile is recorded and delivered by that thread once {@code onSubscribe} has returned. Once the
+ * {@link Kind#PROCESSING} state is reached, {@link #onNext(Object)} reads the subscriber from a plain field.
  */
 public class ConnectableProcessor<T> implements Processor<T, T> {
 
-    /**
-     * Reference of the subscriber if any.
-     * If set the state is HAS_SUBSCRIBER+
-     */
-    private final AtomicReference<Subscriber<? super T>> subscriber = new AtomicReference<>();
-    /**
-     * Reference on the subscription if any.
-     * If set the state is HAS_SUBSCRIPTION+
-     */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ConnectableProcessor, State> STATE = AtomicReferenceFieldUpdater
+            .newUpdater(ConnectableProcessor.class, State.class, "state");
+
+    private volatile State state = State.IDLE;
 
-    private final AtomicReference<Subscription> subscription = new AtomicReference<>();
-    /**
-     * Reported failure if any.
-     * If set the state if FAILED
-     */
-    private final AtomicReference<Throwable> failure = new AtomicReference<>();
     /**
-     * Current state.
+     * The connected subscriber, set before its {@code onSubscribe} method is called. The upstream only emits items
+     * once requested by this subscriber, so reading it from {@code onNext} does not need a volatile access.
      */
-    private final AtomicReference<State> state = new AtomicReference<>(State.IDLE);
+    private Subscriber<? super T> downstream;
 
     @Override
     public void subscribe(Subscriber<? super T> subscriber) {
         Objects.requireNonNull(subscriber);
-
-        // Set the subscriber, if we already have one report an error as we do not support multicasting.
-        if (!this.subscriber.compareAndSet(null, subscriber)) {
-            subscriber.onSubscribe(new EmptySubscription());
-            subscriber.onError(new IllegalStateException("Multicasting not supported"));
-            return;
+        for (;;) {
+            State current = state;
+            if (current.subscriber != null) {
+                // We already have a subscriber, report an error as we do not support multicasting.
+                subscriber.onSubscribe(new EmptySubscription());
+                subscriber.onError(new IllegalStateException("Multicasting not supported"));
+                return;
+            }
+            switch (current.kind) {
+                case IDLE:
+                    // Wait for the subscription.
+                    if (STATE.compareAndSet(this, current, current.with(Kind.HAS_SUBSCRIBER, subscriber))) {
+                        return;
+                    }
+                    break;
+                case HAS_SUBSCRIPTION:
+                    // We already have a subscription, use it.
+                    State subscribing = current.with(Kind.SUBSCRIBING, subscriber);
+                    if (STATE.compareAndSet(this, current, subscribing)) {
+                        connect(subscribing);
+                        return;
+                    }
+                    break;
+                case FAILED:
+                case COMPLETE:
+                    // The upstream terminated before we got a subscriber, report the terminal signal immediately.
+                    if (STATE.compareAndSet(this, current, current.with(current.kind, subscriber))) {
+                        subscriber.onSubscribe(new EmptySubscription());
+                        terminate(subscriber, current);
+                        return;
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Illegal transition - subscribe happened in the "
+                            + current.kind.name() + " state");
+            }
         }
+    }
 
-        // Attempt to fix https://github.com/smallrye/smallrye-reactive-streams-operators/issues/63
-        // We need to be sure that the transition is only executed by a single thread.
-        // So the other threads are blocked and wait until the final state is computed.
-        synchronized (this) {
-            // Set the state, if failed, report the error
-            if (!state.compareAndSet(State.IDLE, State.HAS_SUBSCRIBER)) {
-                // We were not in the idle state, the behavior depends on our current state
-                // For failure and completed, we just creates an empty subscription and immediately
-                // report the error or completion
-                if (state.get() == State.FAILED) {
-                    manageSubscribeInFailedState(subscriber);
-                } else if (state.get() == State.COMPLETE) {
-                    manageSubscribeInCompleteState(subscriber);
-                } else if (state.get() == State.HAS_SUBSCRIPTION) {
-                    manageSubscribeInTheHasSubscriptionState(subscriber);
-                } else {
-                    throw new IllegalStateException("Illegal transition - subscribe happened in the "
-                            + state.get().name() + " state");
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        for (;;) {
+            State current = state;
+            if (current.subscription != null) {
+                // We already have a subscription, cancel the received one.
+                subscription.cancel();
+                return;
+            }
+            if (current.kind == Kind.IDLE) {
+                if (STATE.compareAndSet(this, current, new State(Kind.HAS_SUBSCRIPTION, null, subscription, null))) {
+                    return;
+                }
+            } else {
+                // HAS_SUBSCRIBER, connect the subscriber.
+                State subscribing = new State(Kind.SUBSCRIBING, current.subscriber, subscription, null);
+                if (STATE.compareAndSet(this, current, subscribing)) {
+                    connect(subscribing);
+                    return;
                 }
             }
         }
     }
 
-    private void manageSubscribeInTheHasSubscriptionState(Subscriber<? super T> subscriber) {
-        // We already have a subscription, use it.
-        // However, we could complete of failed in the meantime.
-        subscriber.onSubscribe(
-                new WrappedSubscription(subscription.get(),
-                        () -> this.subscriber.set(new CancellationSubscriber<>())));
-        if (!state.compareAndSet(State.HAS_SUBSCRIPTION, State.PROCESSING)) {
-            if (state.get() == State.FAILED) {
-                subscriber.onError(failure.get());
-            } else if (state.get() == State.COMPLETE) {
-                subscriber.onComplete();
+    /**
+     * Passes the subscription to the subscriber, and moves to the {@link Kind#PROCESSING} state. If the upstream
+     * terminated meanwhile, the terminal signal is delivered to the subscriber.
+     */
+    private void connect(State subscribing) {
+        Subscriber<? super T> subscriber = cast(subscribing.subscriber);
+        downstream = subscriber;
+        subscriber.onSubscribe(new WrappedSubscription(subscribing.subscription, this::cancelled));
+        for (;;) {
+            State current = state;
+            if (current.kind == Kind.SUBSCRIBING) {
+                // The subscriber may have been replaced by a cancellation.
+                if (STATE.compareAndSet(this, current, current.with(Kind.PROCESSING, current.subscriber))) {
+                    return;
+                }
+            } else if (current.kind == Kind.COMPLETE || current.kind == Kind.FAILED) {
+                terminate(downstream, current);
+                return;
             } else {
                 throw new IllegalStateException("Illegal transition - subscribe called in the "
-                        + state.get().name() + " state");
+                        + current.kind.name() + " state");
             }
         }
     }
 
-    private void manageSubscribeInCompleteState(Subscriber<? super T> subscriber) {
-        subscriber.onSubscribe(new EmptySubscription());
-        subscriber.onComplete();
-    }
-
-    private void manageSubscribeInFailedState(Subscriber<? super T> subscriber) {
-        subscriber.onSubscribe(new EmptySubscription());
-        subscriber.onError(failure.get());
-    }
-
-    @Override
-    public void onSubscribe(Subscription subscription) {
-        Objects.requireNonNull(subscription);
-        // We already have a subscription, cancel the received one.
-        if (!this.subscription.compareAndSet(null, subscription)) {
-            subscription.cancel();
-            return;
-        }
-
-        // Handle the transition: IDLE -> HAS_SUBSCRIPTION.
-        if (!state.compareAndSet(State.IDLE, State.HAS_SUBSCRIPTION)) {
-            state.set(State.PROCESSING);
-            subscriber.get().onSubscribe(new WrappedSubscription(subscription,
-                    () -> subscriber.set(new CancellationSubscriber<>())));
+    /**
+     * Called when the subscriber cancels the subscription: the reference to the subscriber is dropped, and the next
+     * signals are ignored.
+     */
+    private void cancelled() {
+        Subscriber<T> cancelled = new CancellationSubscriber<>();
+        downstream = cancelled;
+        for (;;) {
+            State current = state;
+            if (STATE.compareAndSet(this, current, current.with(current.kind, cancelled))) {
+                return;
+            }
         }
     }
 
     @Override
     public void onNext(T item) {
         Objects.requireNonNull(item);
-        Subscriber<? super T> actualSubscriber = this.subscriber.get();
+        Subscriber<? super T> actualSubscriber = downstream;
+        if (actualSubscriber == null) {
+            actualSubscriber = cast(state.subscriber);
+        }
         if (actualSubscriber == null) {
             throw new IllegalStateException("No subscriber - cannot handle onNext");
         } else {
@@ -125,37 +153,87 @@ public class ConnectableProcessor<T> implements Processor<T, T> {
 
     @Override
     public void onComplete() {
-        if (state.get() == State.PROCESSING) {
-            subscriber.get().onComplete();
-            state.set(State.COMPLETE);
-        } else if (state.get() == State.FAILED || state.get() == State.COMPLETE || state.get() == State.IDLE) {
-            throw new IllegalStateException("Invalid transition, cannot handle onComplete in " + state.get().name());
-        } else {
-            state.set(State.COMPLETE);
-        }
+        terminate(Kind.COMPLETE, null);
     }
 
     @Override
     public void onError(Throwable throwable) {
         Objects.requireNonNull(throwable);
-        this.failure.set(throwable);
-        if (state.get() == State.PROCESSING) {
-            subscriber.get().onError(throwable);
-            state.set(State.FAILED);
-        } else if (state.get() == State.FAILED || state.get() == State.COMPLETE || state.get() == State.IDLE) {
-            throw new IllegalStateException("Invalid transition, cannot handle onError in " + state.get().name());
+        terminate(Kind.FAILED, throwable);
+    }
+
+    private void terminate(Kind kind, Throwable failure) {
+        for (;;) {
+            State current = state;
+            switch (current.kind) {
+                case PROCESSING:
+                    State terminated = new State(kind, current.subscriber, current.subscription, failure);
+                    if (STATE.compareAndSet(this, current, terminated)) {
+                        terminate(downstream, terminated);
+                        return;
+                    }
+                    break;
+                case HAS_SUBSCRIBER:
+                case HAS_SUBSCRIPTION:
+                case SUBSCRIBING:
+                    // Recorded, delivered when the subscriber gets connected.
+                    if (STATE.compareAndSet(this, current,
+                            new State(kind, current.subscriber, current.subscription, failure))) {
+                        return;
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Invalid transition, cannot handle "
+                            + (kind == Kind.COMPLETE ? "onComplete" : "onError") + " in " + current.kind.name());
+            }
+        }
+    }
+
+    private static void terminate(Subscriber<?> subscriber, State state) {
+        if (state.kind == Kind.FAILED) {
+            subscriber.onError(state.failure);
         } else {
-            state.set(State.FAILED);
+            subscriber.onComplete();
         }
     }
 
-    private enum State {
+    @SuppressWarnings("unchecked")
+    private static <T> Subscriber<? super T> cast(Subscriber<?> subscriber) {
+        return (Subscriber<? super T>) subscriber;
+    }
+
+    private enum Kind {
         IDLE, // Start state
         HAS_SUBSCRIBER, // When we get a subscriber
         HAS_SUBSCRIPTION, // When we get a subscription
+        SUBSCRIBING, // The subscriber is receiving the subscription
         PROCESSING, // Processing started
         FAILED, // Caught an error, final state
         COMPLETE // Completed, final state
     }
 
+    /**
+     * An immutable snapshot of the processor state.
+     */
+    private static final class State {
+
+        static final State IDLE = new State(Kind.IDLE, null, null, null);
+
+        final Kind kind;
+        final Subscriber<?> subscriber;
+        final Subscription subscription;
+        final Throwable failure;
+
+        State(Kind kind, Subscriber<?> subscriber, Subscription subscription, Throwable failure) {
+            this.kind = kind;
+            this.subscriber = subscriber;
+            this.subscription = subscription;
+            this.failure = failure;
+        }
+
+        State with(Kind kind, Subscriber<?> subscriber) {
+            return new State(kind, subscriber, subscription, failure);
+        }
+    }
+
 }
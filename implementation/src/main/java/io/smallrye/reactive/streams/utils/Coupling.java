@@ -0,0 +1,87 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import org.reactivestreams.Subscriber;
+
+/**
+ * The termination state shared by the two {@link SubscriptionObserver}s coupled by a {@link CouplingProcessor}.
+ * <p>
+ * The first side to terminate (completion, failure or cancellation) records its terminal signal with a single
+ * compare-and-set, and the signal is then propagated to both sides. A side registered or subscribed after the
+ * termination finds the signal when its subscription arrives.
+ */
+final class Coupling {
+
+    /**
+     * The terminal signal of a completion.
+     */
+    private static final Object COMPLETED = new Object();
+
+    private static final AtomicReferenceFieldUpdater<Coupling, Object> TERMINAL = AtomicReferenceFieldUpdater
+            .newUpdater(Coupling.class, Object.class, "terminal");
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Coupling, SubscriptionObserver> FIRST = AtomicReferenceFieldUpdater
+            .newUpdater(Coupling.class, SubscriptionObserver.class, "first");
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Coupling, SubscriptionObserver> SECOND = AtomicReferenceFieldUpdater
+            .newUpdater(Coupling.class, SubscriptionObserver.class, "second");
+
+    /**
+     * {@code null} while both sides are running, {@link #COMPLETED} or the failure once terminated.
+     */
+    private volatile Object terminal;
+
+    private volatile SubscriptionObserver<?> first;
+    private volatile SubscriptionObserver<?> second;
+
+    /**
+     * Registers one of the coupled sides.
+     *
+     * @param side the side
+     * @return {@code false} if both sides are already registered
+     */
+    boolean register(SubscriptionObserver<?> side) {
+        return FIRST.compareAndSet(this, null, side) || SECOND.compareAndSet(this, null, side);
+    }
+
+    boolean isTerminated() {
+        return terminal != null;
+    }
+
+    void complete() {
+        terminate(COMPLETED);
+    }
+
+    void fail(Throwable failure) {
+        terminate(failure);
+    }
+
+    private void terminate(Object signal) {
+        if (TERMINAL.compareAndSet(this, null, signal)) {
+            // The sides read the terminal signal, so it must be set before notifying them.
+            notify(first);
+            notify(second);
+        }
+    }
+
+    private static void notify(SubscriptionObserver<?> side) {
+        if (side != null) {
+            side.terminated();
+        }
+    }
+
+    /**
+     * Passes the terminal signal to the given subscriber. Must only be called once terminated.
+     */
+    void signal(Subscriber<?> subscriber) {
+        Object signal = terminal;
+        if (signal == COMPLETED) {
+            subscriber.onComplete();
+        } else {
+            subscriber.onError((Throwable) signal);
+        }
+    }
+}
@@ -5,20 +5,25 @@ import org.reactivestreams.Subscriber;
 
 public class CouplingProcessor<I, O> implements Publisher<O> {
 
-    private final SubscriptionObserver<I> controller;
+    private final Coupling coupling = new Coupling();
     private final Publisher<O> publisher;
 
     public CouplingProcessor(Publisher<I> source, Subscriber<I> subscriber, Publisher<O> publisher) {
-        controller = new SubscriptionObserver<>(source, subscriber);
+        SubscriptionObserver<I> controller = new SubscriptionObserver<>(source, subscriber, coupling);
         this.publisher = publisher;
+        coupling.register(controller);
         controller.run();
     }
 
     @Override
-    public synchronized void subscribe(Subscriber<? super O> subscriber) {
-        SubscriptionObserver<O> observer = new SubscriptionObserver<>(this.publisher, subscriber);
-        controller.setObserver(observer);
-        observer.setObserver(controller);
+    public void subscribe(Subscriber<? super O> subscriber) {
+        SubscriptionObserver<O> observer = new SubscriptionObserver<>(this.publisher, subscriber, coupling);
+        if (!coupling.register(observer)) {
+            // The publisher side is already coupled, we do not support multicasting.
+            subscriber.onSubscribe(new EmptySubscription());
+            subscriber.onError(new IllegalStateException("Multicasting not supported"));
+            return;
+        }
         observer.run();
     }
 
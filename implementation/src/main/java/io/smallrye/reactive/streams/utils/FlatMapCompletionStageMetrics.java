@@ -0,0 +1,94 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of the {@code flatMapCompletionStage} stages materialized by an engine, used to size their maximum number of
+ * in-flight completion stages.
+ * <p>
+ * A completion stage is <em>in flight</em> from the moment it is returned by the mapper until it completes. Once
+ * completed, its result waits in the <em>reorder buffer</em> until all the results of the previous items have been
+ * emitted and the downstream requested it. The current values are gauges summed over all the running stages, while the
+ * peaks are the highest values observed in a single stage.
+ */
+public class FlatMapCompletionStageMetrics {
+
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder buffered = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final AtomicLong peakInFlight = new AtomicLong();
+    private final AtomicLong peakBuffered = new AtomicLong();
+
+    /**
+     * @return the number of completion stages currently in flight
+     */
+    public long inFlight() {
+        return inFlight.sum();
+    }
+
+    /**
+     * @return the highest number of completion stages in flight in a single stage
+     */
+    public long peakInFlight() {
+        return peakInFlight.get();
+    }
+
+    /**
+     * @return the number of results currently waiting in the reorder buffers
+     */
+    public long reorderBufferOccupancy() {
+        return buffered.sum();
+    }
+
+    /**
+     * @return the highest number of results waiting in the reorder buffer of a single stage
+     */
+    public long peakReorderBufferOccupancy() {
+        return peakBuffered.get();
+    }
+
+    /**
+     * @return the number of completed completion stages
+     */
+    public long completed() {
+        return completed.sum();
+    }
+
+    /**
+     * Resets the peaks and the number of completed completion stages. The gauges are not modified.
+     */
+    public void reset() {
+        peakInFlight.set(0);
+        peakBuffered.set(0);
+        completed.reset();
+    }
+
+    void onStarted() {
+        inFlight.increment();
+    }
+
+    void onCompleted() {
+        inFlight.decrement();
+        buffered.increment();
+        completed.increment();
+    }
+
+    void onAbandoned() {
+        inFlight.decrement();
+    }
+
+    void onDrained() {
+        buffered.decrement();
+    }
+
+    void onPeaks(long inFlight, long buffered) {
+        if (inFlight > peakInFlight.get()) {
+            peakInFlight.accumulateAndGet(inFlight, Math::max);
+        }
+        if (buffered > peakBuffered.get()) {
+            peakBuffered.accumulateAndGet(buffered, Math::max);
+        }
+    }
+
+}
@@ -0,0 +1,261 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.exceptions.Exceptions;
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.internal.util.BackpressureHelper;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * The subscriber of {@link FlowableFlatMapCompletionStage}. The inherited counter tracks the work in progress of the
+ * drain loop, which is the only place emitting to the downstream.
+ */
+final class FlatMapCompletionStageSubscriber<T, R> extends AtomicInteger implements FlowableSubscriber<T>, Subscription {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Subscriber<? super R> downstream;
+
+    private final Function<? super T, ? extends CompletionStage<? extends R>> mapper;
+
+    private final FlatMapCompletionStageMetrics metrics;
+
+    private final int capacity;
+
+    /**
+     * The reorder ring buffer. The slot of the item at position {@code n} in the upstream is {@code n % capacity}.
+     */
+    private final AtomicReferenceArray<Slot> ring;
+
+    private final AtomicLong requested = new AtomicLong();
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger buffered = new AtomicInteger();
+
+    private Subscription upstream;
+
+    /**
+     * Position of the next item of the upstream, only accessed from {@link #onNext(Object)}.
+     */
+    private long producerIndex;
+
+    /**
+     * Position of the next result to emit, only accessed from the drain loop.
+     */
+    private long consumerIndex;
+
+    private volatile boolean done;
+
+    private volatile boolean cancelled;
+
+    FlatMapCompletionStageSubscriber(Subscriber<? super R> downstream,
+            Function<? super T, ? extends CompletionStage<? extends R>> mapper, int capacity,
+            FlatMapCompletionStageMetrics metrics) {
+        this.downstream = downstream;
+        this.mapper = mapper;
+        this.capacity = capacity;
+        this.metrics = metrics;
+        this.ring = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        if (SubscriptionHelper.validate(this.upstream, s)) {
+            this.upstream = s;
+            downstream.onSubscribe(this);
+            s.request(capacity);
+        }
+    }
+
+    @Override
+    public void onNext(T t) {
+        if (done || cancelled) {
+            return;
+        }
+        if (t == null) {
+            // Throw an NPE to be compliant with the reactive stream spec.
+            throw new NullPointerException();
+        }
+        CompletionStage<? extends R> stage;
+        try {
+            stage = mapper.apply(t);
+            if (stage == null) {
+                throw new NullPointerException("The mapper returned a `null` completion stage");
+            }
+        } catch (Throwable ex) {
+            Exceptions.throwIfFatal(ex);
+            upstream.cancel();
+            onError(ex);
+            return;
+        }
+        int index = (int) (producerIndex++ % capacity);
+        if (ring.get(index) != null) {
+            upstream.cancel();
+            onError(new MissingBackpressureException("The reorder buffer is full, the upstream ignored the requests"));
+            return;
+        }
+        Slot slot = new Slot();
+        ring.set(index, slot);
+        metrics.onStarted();
+        metrics.onPeaks(inFlight.incrementAndGet(), buffered.get());
+        stage.whenComplete(slot);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (done || !failure.compareAndSet(null, t)) {
+            RxJavaPlugins.onError(t);
+            return;
+        }
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (!done) {
+            done = true;
+            drain();
+        }
+    }
+
+    @Override
+    public void request(long n) {
+        if (SubscriptionHelper.validate(n)) {
+            BackpressureHelper.add(requested, n);
+            drain();
+        }
+    }
+
+    @Override
+    public void cancel() {
+        if (!cancelled) {
+            cancelled = true;
+            upstream.cancel();
+            drain();
+        }
+    }
+
+    private void drain() {
+        if (getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            long r = requested.get();
+            long e = 0L;
+            for (;;) {
+                if (cancelled) {
+                    clear();
+                    return;
+                }
+                Throwable ex = failure.get();
+                if (ex != null) {
+                    clear();
+                    downstream.onError(ex);
+                    return;
+                }
+                boolean d = done;
+                int index = (int) (consumerIndex % capacity);
+                Slot slot = ring.get(index);
+                if (slot == null) {
+                    if (d) {
+                        downstream.onComplete();
+                        return;
+                    }
+                    break;
+                }
+                if (slot.get() != Slot.COMPLETED) {
+                    break;
+                }
+                if (slot.error != null || slot.value == null) {
+                    upstream.cancel();
+                    failure.compareAndSet(null, slot.error != null ? slot.error
+                            : new NullPointerException("Redeemed value is `null`"));
+                    continue;
+                }
+                if (e == r) {
+                    break;
+                }
+                ring.set(index, null);
+                consumerIndex++;
+                if (slot.compareAndSet(Slot.COMPLETED, Slot.RELEASED)) {
+                    buffered.decrementAndGet();
+                    metrics.onDrained();
+                }
+                downstream.onNext(slot.value);
+                e++;
+            }
+            if (e != 0L) {
+                BackpressureHelper.produced(requested, e);
+                upstream.request(e);
+            }
+            missed = addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Releases the slots of the ring buffer, the pending completion stages are abandoned.
+     */
+    private void clear() {
+        for (int i = 0; i < capacity; i++) {
+            Slot slot = ring.getAndSet(i, null);
+            if (slot == null) {
+                continue;
+            }
+            if (slot.compareAndSet(Slot.PENDING, Slot.RELEASED)) {
+                inFlight.decrementAndGet();
+                metrics.onAbandoned();
+            } else if (slot.compareAndSet(Slot.COMPLETED, Slot.RELEASED)) {
+                buffered.decrementAndGet();
+                metrics.onDrained();
+            }
+        }
+    }
+
+    /**
+     * A slot of the reorder buffer, receiving the outcome of a completion stage. The inherited value is the state of
+     * the slot.
+     */
+    private final class Slot extends AtomicInteger implements BiConsumer<R, Throwable> {
+
+        private static final long serialVersionUID = 1L;
+
+        static final int PENDING = 0;
+        static final int COMPLETED = 1;
+        static final int RELEASED = 2;
+
+        private R value;
+        private Throwable error;
+
+        @Override
+        public void accept(R value, Throwable error) {
+            this.value = value;
+            this.error = error;
+            // Publishes the outcome to the drain loop.
+            if (compareAndSet(PENDING, COMPLETED)) {
+                metrics.onCompleted();
+                metrics.onPeaks(inFlight.decrementAndGet(), buffered.incrementAndGet());
+                drain();
+            }
+        }
+    }
+}
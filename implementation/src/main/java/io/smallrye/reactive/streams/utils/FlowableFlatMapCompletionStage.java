@@ -0,0 +1,49 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import io.reactivex.Flowable;
+
+/**
+ * Maps each item of the upstream to a {@link CompletionStage}, and emits the results in the upstream order.
+ * <p>
+ * Up to {@code maxInFlight} completion stages can be in flight at the same time. The results completing out of order
+ * are kept in a bounded reorder ring buffer, of {@code maxInFlight} slots, until all the previous results have been
+ * emitted. A slot is only released, and a new item requested from the upstream, once its result has been emitted, so
+ * the buffer never grows beyond {@code maxInFlight}.
+ *
+ * @param <T> the upstream value type
+ * @param <R> the result type
+ */
+public final class FlowableFlatMapCompletionStage<T, R> extends Flowable<R> {
+
+    private final Publisher<T> source;
+
+    private final Function<? super T, ? extends CompletionStage<? extends R>> mapper;
+
+    private final int maxInFlight;
+
+    private final FlatMapCompletionStageMetrics metrics;
+
+    public FlowableFlatMapCompletionStage(Publisher<T> source,
+            Function<? super T, ? extends CompletionStage<? extends R>> mapper, int maxInFlight,
+            FlatMapCompletionStageMetrics metrics) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("The maximum number of in-flight completion stages must be strictly "
+                    + "positive");
+        }
+        this.source = source;
+        this.mapper = mapper;
+        this.maxInFlight = maxInFlight;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super R> s) {
+        source.subscribe(new FlatMapCompletionStageSubscriber<>(s, mapper, maxInFlight, metrics));
+    }
+}
@@ -0,0 +1,96 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+
+import org.reactivestreams.Subscriber;
+
+import io.reactivex.Flowable;
+import io.reactivex.internal.subscriptions.DeferredScalarSubscription;
+import io.reactivex.internal.subscriptions.ScalarSubscription;
+
+/**
+ * A publisher emitting the outcome of a {@link CompletionStage}: its value followed by the completion signal, or its
+ * failure.
+ * <p>
+ * If the completion stage is a {@link CompletableFuture} already completed with a value, the value is emitted
+ * synchronously, on request, without registering a callback. Otherwise, a single object is both the subscription and
+ * the callback registered on the completion stage.
+ *
+ * @param <T> the value type
+ */
+public final class FlowableFromCompletionStage<T> extends Flowable<T> {
+
+    private final CompletionStage<T> stage;
+
+    private final boolean acceptNullValue;
+
+    /**
+     * @param stage the completion stage, must not be {@code null}
+     * @param acceptNullValue {@code true} if a {@code null} value completes the stream without emitting a value,
+     *        {@code false} if it fails the stream with a {@link NullPointerException}
+     */
+    public FlowableFromCompletionStage(CompletionStage<T> stage, boolean acceptNullValue) {
+        this.stage = stage;
+        this.acceptNullValue = acceptNullValue;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super T> s) {
+        if (stage instanceof CompletableFuture) {
+            CompletableFuture<T> future = (CompletableFuture<T>) stage;
+            // Failed futures go through whenComplete, as the stages built from them propagate the failure this way.
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                T value = future.getNow(null);
+                if (value != null) {
+                    s.onSubscribe(new ScalarSubscription<>(s, value));
+                } else {
+                    s.onSubscribe(new EmptySubscription());
+                    if (acceptNullValue) {
+                        s.onComplete();
+                    } else {
+                        s.onError(redeemedNull());
+                    }
+                }
+                return;
+            }
+        }
+        CompletionStageSubscription<T> subscription = new CompletionStageSubscription<>(s, acceptNullValue);
+        s.onSubscribe(subscription);
+        stage.whenComplete(subscription);
+    }
+
+    private static NullPointerException redeemedNull() {
+        return new NullPointerException("Redeemed value is `null`");
+    }
+
+    private static final class CompletionStageSubscription<T> extends DeferredScalarSubscription<T>
+            implements BiConsumer<T, Throwable> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final boolean acceptNullValue;
+
+        CompletionStageSubscription(Subscriber<? super T> downstream, boolean acceptNullValue) {
+            super(downstream);
+            this.acceptNullValue = acceptNullValue;
+        }
+
+        @Override
+        public void accept(T value, Throwable failure) {
+            if (isCancelled()) {
+                return;
+            }
+            if (failure != null) {
+                downstream.onError(failure);
+            } else if (value != null) {
+                complete(value);
+            } else if (acceptNullValue) {
+                downstream.onComplete();
+            } else {
+                downstream.onError(redeemedNull());
+            }
+        }
+    }
+}
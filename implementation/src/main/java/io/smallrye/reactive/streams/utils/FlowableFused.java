@@ -0,0 +1,37 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.streams.operators.FusedStep;
+
+/**
+ * Executes a run of fused stages: each item of the upstream goes through the {@link FusedStep steps} in sequence
+ * within a single subscriber.
+ *
+ * @param <T> the upstream value type
+ * @param <R> the result type
+ */
+public final class FlowableFused<T, R> extends Flowable<R> {
+
+    private final Publisher<T> source;
+
+    private final Supplier<FusedStep>[] steps;
+
+    public FlowableFused(Publisher<T> source, Supplier<FusedStep>[] steps) {
+        this.source = source;
+        this.steps = steps;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super R> s) {
+        FusedStep[] instances = new FusedStep[steps.length];
+        for (int i = 0; i < steps.length; i++) {
+            instances[i] = steps[i].get();
+        }
+        source.subscribe(new FusedSubscriber<>(s, instances));
+    }
+}
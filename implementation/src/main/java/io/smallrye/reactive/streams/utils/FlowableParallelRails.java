@@ -0,0 +1,379 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.Scheduler;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.internal.util.BackpressureHelper;
+import io.reactivex.plugins.RxJavaPlugins;
+import io.smallrye.reactive.streams.operators.FusedStep;
+
+/**
+ * Executes a run of fused stages on parallel rails: the items of the upstream are dispatched to {@code parallelism}
+ * rails running on a {@link Scheduler}, each rail applying the {@link FusedStep steps} to its items, and the results
+ * are merged back.
+ * <p>
+ * In unordered mode, the results are emitted as soon as they are available (RX {@code ParallelFlowable}). In ordered
+ * mode, the items are numbered before being dispatched, and the results are emitted in sequence. To bound the number
+ * of results waiting for their predecessors, no more than {@code parallelism * prefetch} items are requested beyond
+ * the last result emitted in sequence.
+ * <p>
+ * The steps must not complete the stream ({@link FusedStep#COMPLETE}), nor keep a per-subscription state, as they are
+ * called concurrently by the rails.
+ *
+ * @param <T> the upstream value type
+ * @param <R> the result type
+ */
+public final class FlowableParallelRails<T, R> extends Flowable<R> {
+
+    private final Publisher<T> source;
+
+    private final Supplier<FusedStep>[] steps;
+
+    private final boolean ordered;
+
+    private final int parallelism;
+
+    private final int prefetch;
+
+    private final Scheduler scheduler;
+
+    public FlowableParallelRails(Publisher<T> source, Supplier<FusedStep>[] steps, boolean ordered, int parallelism,
+            int prefetch, Scheduler scheduler) {
+        this.source = source;
+        this.steps = steps;
+        this.ordered = ordered;
+        this.parallelism = parallelism;
+        this.prefetch = prefetch;
+        this.scheduler = scheduler;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void subscribeActual(Subscriber<? super R> s) {
+        FusedStep[] instances = new FusedStep[steps.length];
+        for (int i = 0; i < steps.length; i++) {
+            instances[i] = steps[i].get();
+        }
+        if (!ordered) {
+            Flowable<Object> results = Flowable.fromPublisher(source)
+                    .parallel(parallelism, prefetch)
+                    .runOn(scheduler, prefetch)
+                    .map(item -> apply(instances, item))
+                    .filter(item -> item != FusedStep.DROP)
+                    .sequential(prefetch);
+            ((Flowable<R>) (Flowable<?>) results).subscribe(s);
+            return;
+        }
+        OrderedMerger<R> merger = new OrderedMerger<>(s, parallelism * prefetch);
+        new NumberedSource<>(source, merger)
+                .parallel(parallelism, prefetch)
+                .runOn(scheduler, prefetch)
+                .map(item -> new Numbered(item.index, apply(instances, item.value)))
+                .sequential(prefetch)
+                .subscribe(merger);
+    }
+
+    private static Object apply(FusedStep[] steps, Object item) throws Exception {
+        for (FusedStep step : steps) {
+            item = step.apply(item);
+            if (item == FusedStep.DROP) {
+                return item;
+            }
+        }
+        return item;
+    }
+
+    /**
+     * An item and its position in the stream.
+     */
+    private static final class Numbered {
+        final long index;
+        final Object value;
+
+        Numbered(long index, Object value) {
+            this.index = index;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Numbers the items of the source. The source is requested the minimum of what the rails requested and of the
+     * credits granted by the {@link OrderedMerger}.
+     */
+    private static final class NumberedSource<T> extends Flowable<Numbered> {
+
+        private final Publisher<T> source;
+        private final OrderedMerger<?> merger;
+
+        NumberedSource(Publisher<T> source, OrderedMerger<?> merger) {
+            this.source = source;
+            this.merger = merger;
+        }
+
+        @Override
+        protected void subscribeActual(Subscriber<? super Numbered> s) {
+            NumberingSubscriber<T> subscriber = new NumberingSubscriber<>(s, merger.window);
+            merger.source = subscriber;
+            source.subscribe(subscriber);
+        }
+    }
+
+    private static final class NumberingSubscriber<T> implements FlowableSubscriber<T>, Subscription {
+
+        private final Subscriber<? super Numbered> downstream;
+
+        /**
+         * The total number of items requested by the rails.
+         */
+        private final AtomicLong requested = new AtomicLong();
+
+        /**
+         * The total number of items the merger can buffer: the window, plus the results emitted in sequence.
+         */
+        private final AtomicLong credits;
+
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private Subscription upstream;
+
+        /**
+         * The total number of items requested from the source, only accessed by the drain loop.
+         */
+        private long issued;
+
+        /**
+         * The number of the next item, only accessed by onNext.
+         */
+        private long index;
+
+        NumberingSubscriber(Subscriber<? super Numbered> downstream, long window) {
+            this.downstream = downstream;
+            this.credits = new AtomicLong(window);
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.upstream, s)) {
+                this.upstream = s;
+                downstream.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            downstream.onNext(new Numbered(index++, t));
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.add(requested, n);
+                drain();
+            }
+        }
+
+        void credit(long n) {
+            BackpressureHelper.add(credits, n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            upstream.cancel();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                long allowed = Math.min(requested.get(), credits.get());
+                if (allowed != issued) {
+                    long n = allowed - issued;
+                    issued = allowed;
+                    upstream.request(n);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-orders the results of the rails, and grants a credit to the {@link NumberingSubscriber} for each result
+     * emitted in sequence. The results are requested from the rails in an unbounded manner, the credits bound the
+     * number of results in flight to the window.
+     */
+    private static final class OrderedMerger<R> implements FlowableSubscriber<Numbered>, Subscription {
+
+        private final Subscriber<? super R> downstream;
+
+        final int window;
+
+        private final AtomicReferenceArray<Numbered> buffer;
+
+        private final AtomicLong requested = new AtomicLong();
+
+        private final AtomicInteger wip = new AtomicInteger();
+
+        volatile NumberingSubscriber<?> source;
+
+        private Subscription upstream;
+
+        private volatile boolean done;
+
+        private Throwable failure;
+
+        private volatile boolean cancelled;
+
+        /**
+         * The number of the next result to emit, only accessed by the drain loop.
+         */
+        private long next;
+
+        /**
+         * The number of results emitted, only accessed by the drain loop.
+         */
+        private long emitted;
+
+        OrderedMerger(Subscriber<? super R> downstream, int window) {
+            this.downstream = downstream;
+            this.window = window;
+            this.buffer = new AtomicReferenceArray<>(window);
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.upstream, s)) {
+                this.upstream = s;
+                downstream.onSubscribe(this);
+                s.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(Numbered item) {
+            buffer.lazySet((int) (item.index % window), item);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                RxJavaPlugins.onError(t);
+                return;
+            }
+            failure = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.add(requested, n);
+                drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                upstream.cancel();
+                if (wip.getAndIncrement() == 0) {
+                    clear();
+                }
+            }
+        }
+
+        private void clear() {
+            for (int i = 0; i < window; i++) {
+                buffer.lazySet(i, null);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                long r = requested.get();
+                long e = emitted;
+                long released = 0;
+                for (;;) {
+                    if (cancelled) {
+                        clear();
+                        return;
+                    }
+                    boolean d = done;
+                    if (d && failure != null) {
+                        clear();
+                        downstream.onError(failure);
+                        return;
+                    }
+                    int slot = (int) (next % window);
+                    Numbered item = buffer.get(slot);
+                    if (item == null) {
+                        if (d) {
+                            // The rails deliver all the results before completing.
+                            downstream.onComplete();
+                            return;
+                        }
+                        break;
+                    }
+                    boolean dropped = item.value == FusedStep.DROP;
+                    if (!dropped && e == r) {
+                        break;
+                    }
+                    buffer.lazySet(slot, null);
+                    next++;
+                    released++;
+                    if (!dropped) {
+                        downstream.onNext((R) item.value);
+                        e++;
+                    }
+                }
+                emitted = e;
+                if (released != 0) {
+                    source.credit(released);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package io.smallrye.reactive.streams.utils;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.exceptions.Exceptions;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.plugins.RxJavaPlugins;
+import io.smallrye.reactive.streams.operators.FusedStep;
+
+final class FusedSubscriber<T, R> implements FlowableSubscriber<T>, Subscription {
+
+    private final Subscriber<? super R> downstream;
+
+    private final FusedStep[] steps;
+
+    private Subscription upstream;
+
+    private boolean done;
+
+    FusedSubscriber(Subscriber<? super R> downstream, FusedStep[] steps) {
+        this.downstream = downstream;
+        this.steps = steps;
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        if (SubscriptionHelper.validate(this.upstream, s)) {
+            this.upstream = s;
+            downstream.onSubscribe(this);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void onNext(T t) {
+        if (done) {
+            return;
+        }
+        Object item = t;
+        try {
+            for (FusedStep step : steps) {
+                item = step.apply(item);
+                if (item == FusedStep.DROP) {
+                    // The item has been consumed without being emitted, replenish it.
+                    upstream.request(1);
+                    return;
+                }
+                if (item == FusedStep.COMPLETE) {
+                    upstream.cancel();
+                    onComplete();
+                    return;
+                }
+            }
+        } catch (Throwable ex) {
+            Exceptions.throwIfFatal(ex);
+            upstream.cancel();
+            onError(ex);
+            return;
+        }
+        downstream.onNext((R) item);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (done) {
+            RxJavaPlugins.onError(t);
+        } else {
+            done = true;
+            downstream.onError(t);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (!done) {
+            done = true;
+            downstream.onComplete();
+        }
+    }
+
+    @Override
+    public void request(long n) {
+        upstream.request(n);
+    }
+
+    @Override
+    public void cancel() {
+        upstream.cancel();
+    }
+}
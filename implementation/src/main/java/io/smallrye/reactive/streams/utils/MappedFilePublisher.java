@@ -0,0 +1,227 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.internal.util.BackpressureHelper;
+
+/**
+ * A publisher emitting the content of a file as chunks of {@code chunkSize} bytes (the last one may be shorter),
+ * read from a memory mapping of the file.
+ * <p>
+ * Each subscriber opens the file, and maps it by windows of {@code mappingSize} bytes (rounded down to a multiple of
+ * the chunk size), as they are reached. Each chunk is a read-only slice of the mapping, with the size of the chunk as
+ * capacity: the bytes are not copied to the heap, and are only loaded from the disk by the operating system when they
+ * are accessed. Exactly one chunk is emitted per requested item, on the thread requesting it, so the file is read
+ * without blocking the subscribing thread, and at the pace of the subscriber. The file is closed when the last chunk
+ * has been emitted, or when the subscription is cancelled.
+ * <p>
+ * The size of the file is read on subscription. The file must not be truncated while it is read, as accessing a
+ * mapping beyond the end of a file fails with an {@link InternalError} on most systems.
+ * <p>
+ * For instance, {@code ReactiveStreams.fromPublisher(new MappedFilePublisher(path))} creates a source stage reading
+ * the file.
+ */
+public class MappedFilePublisher implements Publisher<ByteBuffer> {
+
+    /**
+     * The default chunk size, 64KB.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * The default mapping size, 64MB.
+     */
+    public static final int DEFAULT_MAPPING_SIZE = 64 * 1024 * 1024;
+
+    private final Path path;
+
+    private final int chunkSize;
+
+    private final int mappingSize;
+
+    /**
+     * @param path the file, must not be {@code null}
+     */
+    public MappedFilePublisher(Path path) {
+        this(path, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param path the file, must not be {@code null}
+     * @param chunkSize the size of the emitted chunks, in bytes, must be strictly positive
+     */
+    public MappedFilePublisher(Path path, int chunkSize) {
+        this(path, chunkSize, Math.max(chunkSize, DEFAULT_MAPPING_SIZE));
+    }
+
+    /**
+     * @param path the file, must not be {@code null}
+     * @param chunkSize the size of the emitted chunks, in bytes, must be strictly positive
+     * @param mappingSize the size of the mapped windows, in bytes, must be at least the chunk size
+     */
+    public MappedFilePublisher(Path path, int chunkSize, int mappingSize) {
+        this.path = Objects.requireNonNull(path, "The path must not be null");
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size must be strictly positive");
+        }
+        if (mappingSize < chunkSize) {
+            throw new IllegalArgumentException("The mapping size must be at least the chunk size");
+        }
+        this.chunkSize = chunkSize;
+        // So a chunk never spans two windows.
+        this.mappingSize = mappingSize - mappingSize % chunkSize;
+    }
+
+    /**
+     * @return the size of the emitted chunks
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return the size of the mapped windows, a multiple of the chunk size
+     */
+    public int getMappingSize() {
+        return mappingSize;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        Objects.requireNonNull(subscriber);
+        FileChannel channel;
+        long size;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            size = channel.size();
+        } catch (IOException e) {
+            subscriber.onSubscribe(new EmptySubscription());
+            subscriber.onError(e);
+            return;
+        }
+        if (size == 0) {
+            close(channel);
+            subscriber.onSubscribe(new EmptySubscription());
+            subscriber.onComplete();
+            return;
+        }
+        subscriber.onSubscribe(new MappedFileSubscription(subscriber, channel, size));
+    }
+
+    private static void close(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Nothing to do, the file has been read.
+        }
+    }
+
+    private final class MappedFileSubscription implements Subscription {
+
+        private final Subscriber<? super ByteBuffer> downstream;
+
+        private final FileChannel channel;
+
+        private final long size;
+
+        private final AtomicLong requested = new AtomicLong();
+
+        private volatile boolean cancelled;
+
+        /**
+         * The offset of the next chunk, only accessed by the emission loop.
+         */
+        private long offset;
+
+        /**
+         * The current window, and its offset in the file, only accessed by the emission loop.
+         */
+        private ByteBuffer window;
+
+        private long windowOffset;
+
+        MappedFileSubscription(Subscriber<? super ByteBuffer> downstream, FileChannel channel, long size) {
+            this.downstream = downstream;
+            this.channel = channel;
+            this.size = size;
+        }
+
+        @Override
+        public void request(long n) {
+            // Only the request taking the demand from zero emits, the others are picked by its loop.
+            if (SubscriptionHelper.validate(n) && BackpressureHelper.add(requested, n) == 0) {
+                emit(n);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                close(channel);
+            }
+        }
+
+        private void emit(long r) {
+            long e = 0;
+            for (;;) {
+                while (e != r && offset != size) {
+                    if (cancelled) {
+                        return;
+                    }
+                    ByteBuffer chunk;
+                    try {
+                        chunk = next();
+                    } catch (IOException ex) {
+                        if (!cancelled) {
+                            cancel();
+                            downstream.onError(ex);
+                        }
+                        return;
+                    }
+                    downstream.onNext(chunk);
+                    e++;
+                }
+                if (offset == size) {
+                    if (!cancelled) {
+                        cancel();
+                        downstream.onComplete();
+                    }
+                    return;
+                }
+                r = requested.get();
+                if (e == r) {
+                    r = requested.addAndGet(-e);
+                    if (r == 0) {
+                        return;
+                    }
+                    e = 0;
+                }
+            }
+        }
+
+        private ByteBuffer next() throws IOException {
+            if (window == null || offset == windowOffset + window.capacity()) {
+                windowOffset = offset;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(mappingSize, size - offset));
+            }
+            int start = (int) (offset - windowOffset);
+            int length = (int) Math.min(chunkSize, size - offset);
+            // A slice, so the subscriber cannot reach the rest of the window.
+            ByteBuffer chunk = Buffers.restrict(window.duplicate(), start, start + length).slice();
+            offset += length;
+            return chunk;
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.reactivestreams.Processor;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.internal.util.BackpressureHelper;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * A processor sharing a single upstream subscription between several subscribers, each with its own demand.
+ * <p>
+ * The items of the upstream are stored in a shared buffer of {@code bufferSize} items, and each subscriber reads them
+ * at its own pace. An item is released once all the subscribers have received it, and the upstream is requested as
+ * many items as the buffer can hold. When the buffer is full, the {@link Policy} decides whether the fastest
+ * subscribers wait for the slowest ones ({@link Policy#MIN_DEMAND}), or the slowest subscribers are dropped
+ * ({@link Policy#DROP_SLOWEST}).
+ * <p>
+ * No item is delivered until {@code minSubscribers} subscribers have subscribed, so they all receive the first item.
+ * The subscribers arriving later receive the items received after their subscription, unless there is no other
+ * subscriber, in which case they also receive the buffered items. The subscribers arriving once the upstream has
+ * terminated receive the terminal signal.
+ * <p>
+ * The processor connects to the upstream once, for instance using
+ * {@code ReactiveStreams.fromPublisher(source).to(processor).run()}, and each consumer builds its own pipeline using
+ * {@code ReactiveStreams.fromPublisher(processor)}. It must not be passed to several {@code via} stages, as each of
+ * them subscribes it to its upstream.
+ *
+ * @param <T> the value type
+ */
+public class MulticastProcessor<T> implements Processor<T, T> {
+
+    /**
+     * The backpressure policies applied when the buffer is full.
+     */
+    public enum Policy {
+        /**
+         * The subscribers receive the items at the pace of the slowest subscriber.
+         */
+        MIN_DEMAND,
+        /**
+         * When the buffer is full and a subscriber is waiting for the next item, the subscribers which have not
+         * received the oldest buffered item are dropped, with a {@link MissingBackpressureException}.
+         */
+        DROP_SLOWEST
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final InnerSubscription[] EMPTY = new InnerSubscription[0];
+
+    private final int bufferSize;
+
+    private final Policy policy;
+
+    private final int minSubscribers;
+
+    private final AtomicReferenceArray<T> buffer;
+
+    @SuppressWarnings("unchecked")
+    private final AtomicReference<InnerSubscription<T>[]> subscribers = new AtomicReference<>(EMPTY);
+
+    private final AtomicReference<Subscription> upstream = new AtomicReference<>();
+
+    private final AtomicInteger wip = new AtomicInteger();
+
+    /**
+     * The number of the oldest buffered item.
+     */
+    private volatile long head;
+
+    /**
+     * The number of items received, written by the upstream.
+     */
+    private volatile long tail;
+
+    private volatile boolean done;
+
+    private Throwable failure;
+
+    /**
+     * The number of items requested from the upstream, only accessed by the drain loop.
+     */
+    private long requested;
+
+    /**
+     * Whether the items can be delivered, only accessed by the drain loop.
+     */
+    private boolean started;
+
+    /**
+     * Creates a processor waiting for the slowest subscriber, and delivering the items from the first subscription.
+     *
+     * @param bufferSize the number of items buffered, must be strictly positive
+     */
+    public MulticastProcessor(int bufferSize) {
+        this(bufferSize, Policy.MIN_DEMAND, 1);
+    }
+
+    /**
+     * @param bufferSize the number of items buffered, must be strictly positive
+     * @param policy the policy applied when the buffer is full, must not be {@code null}
+     * @param minSubscribers the number of subscribers to wait for before delivering the items, must be strictly
+     *        positive
+     */
+    public MulticastProcessor(int bufferSize, Policy policy, int minSubscribers) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("The buffer size must be strictly positive");
+        }
+        if (minSubscribers <= 0) {
+            throw new IllegalArgumentException("The minimum number of subscribers must be strictly positive");
+        }
+        this.bufferSize = bufferSize;
+        this.policy = Objects.requireNonNull(policy, "The policy must not be null");
+        this.minSubscribers = minSubscribers;
+        this.buffer = new AtomicReferenceArray<>(bufferSize);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        InnerSubscription<T> inner = new InnerSubscription<>(this, subscriber);
+        subscriber.onSubscribe(inner);
+        for (;;) {
+            InnerSubscription<T>[] current = subscribers.get();
+            @SuppressWarnings("unchecked")
+            InnerSubscription<T>[] next = new InnerSubscription[current.length + 1];
+            System.arraycopy(current, 0, next, 0, current.length);
+            next[current.length] = inner;
+            if (subscribers.compareAndSet(current, next)) {
+                break;
+            }
+        }
+        if (inner.cancelled) {
+            // Cancelled from onSubscribe.
+            remove(inner);
+        }
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        if (SubscriptionHelper.setOnce(upstream, subscription)) {
+            drain();
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        Objects.requireNonNull(item);
+        if (done) {
+            return;
+        }
+        long t = tail;
+        if (t - head == bufferSize) {
+            SubscriptionHelper.cancel(upstream);
+            onError(new MissingBackpressureException("The upstream emitted more items than requested"));
+            return;
+        }
+        buffer.lazySet((int) (t % bufferSize), item);
+        tail = t + 1;
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Objects.requireNonNull(throwable);
+        if (done) {
+            RxJavaPlugins.onError(throwable);
+            return;
+        }
+        failure = throwable;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        drain();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void remove(InnerSubscription<T> inner) {
+        for (;;) {
+            InnerSubscription<T>[] current = subscribers.get();
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == inner) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            InnerSubscription<T>[] next;
+            if (current.length == 1) {
+                next = EMPTY;
+            } else {
+                next = new InnerSubscription[current.length - 1];
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            }
+            if (subscribers.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            InnerSubscription<T>[] current = subscribers.get();
+            // Read done before tail, so no item is missed when completing.
+            boolean d = done;
+            long h = head;
+            long t = tail;
+
+            int existing = 0;
+            for (InnerSubscription<T> inner : current) {
+                if (inner.index >= 0 && !inner.cancelled) {
+                    existing++;
+                }
+            }
+            for (InnerSubscription<T> inner : current) {
+                if (inner.index < 0) {
+                    // New subscriber, it receives the buffered items if it is alone, or if the items were not
+                    // delivered yet.
+                    inner.index = started && existing != 0 ? t : h;
+                }
+            }
+            if (!started && current.length >= minSubscribers) {
+                started = true;
+            }
+
+            long min = t;
+            int live = 0;
+            boolean blocked = false;
+            for (InnerSubscription<T> inner : current) {
+                if (inner.badRequest && !inner.cancelled) {
+                    inner.cancelled = true;
+                    remove(inner);
+                    inner.downstream.onError(
+                            new IllegalArgumentException("Invalid request number, must be greater than 0"));
+                }
+                if (inner.cancelled) {
+                    continue;
+                }
+                // A subscriber terminated by this pass has received all the items.
+                live++;
+                if (started) {
+                    deliver(inner, d, t);
+                }
+                min = Math.min(min, inner.index);
+                blocked |= !inner.cancelled && inner.index == t && inner.requested.get() != inner.emitted;
+            }
+
+            if (policy == Policy.DROP_SLOWEST && blocked && t - h == bufferSize && min == h) {
+                min = t;
+                for (InnerSubscription<T> inner : current) {
+                    if (inner.cancelled) {
+                        continue;
+                    }
+                    if (inner.index == h) {
+                        live--;
+                        inner.cancelled = true;
+                        remove(inner);
+                        inner.downstream.onError(new MissingBackpressureException(
+                                "The subscriber could not keep up with the other subscribers"));
+                    } else {
+                        min = Math.min(min, inner.index);
+                    }
+                }
+            }
+
+            if (started && live != 0) {
+                // Without subscribers, the buffered items are kept for the next subscriber.
+                release(h, min);
+                h = min;
+            }
+
+            Subscription s = upstream.get();
+            if (s != null && !d) {
+                long outstanding = requested - t;
+                long n = bufferSize - (t - h) - outstanding;
+                if (n > 0) {
+                    requested += n;
+                    s.request(n);
+                }
+            }
+
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    private void deliver(InnerSubscription<T> inner, boolean d, long t) {
+        if (inner.cancelled) {
+            return;
+        }
+        long r = inner.requested.get();
+        long e = inner.emitted;
+        long index = inner.index;
+        while (index != t && e != r) {
+            if (inner.cancelled) {
+                return;
+            }
+            inner.downstream.onNext(buffer.get((int) (index % bufferSize)));
+            index++;
+            e++;
+        }
+        inner.index = index;
+        inner.emitted = e;
+        if (d && index == t && !inner.cancelled) {
+            inner.cancelled = true;
+            remove(inner);
+            Throwable f = failure;
+            if (f != null) {
+                inner.downstream.onError(f);
+            } else {
+                inner.downstream.onComplete();
+            }
+        }
+    }
+
+    private void release(long from, long to) {
+        for (long i = from; i < to; i++) {
+            buffer.lazySet((int) (i % bufferSize), null);
+        }
+        head = to;
+    }
+
+    private static final class InnerSubscription<T> implements Subscription {
+
+        private final MulticastProcessor<T> parent;
+
+        final Subscriber<? super T> downstream;
+
+        final AtomicLong requested = new AtomicLong();
+
+        volatile boolean cancelled;
+
+        volatile boolean badRequest;
+
+        /**
+         * The number of the next item to deliver, {@code -1} until the subscription is seen by the drain loop. Only
+         * accessed by the drain loop.
+         */
+        long index = -1;
+
+        /**
+         * The number of items delivered, only accessed by the drain loop.
+         */
+        long emitted;
+
+        InnerSubscription(MulticastProcessor<T> parent, Subscriber<? super T> downstream) {
+            this.parent = parent;
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                // Reported by the drain loop, so the signals stay serialized.
+                badRequest = true;
+            } else {
+                BackpressureHelper.add(requested, n);
+            }
+            parent.drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                parent.remove(this);
+                parent.drain();
+            }
+        }
+    }
+}
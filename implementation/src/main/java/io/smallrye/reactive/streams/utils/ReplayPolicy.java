@@ -0,0 +1,158 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Configures the eviction of the items cached by a {@link ReplayPublisher}.
+ * <p>
+ * By default, all the items are cached. The cache can be bounded by number of items ({@link #withMaxItems(long)}),
+ * by age ({@link #withMaxAge(Duration)}) and by weight ({@link #withMaxWeight(long, ToLongFunction)}), the weight of
+ * an item being computed by a user function, for instance its size in bytes. The oldest items are evicted as soon as
+ * one of the bounds is exceeded. The items are stored in chunks of {@link #getChunkSize()} items.
+ */
+public final class ReplayPolicy {
+
+    private static final ReplayPolicy UNBOUNDED = new ReplayPolicy(Long.MAX_VALUE, null, Long.MAX_VALUE, null,
+            Flowable.bufferSize(), Schedulers.computation());
+
+    private final long maxItems;
+    private final Duration maxAge;
+    private final long maxWeight;
+    private final ToLongFunction<Object> weigher;
+    private final int chunkSize;
+    private final Scheduler clock;
+
+    private ReplayPolicy(long maxItems, Duration maxAge, long maxWeight, ToLongFunction<Object> weigher,
+            int chunkSize, Scheduler clock) {
+        this.maxItems = maxItems;
+        this.maxAge = maxAge;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.chunkSize = chunkSize;
+        this.clock = clock;
+    }
+
+    /**
+     * @return the policy caching all the items
+     */
+    public static ReplayPolicy unbounded() {
+        return UNBOUNDED;
+    }
+
+    /**
+     * @param maxItems the maximum number of cached items, must be strictly positive
+     * @return a policy evicting the oldest items beyond the given number of items
+     */
+    public ReplayPolicy withMaxItems(long maxItems) {
+        if (maxItems <= 0) {
+            throw new IllegalArgumentException("The maximum number of items must be strictly positive");
+        }
+        return new ReplayPolicy(maxItems, maxAge, maxWeight, weigher, chunkSize, clock);
+    }
+
+    /**
+     * @param maxAge the maximum age of the cached items, must be strictly positive
+     * @return a policy evicting the items older than the given age
+     */
+    public ReplayPolicy withMaxAge(Duration maxAge) {
+        Objects.requireNonNull(maxAge, "The maximum age must not be null");
+        if (maxAge.isNegative() || maxAge.isZero()) {
+            throw new IllegalArgumentException("The maximum age must be strictly positive");
+        }
+        return new ReplayPolicy(maxItems, maxAge, maxWeight, weigher, chunkSize, clock);
+    }
+
+    /**
+     * @param maxWeight the maximum total weight of the cached items, must be strictly positive
+     * @param weigher computes the weight of an item, must not be {@code null}, must return a positive value, and must
+     *        not be expensive, as it is called once per item
+     * @param <T> the type of the items
+     * @return a policy evicting the oldest items beyond the given weight
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ReplayPolicy withMaxWeight(long maxWeight, ToLongFunction<T> weigher) {
+        Objects.requireNonNull(weigher, "The weigher must not be null");
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("The maximum weight must be strictly positive");
+        }
+        return new ReplayPolicy(maxItems, maxAge, maxWeight, (ToLongFunction<Object>) weigher, chunkSize, clock);
+    }
+
+    /**
+     * @param chunkSize the number of items per chunk, must be strictly positive
+     * @return a policy storing the items in chunks of the given size
+     */
+    public ReplayPolicy withChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size must be strictly positive");
+        }
+        return new ReplayPolicy(maxItems, maxAge, maxWeight, weigher, chunkSize, clock);
+    }
+
+    /**
+     * @param clock the scheduler providing the current time to compute the age of the items, must not be
+     *        {@code null}
+     * @return a policy using the given clock
+     */
+    public ReplayPolicy withClock(Scheduler clock) {
+        Objects.requireNonNull(clock, "The clock must not be null");
+        return new ReplayPolicy(maxItems, maxAge, maxWeight, weigher, chunkSize, clock);
+    }
+
+    /**
+     * @return the maximum number of cached items, {@link Long#MAX_VALUE} if not bounded
+     */
+    public long getMaxItems() {
+        return maxItems;
+    }
+
+    /**
+     * @return the maximum age of the cached items, {@code null} if not bounded
+     */
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * @return the maximum weight of the cached items, {@link Long#MAX_VALUE} if not bounded
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * @return the function computing the weight of an item, {@code null} if the weight is not bounded
+     */
+    public ToLongFunction<Object> getWeigher() {
+        return weigher;
+    }
+
+    /**
+     * @return the number of items per chunk
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return the scheduler providing the current time
+     */
+    public Scheduler getClock() {
+        return clock;
+    }
+
+    @Override
+    public String toString() {
+        return "replay(maxItems=" + (maxItems == Long.MAX_VALUE ? "unbounded" : maxItems)
+                + ", maxAge=" + (maxAge == null ? "unbounded" : maxAge)
+                + ", maxWeight=" + (maxWeight == Long.MAX_VALUE ? "unbounded" : maxWeight)
+                + ", chunkSize=" + chunkSize + ")";
+    }
+
+}
@@ -0,0 +1,483 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToLongFunction;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.internal.util.BackpressureHelper;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * A publisher subscribing to its upstream once, and replaying the cached items to each subscriber.
+ * <p>
+ * The upstream is subscribed when the first subscriber arrives, and consumed in an unbounded manner. Its items are
+ * appended to a linked list of chunks, and the oldest items are evicted according to the {@link ReplayPolicy}. Each
+ * subscriber replays the cached items at its own pace, followed by the items received later, and the terminal signal
+ * of the upstream. A subscriber keeps the chunks it has not read yet, so the eviction bounds the memory retained for
+ * the next subscribers, not for the slow ones.
+ * <p>
+ * For instance, {@code new ReplayPublisher<>(builder.buildRs(engine), policy)} builds the graph once, and can be
+ * consumed several times using {@code ReactiveStreams.fromPublisher}.
+ *
+ * @param <T> the value type
+ */
+public class ReplayPublisher<T> implements Publisher<T> {
+
+    @SuppressWarnings("rawtypes")
+    private static final ReplaySubscription[] EMPTY = new ReplaySubscription[0];
+
+    private final Publisher<T> source;
+
+    private final ReplayPolicy policy;
+
+    private final AtomicBoolean connected = new AtomicBoolean();
+
+    @SuppressWarnings("unchecked")
+    private final AtomicReference<ReplaySubscription<T>[]> subscribers = new AtomicReference<>(EMPTY);
+
+    /**
+     * The oldest cached item, replaced by the upstream on eviction.
+     */
+    private volatile Position head;
+
+    /**
+     * The number of items received, written by the upstream after storing the item.
+     */
+    private volatile long size;
+
+    /**
+     * The total weight of the cached items, written by the upstream.
+     */
+    private volatile long weight;
+
+    private volatile boolean done;
+
+    private Throwable failure;
+
+    /**
+     * The chunk receiving the next item, only accessed by the upstream.
+     */
+    private Chunk tail;
+
+    /**
+     * The position of the next item in the {@link #tail} chunk, only accessed by the upstream.
+     */
+    private int offset;
+
+    /**
+     * @param source the upstream, must not be {@code null}
+     * @param policy the eviction policy, must not be {@code null}
+     */
+    public ReplayPublisher(Publisher<T> source, ReplayPolicy policy) {
+        this.source = Objects.requireNonNull(source, "The source must not be null");
+        this.policy = Objects.requireNonNull(policy, "The policy must not be null");
+        this.tail = new Chunk(policy);
+        this.head = new Position(tail, 0, 0);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        ReplaySubscription<T> inner = new ReplaySubscription<>(this, subscriber);
+        subscriber.onSubscribe(inner);
+        add(inner);
+        if (inner.cancelled) {
+            // Cancelled from onSubscribe.
+            remove(inner);
+            return;
+        }
+        if (connected.compareAndSet(false, true)) {
+            source.subscribe(new UpstreamSubscriber());
+        }
+        inner.drain();
+    }
+
+    /**
+     * @return the number of cached items, including the items older than the maximum age which have not been evicted
+     *         yet, as the eviction only happens when an item is received
+     */
+    public long getCachedItems() {
+        return size - head.index;
+    }
+
+    /**
+     * @return the number of items evicted
+     */
+    public long getEvictedItems() {
+        return head.index;
+    }
+
+    /**
+     * @return the total weight of the cached items, as computed by the {@link ReplayPolicy#getWeigher() weigher}, or
+     *         the number of cached items if the policy has no weigher
+     */
+    public long getCachedWeight() {
+        return weight;
+    }
+
+    /**
+     * @return the number of subscribers currently replaying the items
+     */
+    public int getSubscriberCount() {
+        return subscribers.get().length;
+    }
+
+    /**
+     * @return the eviction policy
+     */
+    public ReplayPolicy getPolicy() {
+        return policy;
+    }
+
+    private void add(ReplaySubscription<T> inner) {
+        for (;;) {
+            ReplaySubscription<T>[] current = subscribers.get();
+            @SuppressWarnings("unchecked")
+            ReplaySubscription<T>[] next = new ReplaySubscription[current.length + 1];
+            System.arraycopy(current, 0, next, 0, current.length);
+            next[current.length] = inner;
+            if (subscribers.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void remove(ReplaySubscription<T> inner) {
+        for (;;) {
+            ReplaySubscription<T>[] current = subscribers.get();
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == inner) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            ReplaySubscription<T>[] next;
+            if (current.length == 1) {
+                next = EMPTY;
+            } else {
+                next = new ReplaySubscription[current.length - 1];
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            }
+            if (subscribers.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    private long now() {
+        return policy.getClock().now(TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the position of the first item not older than the maximum age, read by a new subscriber
+     */
+    private Position start() {
+        Position p = head;
+        if (policy.getMaxAge() == null) {
+            return p;
+        }
+        long limit = now() - policy.getMaxAge().toMillis();
+        long s = size;
+        Chunk chunk = p.chunk;
+        int o = p.offset;
+        long index = p.index;
+        while (index != s) {
+            if (o == chunk.items.length) {
+                chunk = chunk.next;
+                o = 0;
+            }
+            if (chunk.timestamps[o] >= limit) {
+                break;
+            }
+            o++;
+            index++;
+        }
+        return index == p.index ? p : new Position(chunk, o, index);
+    }
+
+    private void append(T item) {
+        // Weighed first, so a failing weigher leaves the cache unchanged.
+        ToLongFunction<Object> weigher = policy.getWeigher();
+        long w = weigher == null ? 1 : weigher.applyAsLong(item);
+        Chunk chunk = tail;
+        if (offset == chunk.items.length) {
+            Chunk next = new Chunk(policy);
+            chunk.next = next;
+            tail = next;
+            offset = 0;
+            chunk = next;
+        }
+        long now = policy.getMaxAge() == null ? 0 : now();
+        chunk.items[offset] = item;
+        if (chunk.weights != null) {
+            chunk.weights[offset] = w;
+        }
+        if (chunk.timestamps != null) {
+            chunk.timestamps[offset] = now;
+        }
+        offset++;
+        weight += w;
+        // Publishes the item to the subscribers.
+        size = size + 1;
+        evict(now);
+    }
+
+    private void evict(long now) {
+        Position p = head;
+        long s = size;
+        long limit = policy.getMaxAge() == null ? Long.MIN_VALUE : now - policy.getMaxAge().toMillis();
+        Chunk chunk = p.chunk;
+        int o = p.offset;
+        long index = p.index;
+        long w = weight;
+        while (index != s) {
+            if (o == chunk.items.length) {
+                chunk = chunk.next;
+                o = 0;
+            }
+            boolean exceeded = s - index > policy.getMaxItems() || w > policy.getMaxWeight()
+                    || (chunk.timestamps != null && chunk.timestamps[o] < limit);
+            if (!exceeded) {
+                break;
+            }
+            w -= chunk.weights == null ? 1 : chunk.weights[o];
+            o++;
+            index++;
+        }
+        if (index != p.index) {
+            weight = w;
+            head = new Position(chunk, o, index);
+        }
+    }
+
+    private void drainAll() {
+        for (ReplaySubscription<T> inner : subscribers.get()) {
+            inner.drain();
+        }
+    }
+
+    private final class UpstreamSubscriber implements FlowableSubscriber<T> {
+
+        private final AtomicReference<Subscription> upstream = new AtomicReference<>();
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.setOnce(upstream, s)) {
+                s.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            try {
+                append(Objects.requireNonNull(item));
+            } catch (RuntimeException e) {
+                SubscriptionHelper.cancel(upstream);
+                onError(e);
+                return;
+            }
+            drainAll();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                RxJavaPlugins.onError(t);
+                return;
+            }
+            failure = t;
+            done = true;
+            drainAll();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drainAll();
+        }
+    }
+
+    /**
+     * A chunk of items, with their timestamps and weights when the policy needs them.
+     */
+    private static final class Chunk {
+        final Object[] items;
+        final long[] timestamps;
+        final long[] weights;
+
+        /**
+         * The next chunk, set before the size publishing its first item.
+         */
+        Chunk next;
+
+        Chunk(ReplayPolicy policy) {
+            this.items = new Object[policy.getChunkSize()];
+            this.timestamps = policy.getMaxAge() == null ? null : new long[policy.getChunkSize()];
+            this.weights = policy.getWeigher() == null ? null : new long[policy.getChunkSize()];
+        }
+    }
+
+    /**
+     * The position of an item: its chunk, its offset in the chunk, and its index in the stream.
+     */
+    private static final class Position {
+        final Chunk chunk;
+        final int offset;
+        final long index;
+
+        Position(Chunk chunk, int offset, long index) {
+            this.chunk = chunk;
+            this.offset = offset;
+            this.index = index;
+        }
+    }
+
+    private static final class ReplaySubscription<T> implements Subscription {
+
+        private final ReplayPublisher<T> parent;
+
+        private final Subscriber<? super T> downstream;
+
+        private final AtomicLong requested = new AtomicLong();
+
+        private final AtomicInteger wip = new AtomicInteger();
+
+        volatile boolean cancelled;
+
+        private volatile boolean badRequest;
+
+        /**
+         * The chunk of the next item to deliver, {@code null} until the first drain. Only accessed by the drain loop.
+         */
+        private Chunk chunk;
+
+        /**
+         * The offset of the next item in the {@link #chunk}, only accessed by the drain loop.
+         */
+        private int offset;
+
+        /**
+         * The index of the next item, only accessed by the drain loop.
+         */
+        private long index;
+
+        /**
+         * The number of items delivered, only accessed by the drain loop.
+         */
+        private long emitted;
+
+        ReplaySubscription(ReplayPublisher<T> parent, Subscriber<? super T> downstream) {
+            this.parent = parent;
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                // Reported by the drain loop, so the signals stay serialized.
+                badRequest = true;
+            } else {
+                BackpressureHelper.add(requested, n);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                parent.remove(this);
+                if (wip.getAndIncrement() == 0) {
+                    chunk = null;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            if (chunk == null && !cancelled) {
+                Position start = parent.start();
+                chunk = start.chunk;
+                offset = start.offset;
+                index = start.index;
+            }
+            for (;;) {
+                if (badRequest && !cancelled) {
+                    cancel();
+                    downstream.onError(new IllegalArgumentException("Invalid request number, must be greater than 0"));
+                    return;
+                }
+                long r = requested.get();
+                long e = emitted;
+                for (;;) {
+                    if (cancelled) {
+                        chunk = null;
+                        return;
+                    }
+                    // Read done before size, so no item is missed when completing.
+                    boolean d = parent.done;
+                    boolean empty = index == parent.size;
+                    if (d && empty) {
+                        terminate();
+                        return;
+                    }
+                    if (empty || e == r) {
+                        break;
+                    }
+                    if (offset == chunk.items.length) {
+                        chunk = chunk.next;
+                        offset = 0;
+                    }
+                    T item = (T) chunk.items[offset];
+                    offset++;
+                    index++;
+                    downstream.onNext(item);
+                    e++;
+                }
+                emitted = e;
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private void terminate() {
+            cancelled = true;
+            chunk = null;
+            parent.remove(this);
+            Throwable f = parent.failure;
+            if (f != null) {
+                downstream.onError(f);
+            } else {
+                downstream.onComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.reactivestreams.Processor;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.Scheduler;
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.internal.util.BackpressureHelper;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * An asynchronous buffer between a producer thread and a consumer thread, to be used in a {@code via} stage.
+ * <p>
+ * The items received from the upstream are written to a single-producer / single-consumer ring buffer of
+ * {@code capacity} slots (rounded up to a power of two), and delivered to the subscriber by a worker of the given
+ * {@link Scheduler}. The upstream is requested the capacity of the ring, then replenished by batches of three quarters
+ * of it, as RX {@code observeOn}. The producer and consumer sequences are padded, so the two threads do not contend
+ * on the same cache lines.
+ * <p>
+ * The {@link #binary(int, int, Scheduler) binary} mode stores fixed-size records in a direct {@link ByteBuffer}
+ * instead of an array of references. The record received by {@code onNext} is copied, and its position is left
+ * unchanged. The buffer passed to the subscriber is a read-only view of the slot, reused for every record, and only
+ * valid until {@code onNext} returns.
+ * <p>
+ * The processor supports a single subscriber.
+ *
+ * @param <T> the value type
+ */
+public abstract class RingBufferProcessor<T> implements Processor<T, T>, Subscription {
+
+    private final SpscSequences sequences;
+
+    private final int mask;
+
+    private final int limit;
+
+    private final Scheduler.Worker worker;
+
+    private final AtomicReference<Subscription> upstream = new AtomicReference<>();
+
+    private final AtomicReference<Subscriber<? super T>> downstream = new AtomicReference<>();
+
+    private final AtomicLong requested = new AtomicLong();
+
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile boolean done;
+
+    private Throwable failure;
+
+    private volatile boolean cancelled;
+
+    /**
+     * The number of items delivered, only accessed by the drain loop.
+     */
+    private long emitted;
+
+    /**
+     * The number of slots released since the last request to the upstream, only accessed by the drain loop.
+     */
+    private int consumed;
+
+    private final Runnable drain = this::drain;
+
+    RingBufferProcessor(int capacity, Scheduler scheduler) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("The capacity must be strictly positive and at most 2^30");
+        }
+        int size = roundToPowerOfTwo(capacity);
+        this.sequences = new SpscSequences(size);
+        this.mask = size - 1;
+        this.limit = size - (size >> 2);
+        this.worker = Objects.requireNonNull(scheduler, "The scheduler must not be null").createWorker();
+    }
+
+    /**
+     * @param capacity the number of buffered items, must be strictly positive
+     * @param scheduler the scheduler delivering the items, must not be {@code null}
+     * @param <T> the value type
+     * @return a processor storing references to the items
+     */
+    public static <T> RingBufferProcessor<T> create(int capacity, Scheduler scheduler) {
+        return new ReferenceRing<>(capacity, scheduler);
+    }
+
+    /**
+     * @param capacity the number of buffered records, must be strictly positive
+     * @param recordSize the size of each record, in bytes, must be strictly positive
+     * @param scheduler the scheduler delivering the records, must not be {@code null}
+     * @return a processor copying the records to a direct {@link ByteBuffer}
+     */
+    public static RingBufferProcessor<ByteBuffer> binary(int capacity, int recordSize, Scheduler scheduler) {
+        return new BinaryRing(capacity, recordSize, scheduler);
+    }
+
+    /**
+     * @return the number of slots of the ring
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Copies the item to a slot, called by the producer.
+     */
+    abstract void write(int slot, T item);
+
+    /**
+     * Reads the item of a slot, called by the consumer.
+     */
+    abstract T read(int slot);
+
+    /**
+     * Releases the item of a slot, called by the consumer once the item has been delivered.
+     */
+    abstract void clear(int slot);
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        if (SubscriptionHelper.setOnce(upstream, subscription)) {
+            subscription.request(capacity());
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        Objects.requireNonNull(item);
+        if (done) {
+            return;
+        }
+        long sequence = sequences.claim();
+        if (sequence < 0) {
+            SubscriptionHelper.cancel(upstream);
+            onError(new MissingBackpressureException("The upstream emitted more items than requested"));
+            return;
+        }
+        try {
+            write((int) sequence & mask, item);
+        } catch (RuntimeException e) {
+            SubscriptionHelper.cancel(upstream);
+            onError(e);
+            return;
+        }
+        sequences.publish(sequence);
+        schedule();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Objects.requireNonNull(throwable);
+        if (done) {
+            RxJavaPlugins.onError(throwable);
+            return;
+        }
+        failure = throwable;
+        done = true;
+        schedule();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        schedule();
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (downstream.compareAndSet(null, subscriber)) {
+            subscriber.onSubscribe(this);
+            schedule();
+        } else {
+            subscriber.onSubscribe(new EmptySubscription());
+            subscriber.onError(new IllegalStateException("Multicasting not supported"));
+        }
+    }
+
+    @Override
+    public void request(long n) {
+        if (SubscriptionHelper.validate(n)) {
+            BackpressureHelper.add(requested, n);
+            schedule();
+        }
+    }
+
+    @Override
+    public void cancel() {
+        if (!cancelled) {
+            cancelled = true;
+            SubscriptionHelper.cancel(upstream);
+            worker.dispose();
+        }
+    }
+
+    private void schedule() {
+        if (wip.getAndIncrement() == 0) {
+            worker.schedule(drain);
+        }
+    }
+
+    private void drain() {
+        int missed = 1;
+        long c = sequences.consumed();
+        for (;;) {
+            Subscriber<? super T> subscriber = downstream.get();
+            if (subscriber != null) {
+                long r = requested.get();
+                long e = emitted;
+                for (;;) {
+                    if (cancelled) {
+                        return;
+                    }
+                    // Read done before the producer sequence, so no item is missed when completing.
+                    boolean d = done;
+                    boolean empty = c == sequences.produced();
+                    if (d && empty) {
+                        Throwable f = failure;
+                        if (f != null) {
+                            subscriber.onError(f);
+                        } else {
+                            subscriber.onComplete();
+                        }
+                        worker.dispose();
+                        return;
+                    }
+                    if (empty || e == r) {
+                        break;
+                    }
+                    int slot = (int) c & mask;
+                    subscriber.onNext(read(slot));
+                    clear(slot);
+                    c++;
+                    e++;
+                    sequences.release(c);
+                    if (++consumed == limit) {
+                        consumed = 0;
+                        upstream.get().request(limit);
+                    }
+                }
+                emitted = e;
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    private static int roundToPowerOfTwo(int value) {
+        return 1 << (32 - Integer.numberOfLeadingZeros(value - 1));
+    }
+
+    private static final class ReferenceRing<T> extends RingBufferProcessor<T> {
+
+        private final Object[] slots;
+
+        ReferenceRing(int capacity, Scheduler scheduler) {
+            super(capacity, scheduler);
+            this.slots = new Object[capacity()];
+        }
+
+        @Override
+        void write(int slot, T item) {
+            slots[slot] = item;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        T read(int slot) {
+            return (T) slots[slot];
+        }
+
+        @Override
+        void clear(int slot) {
+            slots[slot] = null;
+        }
+    }
+
+    private static final class BinaryRing extends RingBufferProcessor<ByteBuffer> {
+
+        private final int recordSize;
+
+        /**
+         * The view used by the producer to copy the records.
+         */
+        private final ByteBuffer writer;
+
+        /**
+         * The read-only view passed to the subscriber.
+         */
+        private final ByteBuffer reader;
+
+        BinaryRing(int capacity, int recordSize, Scheduler scheduler) {
+            super(capacity, scheduler);
+            if (recordSize <= 0) {
+                throw new IllegalArgumentException("The record size must be strictly positive");
+            }
+            if ((long) capacity() * recordSize > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The ring must not exceed 2GB");
+            }
+            this.recordSize = recordSize;
+            ByteBuffer buffer = ByteBuffer.allocateDirect(capacity() * recordSize);
+            this.writer = buffer.duplicate();
+            this.reader = buffer.asReadOnlyBuffer();
+        }
+
+        @Override
+        void write(int slot, ByteBuffer item) {
+            if (item.remaining() != recordSize) {
+                throw new IllegalArgumentException("Invalid record size, expected " + recordSize + " bytes, got "
+                        + item.remaining());
+            }
+            int position = item.position();
+            int offset = slot * recordSize;
+            Buffers.restrict(writer, offset, offset + recordSize).put(item);
+            Buffers.position(item, position);
+        }
+
+        @Override
+        ByteBuffer read(int slot) {
+            int offset = slot * recordSize;
+            return Buffers.restrict(reader, offset, offset + recordSize);
+        }
+
+        @Override
+        void clear(int slot) {
+            // The slot is overwritten by the next record.
+        }
+    }
+}
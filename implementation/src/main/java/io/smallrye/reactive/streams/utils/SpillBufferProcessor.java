@@ -0,0 +1,396 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.reactivestreams.Processor;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.internal.queue.SpscLinkedArrayQueue;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.internal.util.BackpressureHelper;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * An unbounded buffer between a fast upstream and a slow subscriber, keeping a bounded number of items in memory, and
+ * spilling the others to disk, to be used in a {@code via} stage.
+ * <p>
+ * The upstream is consumed in an unbounded manner. Up to {@code memoryCapacity} items are kept in memory. Beyond, the
+ * items are serialized by the {@link SpillSerializer}, and appended to memory-mapped segment files of
+ * {@code segmentSize} bytes (or more for larger items), created in the {@link SpillDirectory}. Once an item has been
+ * spilled, the next ones are spilled too, until the subscriber has read all the items on disk, so the order is kept.
+ * The items are read back from the segments as the subscriber requests them, and each segment file is deleted once
+ * read. The remaining files are deleted when the stream terminates or is cancelled, and by the {@code SpillDirectory}
+ * after a crash.
+ * <p>
+ * Items are delivered on the thread of the upstream, or on the thread requesting them. The processor supports a
+ * single subscriber.
+ *
+ * @param <T> the value type
+ */
+public class SpillBufferProcessor<T> implements Processor<T, T>, Subscription {
+
+    private final int memoryCapacity;
+
+    private final int segmentSize;
+
+    private final SpillDirectory directory;
+
+    private final SpillSerializer<T> serializer;
+
+    private final SpscLinkedArrayQueue<T> memory;
+
+    /**
+     * The number of items in memory, incremented by the upstream before storing an item.
+     */
+    private final AtomicInteger buffered = new AtomicInteger();
+
+    /**
+     * The segments not read yet, in order.
+     */
+    private final ConcurrentLinkedQueue<Segment> segments = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of items on disk, incremented by the upstream after writing an item.
+     */
+    private final AtomicLong spilled = new AtomicLong();
+
+    private final AtomicReference<Subscription> upstream = new AtomicReference<>();
+
+    private final AtomicReference<Subscriber<? super T>> downstream = new AtomicReference<>();
+
+    private final AtomicLong requested = new AtomicLong();
+
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile boolean done;
+
+    private Throwable failure;
+
+    private volatile boolean cancelled;
+
+    /**
+     * The segment being written, only accessed by the upstream.
+     */
+    private Segment writing;
+
+    /**
+     * The number of items delivered, only accessed by the drain loop.
+     */
+    private long emitted;
+
+    /**
+     * @param memoryCapacity the maximum number of items kept in memory, must be positive
+     * @param segmentSize the size of the segment files, in bytes, must be strictly positive
+     * @param directory the directory of the segment files, must not be {@code null}
+     * @param serializer the serializer of the spilled items, must not be {@code null}
+     */
+    public SpillBufferProcessor(int memoryCapacity, int segmentSize, SpillDirectory directory,
+            SpillSerializer<T> serializer) {
+        if (memoryCapacity < 0) {
+            throw new IllegalArgumentException("The memory capacity must be positive");
+        }
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("The segment size must be strictly positive");
+        }
+        this.memoryCapacity = memoryCapacity;
+        this.segmentSize = segmentSize;
+        this.directory = Objects.requireNonNull(directory, "The directory must not be null");
+        this.serializer = Objects.requireNonNull(serializer, "The serializer must not be null");
+        this.memory = new SpscLinkedArrayQueue<>(Math.max(1, Math.min(memoryCapacity, 128)));
+    }
+
+    /**
+     * @return the number of items kept in memory
+     */
+    public int getBufferedItems() {
+        return buffered.get();
+    }
+
+    /**
+     * @return the number of items spilled to disk, and not read yet
+     */
+    public long getSpilledItems() {
+        return spilled.get();
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        if (SubscriptionHelper.setOnce(upstream, subscription)) {
+            subscription.request(Long.MAX_VALUE);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        Objects.requireNonNull(item);
+        if (done) {
+            return;
+        }
+        if (spilled.get() == 0 && buffered.get() < memoryCapacity) {
+            buffered.incrementAndGet();
+            memory.offer(item);
+        } else {
+            try {
+                spill(item);
+            } catch (IOException | RuntimeException e) {
+                SubscriptionHelper.cancel(upstream);
+                onError(e);
+                return;
+            }
+        }
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Objects.requireNonNull(throwable);
+        if (done) {
+            RxJavaPlugins.onError(throwable);
+            return;
+        }
+        failure = throwable;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (downstream.compareAndSet(null, subscriber)) {
+            subscriber.onSubscribe(this);
+            drain();
+        } else {
+            subscriber.onSubscribe(new EmptySubscription());
+            subscriber.onError(new IllegalStateException("Multicasting not supported"));
+        }
+    }
+
+    @Override
+    public void request(long n) {
+        if (SubscriptionHelper.validate(n)) {
+            BackpressureHelper.add(requested, n);
+            drain();
+        }
+    }
+
+    @Override
+    public void cancel() {
+        if (!cancelled) {
+            cancelled = true;
+            SubscriptionHelper.cancel(upstream);
+            if (wip.getAndIncrement() == 0) {
+                clear();
+            }
+        }
+    }
+
+    /**
+     * Appends an item to the segment being written, called by the upstream.
+     */
+    private void spill(T item) throws IOException {
+        byte[] bytes = serializer.serialize(item);
+        int length = Integer.BYTES + bytes.length;
+        Segment segment = writing;
+        if (segment == null || segment.capacity - segment.written < length) {
+            segment = new Segment(directory.newSegment(), Math.max(segmentSize, length));
+            writing = segment;
+            segments.offer(segment);
+            if (cancelled) {
+                // Created while cancelling, so possibly missed by clear.
+                segment.delete();
+                return;
+            }
+        }
+        int position = segment.written;
+        ByteBuffer writer = segment.writer;
+        writer.putInt(position, bytes.length);
+        Buffers.position(writer, position + Integer.BYTES).put(bytes);
+        segment.written = position + length;
+        spilled.incrementAndGet();
+    }
+
+    /**
+     * Called by the drain loop.
+     *
+     * @return the next item, {@code null} if none
+     */
+    private T poll() {
+        // Read the number of spilled items first: if there are some, no item can be added to the memory until they are
+        // read, so an empty memory means that the next item is on disk.
+        long s = spilled.get();
+        T item = memory.poll();
+        if (item != null) {
+            buffered.decrementAndGet();
+            return item;
+        }
+        if (s == 0) {
+            return null;
+        }
+        for (;;) {
+            Segment segment = segments.peek();
+            if (segment.read < segment.written) {
+                return unspill(segment);
+            }
+            // The next item is in a following segment, so the upstream does not write to this one anymore.
+            segments.poll();
+            segment.delete();
+        }
+    }
+
+    private T unspill(Segment segment) {
+        int length = segment.reader.getInt(segment.read);
+        int start = segment.read + Integer.BYTES;
+        ByteBuffer bytes = Buffers.restrict(segment.reader, start, start + length);
+        T item = Objects.requireNonNull(serializer.deserialize(bytes), "The serializer returned null");
+        segment.read = start + length;
+        spilled.decrementAndGet();
+        return item;
+    }
+
+    private boolean isEmpty() {
+        return spilled.get() == 0 && memory.isEmpty();
+    }
+
+    /**
+     * Drops the buffered items, and deletes the segment files, called by the drain loop.
+     */
+    private void clear() {
+        memory.clear();
+        Segment segment;
+        while ((segment = segments.poll()) != null) {
+            segment.delete();
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            Subscriber<? super T> subscriber = downstream.get();
+            if (subscriber != null) {
+                long r = requested.get();
+                long e = emitted;
+                while (e != r) {
+                    if (cancelled) {
+                        clear();
+                        return;
+                    }
+                    // Read done before polling, so no item is missed when completing.
+                    boolean d = done;
+                    T item;
+                    try {
+                        item = poll();
+                    } catch (RuntimeException ex) {
+                        cancelled = true;
+                        SubscriptionHelper.cancel(upstream);
+                        clear();
+                        subscriber.onError(ex);
+                        return;
+                    }
+                    boolean empty = item == null;
+                    if (d && empty) {
+                        terminate(subscriber);
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    subscriber.onNext(item);
+                    e++;
+                }
+                if (e == r) {
+                    if (cancelled) {
+                        clear();
+                        return;
+                    }
+                    if (done && isEmpty()) {
+                        terminate(subscriber);
+                        return;
+                    }
+                }
+                emitted = e;
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    private void terminate(Subscriber<? super T> subscriber) {
+        clear();
+        Throwable f = failure;
+        if (f != null) {
+            subscriber.onError(f);
+        } else {
+            subscriber.onComplete();
+        }
+    }
+
+    /**
+     * A memory-mapped segment file.
+     */
+    private static final class Segment {
+
+        private final Path path;
+
+        private final int capacity;
+
+        /**
+         * The view used by the upstream to write the items.
+         */
+        private final ByteBuffer writer;
+
+        /**
+         * The view used by the drain loop to read the items.
+         */
+        private final ByteBuffer reader;
+
+        /**
+         * The number of bytes written, published by the upstream after writing an item.
+         */
+        private volatile int written;
+
+        /**
+         * The number of bytes read, only accessed by the drain loop.
+         */
+        private int read;
+
+        Segment(Path path, int capacity) throws IOException {
+            this.path = path;
+            this.capacity = capacity;
+            // The mapping stays valid once the channel is closed.
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+                this.writer = buffer;
+                this.reader = buffer.duplicate();
+            } catch (IOException | RuntimeException e) {
+                delete();
+                throw e;
+            }
+        }
+
+        void delete() {
+            SpillDirectory.deleteQuietly(path);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * The directory storing the segment files of the {@link SpillBufferProcessor spill buffers} of a process.
+ * <p>
+ * The directory is created under a base directory, and holds an exclusive lock on a {@code .lock} file until it is
+ * closed, or until the process exits. When a process crashes, the operating system releases the lock, so the
+ * directories left behind are detected and deleted by {@link #cleanup(Path)}, which is called when a new directory is
+ * created under the same base. The directory is also deleted by a shutdown hook.
+ */
+public final class SpillDirectory implements Closeable {
+
+    static final String PREFIX = "smallrye-spill-";
+
+    static final String LOCK = ".lock";
+
+    /**
+     * The directories modified more recently than this delay may be being created by another process, which has not
+     * locked them yet, so they are not cleaned up.
+     */
+    private static final long CREATION_DELAY = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * The directories of the current process. Their lock files must not be opened by the cleanup, as closing any
+     * channel on a file may release the locks held by the process on this file.
+     */
+    private static final Set<Path> OWNED = ConcurrentHashMap.newKeySet();
+
+    private final Path directory;
+
+    private final FileChannel lockChannel;
+
+    private final FileLock lock;
+
+    private final Thread hook;
+
+    private final AtomicLong segments = new AtomicLong();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private SpillDirectory(Path directory, FileChannel lockChannel, FileLock lock) {
+        this.directory = directory;
+        this.lockChannel = lockChannel;
+        this.lock = lock;
+        this.hook = new Thread(this::delete, PREFIX + "cleanup");
+        Runtime.getRuntime().addShutdownHook(hook);
+    }
+
+    /**
+     * Creates a directory in the temporary directory of the system.
+     *
+     * @return the directory
+     * @throws UncheckedIOException if the directory cannot be created
+     */
+    public static SpillDirectory create() {
+        return create(Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Creates a directory under the given base, after having deleted the directories left behind by the processes
+     * that crashed.
+     *
+     * @param base the base directory, created if it does not exist, must not be {@code null}
+     * @return the directory
+     * @throws UncheckedIOException if the directory cannot be created
+     */
+    public static SpillDirectory create(Path base) {
+        Objects.requireNonNull(base, "The base directory must not be null");
+        try {
+            Files.createDirectories(base);
+            cleanup(base);
+            Path directory = Files.createTempDirectory(base, PREFIX);
+            // Registered before the lock file is created, so the cleanups of the current process never open it.
+            OWNED.add(directory);
+            try {
+                return lock(directory);
+            } catch (IOException | RuntimeException e) {
+                OWNED.remove(directory);
+                deleteRecursively(directory);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static SpillDirectory lock(Path directory) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(LOCK), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        try {
+            return new SpillDirectory(directory, channel, channel.lock());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes the directories left behind by the processes that crashed, that is, the directories whose lock is not
+     * held, and which have not been modified for a minute. The directories of the running processes, including the
+     * current one, are kept.
+     *
+     * @param base the base directory, must not be {@code null}
+     * @return the number of deleted directories
+     * @throws UncheckedIOException if the base directory cannot be listed
+     */
+    public static int cleanup(Path base) {
+        Objects.requireNonNull(base, "The base directory must not be null");
+        if (!Files.isDirectory(base)) {
+            return 0;
+        }
+        int deleted = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(base, PREFIX + "*")) {
+            for (Path directory : stream) {
+                if (!OWNED.contains(directory) && Files.isDirectory(directory) && isAbandoned(directory)) {
+                    deleteRecursively(directory);
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return deleted;
+    }
+
+    private static boolean isAbandoned(Path directory) {
+        Path lockFile = directory.resolve(LOCK);
+        try {
+            // The lock file is created, then locked, so a recent directory with an unlocked lock file may still be
+            // being created.
+            if (System.currentTimeMillis() - Files.getLastModifiedTime(directory).toMillis() <= CREATION_DELAY) {
+                return false;
+            }
+            if (!Files.exists(lockFile)) {
+                return true;
+            }
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.tryLock();
+                if (lock == null) {
+                    // Held by another process.
+                    return false;
+                }
+                lock.release();
+                return true;
+            }
+        } catch (OverlappingFileLockException e) {
+            // Held by the current process, through another copy of this class.
+            return false;
+        } catch (IOException e) {
+            // Deleted concurrently, or not accessible.
+            return false;
+        }
+    }
+
+    /**
+     * Creates a segment file.
+     *
+     * @return the path of the file
+     * @throws IOException if the file cannot be created
+     */
+    Path newSegment() throws IOException {
+        if (closed.get()) {
+            throw new IOException("The spill directory " + directory + " is closed");
+        }
+        return Files.createFile(directory.resolve("segment-" + segments.incrementAndGet()));
+    }
+
+    /**
+     * @return the path of the directory
+     */
+    public Path getPath() {
+        return directory;
+    }
+
+    /**
+     * Releases the lock, and deletes the directory with the remaining segment files. The spill buffers using the
+     * directory must not be used anymore.
+     */
+    @Override
+    public void close() {
+        try {
+            Runtime.getRuntime().removeShutdownHook(hook);
+        } catch (IllegalStateException e) {
+            // The process is exiting, the hook deletes the directory.
+            return;
+        }
+        delete();
+    }
+
+    private void delete() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            lock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            // Released when the process exits.
+        }
+        deleteRecursively(directory);
+        OWNED.remove(directory);
+    }
+
+    static void deleteRecursively(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(SpillDirectory::deleteQuietly);
+        } catch (IOException | UncheckedIOException e) {
+            // Deleted by the next cleanup.
+        }
+    }
+
+    static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // On some systems, a file cannot be deleted while it is mapped. Deleted by the next cleanup.
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SpillDirectory[" + directory + "]";
+    }
+}
@@ -0,0 +1,25 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts the items spilled to disk by a {@link SpillBufferProcessor} to bytes, and back.
+ *
+ * @param <T> the value type
+ */
+public interface SpillSerializer<T> {
+
+    /**
+     * @param item the item, not {@code null}
+     * @return the bytes of the item
+     */
+    byte[] serialize(T item);
+
+    /**
+     * @param bytes the bytes written by {@link #serialize(Object)}, between the position and the limit of the buffer;
+     *        the buffer is a view of a memory-mapped segment, only valid until the method returns
+     * @return the item, must not be {@code null}
+     */
+    T deserialize(ByteBuffer bytes);
+
+}
@@ -0,0 +1,85 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The sequences of a single-producer / single-consumer ring buffer: the sequence of the next slot to write, owned by
+ * the producer, and the sequence of the next slot to read, owned by the consumer.
+ * <p>
+ * The two sequences are stored in the same array, 128 bytes apart and away from the array header, so the producer and
+ * the consumer do not write to the same cache line (nor to adjacent lines, fetched in pairs by some processors). Each
+ * side publishes its sequence with an ordered write, and the producer caches the last consumer sequence it has read,
+ * so it only reads the consumer cache line when the cached value says the ring is full.
+ */
+final class SpscSequences {
+
+    private static final int PADDING = 16;
+    private static final int PRODUCER = PADDING - 1;
+    private static final int CONSUMER = 2 * PADDING - 1;
+
+    private final AtomicLongArray sequences = new AtomicLongArray(3 * PADDING);
+
+    private final int capacity;
+
+    /**
+     * The sequence the producer can write up to (exclusive), only accessed by the producer.
+     */
+    private long producerLimit;
+
+    /**
+     * @param capacity the number of slots
+     */
+    SpscSequences(int capacity) {
+        this.capacity = capacity;
+        this.producerLimit = capacity;
+    }
+
+    /**
+     * Called by the producer.
+     *
+     * @return the sequence of the next slot to write, or {@code -1} if the ring is full
+     */
+    long claim() {
+        long p = sequences.get(PRODUCER);
+        if (p >= producerLimit) {
+            producerLimit = sequences.get(CONSUMER) + capacity;
+            if (p >= producerLimit) {
+                return -1;
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Called by the producer, makes the slot of the given sequence, and the previous ones, visible to the consumer.
+     *
+     * @param sequence the sequence returned by {@link #claim()}
+     */
+    void publish(long sequence) {
+        sequences.lazySet(PRODUCER, sequence + 1);
+    }
+
+    /**
+     * @return the sequence of the next slot to write
+     */
+    long produced() {
+        return sequences.get(PRODUCER);
+    }
+
+    /**
+     * @return the sequence of the next slot to read
+     */
+    long consumed() {
+        return sequences.get(CONSUMER);
+    }
+
+    /**
+     * Called by the consumer, releases the slots up to the given sequence (exclusive) to the producer.
+     *
+     * @param sequence the sequence of the next slot to read
+     */
+    void release(long sequence) {
+        sequences.lazySet(CONSUMER, sequence);
+    }
+
+}
@@ -1,17 +1,19 @@
 package io.smallrye.reactive.streams.utils;
 
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
 /**
- * Represents a subscription between a source and a sink. Inform another {@link SubscriptionObserver} on cancellation,
- * completion and error. This
- * class is used to coupled 2 flows (Coupled operator).
+ * Represents a subscription between a source and a sink. Inform the other side of the {@link Coupling} on
+ * cancellation, completion and error. This class is used to coupled 2 flows (Coupled operator).
+ * <p>
+ * The coupling does not use any lock: the termination of the coupled flows is recorded in the shared {@link Coupling},
+ * and each side moves to its {@link State#TERMINATED} state with a compare-and-set, so the terminal signal is
+ * delivered once, and never while the sink is receiving its subscription.
  *
  * @param <X> the type of data transiting in the stream
  */
@@ -22,181 +24,148 @@ class SubscriptionObserver<X> {
      */
     private enum State {
         /**
-         * Initialization - no subscriber yet
+         * Initialization - no subscription yet
          */
         INIT,
         /**
-         * A subscriber is observing, the subscription has been passed to this subscriber.
+         * The subscription is being passed to the sink. A termination happening in this state is delivered once the
+         * sink has received the subscription.
          */
-        SUBSCRIBED,
+        SUBSCRIBING,
         /**
-         * The stream has completed.
+         * A subscriber is observing, the subscription has been passed to this subscriber.
          */
-        COMPLETED,
+        SUBSCRIBED,
         /**
-         * The stream has failed.
+         * The stream has completed, failed or been cancelled.
          */
-        FAILED
+        TERMINATED
     }
 
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<SubscriptionObserver, State> STATE = AtomicReferenceFieldUpdater
+            .newUpdater(SubscriptionObserver.class, State.class, "state");
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<SubscriptionObserver, Subscription> SUBSCRIPTION = AtomicReferenceFieldUpdater
+            .newUpdater(SubscriptionObserver.class, Subscription.class, "subscription");
+
     /**
      * The source.
      */
     private final Publisher<X> upstream;
 
     /**
-     * The sink.
-     * It's an atomic reference to allow releasing the reference on the subscriber as mandated by the
-     * Reactive Streams TCK.
+     * The termination state shared with the other side.
      */
-    private final AtomicReference<Subscriber<? super X>> downstream = new AtomicReference<>();
+    private final Coupling coupling;
 
     /**
-     * A reference on another {@link SubscriptionObserver} notified on cancellation, termination and
-     * failure.
+     * The sink.
+     * It's released on termination as mandated by the Reactive Streams TCK.
      */
-    private final AtomicReference<SubscriptionObserver> observer = new AtomicReference<>();
+    private volatile Subscriber<? super X> downstream;
 
     /**
      * The current state.
      */
-    private final AtomicReference<State> state = new AtomicReference<>(State.INIT);
+    private volatile State state = State.INIT;
 
     /**
      * The subscription to upstream.
      */
-    private final AtomicReference<Subscription> subscription = new AtomicReference<>();
-
-    /**
-     * A reference on the error emitted by upstream (if any). It's required as the observer can
-     * start the observation after the error to be thrown and so we must pass it.
-     */
-    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile Subscription subscription;
 
-    SubscriptionObserver(Publisher<X> upstream, Subscriber<? super X> downstream) {
+    SubscriptionObserver(Publisher<X> upstream, Subscriber<? super X> downstream, Coupling coupling) {
         this.upstream = Objects.requireNonNull(upstream);
-        this.downstream.set(Objects.requireNonNull(downstream));
-    }
-
-    void setObserver(SubscriptionObserver other) {
-        this.observer.set(Objects.requireNonNull(other));
+        this.downstream = Objects.requireNonNull(downstream);
+        this.coupling = Objects.requireNonNull(coupling);
     }
 
+    /**
+     * Subscribes to the source. This side must have been registered in the {@link Coupling} before.
+     */
     public void run() {
         upstream.subscribe(new Subscriber<X>() {
             @Override
-            public synchronized void onSubscribe(Subscription sub) {
-                if (manageCompletionOrErrorFromBeforeSubscription(sub) || manageAlreadySubscribed(sub)) {
+            public void onSubscribe(Subscription sub) {
+                Objects.requireNonNull(sub);
+                if (!SUBSCRIPTION.compareAndSet(SubscriptionObserver.this, null, sub)) {
+                    // We already have a subscription, cancel the received one.
+                    sub.cancel();
                     return;
                 }
-                if (downstream.get() == null) {
+                Subscriber<? super X> subscriber = downstream;
+                if (coupling.isTerminated()) {
+                    // The other side terminated before the subscription.
+                    if (STATE.compareAndSet(SubscriptionObserver.this, State.INIT, State.TERMINATED)) {
+                        downstream = null;
+                        subscriber.onSubscribe(new EmptySubscription());
+                        coupling.signal(subscriber);
+                    }
                     sub.cancel();
+                    return;
+                }
+
+                state = State.SUBSCRIBING;
+                subscriber.onSubscribe(new WrappedSubscription(sub, SubscriptionObserver.this::cancelled));
+                // The termination may have been recorded while the sink was receiving the subscription.
+                if (STATE.compareAndSet(SubscriptionObserver.this, State.SUBSCRIBING, State.SUBSCRIBED)
+                        && coupling.isTerminated()) {
+                    terminated();
                 }
-                // The subscription is set.
-                state.set(State.SUBSCRIBED);
-                injectSubscription(downstream.get(), sub);
             }
 
             @Override
             public void onNext(X o) {
-                apply(downstream, d -> d.onNext(Objects.requireNonNull(o)));
+                Objects.requireNonNull(o);
+                Subscriber<? super X> subscriber = downstream;
+                if (subscriber != null) {
+                    subscriber.onNext(o);
+                }
             }
 
             @Override
-            public synchronized void onError(Throwable t) {
-                state.set(State.FAILED);
-                apply(downstream, d -> d.onError(Objects.requireNonNull(t)));
-                apply(subscription, Subscription::cancel);
-                failure.set(t);
-                apply(observer, obs -> obs.error(t));
+            public void onError(Throwable t) {
+                coupling.fail(Objects.requireNonNull(t));
             }
 
             @Override
-            public synchronized void onComplete() {
-                state.set(State.COMPLETED);
-                apply(downstream, Subscriber::onComplete);
-                apply(subscription, Subscription::cancel);
-                apply(observer, SubscriptionObserver::complete);
+            public void onComplete() {
+                coupling.complete();
             }
         });
     }
 
-    private void injectSubscription(Subscriber<? super X> subscriber, Subscription sub) {
-        subscriber.onSubscribe(new WrappedSubscription(sub,
-                // On cancellation, notify the observer and cleanup.
-                // The delegate subscription is going to be cancelled automatically.
-                () -> {
-                    if (state.get() == State.SUBSCRIBED || state.get() == State.INIT) {
-                        // If we are already in the COMPLETED or FAILED state, stay in the state.
-                        state.set(State.COMPLETED);
-                    }
-                    downstream.set(null);
-                    apply(observer, SubscriptionObserver::complete);
-                }));
-    }
-
-    private boolean manageAlreadySubscribed(Subscription sub) {
-        if (!subscription.compareAndSet(null, sub)) {
-            sub.cancel();
-            return true;
-        }
-        return false;
-    }
-
-    private synchronized Throwable failure() {
-        return failure.get();
-    }
-
-    private synchronized boolean manageCompletionOrErrorFromBeforeSubscription(Subscription sub) {
-        SubscriptionObserver obs = observer.get();
-        if (obs != null) {
-            if (obs.state.get() == State.FAILED) {
-                state.set(State.FAILED);
-                apply(downstream, d -> {
-                    d.onSubscribe(new EmptySubscription());
-                    d.onError(obs.failure());
-                });
-                sub.cancel();
-                return true;
-            }
-            if (obs.state.get() == State.COMPLETED) {
-                state.set(State.COMPLETED);
-                apply(downstream, d -> {
-                    d.onSubscribe(new EmptySubscription());
-                    d.onComplete();
-                });
-                sub.cancel();
-                return true;
-            }
-        }
-        return false;
-    }
-
     /**
-     * The observed streams has failed.
-     *
-     * @param failure the error.
+     * The coupled streams have terminated: pass the terminal signal to the sink and cancel the subscription. Does
+     * nothing if the sink has not received the subscription yet, the signal is then delivered by the subscribing
+     * thread.
      */
-    public synchronized void error(Throwable failure) {
-        if (state.compareAndSet(State.SUBSCRIBED, State.FAILED)) {
-            apply(downstream, stream -> stream.onError(failure));
-            apply(subscription, Subscription::cancel);
-            downstream.set(null);
-        }
-    }
-
-    public synchronized void complete() {
-        if (state.compareAndSet(State.SUBSCRIBED, State.COMPLETED)) {
-            apply(downstream, Subscriber::onComplete);
-            apply(subscription, Subscription::cancel);
-            downstream.set(null);
+    void terminated() {
+        if (STATE.compareAndSet(this, State.SUBSCRIBED, State.TERMINATED)) {
+            Subscriber<? super X> subscriber = downstream;
+            downstream = null;
+            coupling.signal(subscriber);
+            subscription.cancel();
         }
     }
 
-    private static <X> void apply(AtomicReference<X> ref, Consumer<X> consumer) {
-        X x = ref.get();
-        if (x != null) {
-            consumer.accept(x);
+    /**
+     * The sink has cancelled the subscription: release it and complete the other side.
+     * The delegate subscription is going to be cancelled automatically.
+     */
+    private void cancelled() {
+        for (;;) {
+            State current = state;
+            if (current == State.TERMINATED) {
+                return;
+            }
+            if (STATE.compareAndSet(this, current, State.TERMINATED)) {
+                downstream = null;
+                coupling.complete();
+                return;
+            }
         }
     }
 }
@@ -0,0 +1,132 @@
+package io.smallrye.reactive.streams;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.microprofile.reactive.streams.operators.ProcessorBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.After;
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.streams.spi.ExecutionModel;
+import io.smallrye.reactive.streams.spi.ExecutionModelPlacement;
+
+/**
+ * Checks where the {@link ExecutionModel} is applied depending on the {@link ExecutionModelPlacement}. The
+ * {@link CountingExecutionModel} is passed to the engines of this test only.
+ */
+public class ExecutionModelPlacementTest {
+
+    @After
+    public void tearDown() {
+        System.clearProperty(ExecutionModelPlacement.PLACEMENT_PROPERTY);
+    }
+
+    @Test
+    public void testDefaultPlacement() {
+        assertThat(new Engine().getExecutionModelPlacement()).isEqualTo(ExecutionModelPlacement.ASYNC_BOUNDARIES);
+        System.setProperty(ExecutionModelPlacement.PLACEMENT_PROPERTY, "every-stage");
+        assertThat(new Engine().getExecutionModelPlacement()).isEqualTo(ExecutionModelPlacement.EVERY_STAGE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPlacement() {
+        System.setProperty(ExecutionModelPlacement.PLACEMENT_PROPERTY, "nowhere");
+        new Engine();
+    }
+
+    @Test
+    public void testSynchronousPipeline() {
+        // Source and before the terminal stage.
+        assertThat(count(ExecutionModelPlacement.ASYNC_BOUNDARIES, synchronousPipeline())).isEqualTo(2);
+        // Source, the fused run, distinct, limit and the terminal stage.
+        assertThat(count(ExecutionModelPlacement.EVERY_STAGE, synchronousPipeline())).isEqualTo(5);
+    }
+
+    @Test
+    public void testPipelineWithAsynchronousBoundaries() {
+        PublisherBuilder<Integer> pipeline = ReactiveStreams.of(1, 2, 3)
+                .map(i -> i + 1)
+                .flatMap(i -> ReactiveStreams.of(i, i))
+                .flatMapCompletionStage(i -> CompletableFuture.completedFuture(Arrays.asList(i, i)))
+                .flatMapIterable(l -> l);
+        // Outer graph: source, flatMap, flatMapCompletionStage, terminal.
+        // Inner graphs: source of each of the 3 inner publishers.
+        assertThat(count(ExecutionModelPlacement.ASYNC_BOUNDARIES, pipeline)).isEqualTo(4 + 3);
+    }
+
+    @Test
+    public void testThatInnerInMemorySourcesGetTheModel() {
+        PublisherBuilder<Integer> pipeline = ReactiveStreams.of(1, 2, 3)
+                .flatMap(i -> ReactiveStreams.of(i, i));
+        // Outer graph: source and flatMap. Inner graphs: source of each of the 3 inner publishers.
+        assertThat(count(ExecutionModelPlacement.ASYNC_BOUNDARIES, pipeline)).isEqualTo(2 + 3);
+        // Outer graph: source, flatMap and terminal. Inner graphs: source of each of the 3 inner publishers.
+        assertThat(count(ExecutionModelPlacement.EVERY_STAGE, pipeline)).isEqualTo(3 + 3);
+    }
+
+    @Test
+    public void testThatInMemoryGraphsAreNotEvaluatedSynchronouslyWithAModel() {
+        // Source and before the terminal stage, the synchronous evaluation would not apply the model at all.
+        assertThat(count(ExecutionModelPlacement.ASYNC_BOUNDARIES, ReactiveStreams.of(1, 2, 3).map(i -> i + 1)))
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void testProcessor() {
+        ProcessorBuilder<Integer, Integer> processor = ReactiveStreams.<Integer> builder()
+                .map(i -> i + 1)
+                .filter(i -> i > 0);
+        CountingExecutionModel model = new CountingExecutionModel();
+        Engine engine = new Engine(new GraphPlanCache(), ExecutionModelPlacement.ASYNC_BOUNDARIES, model);
+        List<Integer> list = ReactiveStreams.of(1, 2).via(processor.buildRs(engine)).toList().run(engine)
+                .toCompletableFuture().join();
+        assertThat(list).containsExactly(2, 3);
+        // Processor: source and output. Outer graph: source and via, as the processor stage is a boundary.
+        assertThat(model.count()).isEqualTo(2 + 2);
+    }
+
+    private PublisherBuilder<Integer> synchronousPipeline() {
+        // Not an in-memory source, so the graph is not evaluated synchronously.
+        return ReactiveStreams.fromPublisher(Flowable.range(1, 5))
+                .map(i -> i + 1)
+                .filter(i -> i % 2 == 0)
+                .peek(i -> {
+                })
+                .map(i -> i * 2)
+                .distinct()
+                .limit(10);
+    }
+
+    private int count(ExecutionModelPlacement placement, PublisherBuilder<Integer> pipeline) {
+        CountingExecutionModel model = new CountingExecutionModel();
+        Engine engine = new Engine(new GraphPlanCache(), placement, model);
+        assertThat(pipeline.toList().run(engine).toCompletableFuture().join()).isNotEmpty();
+        return model.count();
+    }
+
+    /**
+     * An {@link ExecutionModel} counting how many times it has been applied.
+     */
+    private static class CountingExecutionModel implements ExecutionModel {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Flowable apply(Flowable flowable) {
+            counter.incrementAndGet();
+            return flowable;
+        }
+
+        int count() {
+            return counter.get();
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package io.smallrye.reactive.streams;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Checks the behavior of {@link FlatMapConcurrency}.
+ */
+public class FlatMapConcurrencyTest {
+
+    @After
+    public void cleanup() {
+        System.clearProperty(FlatMapConcurrency.MODE_PROPERTY);
+        System.clearProperty(FlatMapConcurrency.MAX_CONCURRENCY_PROPERTY);
+    }
+
+    @Test
+    public void testDefault() {
+        FlatMapConcurrency concurrency = FlatMapConcurrency.fromSystemProperties();
+        assertThat(concurrency).isSameAs(FlatMapConcurrency.sequential());
+        assertThat(concurrency.getMode()).isEqualTo(FlatMapConcurrency.Mode.SEQUENTIAL);
+        assertThat(concurrency.getMaxConcurrency()).isEqualTo(1);
+        assertThat(new Engine().getFlatMapConcurrency()).isEqualTo(FlatMapConcurrency.sequential());
+    }
+
+    @Test
+    public void testSystemProperties() {
+        System.setProperty(FlatMapConcurrency.MODE_PROPERTY, "ordered");
+        assertThat(FlatMapConcurrency.fromSystemProperties())
+                .isEqualTo(FlatMapConcurrency.ordered(FlatMapConcurrency.DEFAULT_MAX_CONCURRENCY));
+
+        System.setProperty(FlatMapConcurrency.MODE_PROPERTY, "Unordered");
+        System.setProperty(FlatMapConcurrency.MAX_CONCURRENCY_PROPERTY, "4");
+        assertThat(FlatMapConcurrency.fromSystemProperties()).isEqualTo(FlatMapConcurrency.unordered(4));
+        assertThat(new Engine().getFlatMapConcurrency()).isEqualTo(FlatMapConcurrency.unordered(4));
+    }
+
+    @Test
+    public void testInvalidSystemProperties() {
+        System.setProperty(FlatMapConcurrency.MODE_PROPERTY, "parallel");
+        assertThatThrownBy(FlatMapConcurrency::fromSystemProperties).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(FlatMapConcurrency.MODE_PROPERTY);
+
+        System.setProperty(FlatMapConcurrency.MODE_PROPERTY, "ordered");
+        System.setProperty(FlatMapConcurrency.MAX_CONCURRENCY_PROPERTY, "0");
+        assertThatThrownBy(FlatMapConcurrency::fromSystemProperties).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testPerPipelineEngine() {
+        Engine engine = new Engine();
+        assertThat(engine.withFlatMapConcurrency(FlatMapConcurrency.sequential())).isSameAs(engine);
+
+        Engine ordered = engine.withFlatMapConcurrency(FlatMapConcurrency.ordered(8));
+        assertThat(ordered).isNotSameAs(engine);
+        assertThat(ordered.getFlatMapConcurrency()).isEqualTo(FlatMapConcurrency.ordered(8));
+        assertThat(ordered.getPlanCache()).isSameAs(engine.getPlanCache());
+        assertThat(ordered.getOptimizer()).isSameAs(engine.getOptimizer());
+        assertThat(ordered.getExecutionModelPlacement()).isEqualTo(engine.getExecutionModelPlacement());
+        assertThat(engine.getFlatMapConcurrency()).isEqualTo(FlatMapConcurrency.sequential());
+    }
+
+    @Test
+    public void testToString() {
+        assertThat(FlatMapConcurrency.sequential()).hasToString("sequential");
+        assertThat(FlatMapConcurrency.ordered(4)).hasToString("ordered(4)");
+        assertThat(FlatMapConcurrency.unordered(16)).hasToString("unordered(16)");
+    }
+
+}
@@ -0,0 +1,133 @@
+package io.smallrye.reactive.streams;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Graph;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.eclipse.microprofile.reactive.streams.operators.spi.ToGraphable;
+import org.eclipse.microprofile.reactive.streams.operators.spi.UnsupportedStageException;
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.streams.operators.ProcessorOperator;
+import io.smallrye.reactive.streams.operators.PublisherOperator;
+import io.smallrye.reactive.streams.operators.TerminalOperator;
+
+/**
+ * Checks the behavior of the {@link GraphPlanCache} and {@link GraphPlan}.
+ */
+public class GraphPlanCacheTest {
+
+    @Test
+    public void testCompilation() {
+        GraphPlan plan = GraphPlan.compile(graph(1, 2, 3));
+        assertThat(plan.size()).isEqualTo(3);
+        assertThat(plan.operator(0)).isInstanceOf(PublisherOperator.class);
+        assertThat(plan.operator(1)).isInstanceOf(ProcessorOperator.class);
+        assertThat(plan.operator(2)).isInstanceOf(TerminalOperator.class);
+    }
+
+    @Test
+    public void testIdentityKeying() {
+        GraphPlanCache cache = new GraphPlanCache(10, false);
+        Graph graph = graph(1, 2, 3);
+        GraphPlan plan = cache.lookup(graph);
+        assertThat(cache.lookup(graph)).isSameAs(plan);
+        assertThat(cache.lookup(graph(1, 2, 3))).isNotSameAs(plan);
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFingerprintKeying() {
+        GraphPlanCache cache = new GraphPlanCache(10, true);
+        assertThat(cache.isFingerprintEnabled()).isTrue();
+        GraphPlan plan = cache.lookup(graph(1, 2, 3));
+        assertThat(cache.lookup(graph(4, 5, 6))).isSameAs(plan);
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(1);
+
+        Graph other = ((ToGraphable) ReactiveStreams.of(1, 2, 3).filter(i -> i > 1).toList()).toGraph();
+        assertThat(cache.lookup(other)).isNotSameAs(plan);
+        assertThat(cache.misses()).isEqualTo(2);
+    }
+
+    @Test
+    public void testEviction() {
+        GraphPlanCache cache = new GraphPlanCache(2, false);
+        Graph first = graph(1);
+        cache.lookup(first);
+        cache.lookup(graph(2));
+        cache.lookup(graph(3));
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.evictions()).isEqualTo(1);
+
+        // The first graph has been evicted.
+        cache.lookup(first);
+        assertThat(cache.hits()).isEqualTo(0);
+        assertThat(cache.misses()).isEqualTo(4);
+
+        cache.clear();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testDisabledCache() {
+        GraphPlanCache cache = new GraphPlanCache(0, false);
+        Graph graph = graph(1, 2, 3);
+        assertThat(cache.lookup(graph)).isNotSameAs(cache.lookup(graph));
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.hits()).isEqualTo(0);
+        assertThat(cache.misses()).isEqualTo(2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSize() {
+        new GraphPlanCache(-1, false);
+    }
+
+    @Test
+    public void testThatUnsupportedGraphsAreNotCached() {
+        GraphPlanCache cache = new GraphPlanCache(10, false);
+        List<Stage> stages = new ArrayList<>();
+        stages.add((Stage.PublisherStage) Flowable::empty);
+        stages.add(new Stage() {
+            // Unknown stage.
+        });
+        Graph graph = () -> stages;
+        assertThatThrownBy(() -> cache.lookup(graph)).isInstanceOf(UnsupportedStageException.class);
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testEngineReusingPlans() {
+        GraphPlanCache cache = new GraphPlanCache(10, true);
+        Engine engine = new Engine(cache);
+        assertThat(engine.getPlanCache()).isSameAs(cache);
+
+        List<List<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(ReactiveStreams.of(i, i + 1)
+                    .flatMap(x -> ReactiveStreams.of(x, x))
+                    .toList()
+                    .run(engine).toCompletableFuture().join());
+        }
+        assertThat(results.get(0)).containsExactly(0, 0, 1, 1);
+        assertThat(results.get(4)).containsExactly(4, 4, 5, 5);
+        // 1 outer graph + 1 inner graph structure, everything else is served from the cache.
+        assertThat(cache.misses()).isEqualTo(2);
+        assertThat(cache.hits()).isEqualTo(4 + 5 * 2 - 1);
+    }
+
+    private Graph graph(Integer... items) {
+        return ((ToGraphable) ReactiveStreams.of(items).map(i -> i + 1).collect(Collectors.toList())).toGraph();
+    }
+
+}
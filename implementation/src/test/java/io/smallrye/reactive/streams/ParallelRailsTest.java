@@ -0,0 +1,244 @@
+package io.smallrye.reactive.streams;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.After;
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+import io.smallrye.reactive.streams.spi.ExecutionModel;
+import io.smallrye.reactive.streams.spi.ExecutionModelPlacement;
+
+/**
+ * Checks the behavior of {@link ParallelRails}.
+ */
+public class ParallelRailsTest {
+
+    private final Engine engine = new Engine();
+
+    private final List<Integer> items = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+
+    @After
+    public void cleanup() {
+        System.clearProperty(ParallelRails.MODE_PROPERTY);
+        System.clearProperty(ParallelRails.PARALLELISM_PROPERTY);
+        System.clearProperty(ParallelRails.PREFETCH_PROPERTY);
+        System.clearProperty(ParallelRails.POOL_PROPERTY);
+    }
+
+    @Test
+    public void testDefault() {
+        ParallelRails rails = ParallelRails.fromSystemProperties();
+        assertThat(rails).isSameAs(ParallelRails.sequential());
+        assertThat(rails.getMode()).isEqualTo(ParallelRails.Mode.SEQUENTIAL);
+        assertThat(rails.getParallelism()).isEqualTo(1);
+        assertThat(rails.withPrefetch(4)).isSameAs(rails);
+        assertThat(engine.getParallelRails()).isEqualTo(ParallelRails.sequential());
+    }
+
+    @Test
+    public void testSystemProperties() {
+        System.setProperty(ParallelRails.MODE_PROPERTY, "ordered");
+        assertThat(ParallelRails.fromSystemProperties())
+                .isEqualTo(ParallelRails.ordered(Runtime.getRuntime().availableProcessors()));
+
+        System.setProperty(ParallelRails.MODE_PROPERTY, "Unordered");
+        System.setProperty(ParallelRails.PARALLELISM_PROPERTY, "4");
+        System.setProperty(ParallelRails.PREFETCH_PROPERTY, "16");
+        System.setProperty(ParallelRails.POOL_PROPERTY, "fork-join");
+        ParallelRails rails = ParallelRails.fromSystemProperties();
+        assertThat(rails.getMode()).isEqualTo(ParallelRails.Mode.UNORDERED);
+        assertThat(rails.getParallelism()).isEqualTo(4);
+        assertThat(rails.getPrefetch()).isEqualTo(16);
+        assertThat(rails.getScheduler()).isNotSameAs(Schedulers.computation());
+        assertThat(ParallelRails.fromSystemProperties()).isEqualTo(rails);
+        assertThat(new Engine().getParallelRails()).isEqualTo(rails);
+    }
+
+    @Test
+    public void testInvalidSystemProperties() {
+        System.setProperty(ParallelRails.MODE_PROPERTY, "parallel");
+        assertThatThrownBy(ParallelRails::fromSystemProperties).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(ParallelRails.MODE_PROPERTY);
+
+        System.setProperty(ParallelRails.MODE_PROPERTY, "ordered");
+        System.setProperty(ParallelRails.PARALLELISM_PROPERTY, "0");
+        assertThatThrownBy(ParallelRails::fromSystemProperties).isInstanceOf(IllegalArgumentException.class);
+
+        System.setProperty(ParallelRails.PARALLELISM_PROPERTY, "4");
+        System.setProperty(ParallelRails.POOL_PROPERTY, "elastic");
+        assertThatThrownBy(ParallelRails::fromSystemProperties).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(ParallelRails.POOL_PROPERTY);
+    }
+
+    @Test
+    public void testPerPipelineEngine() {
+        assertThat(engine.withParallelRails(ParallelRails.sequential())).isSameAs(engine);
+
+        Engine parallel = engine.withParallelRails(ParallelRails.ordered(4));
+        assertThat(parallel).isNotSameAs(engine);
+        assertThat(parallel.getParallelRails()).isEqualTo(ParallelRails.ordered(4));
+        assertThat(parallel.getPlanCache()).isSameAs(engine.getPlanCache());
+        assertThat(parallel.getFlatMapConcurrency()).isEqualTo(engine.getFlatMapConcurrency());
+        assertThat(parallel.withFlatMapCompletionStageMaxInFlight(4).getParallelRails())
+                .isEqualTo(ParallelRails.ordered(4));
+        assertThat(engine.getParallelRails()).isEqualTo(ParallelRails.sequential());
+    }
+
+    @Test
+    public void testToString() {
+        assertThat(ParallelRails.sequential()).hasToString("sequential");
+        assertThat(ParallelRails.ordered(4)).hasToString("ordered(4, prefetch=128)");
+        assertThat(ParallelRails.unordered(2).withPrefetch(8)).hasToString("unordered(2, prefetch=8)");
+    }
+
+    @Test
+    public void testOrdered() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Integer> list = ReactiveStreams.fromIterable(items)
+                .map(i -> {
+                    threads.add(Thread.currentThread().getName());
+                    return i * 2;
+                })
+                .filter(i -> i % 3 == 0)
+                .map(i -> i + 1)
+                .toList()
+                .run(engine.withParallelRails(ParallelRails.ordered(4).withPrefetch(16)))
+                .toCompletableFuture().join();
+        assertThat(list).isEqualTo(items.stream().map(i -> i * 2).filter(i -> i % 3 == 0).map(i -> i + 1)
+                .collect(Collectors.toList()));
+        assertThat(threads).allMatch(name -> name.startsWith("RxComputationThreadPool"));
+    }
+
+    @Test
+    public void testOrderedWithASelectiveFilter() {
+        List<Integer> list = ReactiveStreams.fromIterable(items)
+                .filter(i -> i % 1000 == 0)
+                .toList()
+                .run(engine.withParallelRails(ParallelRails.ordered(3).withPrefetch(2)))
+                .toCompletableFuture().join();
+        assertThat(list).containsExactly(0, 1000, 2000, 3000, 4000, 5000, 6000, 7000, 8000, 9000);
+    }
+
+    @Test
+    public void testUnordered() {
+        List<Integer> list = ReactiveStreams.fromIterable(items)
+                .map(i -> i * 2)
+                .filter(i -> i % 3 == 0)
+                .toList()
+                .run(engine.withParallelRails(ParallelRails.unordered(4).withPrefetch(16)))
+                .toCompletableFuture().join();
+        assertThat(list).containsExactlyInAnyOrderElementsOf(
+                items.stream().map(i -> i * 2).filter(i -> i % 3 == 0).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testThatTheOtherStagesRunSequentially() {
+        List<Integer> peeked = new ArrayList<>();
+        List<Integer> list = ReactiveStreams.fromIterable(items)
+                .map(i -> i + 1)
+                .peek(peeked::add)
+                .takeWhile(i -> i <= 100)
+                .map(i -> i - 1)
+                .toList()
+                .run(engine.withParallelRails(ParallelRails.ordered(4).withPrefetch(8)))
+                .toCompletableFuture().join();
+        assertThat(list).isEqualTo(items.subList(0, 100));
+        assertThat(peeked).startsWith(1, 2, 3, 4, 5).contains(101);
+    }
+
+    @Test
+    public void testThatTheExecutionModelIsAppliedAfterTheRails() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "model"));
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        try {
+            ExecutionModel model = flowable -> flowable.observeOn(Schedulers.from(executor));
+            Engine recording = new Engine(new GraphPlanCache(), ExecutionModelPlacement.ASYNC_BOUNDARIES, model)
+                    .withParallelRails(ParallelRails.ordered(4));
+            List<Integer> list = ReactiveStreams.fromIterable(items)
+                    .map(i -> i * 2)
+                    .flatMap(i -> {
+                        threads.add(Thread.currentThread().getName());
+                        return ReactiveStreams.of(i);
+                    })
+                    .toList()
+                    .run(recording)
+                    .toCompletableFuture().join();
+            assertThat(list).isEqualTo(items.stream().map(i -> i * 2).collect(Collectors.toList()));
+            assertThat(threads).containsExactly("model");
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testFailure() {
+        assertThatThrownBy(() -> ReactiveStreams.fromIterable(items)
+                .map(i -> {
+                    if (i == 5000) {
+                        throw new IllegalStateException("boom");
+                    }
+                    return i;
+                })
+                .toList()
+                .run(engine.withParallelRails(ParallelRails.ordered(4)))
+                .toCompletableFuture().join())
+                        .isInstanceOf(CompletionException.class)
+                        .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testBackPressureAndCancellation() {
+        TestSubscriber<Integer> subscriber = Flowable.fromPublisher(ReactiveStreams.fromIterable(items)
+                .map(i -> i + 1)
+                .buildRs(engine.withParallelRails(ParallelRails.ordered(4).withPrefetch(4))))
+                .test(0);
+        subscriber.request(5);
+        subscriber.awaitCount(5);
+        subscriber.assertValues(1, 2, 3, 4, 5).assertNotComplete();
+        subscriber.request(3);
+        subscriber.awaitCount(8);
+        subscriber.assertValueCount(8).assertNotComplete();
+        subscriber.cancel();
+
+        List<Integer> first = ReactiveStreams.fromIterable(items)
+                .map(i -> i + 1)
+                .limit(10)
+                .toList()
+                .run(engine.withParallelRails(ParallelRails.unordered(4)))
+                .toCompletableFuture().join();
+        assertThat(first).hasSize(10);
+    }
+
+    @Test
+    public void testThatSynchronousGraphsRunOnTheRails() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Integer> list = ReactiveStreams.of(1, 2, 3)
+                .map(i -> {
+                    threads.add(Thread.currentThread().getName());
+                    return i;
+                })
+                .toList()
+                .run(engine.withParallelRails(ParallelRails.ordered(2)))
+                .toCompletableFuture().join();
+        assertThat(list).containsExactly(1, 2, 3);
+        assertThat(threads).isNotEmpty().doesNotContain(Thread.currentThread().getName());
+    }
+
+}
@@ -0,0 +1,195 @@
+package io.smallrye.reactive.streams;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.microprofile.reactive.streams.operators.CompletionRunner;
+import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Graph;
+import org.eclipse.microprofile.reactive.streams.operators.spi.ToGraphable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+
+/**
+ * Checks the synchronous evaluation of graphs, comparing the results with the evaluation by the reactive operators.
+ */
+public class SynchronousExecutorTest {
+
+    private static final ThreadLocal<AtomicInteger> CURRENT = new ThreadLocal<>();
+
+    private Engine synchronous;
+    private Engine reactive;
+
+    @Before
+    public void setUp() {
+        synchronous = new Engine();
+        System.setProperty(Engine.SYNCHRONOUS_EXECUTION_PROPERTY, "false");
+        reactive = new Engine();
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(Engine.SYNCHRONOUS_EXECUTION_PROPERTY);
+    }
+
+    @Test
+    public void testDetection() {
+        assertThat(plan(ReactiveStreams.of(1, 2, 3).map(i -> i).filter(i -> true).limit(2).skip(1).distinct()
+                .peek(i -> {
+                }).takeWhile(i -> true).dropWhile(i -> false).toList()).isSynchronous()).isTrue();
+        assertThat(plan(ReactiveStreams.fromCompletionStage(new CompletableFuture<>()).findFirst()).isSynchronous())
+                .isTrue();
+        assertThat(plan(ReactiveStreams.fromCompletionStageNullable(new CompletableFuture<>()).cancel())
+                .isSynchronous()).isTrue();
+
+        assertThat(plan(ReactiveStreams.fromPublisher(Flowable.just(1)).toList()).isSynchronous()).isFalse();
+        assertThat(plan(ReactiveStreams.of(1).onComplete(() -> {
+        }).toList()).isSynchronous()).isFalse();
+        assertThat(plan(ReactiveStreams.of(1).flatMap(ReactiveStreams::of).toList()).isSynchronous()).isFalse();
+    }
+
+    @Test
+    public void testCollect() {
+        assertSameResult(ReactiveStreams.of(1, 2, 3, 4, 5, 6, 2, 4)
+                .map(i -> i * 2)
+                .filter(i -> i > 2)
+                .distinct()
+                .skip(1)
+                .limit(3)
+                .toList());
+        assertSameResult(ReactiveStreams.of(1, 2, 3, 4, 5)
+                .dropWhile(i -> i < 2)
+                .takeWhile(i -> i < 5)
+                .collect(Collectors.summingInt(i -> i)));
+        assertSameResult(ReactiveStreams.<Integer> empty().toList());
+    }
+
+    @Test
+    public void testFindFirst() {
+        assertSameResult(ReactiveStreams.of(1, 2, 3).filter(i -> i > 1).findFirst());
+        assertSameResult(ReactiveStreams.of(1, 2, 3).filter(i -> i > 5).findFirst());
+        assertSameResult(ReactiveStreams.of(1, 2, 3).limit(0).findFirst());
+    }
+
+    @Test
+    public void testCancel() {
+        assertSameResult(ReactiveStreams.of(1, 2, 3).map(i -> i + 1).cancel());
+    }
+
+    @Test
+    public void testCompletionStageSources() {
+        assertSameResult(ReactiveStreams.fromCompletionStage(CompletableFuture.completedFuture(1)).map(i -> i + 1)
+                .findFirst());
+        assertSameResult(ReactiveStreams.fromCompletionStageNullable(CompletableFuture.completedFuture(null))
+                .toList());
+        assertSameFailure(ReactiveStreams.fromCompletionStage(CompletableFuture.completedFuture(null)).toList());
+
+        CompletableFuture<Integer> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("boom"));
+        assertSameFailure(ReactiveStreams.fromCompletionStage(failed).toList());
+        assertSameResult(ReactiveStreams.fromCompletionStage(failed).cancel());
+    }
+
+    @Test
+    public void testThatUncompletedSourcesAreNotEvaluatedSynchronously() {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        CompletionStage<List<Integer>> result = ReactiveStreams.fromCompletionStage(future).toList()
+                .run(synchronous);
+        assertThat(result.toCompletableFuture().isDone()).isFalse();
+        future.complete(1);
+        assertThat(result.toCompletableFuture().join()).containsExactly(1);
+    }
+
+    @Test
+    public void testFailures() {
+        assertSameFailure(ReactiveStreams.of(1, 2, 3).map(i -> {
+            if (i == 2) {
+                throw new IllegalArgumentException("boom");
+            }
+            return i;
+        }).toList());
+        assertSameFailure(ReactiveStreams.of(1, 2, 3).map(i -> (Integer) null).findFirst());
+        assertSameFailure(ReactiveStreams.fromIterable(() -> {
+            throw new IllegalStateException("boom");
+        }).toList());
+        assertSameFailure(ReactiveStreams.of(1, 2, 3).collect(Collectors.reducing(0, i -> i, (a, b) -> {
+            throw new IllegalStateException("boom");
+        })));
+        assertSameFailure(ReactiveStreams.fromIterable(new ArrayList<Integer>() {
+            {
+                add(1);
+                add(null);
+            }
+        }).toList());
+    }
+
+    @Test
+    public void testThatTheSourceIsNotConsultedOnceDone() {
+        for (Function<Engine, CompletionStage<?>> pipeline : pipelines()) {
+            AtomicInteger syncCount = new AtomicInteger();
+            AtomicInteger reactiveCount = new AtomicInteger();
+            CURRENT.set(syncCount);
+            Object syncResult = pipeline.apply(synchronous).toCompletableFuture().join();
+            CURRENT.set(reactiveCount);
+            Object reactiveResult = pipeline.apply(reactive).toCompletableFuture().join();
+            assertThat(syncResult).isEqualTo(reactiveResult);
+            assertThat(syncCount.get()).isEqualTo(reactiveCount.get());
+        }
+    }
+
+    private static List<Function<Engine, CompletionStage<?>>> pipelines() {
+        List<Function<Engine, CompletionStage<?>>> pipelines = new ArrayList<>();
+        pipelines.add(e -> generated().limit(3).toList().run(e));
+        pipelines.add(e -> generated().filter(i -> i > 4).findFirst().run(e));
+        pipelines.add(e -> generated().takeWhile(i -> i < 4).toList().run(e));
+        pipelines.add(e -> generated().map(i -> i * 2).limit(2).filter(i -> i > 2).toList().run(e));
+        return pipelines;
+    }
+
+    private static PublisherBuilder<Integer> generated() {
+        AtomicInteger counter = CURRENT.get();
+        return ReactiveStreams.fromIterable(() -> Stream.generate(counter::incrementAndGet).iterator());
+    }
+
+    private void assertSameResult(CompletionRunner<?> runner) {
+        CompletableFuture<?> result = runner.run(synchronous).toCompletableFuture();
+        assertThat(result.isDone()).isTrue();
+        assertThat(result.join()).isEqualTo(runner.run(reactive).toCompletableFuture().join());
+    }
+
+    private void assertSameFailure(CompletionRunner<?> runner) {
+        CompletableFuture<?> result = runner.run(synchronous).toCompletableFuture();
+        assertThat(result.isCompletedExceptionally()).isTrue();
+        Throwable expected = failure(runner.run(reactive).toCompletableFuture());
+        Throwable actual = failure(result);
+        assertThat(actual).isInstanceOf(expected.getClass()).hasMessage(expected.getMessage());
+    }
+
+    private static Throwable failure(CompletableFuture<?> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            return e.getCause();
+        }
+        throw new AssertionError("Failure expected");
+    }
+
+    private static GraphPlan plan(Object runner) {
+        Graph graph = ((ToGraphable) runner).toGraph();
+        return GraphPlan.compile(graph);
+    }
+
+}
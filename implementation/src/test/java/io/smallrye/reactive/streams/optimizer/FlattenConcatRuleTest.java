@@ -0,0 +1,75 @@
+package io.smallrye.reactive.streams.optimizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+
+/**
+ * Checks the behavior of the {@link FlattenConcatRule} and of the {@link FlattenedConcat} stage.
+ */
+public class FlattenConcatRuleTest extends OptimizerTestBase {
+
+    private final FlattenConcatRule rule = new FlattenConcatRule();
+
+    @Test
+    public void testFlatteningNestedConcats() {
+        List<Stage> stages = stages(ReactiveStreams.concat(
+                ReactiveStreams.concat(ReactiveStreams.of(1), ReactiveStreams.of(2)),
+                ReactiveStreams.concat(ReactiveStreams.of(3),
+                        ReactiveStreams.concat(ReactiveStreams.of(4), ReactiveStreams.of(5))))
+                .toList());
+        assertThat(rule.apply(stages)).isTrue();
+        assertThat(stages).hasSize(2);
+        assertThat(stages.get(0)).isInstanceOf(FlattenedConcat.class);
+        assertThat(((FlattenedConcat) stages.get(0)).getGraphs()).hasSize(5);
+    }
+
+    @Test
+    public void testThatSimpleConcatsAreKept() {
+        List<Stage> stages = stages(ReactiveStreams.concat(ReactiveStreams.of(1), ReactiveStreams.of(2)).toList());
+        assertThat(rule.apply(stages)).isFalse();
+        assertThat(stages.get(0)).isInstanceOf(Stage.Concat.class);
+    }
+
+    @Test
+    public void testThatConcatsWithOtherStagesAreKept() {
+        List<Stage> stages = stages(ReactiveStreams.concat(
+                ReactiveStreams.concat(ReactiveStreams.of(1), ReactiveStreams.of(2)).map(i -> i),
+                ReactiveStreams.of(3))
+                .toList());
+        assertThat(rule.apply(stages)).isFalse();
+    }
+
+    @Test
+    public void testOptimizedGraph() {
+        List<Integer> list = ReactiveStreams.concat(
+                ReactiveStreams.concat(ReactiveStreams.of(1, 2), ReactiveStreams.of(3)),
+                ReactiveStreams.concat(ReactiveStreams.<Integer> empty(), ReactiveStreams.of(4, 5)))
+                .toList()
+                .run().toCompletableFuture().join();
+        assertThat(list).containsExactly(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void testThatRemainingStreamsAreCancelled() {
+        AtomicBoolean second = new AtomicBoolean();
+        AtomicBoolean third = new AtomicBoolean();
+        List<Integer> list = ReactiveStreams.concat(
+                ReactiveStreams.concat(ReactiveStreams.of(1, 2),
+                        ReactiveStreams.fromPublisher(Flowable.just(3).doOnCancel(() -> second.set(true)))),
+                ReactiveStreams.fromPublisher(Flowable.just(4).doOnCancel(() -> third.set(true))))
+                .limit(1)
+                .toList()
+                .run().toCompletableFuture().join();
+        assertThat(list).containsExactly(1);
+        assertThat(second).isTrue();
+        assertThat(third).isTrue();
+    }
+}
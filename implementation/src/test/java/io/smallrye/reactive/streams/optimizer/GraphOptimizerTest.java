@@ -0,0 +1,150 @@
+package io.smallrye.reactive.streams.optimizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Graph;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.junit.After;
+import org.junit.Test;
+
+import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.GraphPlanCache;
+import io.smallrye.reactive.streams.spi.ExecutionModelPlacement;
+
+/**
+ * Checks the behavior of the {@link GraphOptimizer}.
+ */
+public class GraphOptimizerTest extends OptimizerTestBase {
+
+    @After
+    public void tearDown() {
+        System.clearProperty(GraphOptimizer.ENABLED_PROPERTY);
+        System.clearProperty(GraphOptimizer.DISABLED_RULES_PROPERTY);
+    }
+
+    @Test
+    public void testThatUnchangedGraphsAreReturnedAsIs() {
+        Graph graph = graph(ReactiveStreams.of(1, 2, 3).map(i -> i + 1).toList());
+        assertThat(new GraphOptimizer().optimize(graph)).isSameAs(graph);
+    }
+
+    @Test
+    public void testRulesAreAppliedUntilFixpoint() {
+        // skip-limit merges the limits, then limited-of merges the limit into the source.
+        Graph graph = graph(ReactiveStreams.of(1, 2, 3).limit(5).limit(2).filter(i -> i > 0).filter(i -> i > 1)
+                .toList());
+        Graph optimized = new GraphOptimizer().optimize(graph);
+        assertThat(optimized).isNotSameAs(graph);
+        assertThat(optimized.getStages()).hasSize(3);
+        assertThat(graph.getStages()).hasSize(6);
+
+        List<Stage> stages = new ArrayList<>(optimized.getStages());
+        assertThat(stages.get(0)).isInstanceOf(Stage.Of.class);
+        assertThat(stages.get(1)).isInstanceOf(Stage.Filter.class);
+        assertThat(stages.get(2)).isInstanceOf(Stage.Collect.class);
+    }
+
+    @Test
+    public void testDisablingRules() {
+        Graph graph = graph(ReactiveStreams.of(1, 2, 3).filter(i -> i > 0).filter(i -> i > 1).limit(2).toList());
+        GraphOptimizer optimizer = new GraphOptimizer().without(MergeFiltersRule.NAME);
+        assertThat(optimizer.getRules()).extracting(OptimizationRule::name)
+                .doesNotContain(MergeFiltersRule.NAME)
+                .contains(SkipLimitRule.NAME);
+        assertThat(optimizer.optimize(graph)).isSameAs(graph);
+
+        System.setProperty(GraphOptimizer.DISABLED_RULES_PROPERTY, MergeFiltersRule.NAME + ", " + LimitedOfRule.NAME);
+        assertThat(new GraphOptimizer().getRules()).extracting(OptimizationRule::name)
+                .containsExactly(SkipLimitRule.NAME, FlattenConcatRule.NAME);
+
+        System.setProperty(GraphOptimizer.ENABLED_PROPERTY, "false");
+        assertThat(new GraphOptimizer().getRules()).isEmpty();
+        assertThat(GraphOptimizer.disabled().getRules()).isEmpty();
+    }
+
+    @Test
+    public void testThatRewritesAreLogged() {
+        Logger logger = Logger.getLogger(GraphOptimizer.class.getName());
+        List<LogRecord> records = Collections.synchronizedList(new ArrayList<>());
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+                // Nothing to flush.
+            }
+
+            @Override
+            public void close() {
+                // Nothing to close.
+            }
+        };
+        Level level = logger.getLevel();
+        logger.setLevel(Level.FINE);
+        logger.addHandler(handler);
+        try {
+            new GraphOptimizer().optimize(graph(ReactiveStreams.of(1, 2, 3).skip(0).toList()));
+        } finally {
+            logger.removeHandler(handler);
+            logger.setLevel(level);
+        }
+        assertThat(records).hasSize(1);
+        assertThat(records.get(0).getParameters()).containsExactly(SkipLimitRule.NAME, 3, 2);
+    }
+
+    @Test
+    public void testThatPlansOfRewrittenGraphsAreCached() {
+        GraphPlanCache cache = new GraphPlanCache(10, false);
+        AtomicInteger passes = new AtomicInteger();
+        List<OptimizationRule> rules = new ArrayList<>(GraphOptimizer.defaultRules());
+        rules.add(new OptimizationRule() {
+            @Override
+            public String name() {
+                return "counting";
+            }
+
+            @Override
+            public boolean apply(List<Stage> stages) {
+                passes.incrementAndGet();
+                return false;
+            }
+        });
+        Engine engine = new Engine(cache, ExecutionModelPlacement.ASYNC_BOUNDARIES, new GraphOptimizer(rules));
+        Graph graph = graph(ReactiveStreams.of(1, 2, 3).limit(2).toList());
+        for (int i = 0; i < 3; i++) {
+            assertThat(engine.<List<Integer>> buildCompletion(graph).toCompletableFuture().join())
+                    .containsExactly(1, 2);
+        }
+        assertThat(cache.misses()).isEqualTo(1);
+        assertThat(cache.hits()).isEqualTo(2);
+        // The graph is only rewritten on the miss, in two passes (the rewriting pass and the pass checking that no
+        // rule applies anymore), the hits reuse the rewritten stages kept by the plan.
+        assertThat(passes).hasValue(2);
+    }
+
+    @Test
+    public void testThatPlansSharedByFingerprintUseTheStagesOfEachGraph() {
+        GraphPlanCache cache = new GraphPlanCache(10, true);
+        Engine engine = new Engine(cache, ExecutionModelPlacement.ASYNC_BOUNDARIES, new GraphOptimizer());
+        assertThat(engine.<List<Integer>> buildCompletion(graph(ReactiveStreams.of(1, 2, 3).limit(2).toList()))
+                .toCompletableFuture().join()).containsExactly(1, 2);
+        assertThat(engine.<List<Integer>> buildCompletion(graph(ReactiveStreams.of(4, 5, 6).limit(1).toList()))
+                .toCompletableFuture().join()).containsExactly(4);
+        assertThat(cache.misses()).isEqualTo(1);
+        assertThat(cache.hits()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,60 @@
+package io.smallrye.reactive.streams.optimizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.junit.Test;
+
+/**
+ * Checks the behavior of the {@link LimitedOfRule}.
+ */
+public class LimitedOfRuleTest extends OptimizerTestBase {
+
+    private final LimitedOfRule rule = new LimitedOfRule();
+
+    @Test
+    public void testLimitAfterOf() {
+        List<Stage> stages = stages(ReactiveStreams.of(1, 2, 3).limit(2).toList());
+        assertThat(rule.apply(stages)).isTrue();
+        assertThat(stages).hasSize(2);
+
+        List<Object> elements = new ArrayList<>();
+        ((Stage.Of) stages.get(0)).getElements().forEach(elements::add);
+        assertThat(elements).containsExactly(1, 2);
+        // The elements can be iterated several times.
+        elements.clear();
+        ((Stage.Of) stages.get(0)).getElements().forEach(elements::add);
+        assertThat(elements).containsExactly(1, 2);
+    }
+
+    @Test
+    public void testLimitZeroIsKept() {
+        List<Stage> stages = stages(ReactiveStreams.of(1, 2, 3).limit(0).toList());
+        assertThat(rule.apply(stages)).isFalse();
+        assertThat(stages).hasSize(3);
+    }
+
+    @Test
+    public void testLimitNotDirectlyAfterOfIsKept() {
+        List<Stage> stages = stages(ReactiveStreams.of(1, 2, 3).map(i -> i).limit(2).toList());
+        assertThat(rule.apply(stages)).isFalse();
+        assertThat(stages).hasSize(4);
+    }
+
+    @Test
+    public void testThatTheIteratorIsNotConsultedAfterTheLimit() {
+        AtomicInteger generated = new AtomicInteger();
+        List<Integer> list = ReactiveStreams.fromIterable(() -> Stream.generate(generated::incrementAndGet).iterator())
+                .limit(3)
+                .toList()
+                .run().toCompletableFuture().join();
+        assertThat(list).containsExactly(1, 2, 3);
+        assertThat(generated).hasValue(3);
+    }
+}
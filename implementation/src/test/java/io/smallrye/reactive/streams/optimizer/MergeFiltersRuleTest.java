@@ -0,0 +1,85 @@
+package io.smallrye.reactive.streams.optimizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.junit.Test;
+
+import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.stages.StagesTest;
+
+/**
+ * Checks the behavior of the {@link MergeFiltersRule}.
+ */
+public class MergeFiltersRuleTest extends OptimizerTestBase {
+
+    private final MergeFiltersRule rule = new MergeFiltersRule();
+
+    @Test
+    public void testMergingConsecutiveFilters() {
+        List<Integer> tested = new ArrayList<>();
+        List<Stage> stages = stages(ReactiveStreams.of(1, 2, 3)
+                .filter(i -> {
+                    tested.add(i);
+                    return i > 1;
+                })
+                .filter(i -> i < 3)
+                .filter(i -> i % 2 == 0)
+                .toList());
+        assertThat(rule.apply(stages)).isTrue();
+        assertThat(stages).hasSize(3);
+        assertThat(stages.get(1)).isInstanceOf(Stage.Filter.class);
+
+        Predicate<Integer> predicate = (Predicate<Integer>) ((Stage.Filter) stages.get(1)).getPredicate();
+        assertThat(predicate.test(1)).isFalse();
+        assertThat(predicate.test(2)).isTrue();
+        assertThat(predicate.test(3)).isFalse();
+        assertThat(predicate.test(4)).isFalse();
+        assertThat(tested).containsExactly(1, 2, 3, 4);
+    }
+
+    @Test
+    public void testNonConsecutiveFiltersAreNotMerged() {
+        List<Stage> stages = stages(ReactiveStreams.of(1, 2, 3)
+                .filter(i -> i > 1)
+                .map(i -> i + 1)
+                .filter(i -> i < 3)
+                .toList());
+        assertThat(rule.apply(stages)).isFalse();
+        assertThat(stages).hasSize(5);
+    }
+
+    @Test
+    public void testThatContributedFiltersAreNotMerged() {
+        Predicate<Integer> even = i -> i % 2 == 0;
+        List<Stage> stages = new ArrayList<>();
+        stages.add((Stage.Of) () -> Arrays.asList(1, 2, 3, 4));
+        stages.add((Stage.Filter) () -> i -> true);
+        stages.add((StagesTest.Inverted) () -> even);
+        stages.add((Stage.Filter) () -> i -> true);
+        stages.add((Stage.Collect) Collectors::toList);
+        assertThat(rule.apply(stages)).isFalse();
+        assertThat(stages).hasSize(5);
+
+        List<Integer> list = new Engine().<List<Integer>> buildCompletion(() -> stages)
+                .toCompletableFuture().join();
+        assertThat(list).containsExactly(1, 3);
+    }
+
+    @Test
+    public void testOptimizedGraph() {
+        List<Integer> list = ReactiveStreams.of(1, 2, 3, 4, 5, 6)
+                .filter(i -> i > 1)
+                .filter(i -> i % 2 == 0)
+                .toList()
+                .run().toCompletableFuture().join();
+        assertThat(list).containsExactly(2, 4, 6);
+    }
+}
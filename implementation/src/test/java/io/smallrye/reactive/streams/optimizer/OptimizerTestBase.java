@@ -0,0 +1,23 @@
+package io.smallrye.reactive.streams.optimizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Graph;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.eclipse.microprofile.reactive.streams.operators.spi.ToGraphable;
+
+/**
+ * Helpers shared by the optimization rule tests.
+ */
+class OptimizerTestBase {
+
+    static Graph graph(Object builder) {
+        return ((ToGraphable) builder).toGraph();
+    }
+
+    static List<Stage> stages(Object builder) {
+        return new ArrayList<>(graph(builder).getStages());
+    }
+
+}
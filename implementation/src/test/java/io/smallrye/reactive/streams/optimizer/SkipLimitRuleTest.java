@@ -0,0 +1,87 @@
+package io.smallrye.reactive.streams.optimizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.junit.Test;
+
+/**
+ * Checks the behavior of the {@link SkipLimitRule}.
+ */
+public class SkipLimitRuleTest extends OptimizerTestBase {
+
+    private final SkipLimitRule rule = new SkipLimitRule();
+
+    @Test
+    public void testRemovingNoops() {
+        List<Stage> stages = stages(ReactiveStreams.of(1, 2, 3)
+                .skip(0)
+                .limit(Long.MAX_VALUE)
+                .toList());
+        assertThat(rule.apply(stages)).isTrue();
+        assertThat(stages).hasSize(2);
+        assertThat(stages.get(0)).isInstanceOf(Stage.Of.class);
+        assertThat(stages.get(1)).isInstanceOf(Stage.Collect.class);
+    }
+
+    @Test
+    public void testMergingSkips() {
+        List<Stage> stages = stages(ReactiveStreams.of(1, 2, 3)
+                .skip(1)
+                .skip(2)
+                .skip(Long.MAX_VALUE)
+                .toList());
+        assertThat(rule.apply(stages)).isTrue();
+        assertThat(stages).hasSize(3);
+        assertThat(((Stage.Skip) stages.get(1)).getSkip()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void testMergingLimits() {
+        List<Stage> stages = stages(ReactiveStreams.of(1, 2, 3)
+                .limit(5)
+                .limit(2)
+                .limit(3)
+                .toList());
+        assertThat(rule.apply(stages)).isTrue();
+        assertThat(stages).hasSize(3);
+        assertThat(((Stage.Limit) stages.get(1)).getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    public void testSkipFollowedByLimitIsKept() {
+        List<Stage> stages = stages(ReactiveStreams.of(1, 2, 3)
+                .skip(1)
+                .limit(1)
+                .toList());
+        assertThat(rule.apply(stages)).isFalse();
+        assertThat(stages).hasSize(4);
+    }
+
+    @Test
+    public void testNegativeValuesAreKept() {
+        List<Stage> stages = new ArrayList<>();
+        stages.add((Stage.Limit) () -> -1);
+        stages.add((Stage.Limit) () -> 2);
+        assertThat(rule.apply(stages)).isFalse();
+        assertThat(stages).hasSize(2);
+    }
+
+    @Test
+    public void testOptimizedGraph() {
+        List<Integer> list = ReactiveStreams.of(1, 2, 3, 4, 5, 6)
+                .skip(0)
+                .skip(1)
+                .skip(1)
+                .limit(Long.MAX_VALUE)
+                .limit(3)
+                .limit(2)
+                .toList()
+                .run().toCompletableFuture().join();
+        assertThat(list).containsExactly(3, 4);
+    }
+}
@@ -6,6 +6,8 @@ import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
 import org.junit.After;
@@ -15,6 +17,8 @@ import org.reactivestreams.Subscriber;
 
 import io.reactivex.Flowable;
 import io.reactivex.schedulers.Schedulers;
+import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.utils.FlatMapCompletionStageMetrics;
 
 /**
  * Checks the behavior of the {@link FlatMapCompletionStageFactory}.
@@ -58,6 +62,50 @@ public class FlatMapCompletionStageFactoryTest extends StageTestBase {
         return cf;
     }
 
+    @Test
+    public void createWithMaxInFlight() {
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+        try {
+            Engine engine = new Engine().withFlatMapCompletionStageMaxInFlight(4);
+            assertThat(engine.getFlatMapCompletionStageMaxInFlight()).isEqualTo(4);
+
+            List<Integer> list = ReactiveStreams.iterate(0, i -> i + 1).limit(20)
+                    .flatMapCompletionStage(i -> {
+                        // The last items of each window complete first.
+                        CompletableFuture<Integer> cf = new CompletableFuture<>();
+                        scheduler.schedule(() -> cf.complete(i), 20 - i, TimeUnit.MILLISECONDS);
+                        return cf;
+                    })
+                    .toList()
+                    .run(engine).toCompletableFuture().join();
+
+            assertThat(list).containsExactlyElementsOf(
+                    IntStream.range(0, 20).boxed().collect(Collectors.toList()));
+            FlatMapCompletionStageMetrics metrics = engine.getFlatMapCompletionStageMetrics();
+            assertThat(metrics.peakInFlight()).isBetween(2L, 4L);
+            assertThat(metrics.inFlight()).isEqualTo(0);
+            assertThat(metrics.reorderBufferOccupancy()).isEqualTo(0);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void createWithMaxInFlightFromSystemProperty() {
+        System.setProperty(Engine.FLAT_MAP_COMPLETION_STAGE_MAX_IN_FLIGHT_PROPERTY, "8");
+        try {
+            assertThat(new Engine().getFlatMapCompletionStageMaxInFlight()).isEqualTo(8);
+        } finally {
+            System.clearProperty(Engine.FLAT_MAP_COMPLETION_STAGE_MAX_IN_FLIGHT_PROPERTY);
+        }
+        assertThat(new Engine().getFlatMapCompletionStageMaxInFlight()).isEqualTo(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createWithInvalidMaxInFlight() {
+        new Engine().withFlatMapCompletionStageMaxInFlight(0);
+    }
+
     @Test(expected = NullPointerException.class)
     public void createWithoutStage() {
         factory.create(null, null);
@@ -1,10 +1,12 @@
 package io.smallrye.reactive.streams.stages;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
 import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
@@ -13,6 +15,8 @@ import org.junit.Test;
 
 import io.reactivex.Flowable;
 import io.reactivex.schedulers.Schedulers;
+import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.FlatMapConcurrency;
 
 /**
  * Checks the behavior of the {@link FlatMapStageFactory}.
@@ -55,6 +59,74 @@ public class FlatMapStageFactoryTest extends StageTestBase {
         return cf;
     }
 
+    @Test
+    public void createWithOrderedConcurrency() {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        Engine engine = new Engine().withFlatMapConcurrency(FlatMapConcurrency.ordered(4));
+
+        List<Integer> list = ReactiveStreams.of(1, 2, 3, 4, 5, 6, 7, 8)
+                .flatMap(i -> delayed(i, 10 - i, active, maxActive))
+                .toList()
+                .run(engine).toCompletableFuture().join();
+
+        // The last inner streams complete first, but the order is preserved.
+        assertThat(list).containsExactly(1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6, 7, 7, 8, 8);
+        assertThat(maxActive.get()).isBetween(2, 4);
+    }
+
+    @Test
+    public void createWithUnorderedConcurrency() {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        Engine engine = new Engine().withFlatMapConcurrency(FlatMapConcurrency.unordered(4));
+
+        List<Integer> list = ReactiveStreams.of(1, 2, 3, 4, 5, 6, 7, 8)
+                .flatMap(i -> delayed(i, 10 - i, active, maxActive))
+                .toList()
+                .run(engine).toCompletableFuture().join();
+
+        assertThat(list).containsExactlyInAnyOrder(1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6, 7, 7, 8, 8);
+        assertThat(maxActive.get()).isBetween(2, 4);
+    }
+
+    @Test
+    public void createWithSequentialConcurrency() {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        Engine engine = new Engine().withFlatMapConcurrency(FlatMapConcurrency.sequential());
+        assertThat(engine.getFlatMapConcurrency()).isEqualTo(FlatMapConcurrency.sequential());
+
+        List<Integer> list = ReactiveStreams.of(1, 2, 3, 4)
+                .flatMap(i -> delayed(i, 5 - i, active, maxActive))
+                .toList()
+                .run(engine).toCompletableFuture().join();
+
+        assertThat(list).containsExactly(1, 1, 2, 2, 3, 3, 4, 4);
+        assertThat(maxActive.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void createWithConcurrencyAndFailure() {
+        Engine engine = new Engine().withFlatMapConcurrency(FlatMapConcurrency.unordered(4));
+        CompletableFuture<List<Integer>> future = ReactiveStreams.of(1, 2, 3)
+                .flatMap(i -> i == 2 ? ReactiveStreams.<Integer> failed(new Exception("boom"))
+                        : ReactiveStreams.of(i))
+                .toList()
+                .run(engine).toCompletableFuture();
+        assertThatThrownBy(future::join).hasRootCauseMessage("boom");
+    }
+
+    /**
+     * Emits the given item twice after the given delay (in milliseconds), tracking the number of active inner streams.
+     */
+    private PublisherBuilder<Integer> delayed(int i, int delay, AtomicInteger active, AtomicInteger maxActive) {
+        return ReactiveStreams.fromPublisher(Flowable.just(i, i)
+                .delay(delay, TimeUnit.MILLISECONDS)
+                .doOnSubscribe(s -> maxActive.accumulateAndGet(active.incrementAndGet(), Math::max))
+                .doOnTerminate(active::decrementAndGet));
+    }
+
     @Test(expected = NullPointerException.class)
     public void createWithoutStage() {
         factory.create(null, null);
@@ -0,0 +1,40 @@
+package io.smallrye.reactive.streams.stages;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.function.Function;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.junit.Test;
+
+import io.smallrye.reactive.streams.optimizer.FlattenedConcat;
+
+/**
+ * Checks the behavior of {@link StageKind}.
+ */
+public class StageKindTest {
+
+    @Test
+    public void testKinds() {
+        assertThat(StageKind.of((Stage.Map) Function::identity)).isEqualTo(StageKind.MAP);
+        assertThat(StageKind.of((Stage.Of) Collections::emptyList)).isEqualTo(StageKind.OF);
+        assertThat(StageKind.of((Stage.Limit) () -> 1)).isEqualTo(StageKind.LIMIT);
+        assertThat(StageKind.of((FlattenedConcat) Collections::emptyList)).isEqualTo(StageKind.FLATTENED_CONCAT);
+    }
+
+    @Test
+    public void testSubInterfaces() {
+        StagesTest.Reverse reverse = Function::identity;
+        assertThat(StageKind.of(reverse)).isEqualTo(StageKind.MAP);
+    }
+
+    @Test
+    public void testUnknownStages() {
+        assertThat(StageKind.of(new Stage() {
+            // Unknown stage.
+        })).isEqualTo(StageKind.OTHER);
+        assertThat(StageKind.of(null)).isEqualTo(StageKind.OTHER);
+    }
+
+}
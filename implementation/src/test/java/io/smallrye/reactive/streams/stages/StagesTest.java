@@ -0,0 +1,135 @@
+package io.smallrye.reactive.streams.stages;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Graph;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.eclipse.microprofile.reactive.streams.operators.spi.UnsupportedStageException;
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.operators.Operator;
+import io.smallrye.reactive.streams.operators.ProcessingStage;
+import io.smallrye.reactive.streams.operators.ProcessingStageFactory;
+import io.smallrye.reactive.streams.operators.ProcessorOperator;
+import io.smallrye.reactive.streams.operators.PublisherOperator;
+import io.smallrye.reactive.streams.spi.OperatorProvider;
+
+/**
+ * Checks the behavior of the {@link Stages} dispatch table.
+ */
+public class StagesTest {
+
+    @Test
+    public void testLookupOfBuiltInStages() {
+        Stage.Map map = () -> Function.identity();
+        Stage.Of of = Collections::emptyList;
+        assertThat(Stages.lookup(map)).isInstanceOf(ProcessorOperator.class);
+        assertThat(Stages.lookup(of)).isInstanceOf(PublisherOperator.class);
+        // The dispatch table returns the same operator for every stage of the same type.
+        assertThat(Stages.lookup(map)).isSameAs(Stages.lookup((Stage.Map) () -> Function.identity()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testLookupWithNull() {
+        Stages.lookup(null);
+    }
+
+    @Test(expected = UnsupportedStageException.class)
+    public void testLookupOfUnknownStage() {
+        Stages.lookup(new Stage() {
+            // Unknown stage.
+        });
+    }
+
+    @Test
+    public void testThatContributedOperatorsTakePrecedence() {
+        Stage.Map map = () -> Function.identity();
+        Reverse reverse = Function::identity;
+        Operator<Reverse> operator = Stages.lookup(reverse);
+        assertThat(operator).isSameAs(TestOperatorProvider.OPERATOR);
+        assertThat(Stages.lookup(map)).isNotSameAs(TestOperatorProvider.OPERATOR);
+
+        List<Stage> stages = new ArrayList<>();
+        stages.add((Stage.Of) () -> Arrays.asList(1, 2, 3));
+        stages.add(reverse);
+        stages.add((Stage.Collect) Collectors::toList);
+        Graph graph = () -> stages;
+        List<Integer> list = new Engine().<List<Integer>> buildCompletion(graph).toCompletableFuture().join();
+        assertThat(list).containsExactly(3, 2, 1);
+    }
+
+    @Test
+    public void testBuiltInStages() {
+        assertThat(Stages.isBuiltIn((Stage.Map) Function::identity)).isTrue();
+        assertThat(Stages.isBuiltIn((Reverse) Function::identity)).isFalse();
+        assertThat(Stages.isBuiltIn((Inverted) () -> x -> true)).isFalse();
+        assertThat(Stages.isBuiltIn(new Stage() {
+            // Unknown stage.
+        })).isFalse();
+        assertThat(Stages.isBuiltIn((Stage) null)).isFalse();
+    }
+
+    /**
+     * A {@link Stage.Map} handled by a contributed operator, emitting the items in reverse order.
+     */
+    public interface Reverse extends Stage.Map {
+
+    }
+
+    /**
+     * A {@link Stage.Filter} handled by a contributed operator, emitting the items not matching the predicate.
+     */
+    public interface Inverted extends Stage.Filter {
+
+    }
+
+    public static class TestOperatorProvider implements OperatorProvider {
+
+        static final Operator<Reverse> OPERATOR = new ProcessorOperator<>(Reverse.class,
+                new ReverseStageFactory());
+
+        static final Operator<Inverted> INVERTED = new ProcessorOperator<>(Inverted.class,
+                new InvertedStageFactory());
+
+        @Override
+        public Collection<Operator<?>> operators() {
+            return Arrays.asList(OPERATOR, INVERTED);
+        }
+    }
+
+    private static class ReverseStageFactory implements ProcessingStageFactory<Reverse> {
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <I, O> ProcessingStage<I, O> create(Engine engine, Reverse stage) {
+            return source -> (Flowable<O>) source.toList()
+                    .flattenAsFlowable(list -> {
+                        List<I> copy = new ArrayList<>(list);
+                        Collections.reverse(copy);
+                        return copy;
+                    });
+        }
+    }
+
+    private static class InvertedStageFactory implements ProcessingStageFactory<Inverted> {
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <I, O> ProcessingStage<I, O> create(Engine engine, Inverted stage) {
+            Predicate<I> predicate = (Predicate<I>) stage.getPredicate();
+            return source -> (Flowable<O>) source.filter(item -> !predicate.test(item));
+        }
+    }
+
+}
@@ -0,0 +1,133 @@
+package io.smallrye.reactive.streams.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.internal.subscriptions.BooleanSubscription;
+import io.reactivex.subscribers.TestSubscriber;
+
+/**
+ * Checks the transitions of the {@link ConnectableProcessor}.
+ */
+public class ConnectableProcessorTest {
+
+    @Test
+    public void testSubscriberThenSubscription() {
+        ConnectableProcessor<Integer> processor = new ConnectableProcessor<>();
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+        processor.subscribe(subscriber);
+        subscriber.assertNotSubscribed();
+
+        processor.onSubscribe(new BooleanSubscription());
+        subscriber.assertSubscribed();
+        processor.onNext(1);
+        processor.onNext(2);
+        processor.onComplete();
+        subscriber.assertValues(1, 2).assertComplete();
+    }
+
+    @Test
+    public void testSubscriptionThenSubscriber() {
+        ConnectableProcessor<Integer> processor = new ConnectableProcessor<>();
+        processor.onSubscribe(new BooleanSubscription());
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+        processor.subscribe(subscriber);
+        subscriber.assertSubscribed();
+        processor.onNext(1);
+        processor.onError(new IllegalStateException("boom"));
+        subscriber.assertValues(1).assertError(IllegalStateException.class);
+    }
+
+    @Test
+    public void testTerminationBeforeTheSubscriber() {
+        ConnectableProcessor<Integer> processor = new ConnectableProcessor<>();
+        processor.onSubscribe(new BooleanSubscription());
+        processor.onComplete();
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+        processor.subscribe(subscriber);
+        subscriber.assertSubscribed().assertNoValues().assertComplete();
+
+        ConnectableProcessor<Integer> failed = new ConnectableProcessor<>();
+        failed.onSubscribe(new BooleanSubscription());
+        failed.onError(new IllegalStateException("boom"));
+        subscriber = new TestSubscriber<>();
+        failed.subscribe(subscriber);
+        subscriber.assertSubscribed().assertNoValues().assertError(IllegalStateException.class);
+    }
+
+    @Test
+    public void testTerminationDuringTheSubscription() {
+        ConnectableProcessor<Integer> processor = new ConnectableProcessor<>();
+        processor.onSubscribe(new BooleanSubscription());
+        TestSubscriber<Integer> subscriber = new TestSubscriber<Integer>() {
+            @Override
+            protected void onStart() {
+                // The upstream completes while the subscriber receives the subscription.
+                processor.onComplete();
+                assertNotComplete();
+            }
+        };
+        processor.subscribe(subscriber);
+        subscriber.assertSubscribed().assertComplete();
+    }
+
+    @Test
+    public void testThatMulticastingIsRejected() {
+        ConnectableProcessor<Integer> processor = new ConnectableProcessor<>();
+        processor.subscribe(new TestSubscriber<>());
+        TestSubscriber<Integer> second = new TestSubscriber<>();
+        processor.subscribe(second);
+        second.assertError(IllegalStateException.class);
+
+        processor.onSubscribe(new BooleanSubscription());
+        TestSubscriber<Integer> third = new TestSubscriber<>();
+        processor.subscribe(third);
+        third.assertError(IllegalStateException.class);
+    }
+
+    @Test
+    public void testThatASecondSubscriptionIsCancelled() {
+        ConnectableProcessor<Integer> processor = new ConnectableProcessor<>();
+        BooleanSubscription first = new BooleanSubscription();
+        BooleanSubscription second = new BooleanSubscription();
+        processor.onSubscribe(first);
+        processor.onSubscribe(second);
+        assertThat(first.isCancelled()).isFalse();
+        assertThat(second.isCancelled()).isTrue();
+    }
+
+    @Test
+    public void testCancellation() {
+        ConnectableProcessor<Integer> processor = new ConnectableProcessor<>();
+        BooleanSubscription upstream = new BooleanSubscription();
+        processor.onSubscribe(upstream);
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+        processor.subscribe(subscriber);
+        processor.onNext(1);
+        subscriber.cancel();
+        assertThat(upstream.isCancelled()).isTrue();
+
+        // The signals received after the cancellation are ignored.
+        processor.onNext(2);
+        processor.onComplete();
+        subscriber.assertValues(1).assertNotComplete();
+    }
+
+    @Test
+    public void testInvalidTransitions() {
+        ConnectableProcessor<Integer> processor = new ConnectableProcessor<>();
+        assertThatThrownBy(() -> processor.onNext(1)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(processor::onComplete).isInstanceOf(IllegalStateException.class);
+
+        Subscription subscription = new BooleanSubscription();
+        processor.onSubscribe(subscription);
+        processor.subscribe(new TestSubscriber<>());
+        processor.onComplete();
+        assertThatThrownBy(processor::onComplete).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> processor.onError(new Exception("boom"))).isInstanceOf(IllegalStateException.class);
+    }
+
+}
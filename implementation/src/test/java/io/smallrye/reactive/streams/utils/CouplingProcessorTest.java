@@ -0,0 +1,69 @@
+package io.smallrye.reactive.streams.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.subscribers.TestSubscriber;
+
+/**
+ * Checks the propagation of the terminal signals between the two sides of the {@link CouplingProcessor}.
+ */
+public class CouplingProcessorTest {
+
+    @Test
+    public void testSourceFailurePropagation() {
+        PublishProcessor<Integer> source = PublishProcessor.create();
+        PublishProcessor<Integer> publisher = PublishProcessor.create();
+        TestSubscriber<Integer> sink = new TestSubscriber<>();
+        TestSubscriber<Integer> downstream = new TestSubscriber<>();
+        new CouplingProcessor<>(source, sink, publisher).subscribe(downstream);
+
+        source.onNext(1);
+        publisher.onNext(2);
+        source.onError(new IllegalStateException("boom"));
+        sink.assertValues(1).assertError(IllegalStateException.class);
+        downstream.assertValues(2).assertError(IllegalStateException.class);
+        assertThat(publisher.hasSubscribers()).isFalse();
+    }
+
+    @Test
+    public void testDownstreamCancellation() {
+        PublishProcessor<Integer> source = PublishProcessor.create();
+        PublishProcessor<Integer> publisher = PublishProcessor.create();
+        TestSubscriber<Integer> sink = new TestSubscriber<>();
+        TestSubscriber<Integer> downstream = new TestSubscriber<>();
+        new CouplingProcessor<>(source, sink, publisher).subscribe(downstream);
+
+        downstream.cancel();
+        sink.assertNoValues().assertComplete();
+        assertThat(source.hasSubscribers()).isFalse();
+        assertThat(publisher.hasSubscribers()).isFalse();
+    }
+
+    @Test
+    public void testTerminationBeforeTheDownstream() {
+        PublishProcessor<Integer> source = PublishProcessor.create();
+        PublishProcessor<Integer> publisher = PublishProcessor.create();
+        CouplingProcessor<Integer, Integer> processor = new CouplingProcessor<>(source, new TestSubscriber<>(),
+                publisher);
+        source.onComplete();
+
+        TestSubscriber<Integer> downstream = new TestSubscriber<>();
+        processor.subscribe(downstream);
+        downstream.assertSubscribed().assertNoValues().assertComplete();
+        assertThat(publisher.hasSubscribers()).isFalse();
+    }
+
+    @Test
+    public void testThatMulticastingIsRejected() {
+        CouplingProcessor<Integer, Integer> processor = new CouplingProcessor<>(PublishProcessor.create(),
+                new TestSubscriber<>(), PublishProcessor.create());
+        processor.subscribe(new TestSubscriber<>());
+        TestSubscriber<Integer> second = new TestSubscriber<>();
+        processor.subscribe(second);
+        second.assertError(IllegalStateException.class);
+    }
+
+}
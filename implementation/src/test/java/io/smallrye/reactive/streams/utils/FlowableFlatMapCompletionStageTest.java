@@ -0,0 +1,143 @@
+package io.smallrye.reactive.streams.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+
+/**
+ * Checks the behavior of the {@link FlowableFlatMapCompletionStage} operator.
+ */
+public class FlowableFlatMapCompletionStageTest {
+
+    private final FlatMapCompletionStageMetrics metrics = new FlatMapCompletionStageMetrics();
+    private final List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+    @Test
+    public void testThatResultsAreReordered() {
+        AtomicInteger requests = new AtomicInteger();
+        TestSubscriber<Integer> subscriber = flatMap(Flowable.range(0, 6)
+                .doOnRequest(n -> requests.addAndGet((int) n)), 3).test();
+
+        // Only 3 completion stages are in flight.
+        assertThat(futures).hasSize(3);
+        assertThat(requests).hasValue(3);
+        assertThat(metrics.inFlight()).isEqualTo(3);
+
+        futures.get(2).complete(2);
+        futures.get(1).complete(1);
+        subscriber.assertNoValues();
+        assertThat(metrics.inFlight()).isEqualTo(1);
+        assertThat(metrics.reorderBufferOccupancy()).isEqualTo(2);
+
+        futures.get(0).complete(0);
+        subscriber.assertValues(0, 1, 2);
+        assertThat(futures).hasSize(6);
+        assertThat(metrics.reorderBufferOccupancy()).isEqualTo(0);
+
+        futures.get(5).complete(5);
+        futures.get(4).complete(4);
+        futures.get(3).complete(3);
+        subscriber.assertValues(0, 1, 2, 3, 4, 5).assertComplete();
+
+        assertThat(metrics.inFlight()).isEqualTo(0);
+        assertThat(metrics.reorderBufferOccupancy()).isEqualTo(0);
+        assertThat(metrics.peakInFlight()).isEqualTo(3);
+        assertThat(metrics.peakReorderBufferOccupancy()).isEqualTo(3);
+        assertThat(metrics.completed()).isEqualTo(6);
+
+        metrics.reset();
+        assertThat(metrics.peakInFlight()).isEqualTo(0);
+        assertThat(metrics.completed()).isEqualTo(0);
+    }
+
+    @Test
+    public void testBackpressure() {
+        TestSubscriber<Integer> subscriber = flatMap(Flowable.range(0, 10), 4).test(1);
+        new ArrayList<>(futures).forEach(f -> f.complete(1));
+        subscriber.assertValueCount(1);
+        // A single slot has been released, the other results wait for the downstream.
+        assertThat(futures).hasSize(5);
+        assertThat(metrics.reorderBufferOccupancy()).isEqualTo(3);
+        assertThat(metrics.inFlight()).isEqualTo(1);
+
+        subscriber.request(2);
+        subscriber.assertValueCount(3);
+        assertThat(futures).hasSize(7);
+    }
+
+    @Test
+    public void testThatResultsAreEmittedBeforeAFailure() {
+        TestSubscriber<Integer> subscriber = flatMap(Flowable.range(0, 4), 4).test();
+        futures.get(1).completeExceptionally(new IllegalStateException("boom"));
+        futures.get(0).complete(0);
+        subscriber.assertValues(0).assertError(IllegalStateException.class);
+        assertThat(metrics.inFlight()).isEqualTo(0);
+        assertThat(metrics.reorderBufferOccupancy()).isEqualTo(0);
+    }
+
+    @Test
+    public void testThatNullResultsAreRejected() {
+        TestSubscriber<Integer> subscriber = flatMap(Flowable.range(0, 2), 2).test();
+        futures.get(0).complete(null);
+        subscriber.assertNoValues().assertError(NullPointerException.class);
+    }
+
+    @Test
+    public void testThatMapperFailuresCancelTheUpstream() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        TestSubscriber<Integer> subscriber = new FlowableFlatMapCompletionStage<Integer, Integer>(
+                Flowable.range(0, 4).doOnCancel(() -> cancelled.set(true)),
+                i -> i == 1 ? null : CompletableFuture.completedFuture(i), 4, metrics).test();
+        subscriber.assertValues(0).assertError(NullPointerException.class);
+        assertThat(cancelled).isTrue();
+    }
+
+    @Test
+    public void testThatUpstreamFailuresArePropagated() {
+        TestSubscriber<Integer> subscriber = flatMap(Flowable.<Integer> error(new IllegalStateException("boom"))
+                .startWith(0), 2).test();
+        subscriber.assertNoValues().assertError(IllegalStateException.class);
+        assertThat(metrics.inFlight()).isEqualTo(0);
+    }
+
+    @Test
+    public void testCancellation() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        TestSubscriber<Integer> subscriber = flatMap(Flowable.range(0, 10)
+                .doOnCancel(() -> cancelled.set(true)), 4).test();
+        futures.get(1).complete(1);
+        subscriber.cancel();
+        assertThat(cancelled).isTrue();
+        assertThat(metrics.inFlight()).isEqualTo(0);
+        assertThat(metrics.reorderBufferOccupancy()).isEqualTo(0);
+
+        // Late results are ignored.
+        futures.get(0).complete(0);
+        subscriber.assertNoValues().assertNotComplete();
+        assertThat(metrics.reorderBufferOccupancy()).isEqualTo(0);
+    }
+
+    @Test
+    public void testInvalidMaxInFlight() {
+        assertThatThrownBy(() -> flatMap(Flowable.range(0, 10), 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Flowable<Integer> flatMap(Flowable<Integer> source, int maxInFlight) {
+        return new FlowableFlatMapCompletionStage<>(source, i -> {
+            CompletableFuture<Integer> future = new CompletableFuture<>();
+            futures.add(future);
+            return future;
+        }, maxInFlight, metrics);
+    }
+
+}
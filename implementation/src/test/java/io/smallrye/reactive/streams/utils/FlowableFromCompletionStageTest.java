@@ -0,0 +1,106 @@
+package io.smallrye.reactive.streams.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+
+import org.junit.Test;
+
+import io.reactivex.subscribers.TestSubscriber;
+
+/**
+ * Checks the behavior of the {@link FlowableFromCompletionStage} publisher.
+ */
+public class FlowableFromCompletionStageTest {
+
+    @Test
+    public void testCompletedFuture() {
+        SpyFuture<Integer> future = new SpyFuture<>();
+        future.complete(1);
+        TestSubscriber<Integer> subscriber = new FlowableFromCompletionStage<>(future, false).test(0);
+        // The value is only emitted on request.
+        subscriber.assertNoValues().assertNotComplete();
+        subscriber.request(1);
+        subscriber.assertValues(1).assertComplete();
+        // No callback has been registered.
+        assertThat(future.callbacks).isEqualTo(0);
+    }
+
+    @Test
+    public void testCompletedFutureWithNull() {
+        new FlowableFromCompletionStage<>(CompletableFuture.completedFuture(null), true).test()
+                .assertNoValues().assertComplete();
+        new FlowableFromCompletionStage<>(CompletableFuture.completedFuture(null), false).test()
+                .assertNoValues().assertError(NullPointerException.class);
+    }
+
+    @Test
+    public void testFailedFuture() {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        IllegalStateException failure = new IllegalStateException("boom");
+        future.completeExceptionally(failure);
+        new FlowableFromCompletionStage<>(future, false).test().assertError(failure);
+
+        // Failures of dependent stages are reported as received by the callbacks.
+        new FlowableFromCompletionStage<>(future.thenApply(i -> i + 1), false).test()
+                .assertError(CompletionException.class);
+    }
+
+    @Test
+    public void testPendingFuture() {
+        SpyFuture<Integer> future = new SpyFuture<>();
+        TestSubscriber<Integer> subscriber = new FlowableFromCompletionStage<>(future, false).test(0);
+        assertThat(future.callbacks).isEqualTo(1);
+        future.complete(1);
+        subscriber.assertNoValues().assertNotComplete();
+        subscriber.request(1);
+        subscriber.assertValues(1).assertComplete();
+
+        CompletableFuture<Integer> failed = new CompletableFuture<>();
+        subscriber = new FlowableFromCompletionStage<>(failed, false).test();
+        failed.completeExceptionally(new IllegalStateException("boom"));
+        subscriber.assertError(IllegalStateException.class);
+    }
+
+    @Test
+    public void testPendingFutureWithNull() {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        TestSubscriber<Integer> nullable = new FlowableFromCompletionStage<>(future, true).test();
+        TestSubscriber<Integer> nonNullable = new FlowableFromCompletionStage<>(future, false).test();
+        future.complete(null);
+        nullable.assertNoValues().assertComplete();
+        nonNullable.assertNoValues().assertError(NullPointerException.class);
+    }
+
+    @Test
+    public void testCancellation() {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        TestSubscriber<Integer> subscriber = new FlowableFromCompletionStage<>(future, false).test();
+        subscriber.cancel();
+        future.complete(1);
+        subscriber.assertNoValues().assertNotComplete();
+    }
+
+    @Test
+    public void testSeveralSubscribers() {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        FlowableFromCompletionStage<Integer> publisher = new FlowableFromCompletionStage<>(future, false);
+        TestSubscriber<Integer> first = publisher.test();
+        future.complete(1);
+        first.assertValues(1).assertComplete();
+        publisher.test().assertValues(1).assertComplete();
+    }
+
+    private static class SpyFuture<T> extends CompletableFuture<T> {
+        private int callbacks;
+
+        @Override
+        public CompletableFuture<T> whenComplete(BiConsumer<? super T, ? super Throwable> action) {
+            callbacks++;
+            return super.whenComplete(action);
+        }
+    }
+
+}
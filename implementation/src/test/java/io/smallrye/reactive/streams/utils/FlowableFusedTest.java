@@ -0,0 +1,124 @@
+package io.smallrye.reactive.streams.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import io.smallrye.reactive.streams.operators.FusedStep;
+
+/**
+ * Checks the behavior of the {@link FlowableFused} operator, directly and when runs of stages are fused by the
+ * engine.
+ */
+public class FlowableFusedTest {
+
+    @Test
+    public void testStepsAreAppliedInSequence() {
+        TestSubscriber<Object> subscriber = fused(Flowable.range(1, 10),
+                () -> item -> (int) item * 2,
+                () -> item -> (int) item % 3 == 0 ? FusedStep.DROP : item,
+                () -> item -> (int) item > 15 ? FusedStep.COMPLETE : item)
+                        .test();
+        subscriber.assertValues(2, 4, 8, 10, 14).assertComplete();
+    }
+
+    @Test
+    public void testThatDroppedItemsAreReplenished() {
+        TestSubscriber<Object> subscriber = fused(Flowable.range(1, 10),
+                () -> item -> (int) item % 2 == 0 ? FusedStep.DROP : item)
+                        .test(2);
+        subscriber.assertValues(1, 3).assertNotComplete();
+        subscriber.request(4);
+        subscriber.assertValues(1, 3, 5, 7, 9).assertComplete();
+    }
+
+    @Test
+    public void testThatCompletionCancelsTheUpstream() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        TestSubscriber<Object> subscriber = fused(Flowable.range(1, 10).doOnCancel(() -> cancelled.set(true)),
+                () -> item -> (int) item == 2 ? FusedStep.COMPLETE : item)
+                        .test();
+        subscriber.assertValues(1).assertComplete();
+        assertThat(cancelled).isTrue();
+    }
+
+    @Test
+    public void testThatFailuresCancelTheUpstream() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        TestSubscriber<Object> subscriber = fused(Flowable.range(1, 10).doOnCancel(() -> cancelled.set(true)),
+                () -> item -> {
+                    if ((int) item == 3) {
+                        throw new IllegalStateException("boom");
+                    }
+                    return item;
+                })
+                        .test();
+        subscriber.assertValues(1, 2).assertError(IllegalStateException.class);
+        assertThat(cancelled).isTrue();
+    }
+
+    @Test
+    public void testThatStepsAreCreatedPerSubscription() {
+        List<Integer> created = new ArrayList<>();
+        Flowable<Object> flowable = fused(Flowable.range(1, 3), () -> {
+            created.add(created.size());
+            return item -> item;
+        });
+        flowable.test().assertValues(1, 2, 3).assertComplete();
+        flowable.test().assertValues(1, 2, 3).assertComplete();
+        assertThat(created).hasSize(2);
+    }
+
+    @Test
+    public void testFusedPipeline() {
+        List<Integer> peeked = new ArrayList<>();
+        List<String> list = ReactiveStreams.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+                .dropWhile(i -> i < 3)
+                .map(i -> i * 2)
+                .filter(i -> i % 4 == 0)
+                .peek(peeked::add)
+                .takeWhile(i -> i < 18)
+                .map(i -> "v" + i)
+                .toList()
+                .run().toCompletableFuture().join();
+        assertThat(list).containsExactly("v8", "v12", "v16");
+        assertThat(peeked).containsExactly(8, 12, 16, 20);
+    }
+
+    @Test
+    public void testDropWhileStateIsNotSharedBetweenSubscriptions() {
+        Flowable<Integer> flowable = Flowable.fromPublisher(ReactiveStreams.of(1, 2, 3, 1)
+                .dropWhile(i -> i < 2)
+                .map(i -> i + 1)
+                .buildRs());
+        flowable.test().assertValues(3, 4, 2).assertComplete();
+        flowable.test().assertValues(3, 4, 2).assertComplete();
+    }
+
+    @Test
+    public void testNullReturnedByAFusedMapper() {
+        ReactiveStreams.of(1, 2)
+                .map(i -> i == 2 ? null : i)
+                .filter(i -> true)
+                .toList()
+                .run().toCompletableFuture()
+                .handle((list, failure) -> {
+                    assertThat(failure).isInstanceOf(NullPointerException.class);
+                    return list;
+                }).join();
+    }
+
+    @SafeVarargs
+    private static Flowable<Object> fused(Flowable<Integer> source, Supplier<FusedStep>... steps) {
+        return new FlowableFused<>(source, steps);
+    }
+
+}
@@ -0,0 +1,123 @@
+package io.smallrye.reactive.streams.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.reactivex.subscribers.TestSubscriber;
+
+/**
+ * Checks the behavior of the {@link MappedFilePublisher}.
+ */
+public class MappedFilePublisherTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testThatTheFileIsReadAsASourceStage() throws IOException {
+        String content = IntStream.range(0, 10_000).mapToObj(String::valueOf).collect(Collectors.joining("\n"));
+        Path file = write(content.getBytes(StandardCharsets.UTF_8));
+
+        byte[] read = ReactiveStreams.fromPublisher(new MappedFilePublisher(file, 1000))
+                .collect(ByteArrayOutputStream::new, MappedFilePublisherTest::append)
+                .run()
+                .toCompletableFuture().join()
+                .toByteArray();
+        assertThat(new String(read, StandardCharsets.UTF_8)).isEqualTo(content);
+    }
+
+    @Test
+    public void testChunksAndWindows() throws IOException {
+        Path file = write(bytes(30));
+        MappedFilePublisher publisher = new MappedFilePublisher(file, 4, 10);
+        assertThat(publisher.getMappingSize()).isEqualTo(8);
+
+        TestSubscriber<ByteBuffer> subscriber = new TestSubscriber<>();
+        publisher.subscribe(subscriber);
+        subscriber.assertValueCount(8).assertComplete();
+        List<ByteBuffer> chunks = subscriber.values();
+        assertThat(chunks).allMatch(chunk -> chunk.isReadOnly() && chunk.isDirect());
+        // Slices, not reaching the rest of the window.
+        assertThat(chunks).allMatch(chunk -> chunk.position() == 0 && chunk.capacity() == chunk.remaining());
+        assertThat(chunks.stream().map(ByteBuffer::remaining).collect(Collectors.toList()))
+                .containsExactly(4, 4, 4, 4, 4, 4, 4, 2);
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        chunks.forEach(chunk -> append(read, chunk));
+        assertThat(read.toByteArray()).isEqualTo(bytes(30));
+    }
+
+    @Test
+    public void testThatTheBackPressureIsExact() throws IOException {
+        Path file = write(bytes(100));
+        TestSubscriber<ByteBuffer> subscriber = new TestSubscriber<>(0);
+        new MappedFilePublisher(file, 10).subscribe(subscriber);
+        subscriber.assertNoValues().assertNotComplete();
+        subscriber.request(1);
+        subscriber.assertValueCount(1);
+        subscriber.request(2);
+        subscriber.assertValueCount(3).assertNotComplete();
+        subscriber.request(7);
+        subscriber.assertValueCount(10).assertComplete();
+
+        TestSubscriber<ByteBuffer> cancelled = new TestSubscriber<>(0);
+        new MappedFilePublisher(file, 10).subscribe(cancelled);
+        cancelled.request(2);
+        cancelled.cancel();
+        cancelled.request(5);
+        cancelled.assertValueCount(2).assertNotComplete();
+    }
+
+    @Test
+    public void testEmptyAndMissingFiles() throws IOException {
+        TestSubscriber<ByteBuffer> empty = new TestSubscriber<>(0);
+        new MappedFilePublisher(write(new byte[0])).subscribe(empty);
+        empty.assertNoValues().assertComplete();
+
+        TestSubscriber<ByteBuffer> missing = new TestSubscriber<>();
+        new MappedFilePublisher(folder.getRoot().toPath().resolve("missing")).subscribe(missing);
+        missing.assertNoValues().assertError(NoSuchFileException.class);
+    }
+
+    @Test
+    public void testInvalidParameters() {
+        Path file = folder.getRoot().toPath().resolve("file");
+        assertThatThrownBy(() -> new MappedFilePublisher(null)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> new MappedFilePublisher(file, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MappedFilePublisher(file, 10, 5)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Path write(byte[] content) throws IOException {
+        return Files.write(folder.newFile().toPath(), content);
+    }
+
+    private static byte[] bytes(int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    private static void append(ByteArrayOutputStream stream, ByteBuffer chunk) {
+        byte[] bytes = new byte[chunk.remaining()];
+        chunk.duplicate().get(bytes);
+        stream.write(bytes, 0, bytes.length);
+    }
+
+}
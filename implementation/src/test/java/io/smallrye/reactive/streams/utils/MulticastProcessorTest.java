@@ -0,0 +1,154 @@
+package io.smallrye.reactive.streams.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.Flowable;
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.internal.subscriptions.BooleanSubscription;
+import io.reactivex.subscribers.TestSubscriber;
+
+/**
+ * Checks the behavior of the {@link MulticastProcessor}.
+ */
+public class MulticastProcessorTest {
+
+    @Test
+    public void testThatTheUpstreamIsSubscribedOnce() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        MulticastProcessor<Integer> processor = new MulticastProcessor<>(16, MulticastProcessor.Policy.MIN_DEMAND, 2);
+        ReactiveStreams.fromPublisher(Flowable.range(0, 1000).doOnSubscribe(s -> subscriptions.incrementAndGet()))
+                .to(processor)
+                .run();
+
+        CompletionStage<List<Integer>> first = ReactiveStreams.fromPublisher(processor).toList().run();
+        CompletionStage<List<Integer>> second = ReactiveStreams.fromPublisher(processor).map(i -> i * 2).toList().run();
+
+        List<Integer> expected = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        assertThat(first.toCompletableFuture().join()).isEqualTo(expected);
+        assertThat(second.toCompletableFuture().join())
+                .isEqualTo(expected.stream().map(i -> i * 2).collect(Collectors.toList()));
+        assertThat(subscriptions).hasValue(1);
+    }
+
+    @Test
+    public void testThatTheSubscribersWaitForTheSlowestOne() {
+        MulticastProcessor<Integer> processor = new MulticastProcessor<>(4, MulticastProcessor.Policy.MIN_DEMAND, 2);
+        Flowable.range(0, 100).subscribe(processor);
+        TestSubscriber<Integer> fast = new TestSubscriber<>(5);
+        TestSubscriber<Integer> slow = new TestSubscriber<>(2);
+        processor.subscribe(fast);
+        fast.assertNoValues();
+        processor.subscribe(slow);
+
+        fast.assertValues(0, 1, 2, 3, 4);
+        slow.assertValues(0, 1);
+        fast.request(100);
+        // The fast subscriber is at most 4 items ahead.
+        fast.assertValues(0, 1, 2, 3, 4, 5).assertNotComplete();
+
+        slow.request(100);
+        fast.assertValueCount(100).assertComplete();
+        slow.assertValueCount(100).assertComplete();
+    }
+
+    @Test
+    public void testThatTheSlowestSubscribersAreDropped() {
+        MulticastProcessor<Integer> processor = new MulticastProcessor<>(4, MulticastProcessor.Policy.DROP_SLOWEST,
+                2);
+        Flowable.range(0, 100).subscribe(processor);
+        TestSubscriber<Integer> fast = new TestSubscriber<>(5);
+        TestSubscriber<Integer> slow = new TestSubscriber<>(2);
+        processor.subscribe(fast);
+        processor.subscribe(slow);
+        slow.assertValues(0, 1).assertNoErrors();
+
+        fast.request(100);
+        fast.assertValueCount(100).assertComplete();
+        slow.assertValues(0, 1).assertError(MissingBackpressureException.class);
+    }
+
+    @Test
+    public void testLateSubscribers() {
+        MulticastProcessor<Integer> processor = new MulticastProcessor<>(4);
+        processor.onSubscribe(new BooleanSubscription());
+        TestSubscriber<Integer> early = new TestSubscriber<>();
+        processor.subscribe(early);
+        processor.onNext(1);
+
+        TestSubscriber<Integer> late = new TestSubscriber<>();
+        processor.subscribe(late);
+        processor.onNext(2);
+        processor.onComplete();
+        early.assertValues(1, 2).assertComplete();
+        late.assertValues(2).assertComplete();
+
+        TestSubscriber<Integer> afterCompletion = new TestSubscriber<>();
+        processor.subscribe(afterCompletion);
+        afterCompletion.assertNoValues().assertComplete();
+    }
+
+    @Test
+    public void testThatTheItemsAreKeptWithoutSubscribers() {
+        MulticastProcessor<Integer> processor = new MulticastProcessor<>(4);
+        processor.onSubscribe(new BooleanSubscription());
+        TestSubscriber<Integer> first = new TestSubscriber<>(1);
+        processor.subscribe(first);
+        processor.onNext(1);
+        processor.onNext(2);
+        first.assertValues(1);
+        first.cancel();
+
+        TestSubscriber<Integer> second = new TestSubscriber<>();
+        processor.subscribe(second);
+        processor.onError(new IllegalStateException("boom"));
+        second.assertValues(2).assertError(IllegalStateException.class);
+    }
+
+    @Test
+    public void testInvalidRequestsAndParameters() {
+        MulticastProcessor<Integer> processor = new MulticastProcessor<>(4);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        // TestSubscriber validates the requests itself.
+        processor.subscribe(new Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                s.request(-1);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                // Not called.
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                failure.set(t);
+            }
+
+            @Override
+            public void onComplete() {
+                // Not called.
+            }
+        });
+        assertThat(failure.get()).isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> new MulticastProcessor<>(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MulticastProcessor<>(4, MulticastProcessor.Policy.MIN_DEMAND, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MulticastProcessor<>(4, null, 1)).isInstanceOf(NullPointerException.class);
+    }
+
+}
@@ -0,0 +1,187 @@
+package io.smallrye.reactive.streams.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.Flowable;
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subscribers.TestSubscriber;
+
+/**
+ * Checks the behavior of the {@link ReplayPublisher}.
+ */
+public class ReplayPublisherTest {
+
+    @Test
+    public void testThatTheUpstreamIsSubscribedOnce() {
+        AtomicInteger completions = new AtomicInteger();
+        ReplayPublisher<Integer> publisher = new ReplayPublisher<>(ReactiveStreams.fromIterable(
+                IntStream.range(0, 1000).boxed().collect(Collectors.toList()))
+                .onComplete(completions::incrementAndGet)
+                .buildRs(), ReplayPolicy.unbounded().withChunkSize(16));
+        List<Integer> expected = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(ReactiveStreams.fromPublisher(publisher).toList().run().toCompletableFuture().join())
+                    .isEqualTo(expected);
+        }
+        assertThat(completions).hasValue(1);
+        assertThat(publisher.getCachedItems()).isEqualTo(1000);
+        assertThat(publisher.getEvictedItems()).isEqualTo(0);
+        assertThat(publisher.getCachedWeight()).isEqualTo(1000);
+        assertThat(publisher.getSubscriberCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testThatTheSourceIsSubscribedOnceAndLazily() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        ReplayPublisher<Integer> publisher = new ReplayPublisher<>(
+                Flowable.range(0, 10).doOnSubscribe(s -> subscriptions.incrementAndGet()), ReplayPolicy.unbounded());
+        assertThat(subscriptions).hasValue(0);
+        Flowable.fromPublisher(publisher).test().assertValueCount(10).assertComplete();
+        Flowable.fromPublisher(publisher).test().assertValueCount(10).assertComplete();
+        assertThat(subscriptions).hasValue(1);
+    }
+
+    @Test
+    public void testEvictionBySize() {
+        ReplayPublisher<Integer> publisher = new ReplayPublisher<>(Flowable.range(0, 100),
+                ReplayPolicy.unbounded().withMaxItems(10).withChunkSize(4));
+        Flowable.fromPublisher(publisher).test().assertValueCount(100).assertComplete();
+
+        Flowable.fromPublisher(publisher).test()
+                .assertValues(90, 91, 92, 93, 94, 95, 96, 97, 98, 99)
+                .assertComplete();
+        assertThat(publisher.getCachedItems()).isEqualTo(10);
+        assertThat(publisher.getEvictedItems()).isEqualTo(90);
+    }
+
+    @Test
+    public void testEvictionByWeight() {
+        ReplayPublisher<String> publisher = new ReplayPublisher<>(Flowable.just("a", "bb", "ccc", "dddd"),
+                ReplayPolicy.unbounded().withMaxWeight(8, String::length).withChunkSize(2));
+        Flowable.fromPublisher(publisher).test().assertValueCount(4).assertComplete();
+
+        Flowable.fromPublisher(publisher).test().assertValues("ccc", "dddd").assertComplete();
+        assertThat(publisher.getCachedWeight()).isEqualTo(7);
+        assertThat(publisher.getCachedItems()).isEqualTo(2);
+    }
+
+    @Test
+    public void testThatAFailingWeigherCancelsTheUpstream() {
+        PublishProcessor<String> source = PublishProcessor.create();
+        ReplayPublisher<String> publisher = new ReplayPublisher<>(source,
+                ReplayPolicy.unbounded().withMaxWeight(100, (String s) -> {
+                    if (s.isEmpty()) {
+                        throw new IllegalArgumentException("empty");
+                    }
+                    return s.length();
+                }).withChunkSize(2));
+        TestSubscriber<String> subscriber = Flowable.fromPublisher(publisher).test();
+        source.onNext("a");
+        source.onNext("bb");
+        source.onNext("");
+        assertThat(source.hasSubscribers()).isFalse();
+        subscriber.assertValues("a", "bb").assertError(IllegalArgumentException.class);
+        assertThat(publisher.getCachedItems()).isEqualTo(2);
+        assertThat(publisher.getCachedWeight()).isEqualTo(3);
+
+        Flowable.fromPublisher(publisher).test().assertValues("a", "bb").assertError(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testEvictionByAge() {
+        TestScheduler clock = new TestScheduler();
+        PublishProcessor<Integer> source = PublishProcessor.create();
+        ReplayPublisher<Integer> publisher = new ReplayPublisher<>(source,
+                ReplayPolicy.unbounded().withMaxAge(Duration.ofSeconds(10)).withClock(clock).withChunkSize(2));
+        TestSubscriber<Integer> first = Flowable.fromPublisher(publisher).test();
+        source.onNext(1);
+        source.onNext(2);
+        clock.advanceTimeBy(5, TimeUnit.SECONDS);
+        source.onNext(3);
+        clock.advanceTimeBy(6, TimeUnit.SECONDS);
+
+        // Not evicted yet, but not replayed.
+        assertThat(publisher.getCachedItems()).isEqualTo(3);
+        Flowable.fromPublisher(publisher).test().assertValues(3).assertNotComplete();
+
+        source.onNext(4);
+        assertThat(publisher.getCachedItems()).isEqualTo(2);
+        clock.advanceTimeBy(20, TimeUnit.SECONDS);
+        source.onComplete();
+        Flowable.fromPublisher(publisher).test().assertNoValues().assertComplete();
+        first.assertValues(1, 2, 3, 4).assertComplete();
+    }
+
+    @Test
+    public void testBackPressureAndFailures() {
+        PublishProcessor<Integer> source = PublishProcessor.create();
+        ReplayPublisher<Integer> publisher = new ReplayPublisher<>(source, ReplayPolicy.unbounded().withChunkSize(2));
+        TestSubscriber<Integer> subscriber = Flowable.fromPublisher(publisher).test(1);
+        source.onNext(1);
+        source.onNext(2);
+        source.onNext(3);
+        source.onError(new IllegalStateException("boom"));
+        subscriber.assertValues(1).assertNotTerminated();
+        subscriber.request(1);
+        subscriber.assertValues(1, 2).assertNotTerminated();
+        subscriber.request(1);
+        subscriber.assertValues(1, 2, 3).assertError(IllegalStateException.class);
+
+        Flowable.fromPublisher(publisher).test().assertValues(1, 2, 3).assertError(IllegalStateException.class);
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        publisher.subscribe(new Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                s.request(-1);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                // Not called.
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                failure.set(t);
+            }
+
+            @Override
+            public void onComplete() {
+                // Not called.
+            }
+        });
+        assertThat(failure.get()).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testInvalidPolicies() {
+        assertThatThrownBy(() -> ReplayPolicy.unbounded().withMaxItems(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ReplayPolicy.unbounded().withMaxAge(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ReplayPolicy.unbounded().withMaxWeight(0, x -> 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ReplayPolicy.unbounded().withChunkSize(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(ReplayPolicy.unbounded().withMaxItems(10))
+                .hasToString("replay(maxItems=10, maxAge=unbounded, maxWeight=unbounded, chunkSize=128)");
+    }
+
+}
@@ -0,0 +1,112 @@
+package io.smallrye.reactive.streams.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+import io.reactivex.internal.subscriptions.BooleanSubscription;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+
+/**
+ * Checks the behavior of the {@link RingBufferProcessor}.
+ */
+public class RingBufferProcessorTest {
+
+    @Test
+    public void testViaStage() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Integer> items = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+        List<Integer> list = ReactiveStreams.fromIterable(items)
+                .via(RingBufferProcessor.<Integer> create(16, Schedulers.single()))
+                .peek(i -> threads.add(Thread.currentThread().getName()))
+                .toList()
+                .run()
+                .toCompletableFuture().join();
+        assertThat(list).isEqualTo(items);
+        assertThat(threads).hasSize(1).allMatch(name -> name.startsWith("RxSingleScheduler"));
+    }
+
+    @Test
+    public void testCapacity() {
+        assertThat(RingBufferProcessor.create(1, Schedulers.single()).capacity()).isEqualTo(1);
+        assertThat(RingBufferProcessor.create(100, Schedulers.single()).capacity()).isEqualTo(128);
+        assertThat(RingBufferProcessor.create(128, Schedulers.single()).capacity()).isEqualTo(128);
+        assertThatThrownBy(() -> RingBufferProcessor.create(0, Schedulers.single()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RingBufferProcessor.binary(16, 0, Schedulers.single()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testBackPressureAndFailures() {
+        RingBufferProcessor<Integer> processor = RingBufferProcessor.create(4, Schedulers.computation());
+        Flowable.range(0, 100).concatWith(Flowable.error(new IllegalStateException("boom"))).subscribe(processor);
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(0);
+        processor.subscribe(subscriber);
+        subscriber.request(5);
+        subscriber.awaitCount(5);
+        subscriber.assertValues(0, 1, 2, 3, 4).assertNotTerminated();
+        subscriber.request(Long.MAX_VALUE);
+        subscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
+        subscriber.assertValueCount(100).assertError(IllegalStateException.class);
+
+        TestSubscriber<Integer> second = new TestSubscriber<>();
+        processor.subscribe(second);
+        second.assertError(IllegalStateException.class);
+    }
+
+    @Test
+    public void testBinaryRecords() {
+        RingBufferProcessor<ByteBuffer> processor = RingBufferProcessor.binary(8, Long.BYTES,
+                Schedulers.computation());
+        ByteBuffer record = ByteBuffer.allocate(Long.BYTES);
+        Flowable.range(0, 1000)
+                .map(i -> {
+                    record.clear();
+                    record.putLong(i).flip();
+                    return record;
+                })
+                .subscribe(processor);
+
+        long sum = Flowable.fromPublisher(processor)
+                .map(buffer -> {
+                    assertThat(buffer.isReadOnly()).isTrue();
+                    assertThat(buffer.remaining()).isEqualTo(Long.BYTES);
+                    return buffer.getLong(buffer.position());
+                })
+                .reduce(0L, Long::sum)
+                .blockingGet();
+        assertThat(sum).isEqualTo(999L * 1000 / 2);
+
+        RingBufferProcessor<ByteBuffer> copying = RingBufferProcessor.binary(8, Long.BYTES, Schedulers.computation());
+        copying.onSubscribe(new BooleanSubscription());
+        ByteBuffer copied = ByteBuffer.allocate(Long.BYTES).putLong(0, 42);
+        copying.onNext(copied);
+        assertThat(copied.position()).isEqualTo(0);
+        assertThat(copied.remaining()).isEqualTo(Long.BYTES);
+    }
+
+    @Test
+    public void testInvalidBinaryRecords() {
+        RingBufferProcessor<ByteBuffer> processor = RingBufferProcessor.binary(8, Long.BYTES,
+                Schedulers.computation());
+        Flowable.just(ByteBuffer.allocate(Integer.BYTES)).subscribe(processor);
+        TestSubscriber<ByteBuffer> subscriber = new TestSubscriber<>();
+        processor.subscribe(subscriber);
+        subscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
+        subscriber.assertNoValues().assertError(IllegalArgumentException.class);
+    }
+
+}
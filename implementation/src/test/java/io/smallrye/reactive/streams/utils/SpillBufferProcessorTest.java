@@ -0,0 +1,228 @@
+package io.smallrye.reactive.streams.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.reactivex.Flowable;
+import io.reactivex.internal.subscriptions.BooleanSubscription;
+import io.reactivex.subscribers.TestSubscriber;
+
+/**
+ * Checks the behavior of the {@link SpillBufferProcessor} and of the {@link SpillDirectory}.
+ */
+public class SpillBufferProcessorTest {
+
+    private static final SpillSerializer<String> STRINGS = new SpillSerializer<String>() {
+        @Override
+        public byte[] serialize(String item) {
+            return item.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String deserialize(ByteBuffer bytes) {
+            return StandardCharsets.UTF_8.decode(bytes).toString();
+        }
+    };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SpillDirectory directory;
+
+    @Before
+    public void create() {
+        directory = SpillDirectory.create(folder.getRoot().toPath());
+    }
+
+    @After
+    public void close() {
+        directory.close();
+    }
+
+    @Test
+    public void testViaStage() {
+        List<String> items = IntStream.range(0, 10_000).mapToObj(String::valueOf).collect(Collectors.toList());
+        List<String> list = ReactiveStreams.fromIterable(items)
+                .via(new SpillBufferProcessor<>(16, 1024, directory, STRINGS))
+                .toList()
+                .run()
+                .toCompletableFuture().join();
+        assertThat(list).isEqualTo(items);
+    }
+
+    @Test
+    public void testThatTheItemsAreKeptInMemoryUpToTheCapacity() throws IOException {
+        SpillBufferProcessor<String> processor = new SpillBufferProcessor<>(100, 1024, directory, STRINGS);
+        Flowable.range(0, 50).map(String::valueOf).subscribe(processor);
+        assertThat(processor.getBufferedItems()).isEqualTo(50);
+        assertThat(processor.getSpilledItems()).isZero();
+        assertThat(segments()).isEmpty();
+
+        TestSubscriber<String> subscriber = new TestSubscriber<>();
+        processor.subscribe(subscriber);
+        subscriber.assertValueCount(50).assertComplete();
+    }
+
+    @Test
+    public void testThatTheOverflowIsSpilledAndReadBackInOrder() throws IOException {
+        SpillBufferProcessor<String> processor = new SpillBufferProcessor<>(4, 64, directory, STRINGS);
+        Flowable.range(0, 1000).map(String::valueOf).subscribe(processor);
+        assertThat(processor.getBufferedItems()).isEqualTo(4);
+        assertThat(processor.getSpilledItems()).isEqualTo(996);
+        assertThat(segments()).hasSizeGreaterThan(1);
+
+        TestSubscriber<String> subscriber = new TestSubscriber<>(0);
+        processor.subscribe(subscriber);
+        subscriber.assertNoValues();
+        subscriber.request(10);
+        subscriber.assertValues("0", "1", "2", "3", "4", "5", "6", "7", "8", "9").assertNotComplete();
+        assertThat(processor.getSpilledItems()).isEqualTo(990);
+
+        subscriber.request(Long.MAX_VALUE);
+        subscriber.assertValueSequence(IntStream.range(0, 1000).mapToObj(String::valueOf).collect(Collectors.toList()))
+                .assertComplete();
+        assertThat(segments()).isEmpty();
+    }
+
+    @Test
+    public void testThatTheItemsAreBufferedInMemoryAgainOnceTheDiskIsRead() {
+        SpillBufferProcessor<String> processor = new SpillBufferProcessor<>(2, 64, directory, STRINGS);
+        processor.onSubscribe(new BooleanSubscription());
+        TestSubscriber<String> subscriber = new TestSubscriber<>(0);
+        processor.subscribe(subscriber);
+        processor.onNext("a");
+        processor.onNext("b");
+        processor.onNext("c");
+        assertThat(processor.getSpilledItems()).isEqualTo(1);
+
+        subscriber.request(3);
+        processor.onNext("d");
+        processor.onNext("e");
+        assertThat(processor.getBufferedItems()).isEqualTo(2);
+        assertThat(processor.getSpilledItems()).isZero();
+
+        subscriber.request(2);
+        processor.onComplete();
+        subscriber.assertValues("a", "b", "c", "d", "e").assertComplete();
+    }
+
+    @Test
+    public void testThatLargeItemsGetTheirOwnSegment() {
+        SpillBufferProcessor<String> processor = new SpillBufferProcessor<>(0, 8, directory, STRINGS);
+        String large = String.join("", Collections.nCopies(100, "x"));
+        Flowable.just("a", large, "b").subscribe(processor);
+        TestSubscriber<String> subscriber = new TestSubscriber<>();
+        processor.subscribe(subscriber);
+        subscriber.assertValues("a", large, "b").assertComplete();
+    }
+
+    @Test
+    public void testThatCancellationDeletesTheSegments() throws IOException {
+        SpillBufferProcessor<String> processor = new SpillBufferProcessor<>(4, 64, directory, STRINGS);
+        Flowable.range(0, 1000).map(String::valueOf).subscribe(processor);
+        TestSubscriber<String> subscriber = new TestSubscriber<>(1);
+        processor.subscribe(subscriber);
+        subscriber.assertValues("0");
+        assertThat(segments()).isNotEmpty();
+        subscriber.cancel();
+        assertThat(segments()).isEmpty();
+    }
+
+    @Test
+    public void testFailures() throws IOException {
+        SpillBufferProcessor<String> processor = new SpillBufferProcessor<>(1, 64, directory, STRINGS);
+        Flowable.just("a", "b").concatWith(Flowable.error(new IllegalStateException("boom"))).subscribe(processor);
+        TestSubscriber<String> subscriber = new TestSubscriber<>();
+        processor.subscribe(subscriber);
+        subscriber.assertValues("a", "b").assertError(IllegalStateException.class);
+        assertThat(segments()).isEmpty();
+
+        SpillBufferProcessor<String> failing = new SpillBufferProcessor<>(0, 64, directory,
+                new SpillSerializer<String>() {
+                    @Override
+                    public byte[] serialize(String item) {
+                        throw new IllegalArgumentException("not serializable");
+                    }
+
+                    @Override
+                    public String deserialize(ByteBuffer bytes) {
+                        return null;
+                    }
+                });
+        Flowable.just("a").subscribe(failing);
+        TestSubscriber<String> second = new TestSubscriber<>();
+        failing.subscribe(second);
+        second.assertNoValues().assertError(IllegalArgumentException.class);
+
+        TestSubscriber<String> third = new TestSubscriber<>();
+        failing.subscribe(third);
+        third.assertError(IllegalStateException.class);
+
+        assertThatThrownBy(() -> new SpillBufferProcessor<>(-1, 64, directory, STRINGS))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SpillBufferProcessor<>(1, 0, directory, STRINGS))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testThatTheDirectoriesOfCrashedProcessesAreDeleted() throws IOException {
+        Path base = folder.getRoot().toPath();
+        Path crashed = Files.createDirectory(base.resolve(SpillDirectory.PREFIX + "crashed"));
+        Files.createFile(crashed.resolve(SpillDirectory.LOCK));
+        Files.createFile(crashed.resolve("segment-1"));
+        Files.setLastModifiedTime(crashed, FileTime.fromMillis(0));
+
+        SpillDirectory other = SpillDirectory.create(base);
+        try {
+            assertThat(crashed).doesNotExist();
+            assertThat(directory.getPath()).exists();
+            assertThat(other.getPath()).exists();
+            assertThat(SpillDirectory.cleanup(base)).isZero();
+        } finally {
+            other.close();
+        }
+        assertThat(other.getPath()).doesNotExist();
+    }
+
+    @Test
+    public void testThatTheDirectoriesBeingCreatedAreKept() throws IOException {
+        Path base = folder.getRoot().toPath();
+        // Created by another process, which has not locked it yet.
+        Path creating = Files.createDirectory(base.resolve(SpillDirectory.PREFIX + "creating"));
+        Files.createFile(creating.resolve(SpillDirectory.LOCK));
+        assertThat(SpillDirectory.cleanup(base)).isZero();
+        assertThat(creating).exists();
+
+        Files.setLastModifiedTime(creating, FileTime.fromMillis(0));
+        assertThat(SpillDirectory.cleanup(base)).isEqualTo(1);
+        assertThat(creating).doesNotExist();
+        assertThat(directory.getPath()).exists();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory.getPath())) {
+            return files.filter(path -> !path.getFileName().toString().equals(SpillDirectory.LOCK))
+                    .collect(Collectors.toList());
+        }
+    }
+
+}
@@ -0,0 +1,188 @@
+package io.smallrye.reactive.streams.jcstress;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.III_Result;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+import io.reactivex.internal.subscriptions.BooleanSubscription;
+import io.smallrye.reactive.streams.utils.ConnectableProcessor;
+
+/**
+ * Races on the transitions of the {@link ConnectableProcessor}.
+ */
+public class ConnectableProcessorStressTests {
+
+    private ConnectableProcessorStressTests() {
+        // Avoid direct instantiation.
+    }
+
+    /**
+     * The subscriber and the subscription arrive concurrently: the subscriber receives the subscription exactly once,
+     * and the subscription is not cancelled.
+     */
+    @JCStressTest
+    @Outcome(id = "1, 0", expect = ACCEPTABLE, desc = "The subscriber received the subscription once")
+    @Outcome(expect = FORBIDDEN, desc = "The subscription has been lost, duplicated or cancelled")
+    @State
+    public static class SubscribeAndOnSubscribe {
+        private final ConnectableProcessor<Object> processor = new ConnectableProcessor<>();
+        private final RecordingSubscriber subscriber = new RecordingSubscriber();
+        private final BooleanSubscription subscription = new BooleanSubscription();
+
+        @Actor
+        public void subscribe() {
+            processor.subscribe(subscriber);
+        }
+
+        @Actor
+        public void onSubscribe() {
+            processor.onSubscribe(subscription);
+        }
+
+        @Arbiter
+        public void arbiter(II_Result r) {
+            r.r1 = subscriber.subscriptions;
+            r.r2 = subscription.isCancelled() ? 1 : 0;
+        }
+    }
+
+    /**
+     * The subscriber arrives while the upstream completes: the completion is delivered exactly once, after the
+     * subscription.
+     */
+    @JCStressTest
+    @Outcome(id = "1, 1", expect = ACCEPTABLE, desc = "Subscribed, then completed")
+    @Outcome(expect = FORBIDDEN, desc = "Completion lost, duplicated or delivered before onSubscribe")
+    @State
+    public static class SubscribeAndOnComplete {
+        private final ConnectableProcessor<Object> processor = new ConnectableProcessor<>();
+        private final RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        public SubscribeAndOnComplete() {
+            processor.onSubscribe(new BooleanSubscription());
+        }
+
+        @Actor
+        public void subscribe() {
+            processor.subscribe(subscriber);
+        }
+
+        @Actor
+        public void onComplete() {
+            processor.onComplete();
+        }
+
+        @Arbiter
+        public void arbiter(II_Result r) {
+            r.r1 = subscriber.subscriptions;
+            r.r2 = subscriber.terminations;
+        }
+    }
+
+    /**
+     * The subscriber, the subscription and the failure arrive concurrently: the failure is delivered exactly once,
+     * after the subscription.
+     */
+    @JCStressTest
+    @Outcome(id = "1, 1, 1", expect = ACCEPTABLE, desc = "Subscribed, then failed")
+    @Outcome(expect = FORBIDDEN, desc = "Failure lost, duplicated or delivered before onSubscribe")
+    @State
+    public static class SubscribeOnSubscribeAndOnError {
+        private final ConnectableProcessor<Object> processor = new ConnectableProcessor<>();
+        private final RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        @Actor
+        public void subscribe() {
+            processor.subscribe(subscriber);
+        }
+
+        @Actor
+        public void upstream() {
+            processor.onSubscribe(new BooleanSubscription());
+            processor.onError(new Exception("boom"));
+        }
+
+        @Arbiter
+        public void arbiter(III_Result r) {
+            r.r1 = subscriber.subscriptions;
+            r.r2 = subscriber.terminations;
+            r.r3 = subscriber.failures;
+        }
+    }
+
+    /**
+     * Two subscribers race: exactly one of them is connected, the other one is rejected.
+     */
+    @JCStressTest
+    @Outcome(id = { "0, 1", "1, 0" }, expect = ACCEPTABLE, desc = "A single subscriber has been connected")
+    @Outcome(expect = FORBIDDEN, desc = "Both or none of the subscribers have been connected")
+    @State
+    public static class ConcurrentSubscribers {
+        private final ConnectableProcessor<Object> processor = new ConnectableProcessor<>();
+        private final RecordingSubscriber first = new RecordingSubscriber();
+        private final RecordingSubscriber second = new RecordingSubscriber();
+
+        public ConcurrentSubscribers() {
+            processor.onSubscribe(new BooleanSubscription());
+        }
+
+        @Actor
+        public void subscribeFirst() {
+            processor.subscribe(first);
+        }
+
+        @Actor
+        public void subscribeSecond() {
+            processor.subscribe(second);
+        }
+
+        @Arbiter
+        public void arbiter(II_Result r) {
+            r.r1 = first.subscriptions - first.failures;
+            r.r2 = second.subscriptions - second.failures;
+        }
+    }
+
+    /**
+     * The subscriber cancels while the upstream completes: the upstream subscription is cancelled, and the
+     * completion is delivered at most once.
+     */
+    @JCStressTest
+    @Outcome(id = { "1, 0", "1, 1" }, expect = ACCEPTABLE, desc = "Cancelled, completion dropped or delivered once")
+    @Outcome(expect = FORBIDDEN, desc = "Subscription not cancelled or completion duplicated")
+    @State
+    public static class CancelAndOnComplete {
+        private final ConnectableProcessor<Object> processor = new ConnectableProcessor<>();
+        private final RecordingSubscriber subscriber = new RecordingSubscriber();
+        private final BooleanSubscription subscription = new BooleanSubscription();
+
+        public CancelAndOnComplete() {
+            processor.onSubscribe(subscription);
+            processor.subscribe(subscriber);
+        }
+
+        @Actor
+        public void cancel() {
+            subscriber.subscription.cancel();
+        }
+
+        @Actor
+        public void onComplete() {
+            processor.onComplete();
+        }
+
+        @Arbiter
+        public void arbiter(II_Result r) {
+            r.r1 = subscription.isCancelled() ? 1 : 0;
+            r.r2 = subscriber.terminations;
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+package io.smallrye.reactive.streams.jcstress;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.IIII_Result;
+import org.openjdk.jcstress.infra.results.III_Result;
+
+import io.reactivex.internal.subscriptions.BooleanSubscription;
+import io.smallrye.reactive.streams.utils.CouplingProcessor;
+
+/**
+ * Races on the termination of the two flows coupled by a {@link CouplingProcessor}: the upstream feeding the coupled
+ * subscriber (the source side), and the coupled publisher feeding the downstream (the publisher side).
+ */
+public class CouplingProcessorStressTests {
+
+    private CouplingProcessorStressTests() {
+        // Avoid direct instantiation.
+    }
+
+    /**
+     * Both sides terminate concurrently: a single terminal signal wins, and it is delivered once to both sides.
+     */
+    @JCStressTest
+    @Outcome(id = "1, 1, 0, 0", expect = ACCEPTABLE, desc = "The completion won, both sides completed")
+    @Outcome(id = "1, 1, 1, 1", expect = ACCEPTABLE, desc = "The failure won, both sides failed")
+    @Outcome(expect = FORBIDDEN, desc = "Signal lost, duplicated, or the sides terminated differently")
+    @State
+    public static class CrossTermination {
+        private final ManualPublisher source = new ManualPublisher();
+        private final ManualPublisher publisher = new ManualPublisher();
+        private final RecordingSubscriber sink = new RecordingSubscriber();
+        private final RecordingSubscriber downstream = new RecordingSubscriber();
+
+        public CrossTermination() {
+            new CouplingProcessor<>(source, sink, publisher).subscribe(downstream);
+            source.subscriber.onSubscribe(new BooleanSubscription());
+            publisher.subscriber.onSubscribe(new BooleanSubscription());
+        }
+
+        @Actor
+        public void sourceFails() {
+            source.subscriber.onError(new Exception("boom"));
+        }
+
+        @Actor
+        public void publisherCompletes() {
+            publisher.subscriber.onComplete();
+        }
+
+        @Arbiter
+        public void arbiter(IIII_Result r) {
+            r.r1 = sink.terminations;
+            r.r2 = downstream.terminations;
+            r.r3 = sink.failures;
+            r.r4 = downstream.failures;
+        }
+    }
+
+    /**
+     * The source completes while the publisher side receives its subscription: the downstream is subscribed, then
+     * completed exactly once, and the publisher subscription is cancelled.
+     */
+    @JCStressTest
+    @Outcome(id = "1, 1, 1", expect = ACCEPTABLE, desc = "Subscribed, completed, and cancelled the publisher")
+    @Outcome(expect = FORBIDDEN, desc = "Completion lost, duplicated or delivered before onSubscribe")
+    @State
+    public static class OnSubscribeAndOnComplete {
+        private final ManualPublisher source = new ManualPublisher();
+        private final ManualPublisher publisher = new ManualPublisher();
+        private final RecordingSubscriber downstream = new RecordingSubscriber();
+        private final BooleanSubscription subscription = new BooleanSubscription();
+
+        public OnSubscribeAndOnComplete() {
+            new CouplingProcessor<>(source, new RecordingSubscriber(), publisher).subscribe(downstream);
+            source.subscriber.onSubscribe(new BooleanSubscription());
+        }
+
+        @Actor
+        public void onSubscribe() {
+            publisher.subscriber.onSubscribe(subscription);
+        }
+
+        @Actor
+        public void onComplete() {
+            source.subscriber.onComplete();
+        }
+
+        @Arbiter
+        public void arbiter(III_Result r) {
+            r.r1 = downstream.subscriptions;
+            r.r2 = downstream.terminations;
+            r.r3 = subscription.isCancelled() ? 1 : 0;
+        }
+    }
+
+    /**
+     * The downstream cancels while the source completes: the coupled subscriber is completed exactly once, the
+     * publisher subscription is cancelled, and the downstream receives the completion at most once.
+     */
+    @JCStressTest
+    @Outcome(id = { "1, 0, 1", "1, 1, 1" }, expect = ACCEPTABLE, desc = "Sink completed, downstream completed or not")
+    @Outcome(expect = FORBIDDEN, desc = "Completion lost or duplicated, or publisher not cancelled")
+    @State
+    public static class CancelAndOnComplete {
+        private final ManualPublisher source = new ManualPublisher();
+        private final ManualPublisher publisher = new ManualPublisher();
+        private final RecordingSubscriber sink = new RecordingSubscriber();
+        private final RecordingSubscriber downstream = new RecordingSubscriber();
+        private final BooleanSubscription subscription = new BooleanSubscription();
+
+        public CancelAndOnComplete() {
+            new CouplingProcessor<>(source, sink, publisher).subscribe(downstream);
+            source.subscriber.onSubscribe(new BooleanSubscription());
+            publisher.subscriber.onSubscribe(subscription);
+        }
+
+        @Actor
+        public void cancel() {
+            downstream.subscription.cancel();
+        }
+
+        @Actor
+        public void onComplete() {
+            source.subscriber.onComplete();
+        }
+
+        @Arbiter
+        public void arbiter(III_Result r) {
+            r.r1 = sink.terminations;
+            r.r2 = downstream.terminations;
+            r.r3 = subscription.isCancelled() ? 1 : 0;
+        }
+    }
+
+}
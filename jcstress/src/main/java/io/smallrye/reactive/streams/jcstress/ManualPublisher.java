@@ -0,0 +1,17 @@
+package io.smallrye.reactive.streams.jcstress;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * A publisher keeping its subscriber, so the actors can emit the signals themselves.
+ */
+class ManualPublisher implements Publisher<Object> {
+
+    Subscriber<? super Object> subscriber;
+
+    @Override
+    public void subscribe(Subscriber<? super Object> subscriber) {
+        this.subscriber = subscriber;
+    }
+}
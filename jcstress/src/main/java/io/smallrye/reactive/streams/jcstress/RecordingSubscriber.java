@@ -0,0 +1,57 @@
+package io.smallrye.reactive.streams.jcstress;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * A subscriber recording the signals it receives, read by the arbiters once the actors are done.
+ */
+class RecordingSubscriber implements Subscriber<Object> {
+
+    /**
+     * Number of {@code onSubscribe} calls.
+     */
+    int subscriptions;
+
+    /**
+     * Number of terminal signals, {@code -1} if a terminal signal has been received before {@code onSubscribe}.
+     */
+    int terminations;
+
+    /**
+     * Number of failures, including the rejections of a second subscriber.
+     */
+    int failures;
+
+    Subscription subscription;
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        subscriptions++;
+        subscription = s;
+    }
+
+    @Override
+    public void onNext(Object item) {
+        // Ignored.
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        failures++;
+        terminated();
+    }
+
+    @Override
+    public void onComplete() {
+        terminated();
+    }
+
+    private void terminated() {
+        if (subscriptions == 0) {
+            terminations = -1;
+        } else if (terminations >= 0) {
+            terminations++;
+        }
+    }
+}
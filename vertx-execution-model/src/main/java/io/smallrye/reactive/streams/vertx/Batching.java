@@ -0,0 +1,112 @@
+package io.smallrye.reactive.streams.vertx;
+
+import io.reactivex.Flowable;
+
+/**
+ * Configures how the {@link VertxExecutionModel} moves the signals emitted from another thread to the event loop of
+ * the context.
+ * <p>
+ * The signals emitted from another thread are queued, and handed off to the context in batches: a single task
+ * running on the context delivers all the queued signals, one by one. A batch is handed off as soon as it starts when
+ * the {@link #getMaxLatency() maximum latency} is {@code 0} (default). Otherwise, it is handed off when it contains
+ * {@link #getMaxSize()} items, when it contains all the requested items, when the stream terminates, or at the latest
+ * after the maximum latency. A task delivers at most {@link #getMaxSize()} items before yielding the event loop.
+ * <p>
+ * The default configuration can be set globally using the {@value #MAX_SIZE_PROPERTY} and
+ * {@value #MAX_LATENCY_PROPERTY} system properties, and per model using
+ * {@link VertxExecutionModel#VertxExecutionModel(Batching)}.
+ */
+public final class Batching {
+
+    /**
+     * System property configuring the default maximum number of items of a batch, the RX buffer size ({@code 128}) by
+     * default.
+     */
+    public static final String MAX_SIZE_PROPERTY = "smallrye.reactive-streams.vertx.batch.max-size";
+
+    /**
+     * System property configuring the default maximum latency of a batch, in milliseconds, {@code 0} by default.
+     */
+    public static final String MAX_LATENCY_PROPERTY = "smallrye.reactive-streams.vertx.batch.max-latency";
+
+    private static final Batching DEFAULT = new Batching(Flowable.bufferSize(), 0);
+
+    private final int maxSize;
+    private final long maxLatency;
+
+    private Batching(int maxSize, long maxLatency) {
+        this.maxSize = maxSize;
+        this.maxLatency = maxLatency;
+    }
+
+    /**
+     * @return the configuration handing off the batches as soon as they start
+     */
+    public static Batching immediate() {
+        return DEFAULT;
+    }
+
+    /**
+     * @param maxSize the maximum number of items of a batch, must be strictly positive
+     * @param maxLatency the maximum time, in milliseconds, between the first item of a batch and its hand-off, must
+     *        be positive
+     * @return the configuration
+     */
+    public static Batching of(int maxSize, long maxLatency) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The maximum batch size must be strictly positive");
+        }
+        if (maxLatency < 0) {
+            throw new IllegalArgumentException("The maximum batch latency must be positive");
+        }
+        return new Batching(maxSize, maxLatency);
+    }
+
+    /**
+     * @return the configuration set by the {@value #MAX_SIZE_PROPERTY} and {@value #MAX_LATENCY_PROPERTY} system
+     *         properties, {@link #immediate()} if not set
+     */
+    public static Batching fromSystemProperties() {
+        if (System.getProperty(MAX_SIZE_PROPERTY) == null && System.getProperty(MAX_LATENCY_PROPERTY) == null) {
+            return DEFAULT;
+        }
+        return of(Integer.getInteger(MAX_SIZE_PROPERTY, Flowable.bufferSize()), Long.getLong(MAX_LATENCY_PROPERTY, 0));
+    }
+
+    /**
+     * @return the maximum number of items of a batch
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return the maximum time, in milliseconds, between the first item of a batch and its hand-off
+     */
+    public long getMaxLatency() {
+        return maxLatency;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Batching)) {
+            return false;
+        }
+        Batching that = (Batching) o;
+        return maxSize == that.maxSize && maxLatency == that.maxLatency;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * maxSize + Long.hashCode(maxLatency);
+    }
+
+    @Override
+    public String toString() {
+        return "batching(" + maxSize + ", " + maxLatency + "ms)";
+    }
+
+}
@@ -0,0 +1,265 @@
+package io.smallrye.reactive.streams.vertx;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.internal.queue.SpscLinkedArrayQueue;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.internal.util.BackpressureHelper;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+/**
+ * Delivers the signals of the upstream on the event loop thread of a Vert.x {@link Context}.
+ * <p>
+ * Unlike {@code observeOn}, the signals emitted from the event loop thread of the context are passed through directly,
+ * unless signals emitted from another thread are still queued. Only the signals emitted from other threads are
+ * queued, and handed off to the context in batches, as configured by the {@link Batching}. The requests are passed
+ * through to the upstream, which bounds the queue to the outstanding requests.
+ *
+ * @param <T> the value type
+ */
+final class FlowableOnContext<T> extends Flowable<T> {
+
+    private final Publisher<T> source;
+
+    private final Context context;
+
+    private final Batching batching;
+
+    FlowableOnContext(Publisher<T> source, Context context, Batching batching) {
+        this.source = source;
+        this.context = context;
+        this.batching = batching;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super T> s) {
+        source.subscribe(new OnContextSubscriber<>(s, context, batching.getMaxSize(), batching.getMaxLatency()));
+    }
+
+    private static final class OnContextSubscriber<T> implements FlowableSubscriber<T>, Subscription {
+
+        private final Subscriber<? super T> downstream;
+
+        private final Context context;
+
+        private final int maxBatchSize;
+
+        private final long maxBatchLatency;
+
+        /**
+         * The signals emitted from another thread. Written by the upstream, which emits serially, and only read on
+         * the event loop thread of the context.
+         */
+        private final SpscLinkedArrayQueue<T> queue = new SpscLinkedArrayQueue<>(bufferSize());
+
+        /**
+         * The number of queued signals not yet accounted for by the drain loop. The batch is pending while non-zero,
+         * and the signals received in the meantime are queued, to preserve their order.
+         */
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private final AtomicLong requested = new AtomicLong();
+
+        private Subscription upstream;
+
+        private volatile boolean done;
+
+        private Throwable failure;
+
+        private volatile boolean cancelled;
+
+        /**
+         * The number of items received, only accessed by the upstream.
+         */
+        private long produced;
+
+        /**
+         * The number of items of the pending batch, only accessed by the upstream.
+         */
+        private int batched;
+
+        /**
+         * Whether the pending batch has been handed off, only accessed by the upstream.
+         */
+        private boolean handedOff;
+
+        /**
+         * Whether the drain loop is running, only accessed on the context.
+         */
+        private boolean draining;
+
+        OnContextSubscriber(Subscriber<? super T> downstream, Context context, int maxBatchSize,
+                long maxBatchLatency) {
+            this.downstream = downstream;
+            this.context = context;
+            this.maxBatchSize = maxBatchSize;
+            this.maxBatchLatency = maxBatchLatency;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.upstream, s)) {
+                this.upstream = s;
+                downstream.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (done) {
+                return;
+            }
+            produced++;
+            if (wip.get() == 0 && isOnContext()) {
+                downstream.onNext(t);
+                return;
+            }
+            queue.offer(t);
+            if (wip.getAndIncrement() == 0) {
+                batched = 1;
+                handedOff = false;
+            } else {
+                batched++;
+            }
+            // The upstream does not emit more until more items are requested.
+            boolean complete = batched >= maxBatchSize || produced == requested.get();
+            schedule(complete || maxBatchLatency == 0);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            failure = t;
+            done = true;
+            if (wip.get() == 0 && isOnContext()) {
+                downstream.onError(t);
+                return;
+            }
+            wip.getAndIncrement();
+            handOff();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            if (wip.get() == 0 && isOnContext()) {
+                downstream.onComplete();
+                return;
+            }
+            wip.getAndIncrement();
+            handOff();
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.add(requested, n);
+                upstream.request(n);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                upstream.cancel();
+                if (wip.getAndIncrement() == 0) {
+                    queue.clear();
+                }
+            }
+        }
+
+        private boolean isOnContext() {
+            return Context.isOnEventLoopThread() && Vertx.currentContext() == context;
+        }
+
+        /**
+         * Hands off the pending batch, or arms the latency bound if the batch has just started and is not complete.
+         * Draining more than once is harmless, so the latency bound of a batch handed off early can expire later.
+         */
+        private void schedule(boolean now) {
+            if (isOnContext()) {
+                drain();
+            } else if (handedOff) {
+                return;
+            } else if (now) {
+                handedOff = true;
+                context.runOnContext(x -> drain());
+            } else if (batched == 1) {
+                context.runOnContext(x -> context.owner().setTimer(maxBatchLatency, id -> drain()));
+            }
+        }
+
+        /**
+         * Hands off the terminal signal, along with the pending batch.
+         */
+        private void handOff() {
+            if (isOnContext()) {
+                drain();
+            } else {
+                context.runOnContext(x -> drain());
+            }
+        }
+
+        private void drain() {
+            if (draining) {
+                // Re-entrant call, the running loop delivers the new signals.
+                return;
+            }
+            int missed = wip.get();
+            if (missed == 0) {
+                return;
+            }
+            draining = true;
+            int delivered = 0;
+            for (;;) {
+                for (;;) {
+                    if (cancelled) {
+                        queue.clear();
+                        return;
+                    }
+                    boolean d = done;
+                    boolean empty = queue.isEmpty();
+                    if (d && empty) {
+                        Throwable t = failure;
+                        if (t != null) {
+                            downstream.onError(t);
+                        } else {
+                            downstream.onComplete();
+                        }
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    if (delivered == maxBatchSize) {
+                        // Yield the event loop, the pending signals are delivered by the next task.
+                        draining = false;
+                        context.runOnContext(x -> drain());
+                        return;
+                    }
+                    downstream.onNext(queue.poll());
+                    delivered++;
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+            draining = false;
+        }
+    }
+}
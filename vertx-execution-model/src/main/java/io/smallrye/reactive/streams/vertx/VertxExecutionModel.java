@@ -1,6 +1,9 @@
 package io.smallrye.reactive.streams.vertx;
 
+import java.util.Objects;
+
 import io.reactivex.Flowable;
+import io.reactivex.plugins.RxJavaPlugins;
 import io.smallrye.reactive.streams.spi.ExecutionModel;
 import io.vertx.reactivex.core.Context;
 import io.vertx.reactivex.core.RxHelper;
@@ -8,13 +11,45 @@ import io.vertx.reactivex.core.Vertx;
 
 /**
  * An implementation of {@link ExecutionModel} enforcing the Vert.x execution model.
+ * <p>
+ * On an event loop context, the signals emitted from the event loop thread of the context are passed through directly,
+ * and only the signals emitted from other threads are moved to the context, in batches configured by the
+ * {@link Batching} (see {@link FlowableOnContext}). On a worker context, the signals are always moved to the context.
  */
 public class VertxExecutionModel implements ExecutionModel {
 
+    private final Batching batching;
+
+    /**
+     * Creates a model using the {@link Batching} configured by the {@value Batching#MAX_SIZE_PROPERTY} and
+     * {@value Batching#MAX_LATENCY_PROPERTY} system properties.
+     */
+    public VertxExecutionModel() {
+        this(Batching.fromSystemProperties());
+    }
+
+    /**
+     * @param batching how the signals emitted from another thread are moved to the context, must not be {@code null}
+     */
+    public VertxExecutionModel(Batching batching) {
+        this.batching = Objects.requireNonNull(batching, "batching must not be null");
+    }
+
+    /**
+     * @return how the signals emitted from another thread are moved to the context
+     */
+    public Batching getBatching() {
+        return batching;
+    }
+
     @Override
     public Flowable apply(Flowable input) {
         Context context = Vertx.currentContext();
         if (context != null && context.getDelegate() != null) {
+            io.vertx.core.Context delegate = context.getDelegate();
+            if (delegate.isEventLoopContext()) {
+                return RxJavaPlugins.onAssembly(new FlowableOnContext<>(input, delegate, batching));
+            }
             return input.compose(f -> f.observeOn(RxHelper.scheduler(context)));
         }
         return input;
@@ -0,0 +1,189 @@
+package io.smallrye.reactive.streams.vertx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+import io.vertx.reactivex.core.Vertx;
+
+/**
+ * Checks the threads on which the signals are delivered by the {@link VertxExecutionModel}.
+ */
+public class VertxExecutionModelTest {
+
+    private final VertxExecutionModel model = new VertxExecutionModel();
+
+    private Vertx vertx;
+
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(Batching.MAX_SIZE_PROPERTY);
+        System.clearProperty(Batching.MAX_LATENCY_PROPERTY);
+        AtomicBoolean done = new AtomicBoolean();
+        vertx.close(x -> done.set(true));
+        await().untilAtomic(done, is(true));
+    }
+
+    @Test
+    public void testBatchingConfiguration() {
+        assertThat(model.getBatching()).isSameAs(Batching.immediate());
+        assertThat(Batching.immediate().getMaxSize()).isEqualTo(Flowable.bufferSize());
+        assertThat(Batching.immediate().getMaxLatency()).isEqualTo(0);
+
+        System.setProperty(Batching.MAX_LATENCY_PROPERTY, "5");
+        assertThat(new VertxExecutionModel().getBatching()).isEqualTo(Batching.of(Flowable.bufferSize(), 5));
+        System.setProperty(Batching.MAX_SIZE_PROPERTY, "16");
+        assertThat(Batching.fromSystemProperties()).isEqualTo(Batching.of(16, 5)).hasToString("batching(16, 5ms)");
+
+        System.setProperty(Batching.MAX_SIZE_PROPERTY, "0");
+        assertThatThrownBy(Batching::fromSystemProperties).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Batching.of(16, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testThatTheModelIsNotAppliedOutsideOfAContext() {
+        Flowable<Integer> flowable = Flowable.just(1);
+        assertThat(model.apply(flowable)).isSameAs(flowable);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testThatSignalsEmittedOnTheContextArePassedThrough() {
+        AtomicReference<Flowable<Integer>> flowable = new AtomicReference<>();
+        AtomicReference<TestSubscriber<Integer>> subscriber = new AtomicReference<>();
+        AtomicBoolean completedSynchronously = new AtomicBoolean();
+        vertx.runOnContext(x -> {
+            flowable.set(model.apply(Flowable.range(0, 10)));
+            TestSubscriber<Integer> test = flowable.get().test();
+            // No task was scheduled on the context.
+            completedSynchronously.set(test.completions() == 1);
+            subscriber.set(test);
+        });
+        await().untilAtomic(subscriber, is(notNullValue()));
+        assertThat(flowable.get()).isInstanceOf(FlowableOnContext.class);
+        assertThat(completedSynchronously.get()).isTrue();
+        subscriber.get().assertValues(0, 1, 2, 3, 4, 5, 6, 7, 8, 9).assertComplete();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testThatSignalsEmittedFromAnotherThreadAreMovedToTheContext() {
+        AtomicReference<String> eventLoop = new AtomicReference<>();
+        List<String> threads = new CopyOnWriteArrayList<>();
+        AtomicReference<TestSubscriber<Integer>> subscriber = new AtomicReference<>();
+        vertx.runOnContext(x -> {
+            eventLoop.set(Thread.currentThread().getName());
+            Flowable<Integer> flowable = model.apply(Flowable.range(0, 1000).subscribeOn(Schedulers.computation()));
+            subscriber.set(flowable
+                    .doOnNext(i -> threads.add(Thread.currentThread().getName()))
+                    .doOnComplete(() -> threads.add(Thread.currentThread().getName()))
+                    .test());
+        });
+        await().untilAtomic(subscriber, is(notNullValue()));
+        subscriber.get().awaitTerminalEvent(10, TimeUnit.SECONDS);
+        subscriber.get().assertValueCount(1000).assertComplete();
+        for (int i = 0; i < 1000; i++) {
+            assertThat(subscriber.get().values().get(i)).isEqualTo(i);
+        }
+        assertThat(threads).hasSize(1001).containsOnly(eventLoop.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testThatFailuresEmittedFromAnotherThreadAreMovedToTheContext() {
+        AtomicReference<String> eventLoop = new AtomicReference<>();
+        AtomicReference<String> thread = new AtomicReference<>();
+        AtomicReference<TestSubscriber<Integer>> subscriber = new AtomicReference<>();
+        vertx.runOnContext(x -> {
+            eventLoop.set(Thread.currentThread().getName());
+            Flowable<Integer> flowable = model.apply(Flowable.<Integer> error(new IllegalStateException("boom"))
+                    .startWith(1)
+                    .subscribeOn(Schedulers.computation()));
+            subscriber.set(flowable
+                    .doOnError(t -> thread.set(Thread.currentThread().getName()))
+                    .test());
+        });
+        await().untilAtomic(subscriber, is(notNullValue()));
+        subscriber.get().awaitTerminalEvent(10, TimeUnit.SECONDS);
+        subscriber.get().assertValues(1).assertError(IllegalStateException.class);
+        assertThat(thread.get()).isEqualTo(eventLoop.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testThatTheRequestsArePassedThrough() {
+        AtomicReference<TestSubscriber<Integer>> subscriber = new AtomicReference<>();
+        vertx.runOnContext(x -> subscriber.set(((Flowable<Integer>) model.apply(
+                Flowable.range(0, 100).subscribeOn(Schedulers.computation()))).test(0)));
+        await().untilAtomic(subscriber, is(notNullValue()));
+        subscriber.get().request(5);
+        subscriber.get().awaitCount(5);
+        subscriber.get().assertValues(0, 1, 2, 3, 4).assertNotComplete();
+        subscriber.get().cancel();
+    }
+
+    @Test
+    public void testThatFullBatchesAreHandedOffBeforeTheLatencyBound() {
+        VertxExecutionModel batched = new VertxExecutionModel(Batching.of(4, 60_000));
+        TestSubscriber<Integer> subscriber = subscribeOnContext(batched,
+                Flowable.range(0, 1001).subscribeOn(Schedulers.computation()), Long.MAX_VALUE);
+        subscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
+        subscriber.assertValueCount(1001).assertComplete();
+        for (int i = 0; i < 1001; i++) {
+            assertThat(subscriber.values().get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    public void testThatBatchesContainingAllTheRequestedItemsAreHandedOffBeforeTheLatencyBound() {
+        VertxExecutionModel batched = new VertxExecutionModel(Batching.of(128, 60_000));
+        TestSubscriber<Integer> subscriber = subscribeOnContext(batched,
+                Flowable.range(0, 100).subscribeOn(Schedulers.computation()), 0);
+        subscriber.request(1);
+        subscriber.awaitCount(1);
+        subscriber.assertValues(0);
+        subscriber.request(10);
+        subscriber.awaitCount(11);
+        subscriber.assertValueCount(11).assertNotComplete();
+        subscriber.cancel();
+    }
+
+    @Test
+    public void testThatPartialBatchesAreHandedOffAfterTheLatencyBound() {
+        VertxExecutionModel batched = new VertxExecutionModel(Batching.of(128, 10));
+        TestSubscriber<Long> subscriber = subscribeOnContext(batched,
+                Flowable.interval(1, TimeUnit.MILLISECONDS).take(3).concatWith(Flowable.never()), Long.MAX_VALUE);
+        subscriber.awaitCount(3);
+        subscriber.assertValues(0L, 1L, 2L).assertNotComplete();
+        subscriber.cancel();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> TestSubscriber<T> subscribeOnContext(VertxExecutionModel model, Flowable<T> source, long request) {
+        AtomicReference<TestSubscriber<T>> subscriber = new AtomicReference<>();
+        vertx.runOnContext(x -> subscriber.set(((Flowable<T>) model.apply(source)).test(request)));
+        await().untilAtomic(subscriber, is(notNullValue()));
+        return subscriber.get();
+    }
+
+}
@@ -0,0 +1,47 @@
+package io.smallrye.reactive.streams.virtualthreads;
+
+import java.util.Locale;
+
+/**
+ * Defines when the {@link VirtualThreadExecutionModel} starts a new virtual thread.
+ * <p>
+ * The default thread creation can be configured using the {@value #THREAD_CREATION_PROPERTY} system property, with
+ * either {@code per-pipeline} (default) or {@code per-subscriber}.
+ */
+public enum ThreadCreation {
+
+    /**
+     * A virtual thread is started when the signals reach the first place where the execution model is applied. The
+     * following places run on the same virtual thread, as long as the signals are not emitted from another thread
+     * (such as the thread completing the {@link java.util.concurrent.CompletionStage} of a
+     * {@code flatMapCompletionStage} stage).
+     */
+    PER_PIPELINE,
+
+    /**
+     * Each place where the execution model is applied runs on its own virtual threads, for each subscriber.
+     */
+    PER_SUBSCRIBER;
+
+    /**
+     * System property configuring the default thread creation.
+     */
+    public static final String THREAD_CREATION_PROPERTY = "smallrye.reactive-streams.virtual-threads.creation";
+
+    /**
+     * @return the thread creation configured by the {@value #THREAD_CREATION_PROPERTY} system property,
+     *         {@link #PER_PIPELINE} if not set
+     */
+    public static ThreadCreation fromSystemProperty() {
+        String value = System.getProperty(THREAD_CREATION_PROPERTY);
+        if (value == null || value.trim().isEmpty()) {
+            return PER_PIPELINE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value for " + THREAD_CREATION_PROPERTY + ": " + value, e);
+        }
+    }
+
+}
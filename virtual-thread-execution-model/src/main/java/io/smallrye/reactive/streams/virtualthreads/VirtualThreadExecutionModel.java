@@ -0,0 +1,79 @@
+package io.smallrye.reactive.streams.virtualthreads;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import io.smallrye.reactive.streams.spi.ExecutionModel;
+
+/**
+ * An implementation of {@link ExecutionModel} running the pipelines on virtual threads, so blocking user functions
+ * (in {@code map}, {@code peek} or {@code flatMapCompletionStage} stages for instance) do not block platform threads.
+ * <p>
+ * The signals are delivered on a virtual thread started when there are signals to deliver, and ending once they have
+ * been delivered. Virtual threads are never pooled. When a new virtual thread is started depends on the
+ * {@link ThreadCreation}, configured using the {@value ThreadCreation#THREAD_CREATION_PROPERTY} system property.
+ * <p>
+ * Once the model is registered, the engine does not evaluate any graph synchronously on the caller thread, so the
+ * pipelines only made of synchronous stages run on virtual threads too.
+ */
+public class VirtualThreadExecutionModel implements ExecutionModel {
+
+    /**
+     * The model which started the current thread, {@code null} if the current thread has not been started by a
+     * {@link VirtualThreadExecutionModel}.
+     */
+    private static final ThreadLocal<VirtualThreadExecutionModel> OWNER = new ThreadLocal<>();
+
+    private final ThreadCreation creation;
+    private final ThreadFactory factory;
+    private final Scheduler scheduler;
+
+    /**
+     * Creates a model using the {@link ThreadCreation} configured by the
+     * {@value ThreadCreation#THREAD_CREATION_PROPERTY} system property.
+     */
+    public VirtualThreadExecutionModel() {
+        this(ThreadCreation.fromSystemProperty());
+    }
+
+    /**
+     * @param creation when new virtual threads are started, must not be {@code null}
+     */
+    public VirtualThreadExecutionModel(ThreadCreation creation) {
+        this.creation = Objects.requireNonNull(creation, "creation must not be null");
+        this.factory = Thread.ofVirtual().name("smallrye-virtual-thread-", 0).factory();
+        this.scheduler = Schedulers.from(this::execute);
+    }
+
+    /**
+     * @return when new virtual threads are started
+     */
+    public ThreadCreation getThreadCreation() {
+        return creation;
+    }
+
+    @Override
+    public Flowable apply(Flowable input) {
+        return input.observeOn(scheduler);
+    }
+
+    /**
+     * Runs the drain loop of an {@code observeOn} worker. The worker never runs two loops concurrently, so the
+     * signals of a subscriber are delivered in order, by a single thread at a time.
+     */
+    private void execute(Runnable task) {
+        if (creation == ThreadCreation.PER_PIPELINE && OWNER.get() == this) {
+            // Already on a virtual thread started for the pipeline, stay on it.
+            task.run();
+            return;
+        }
+        factory.newThread(() -> {
+            OWNER.set(this);
+            task.run();
+        }).start();
+    }
+
+}
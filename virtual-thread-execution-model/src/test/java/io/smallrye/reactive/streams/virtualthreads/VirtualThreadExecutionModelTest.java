@@ -0,0 +1,108 @@
+package io.smallrye.reactive.streams.virtualthreads;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.After;
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Checks the {@link VirtualThreadExecutionModel}, used by the engine through the {@link java.util.ServiceLoader}, and
+ * used directly for each {@link ThreadCreation}.
+ */
+@SuppressWarnings("unchecked")
+public class VirtualThreadExecutionModelTest {
+
+    @After
+    public void tearDown() {
+        System.clearProperty(ThreadCreation.THREAD_CREATION_PROPERTY);
+    }
+
+    @Test
+    public void testThatTheEngineRunsTheUserFunctionsOnVirtualThreads() {
+        Flowable<Integer> flowable = Flowable.range(1, 10).subscribeOn(Schedulers.computation());
+        List<Boolean> virtual = ReactiveStreams.fromPublisher(flowable)
+                .map(i -> Thread.currentThread().isVirtual())
+                .peek(b -> assertThat(Thread.currentThread().isVirtual()).isTrue())
+                .flatMapCompletionStage(b -> CompletableFuture.supplyAsync(() -> b))
+                .map(b -> b && Thread.currentThread().isVirtual())
+                .toList()
+                .run()
+                .toCompletableFuture().join();
+        assertThat(virtual).hasSize(10).containsOnly(true);
+    }
+
+    @Test
+    public void testBlockingFunctions() {
+        Flowable<Integer> flowable = Flowable.range(1, 100).subscribeOn(Schedulers.computation());
+        List<Integer> list = ReactiveStreams.fromPublisher(flowable)
+                .map(i -> {
+                    sleep();
+                    return i;
+                })
+                .toList()
+                .run()
+                .toCompletableFuture().join();
+        assertThat(list).hasSize(100).startsWith(1, 2, 3).endsWith(98, 99, 100);
+    }
+
+    @Test
+    public void testThatThePipelineStaysOnItsVirtualThreadWhenCreatingThreadsPerPipeline() {
+        VirtualThreadExecutionModel model = new VirtualThreadExecutionModel(ThreadCreation.PER_PIPELINE);
+        Map<Integer, Thread> threads = new ConcurrentHashMap<>();
+        Flowable<Integer> flowable = model.apply(Flowable.range(1, 100))
+                .doOnNext(i -> threads.put(i, Thread.currentThread()));
+        List<Boolean> same = (List<Boolean>) model.apply(model.apply(flowable))
+                .map(i -> Thread.currentThread().isVirtual() && threads.get(i) == Thread.currentThread())
+                .toList().blockingGet();
+        assertThat(same).hasSize(100).containsOnly(true);
+    }
+
+    @Test
+    public void testThatEachSubscriberGetsItsVirtualThreadWhenCreatingThreadsPerSubscriber() {
+        VirtualThreadExecutionModel model = new VirtualThreadExecutionModel(ThreadCreation.PER_SUBSCRIBER);
+        Set<Thread> first = ConcurrentHashMap.newKeySet();
+        Set<Thread> second = ConcurrentHashMap.newKeySet();
+        Flowable<Integer> flowable = model.apply(Flowable.just(1));
+        List<Integer> list = (List<Integer>) model.apply(flowable.doOnNext(i -> first.add(Thread.currentThread())))
+                .doOnNext(i -> second.add(Thread.currentThread()))
+                .toList().blockingGet();
+        assertThat(list).containsExactly(1);
+        assertThat(first).allMatch(Thread::isVirtual).hasSize(1);
+        assertThat(second).allMatch(Thread::isVirtual).hasSize(1);
+        assertThat(first).doesNotContainAnyElementsOf(second);
+    }
+
+    @Test
+    public void testThreadCreationConfiguration() {
+        assertThat(new VirtualThreadExecutionModel().getThreadCreation()).isEqualTo(ThreadCreation.PER_PIPELINE);
+        System.setProperty(ThreadCreation.THREAD_CREATION_PROPERTY, "per-subscriber");
+        assertThat(new VirtualThreadExecutionModel().getThreadCreation()).isEqualTo(ThreadCreation.PER_SUBSCRIBER);
+        System.setProperty(ThreadCreation.THREAD_CREATION_PROPERTY, "PER_PIPELINE");
+        assertThat(ThreadCreation.fromSystemProperty()).isEqualTo(ThreadCreation.PER_PIPELINE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidThreadCreationConfiguration() {
+        System.setProperty(ThreadCreation.THREAD_CREATION_PROPERTY, "per-stage");
+        ThreadCreation.fromSystemProperty();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}